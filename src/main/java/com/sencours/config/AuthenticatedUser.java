@@ -0,0 +1,70 @@
+package com.sencours.config;
+
+import com.sencours.entity.User;
+import com.sencours.enums.Role;
+import com.sencours.service.JwtService;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Utilisateur authentifie construit a partir des claims du jeton, sans lecture en base.
+ * Les controleurs qui ont besoin du profil complet le chargent par email.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final boolean active;
+
+    public AuthenticatedUser(Long id, String email, Role role, boolean active) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.active = active;
+    }
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), Boolean.TRUE.equals(user.getIsActive()));
+    }
+
+    /**
+     * Null si le jeton a ete emis avant l'ajout des claims d'identite
+     */
+    public static AuthenticatedUser fromClaims(Claims claims) {
+        Object id = claims.get(JwtService.CLAIM_USER_ID);
+        Object role = claims.get(JwtService.CLAIM_ROLE);
+        if (!(id instanceof Number) || role == null || claims.get(JwtService.CLAIM_TOKEN_VERSION) == null) {
+            return null;
+        }
+        return new AuthenticatedUser(((Number) id).longValue(), claims.getSubject(),
+                Role.valueOf(role.toString()), Boolean.TRUE.equals(claims.get(JwtService.CLAIM_ACTIVE, Boolean.class)));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+}
@@ -0,0 +1,41 @@
+package com.sencours.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches en memoire du catalogue public (spring.cache.type=caffeine).
+ * Chaque cache a sa propre taille et sa propre duree de vie ; l'invalidation
+ * fine se fait apres commit (voir CatalogCacheServiceImpl).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COURSE_DETAIL = "courseDetail";
+    public static final String COURSE_PAGES = "coursePages";
+    public static final String CATEGORIES = "categories";
+
+    @Value("${app.cache.course-detail:maximumSize=2000,expireAfterWrite=10m}")
+    private String courseDetailSpec;
+
+    @Value("${app.cache.course-pages:maximumSize=500,expireAfterWrite=5m}")
+    private String coursePagesSpec;
+
+    @Value("${app.cache.categories:maximumSize=10,expireAfterWrite=30m}")
+    private String categoriesSpec;
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> catalogCacheCustomizer() {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(COURSE_DETAIL, Caffeine.from(courseDetailSpec).recordStats().build());
+            cacheManager.registerCustomCache(COURSE_PAGES, Caffeine.from(coursePagesSpec).recordStats().build());
+            cacheManager.registerCustomCache(CATEGORIES, Caffeine.from(categoriesSpec).recordStats().build());
+        };
+    }
+}
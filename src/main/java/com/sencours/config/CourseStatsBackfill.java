@@ -0,0 +1,22 @@
+package com.sencours.config;
+
+import com.sencours.service.CourseStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cree les lignes course_stats manquantes avant que le serveur web n'accepte des requetes :
+ * Course.stats n'est pas optionnel, un cours sans ligne ferait echouer la premiere lecture du catalogue.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseStatsBackfill implements SmartInitializingSingleton {
+
+    private final CourseStatsService courseStatsService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        courseStatsService.backfill();
+    }
+}
@@ -0,0 +1,206 @@
+package com.sencours.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sencours.exception.ErrorResponse;
+import com.sencours.http.IdempotentResponse;
+import com.sencours.service.IdempotencyService;
+import com.sencours.service.IdempotencyService.Reservation;
+import com.sencours.util.Hashing;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * En-tete Idempotency-Key sur les requetes POST authentifiees : une nouvelle tentative
+ * (double appui, reseau lent) rejoue la reponse enregistree au lieu de re-executer le service.
+ * Place apres l'autorisation : la cle est propre a l'utilisateur du jeton.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || (contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        // Sans utilisateur, une cle devinee suffirait a rejouer la reponse d'un autre client
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    "L'en-tête " + HEADER + " doit contenir entre 1 et " + MAX_KEY_LENGTH + " caractères");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String scopeKey = Hashing.sha256(authentication.getName() + "\n" + key);
+        String requestHash = Hashing.sha256(request.getMethod() + " " + request.getRequestURI() + "?"
+                + (request.getQueryString() != null ? request.getQueryString() : "") + "\n"
+                + new String(cachedRequest.body, StandardCharsets.UTF_8));
+
+        Reservation reservation = idempotencyService.reserve(scopeKey, requestHash);
+        switch (reservation.outcome()) {
+            case REPLAY -> {
+                replay(response, reservation.response());
+                return;
+            }
+            case MISMATCH -> {
+                writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Cette clé d'idempotence a déjà été utilisée pour une autre requête");
+                return;
+            }
+            case IN_PROGRESS -> {
+                writeError(request, response, HttpStatus.CONFLICT,
+                        "Une requête avec cette clé d'idempotence est encore en cours de traitement");
+                return;
+            }
+            case ACQUIRED -> {
+                // Premiere execution : traitee ci-dessous
+            }
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+            idempotencyService.complete(scopeKey, new IdempotentResponse(cachingResponse.getStatus(),
+                    cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+            completed = true;
+        } finally {
+            if (!completed) {
+                idempotencyService.release(scopeKey);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotentResponse stored) throws IOException {
+        log.debug("Réponse idempotente rejouée (statut {})", stored.status());
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build());
+    }
+
+    /**
+     * Corps lu une fois pour l'empreinte, puis relu par le controleur
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // Corps deja en memoire : tout est disponible des l'enregistrement du listener
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
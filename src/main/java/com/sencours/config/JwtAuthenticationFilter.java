@@ -1,6 +1,11 @@
 package com.sencours.config;
 
+import com.sencours.entity.User;
+import com.sencours.service.AccessTokenRevocationService;
 import com.sencours.service.JwtService;
+import com.sencours.service.JwtVerifier;
+import com.sencours.service.TokenVersionService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,8 +28,10 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final JwtVerifier jwtVerifier;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final AccessTokenRevocationService accessTokenRevocationService;
 
     @Override
     protected void doFilterInternal(
@@ -41,16 +48,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtService.extractUsername(jwt);
+            final JwtVerifier.VerifiedToken token = jwtVerifier.verify(jwt);
+            final String userEmail = token.subject();
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+                AuthenticatedUser principal = authenticate(token.claims(), userEmail);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (principal != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            principal.getAuthorities()
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -62,4 +70,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private AuthenticatedUser authenticate(Claims claims, String userEmail) {
+        if (accessTokenRevocationService.isRevoked(claims.getId())) {
+            log.debug("Jeton révoqué présenté pour {}", userEmail);
+            return null;
+        }
+
+        AuthenticatedUser principal = AuthenticatedUser.fromClaims(claims);
+        if (principal == null) {
+            // Jeton emis avant les claims d'identite : chargement en base jusqu'a son expiration
+            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+            return userDetails instanceof User user ? AuthenticatedUser.of(user) : null;
+        }
+
+        int tokenVersion = ((Number) claims.get(JwtService.CLAIM_TOKEN_VERSION)).intValue();
+        if (!tokenVersionService.isCurrent(principal.getId(), tokenVersion)) {
+            log.debug("Jeton invalidé présenté pour l'utilisateur {}", principal.getId());
+            return null;
+        }
+        return principal;
+    }
 }
@@ -0,0 +1,74 @@
+package com.sencours.config;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Facteur de cout BCrypt choisi au demarrage : le plus eleve dont un hash tient dans le budget
+ * de latence, sans descendre sous le minimum. Le cout etant inscrit dans chaque hash ($2a$NN$),
+ * les mots de passe existants restent verifiables et sont re-haches a la connexion suivante.
+ */
+@Slf4j
+@Getter
+@Component
+public class PasswordCostCalibrator {
+
+    private static final String SAMPLE = "calibration-SenCours-2024";
+
+    private final int strength;
+    private final boolean calibrated;
+    private final long targetMillis;
+    // Duree mesuree d'un hash au cout retenu (0 si le cout est impose par la configuration)
+    private final long measuredMillis;
+
+    public PasswordCostCalibrator(@Value("${app.security.password-hashing.strength:0}") int configuredStrength,
+                                  @Value("${app.security.password-hashing.target-ms:250}") long targetMillis,
+                                  @Value("${app.security.password-hashing.min-strength:10}") int minStrength,
+                                  @Value("${app.security.password-hashing.max-strength:14}") int maxStrength) {
+        this.targetMillis = targetMillis;
+        if (configuredStrength > 0) {
+            this.strength = configuredStrength;
+            this.calibrated = false;
+            this.measuredMillis = 0;
+            log.info("Coût BCrypt imposé par la configuration: {}", configuredStrength);
+            return;
+        }
+
+        // Premier hash a vide : chargement des classes et compilation JIT hors mesure
+        new BCryptPasswordEncoder(4).encode(SAMPLE);
+
+        int chosen = minStrength;
+        long chosenMillis = measure(minStrength);
+        for (int cost = minStrength + 1; cost <= maxStrength; cost++) {
+            // Chaque cran double le travail : inutile de mesurer si le double depasse deja le budget
+            if (chosenMillis * 2 > targetMillis) {
+                break;
+            }
+            long millis = measure(cost);
+            if (millis > targetMillis) {
+                break;
+            }
+            chosen = cost;
+            chosenMillis = millis;
+        }
+        this.strength = chosen;
+        this.calibrated = true;
+        this.measuredMillis = chosenMillis;
+        log.info("Coût BCrypt calibré: {} ({} ms par hash, budget {} ms)", chosen, chosenMillis, targetMillis);
+    }
+
+    private static long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long best = Long.MAX_VALUE;
+        // Meilleur de deux essais : un pic de charge au demarrage ne doit pas faire baisser le cout
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+}
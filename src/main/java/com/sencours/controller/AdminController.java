@@ -1,9 +1,14 @@
 package com.sencours.controller;
 
+import com.sencours.dto.request.CursorPageRequest;
+import com.sencours.dto.response.CacheStatsResponse;
 import com.sencours.dto.response.PageResponse;
+import com.sencours.dto.response.PasswordHashingStatsResponse;
 import com.sencours.dto.response.UserResponse;
 import com.sencours.enums.Role;
 import com.sencours.service.AdminService;
+import com.sencours.service.CatalogCacheService;
+import com.sencours.service.PasswordHashingService;
 import com.sencours.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,6 +25,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/admin")
 @RequiredArgsConstructor
@@ -28,6 +35,8 @@ public class AdminController {
 
     private final UserService userService;
     private final AdminService adminService;
+    private final CatalogCacheService catalogCacheService;
+    private final PasswordHashingService passwordHashingService;
 
     @GetMapping("/users")
     @Operation(summary = "Lister les utilisateurs avec pagination", description = "Récupère la liste paginée de tous les utilisateurs")
@@ -36,9 +45,12 @@ public class AdminController {
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page (1-50)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "id") String sort,
-            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
-        Pageable pageable = createPageable(page, size, sort, direction);
-        PageResponse<UserResponse> response = userService.getAllPaginated(pageable);
+            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Curseur opaque (mode curseur, vide pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le total en mode curseur") @RequestParam(defaultValue = "false") boolean withCount) {
+        PageResponse<UserResponse> response = cursor != null
+                ? userService.getAllPaginated(CursorPageRequest.of(cursor, size, sort, direction, withCount))
+                : userService.getAllPaginated(createPageable(page, size, sort, direction));
         return ResponseEntity.ok(response);
     }
 
@@ -50,9 +62,12 @@ public class AdminController {
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page (1-50)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "id") String sort,
-            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
-        Pageable pageable = createPageable(page, size, sort, direction);
-        PageResponse<UserResponse> response = userService.getByRolePaginated(role, pageable);
+            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Curseur opaque (mode curseur, vide pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le total en mode curseur") @RequestParam(defaultValue = "false") boolean withCount) {
+        PageResponse<UserResponse> response = cursor != null
+                ? userService.getByRolePaginated(role, CursorPageRequest.of(cursor, size, sort, direction, withCount))
+                : userService.getByRolePaginated(role, createPageable(page, size, sort, direction));
         return ResponseEntity.ok(response);
     }
 
@@ -64,9 +79,12 @@ public class AdminController {
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page (1-50)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "id") String sort,
-            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
-        Pageable pageable = createPageable(page, size, sort, direction);
-        PageResponse<UserResponse> response = userService.searchUsersPaginated(search, pageable);
+            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Curseur opaque (mode curseur, vide pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le total en mode curseur") @RequestParam(defaultValue = "false") boolean withCount) {
+        PageResponse<UserResponse> response = cursor != null
+                ? userService.searchUsersPaginated(search, CursorPageRequest.of(cursor, size, sort, direction, withCount))
+                : userService.searchUsersPaginated(search, createPageable(page, size, sort, direction));
         return ResponseEntity.ok(response);
     }
 
@@ -100,6 +118,29 @@ public class AdminController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Statistiques du cache catalogue", description = "Taille, hits et misses des caches du catalogue public")
+    @ApiResponse(responseCode = "200", description = "Statistiques par cache")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(catalogCacheService.getStats());
+    }
+
+    @GetMapping("/password-hashing/stats")
+    @Operation(summary = "Statistiques du hachage des mots de passe",
+            description = "Coût BCrypt calibré, durées de hachage et de vérification, attente et rejets du pool")
+    @ApiResponse(responseCode = "200", description = "Statistiques du hachage")
+    public ResponseEntity<PasswordHashingStatsResponse> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+
+    @DeleteMapping("/cache")
+    @Operation(summary = "Vider le cache catalogue", description = "Force la relecture du catalogue depuis la base")
+    @ApiResponse(responseCode = "204", description = "Caches vidés")
+    public ResponseEntity<Void> clearCache() {
+        catalogCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
     private Pageable createPageable(int page, int size, String sort, String direction) {
         int validPage = Math.max(0, page);
         int validSize = Math.min(Math.max(1, size), 50);
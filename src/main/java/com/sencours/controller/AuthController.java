@@ -1,9 +1,9 @@
 package com.sencours.controller;
 
 import com.sencours.dto.request.LoginRequest;
+import com.sencours.dto.request.RefreshTokenRequest;
 import com.sencours.dto.request.RegisterRequest;
 import com.sencours.dto.response.AuthResponse;
-import com.sencours.entity.User;
 import com.sencours.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,11 +12,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -33,10 +36,13 @@ public class AuthController {
             @ApiResponse(responseCode = "201", description = "Compte créé avec succès",
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
             @ApiResponse(responseCode = "400", description = "Données de requête invalides"),
-            @ApiResponse(responseCode = "409", description = "Email déjà utilisé")
+            @ApiResponse(responseCode = "409", description = "Email déjà utilisé"),
+            @ApiResponse(responseCode = "429", description = "Trop d'inscriptions depuis cette adresse"),
+            @ApiResponse(responseCode = "503", description = "Service d'authentification surchargé")
     })
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
+    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request,
+                                                 HttpServletRequest httpRequest) {
+        AuthResponse response = authService.register(request, httpRequest.getRemoteAddr());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -45,13 +51,43 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Connexion réussie",
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
-            @ApiResponse(responseCode = "401", description = "Email ou mot de passe incorrect")
+            @ApiResponse(responseCode = "401", description = "Email ou mot de passe incorrect"),
+            @ApiResponse(responseCode = "429", description = "Trop de tentatives pour cet email ou cette adresse"),
+            @ApiResponse(responseCode = "503", description = "Service d'authentification surchargé")
     })
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Rafraîchir la session",
+            description = "Échanger un jeton de rafraîchissement contre un nouveau jeton d'accès ; le jeton présenté est remplacé")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Nouveaux jetons émis",
+                    content = @Content(schema = @Schema(implementation = AuthResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Jeton de rafraîchissement invalide, expiré ou déjà utilisé")
+    })
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        AuthResponse response = authService.refresh(request.getRefreshToken());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Déconnexion",
+            description = "Révoquer le jeton d'accès courant et, s'il est fourni, la session du jeton de rafraîchissement",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Déconnexion effectuée"),
+            @ApiResponse(responseCode = "401", description = "Non authentifié")
+    })
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest request) {
+        authService.logout(authorization, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
     @Operation(summary = "Profil utilisateur", description = "Récupérer les informations de l'utilisateur connecté",
             security = @SecurityRequirement(name = "bearerAuth"))
@@ -60,8 +96,8 @@ public class AuthController {
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
             @ApiResponse(responseCode = "401", description = "Non authentifié")
     })
-    public ResponseEntity<AuthResponse> getCurrentUser(@AuthenticationPrincipal User currentUser) {
-        AuthResponse response = authService.getCurrentUser(currentUser);
+    public ResponseEntity<AuthResponse> getCurrentUser(@AuthenticationPrincipal UserDetails currentUser) {
+        AuthResponse response = authService.getCurrentUser(currentUser.getUsername());
         return ResponseEntity.ok(response);
     }
 }
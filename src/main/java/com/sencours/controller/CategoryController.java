@@ -1,8 +1,11 @@
 package com.sencours.controller;
 
 import com.sencours.dto.request.CategoryRequest;
+import com.sencours.dto.request.CursorPageRequest;
 import com.sencours.dto.response.CategoryResponse;
 import com.sencours.dto.response.PageResponse;
+import com.sencours.http.CatalogCaching;
+import com.sencours.http.ResourceVersion;
 import com.sencours.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,7 +21,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -46,10 +52,19 @@ public class CategoryController {
 
     @GetMapping
     @Operation(summary = "Lister les catégories", description = "Récupère la liste de toutes les catégories")
-    @ApiResponse(responseCode = "200", description = "Liste des catégories récupérée avec succès")
-    public ResponseEntity<List<CategoryResponse>> getAll() {
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Liste des catégories récupérée avec succès"),
+            @ApiResponse(responseCode = "304", description = "Liste inchangée depuis la version du client")
+    })
+    public ResponseEntity<List<CategoryResponse>> getAll(
+            WebRequest webRequest,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        ResourceVersion version = categoryService.getCatalogVersion();
+        if (CatalogCaching.isNotModified(webRequest, version)) {
+            return null;
+        }
         List<CategoryResponse> categories = categoryService.getAll();
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok().cacheControl(CatalogCaching.cacheControl(userDetails)).body(categories);
     }
 
     @GetMapping("/{id}")
@@ -57,12 +72,19 @@ public class CategoryController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Catégorie trouvée",
                     content = @Content(schema = @Schema(implementation = CategoryResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Catégorie inchangée depuis la version du client"),
             @ApiResponse(responseCode = "404", description = "Catégorie non trouvée")
     })
     public ResponseEntity<CategoryResponse> getById(
-            @Parameter(description = "ID de la catégorie") @PathVariable Long id) {
+            @Parameter(description = "ID de la catégorie") @PathVariable Long id,
+            WebRequest webRequest,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        ResourceVersion version = categoryService.getCatalogVersion();
+        if (CatalogCaching.isNotModified(webRequest, version)) {
+            return null;
+        }
         CategoryResponse response = categoryService.getById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(CatalogCaching.cacheControl(userDetails)).body(response);
     }
 
     @PutMapping("/{id}")
@@ -102,9 +124,12 @@ public class CategoryController {
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page (1-50)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "id") String sort,
-            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
-        Pageable pageable = createPageable(page, size, sort, direction);
-        PageResponse<CategoryResponse> response = categoryService.getAllPaginated(pageable);
+            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Curseur opaque (mode curseur, vide pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le total en mode curseur") @RequestParam(defaultValue = "false") boolean withCount) {
+        PageResponse<CategoryResponse> response = cursor != null
+                ? categoryService.getAllPaginated(CursorPageRequest.of(cursor, size, sort, direction, withCount))
+                : categoryService.getAllPaginated(createPageable(page, size, sort, direction));
         return ResponseEntity.ok(response);
     }
 
@@ -116,9 +141,12 @@ public class CategoryController {
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page (1-50)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "id") String sort,
-            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
-        Pageable pageable = createPageable(page, size, sort, direction);
-        PageResponse<CategoryResponse> response = categoryService.searchByNamePaginated(name, pageable);
+            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Curseur opaque (mode curseur, vide pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le total en mode curseur") @RequestParam(defaultValue = "false") boolean withCount) {
+        PageResponse<CategoryResponse> response = cursor != null
+                ? categoryService.searchByNamePaginated(name, CursorPageRequest.of(cursor, size, sort, direction, withCount))
+                : categoryService.searchByNamePaginated(name, createPageable(page, size, sort, direction));
         return ResponseEntity.ok(response);
     }
 
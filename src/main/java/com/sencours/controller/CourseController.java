@@ -1,13 +1,19 @@
 package com.sencours.controller;
 
 import com.sencours.dto.request.CourseRequest;
+import com.sencours.dto.request.CursorPageRequest;
+import com.sencours.dto.response.CourseDailyStatsResponse;
 import com.sencours.dto.response.CourseResponse;
+import com.sencours.dto.response.CourseSummaryResponse;
 import com.sencours.dto.response.PageResponse;
 import com.sencours.entity.User;
 import com.sencours.enums.Status;
 import com.sencours.exception.BadRequestException;
 import com.sencours.exception.ResourceNotFoundException;
+import com.sencours.http.CatalogCaching;
+import com.sencours.http.ResourceVersion;
 import com.sencours.repository.UserRepository;
+import com.sencours.service.CourseAnalyticsService;
 import com.sencours.service.CourseService;
 import com.sencours.dto.request.CourseSearchRequest;
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,13 +28,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -39,6 +48,7 @@ import java.util.Map;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CourseAnalyticsService courseAnalyticsService;
     private final UserRepository userRepository;
 
     @PostMapping
@@ -64,8 +74,8 @@ public class CourseController {
     @GetMapping
     @Operation(summary = "Lister les cours", description = "Récupère la liste de tous les cours")
     @ApiResponse(responseCode = "200", description = "Liste des cours récupérée avec succès")
-    public ResponseEntity<List<CourseResponse>> getAll() {
-        List<CourseResponse> courses = courseService.getAll();
+    public ResponseEntity<List<CourseSummaryResponse>> getAll() {
+        List<CourseSummaryResponse> courses = courseService.getAll();
         return ResponseEntity.ok(courses);
     }
 
@@ -74,12 +84,20 @@ public class CourseController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cours trouvé",
                     content = @Content(schema = @Schema(implementation = CourseResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Cours inchangé depuis la version du client"),
             @ApiResponse(responseCode = "404", description = "Cours non trouvé")
     })
     public ResponseEntity<CourseResponse> getById(
-            @Parameter(description = "ID du cours") @PathVariable Long id) {
+            @Parameter(description = "ID du cours") @PathVariable Long id,
+            WebRequest webRequest,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        // 304 sans charger sections et lecons
+        ResourceVersion version = courseService.getVersion(id);
+        if (CatalogCaching.isNotModified(webRequest, version)) {
+            return null;
+        }
         CourseResponse response = courseService.getById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(CatalogCaching.cacheControl(userDetails)).body(response);
     }
 
     @GetMapping("/instructor/{instructorId}")
@@ -88,43 +106,66 @@ public class CourseController {
             @ApiResponse(responseCode = "200", description = "Liste des cours de l'instructeur"),
             @ApiResponse(responseCode = "404", description = "Instructeur non trouvé")
     })
-    public ResponseEntity<List<CourseResponse>> getByInstructorId(
+    public ResponseEntity<List<CourseSummaryResponse>> getByInstructorId(
             @Parameter(description = "ID de l'instructeur") @PathVariable Long instructorId) {
-        List<CourseResponse> courses = courseService.getByInstructorId(instructorId);
+        List<CourseSummaryResponse> courses = courseService.getByInstructorId(instructorId);
         return ResponseEntity.ok(courses);
     }
 
+    @GetMapping("/instructor/{instructorId}/analytics")
+    @PreAuthorize("hasAnyRole('INSTRUCTEUR', 'ADMIN', 'SUPER_ADMIN')")
+    @Operation(summary = "Statistiques journalières de l'instructeur",
+            description = "Inscriptions, complétions, apprenants actifs et temps de visionnage par jour et par cours (30 derniers jours par défaut)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistiques journalières des cours"),
+            @ApiResponse(responseCode = "400", description = "Période invalide"),
+            @ApiResponse(responseCode = "403", description = "Statistiques d'un autre instructeur")
+    })
+    public ResponseEntity<List<CourseDailyStatsResponse>> getInstructorAnalytics(
+            @Parameter(description = "ID de l'instructeur") @PathVariable Long instructorId,
+            @Parameter(description = "Limiter à un cours") @RequestParam(required = false) Long courseId,
+            @Parameter(description = "Premier jour (inclus)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Dernier jour (inclus)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        List<CourseDailyStatsResponse> stats = courseAnalyticsService.getInstructorDailyStats(
+                instructorId, courseId, from, to, userDetails.getUsername());
+        return ResponseEntity.ok(stats);
+    }
+
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Cours par catégorie", description = "Récupère les cours d'une catégorie")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Liste des cours de la catégorie"),
             @ApiResponse(responseCode = "404", description = "Catégorie non trouvée")
     })
-    public ResponseEntity<List<CourseResponse>> getByCategoryId(
+    public ResponseEntity<List<CourseSummaryResponse>> getByCategoryId(
             @Parameter(description = "ID de la catégorie") @PathVariable Long categoryId) {
-        List<CourseResponse> courses = courseService.getByCategoryId(categoryId);
+        List<CourseSummaryResponse> courses = courseService.getByCategoryId(categoryId);
         return ResponseEntity.ok(courses);
     }
 
     @GetMapping("/status/{status}")
     @Operation(summary = "Cours par status", description = "Récupère les cours par status (DRAFT, PUBLISHED, ARCHIVED)")
     @ApiResponse(responseCode = "200", description = "Liste des cours filtrée par status")
-    public ResponseEntity<List<CourseResponse>> getByStatus(
+    public ResponseEntity<List<CourseSummaryResponse>> getByStatus(
             @Parameter(description = "Status du cours") @PathVariable Status status) {
-        List<CourseResponse> courses = courseService.getByStatus(status);
+        List<CourseSummaryResponse> courses = courseService.getByStatus(status);
         return ResponseEntity.ok(courses);
     }
 
     @GetMapping("/search")
     @Operation(summary = "Recherche avancée de cours", description = "Recherche de cours avec filtres (mot-clé, catégorie, prix, gratuit)")
     @ApiResponse(responseCode = "200", description = "Résultats de recherche paginés")
-    public ResponseEntity<PageResponse<CourseResponse>> search(
+    public ResponseEntity<PageResponse<CourseSummaryResponse>> search(
             @Parameter(description = "Terme de recherche") @RequestParam(required = false) String q,
             @Parameter(description = "ID de catégorie") @RequestParam(required = false) Long categoryId,
             @Parameter(description = "Prix minimum") @RequestParam(required = false) Double minPrice,
             @Parameter(description = "Prix maximum") @RequestParam(required = false) Double maxPrice,
             @Parameter(description = "Cours gratuits uniquement") @RequestParam(required = false) Boolean free,
-            @Parameter(description = "Tri: title, price, newest") @RequestParam(defaultValue = "newest") String sortBy,
+            @Parameter(description = "Note moyenne minimale") @RequestParam(required = false) Double minRating,
+            @Parameter(description = "Tri: relevance, title, price, rating, popular, newest") @RequestParam(defaultValue = "relevance") String sortBy,
             @Parameter(description = "Direction: asc, desc") @RequestParam(defaultValue = "desc") String sortDirection,
             @Parameter(description = "Numéro de page") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de page") @RequestParam(defaultValue = "12") int size) {
@@ -138,21 +179,22 @@ public class CourseController {
         request.setMinPrice(minPrice);
         request.setMaxPrice(maxPrice);
         request.setFree(free);
+        request.setMinRating(minRating);
 
-        PageResponse<CourseResponse> results = courseService.search(request, pageable);
+        PageResponse<CourseSummaryResponse> results = courseService.search(request, pageable);
         return ResponseEntity.ok(results);
     }
 
     @GetMapping("/search/quick")
-    @Operation(summary = "Recherche rapide", description = "Recherche simple par mot-clé")
+    @Operation(summary = "Recherche rapide", description = "Recherche simple par mot-clé, classée par pertinence")
     @ApiResponse(responseCode = "200", description = "Résultats de recherche paginés")
-    public ResponseEntity<PageResponse<CourseResponse>> quickSearch(
+    public ResponseEntity<PageResponse<CourseSummaryResponse>> quickSearch(
             @Parameter(description = "Terme de recherche") @RequestParam String q,
             @Parameter(description = "Numéro de page") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de page") @RequestParam(defaultValue = "12") int size) {
 
-        Pageable pageable = PageRequest.of(page, Math.min(Math.max(1, size), 50), Sort.by(Sort.Direction.DESC, "createdAt"));
-        PageResponse<CourseResponse> results = courseService.searchByKeyword(q, pageable);
+        Pageable pageable = PageRequest.of(page, Math.min(Math.max(1, size), 50));
+        PageResponse<CourseSummaryResponse> results = courseService.searchByKeyword(q, pageable);
         return ResponseEntity.ok(results);
     }
 
@@ -166,12 +208,19 @@ public class CourseController {
     }
 
     private Sort buildSearchSort(String sortBy, String sortDirection) {
+        // Sans tri explicite, les résultats sont classés par pertinence
+        if ("relevance".equalsIgnoreCase(sortBy)) {
+            return Sort.unsorted();
+        }
+
         Sort.Direction direction = "asc".equalsIgnoreCase(sortDirection) ?
                 Sort.Direction.ASC : Sort.Direction.DESC;
 
         String field = switch (sortBy.toLowerCase()) {
             case "title" -> "title";
             case "price" -> "price";
+            case "rating" -> "stats.averageRating";
+            case "popular" -> "stats.enrollmentCount";
             default -> "createdAt";
         };
 
@@ -260,27 +309,33 @@ public class CourseController {
     @GetMapping("/paginated")
     @Operation(summary = "Lister les cours avec pagination", description = "Récupère la liste paginée de tous les cours")
     @ApiResponse(responseCode = "200", description = "Liste paginée des cours récupérée avec succès")
-    public ResponseEntity<PageResponse<CourseResponse>> getAllPaginated(
+    public ResponseEntity<PageResponse<CourseSummaryResponse>> getAllPaginated(
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page (1-50)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "id") String sort,
-            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
-        Pageable pageable = createPageable(page, size, sort, direction);
-        PageResponse<CourseResponse> response = courseService.getAllPaginated(pageable);
+            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Curseur opaque (mode curseur, vide pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le total en mode curseur") @RequestParam(defaultValue = "false") boolean withCount) {
+        PageResponse<CourseSummaryResponse> response = cursor != null
+                ? courseService.getAllPaginated(CursorPageRequest.of(cursor, size, sort, direction, withCount))
+                : courseService.getAllPaginated(createPageable(page, size, sort, direction));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/search/paginated")
     @Operation(summary = "Rechercher des cours avec pagination", description = "Recherche des cours par titre avec pagination")
     @ApiResponse(responseCode = "200", description = "Liste paginée des cours correspondants")
-    public ResponseEntity<PageResponse<CourseResponse>> searchByTitlePaginated(
+    public ResponseEntity<PageResponse<CourseSummaryResponse>> searchByTitlePaginated(
             @Parameter(description = "Terme de recherche") @RequestParam String title,
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page (1-50)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "id") String sort,
-            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
-        Pageable pageable = createPageable(page, size, sort, direction);
-        PageResponse<CourseResponse> response = courseService.searchByTitlePaginated(title, pageable);
+            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Curseur opaque (mode curseur, vide pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le total en mode curseur") @RequestParam(defaultValue = "false") boolean withCount) {
+        PageResponse<CourseSummaryResponse> response = cursor != null
+                ? courseService.searchByTitlePaginated(title, CursorPageRequest.of(cursor, size, sort, direction, withCount))
+                : courseService.searchByTitlePaginated(title, createPageable(page, size, sort, direction));
         return ResponseEntity.ok(response);
     }
 
@@ -290,28 +345,34 @@ public class CourseController {
             @ApiResponse(responseCode = "200", description = "Liste paginée des cours de la catégorie"),
             @ApiResponse(responseCode = "404", description = "Catégorie non trouvée")
     })
-    public ResponseEntity<PageResponse<CourseResponse>> getByCategoryIdPaginated(
+    public ResponseEntity<PageResponse<CourseSummaryResponse>> getByCategoryIdPaginated(
             @Parameter(description = "ID de la catégorie") @PathVariable Long categoryId,
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page (1-50)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "id") String sort,
-            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
-        Pageable pageable = createPageable(page, size, sort, direction);
-        PageResponse<CourseResponse> response = courseService.getByCategoryIdPaginated(categoryId, pageable);
+            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Curseur opaque (mode curseur, vide pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le total en mode curseur") @RequestParam(defaultValue = "false") boolean withCount) {
+        PageResponse<CourseSummaryResponse> response = cursor != null
+                ? courseService.getByCategoryIdPaginated(categoryId, CursorPageRequest.of(cursor, size, sort, direction, withCount))
+                : courseService.getByCategoryIdPaginated(categoryId, createPageable(page, size, sort, direction));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/status/{status}/paginated")
     @Operation(summary = "Cours par status avec pagination", description = "Récupère les cours par status avec pagination")
     @ApiResponse(responseCode = "200", description = "Liste paginée des cours filtrée par status")
-    public ResponseEntity<PageResponse<CourseResponse>> getByStatusPaginated(
+    public ResponseEntity<PageResponse<CourseSummaryResponse>> getByStatusPaginated(
             @Parameter(description = "Status du cours") @PathVariable Status status,
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page (1-50)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "id") String sort,
-            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
-        Pageable pageable = createPageable(page, size, sort, direction);
-        PageResponse<CourseResponse> response = courseService.getByStatusPaginated(status, pageable);
+            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Curseur opaque (mode curseur, vide pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le total en mode curseur") @RequestParam(defaultValue = "false") boolean withCount) {
+        PageResponse<CourseSummaryResponse> response = cursor != null
+                ? courseService.getByStatusPaginated(status, CursorPageRequest.of(cursor, size, sort, direction, withCount))
+                : courseService.getByStatusPaginated(status, createPageable(page, size, sort, direction));
         return ResponseEntity.ok(response);
     }
 
@@ -321,14 +382,17 @@ public class CourseController {
             @ApiResponse(responseCode = "200", description = "Liste paginée des cours de l'instructeur"),
             @ApiResponse(responseCode = "404", description = "Instructeur non trouvé")
     })
-    public ResponseEntity<PageResponse<CourseResponse>> getByInstructorIdPaginated(
+    public ResponseEntity<PageResponse<CourseSummaryResponse>> getByInstructorIdPaginated(
             @Parameter(description = "ID de l'instructeur") @PathVariable Long instructorId,
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page (1-50)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "id") String sort,
-            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
-        Pageable pageable = createPageable(page, size, sort, direction);
-        PageResponse<CourseResponse> response = courseService.getByInstructorIdPaginated(instructorId, pageable);
+            @Parameter(description = "Direction du tri (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Curseur opaque (mode curseur, vide pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le total en mode curseur") @RequestParam(defaultValue = "false") boolean withCount) {
+        PageResponse<CourseSummaryResponse> response = cursor != null
+                ? courseService.getByInstructorIdPaginated(instructorId, CursorPageRequest.of(cursor, size, sort, direction, withCount))
+                : courseService.getByInstructorIdPaginated(instructorId, createPageable(page, size, sort, direction));
         return ResponseEntity.ok(response);
     }
 
@@ -1,9 +1,9 @@
 package com.sencours.controller;
 
+import com.sencours.config.AuthenticatedUser;
 import com.sencours.dto.request.ApplicationReviewRequest;
 import com.sencours.dto.request.InstructorApplicationCreateRequest;
 import com.sencours.dto.response.InstructorApplicationResponse;
-import com.sencours.entity.User;
 import com.sencours.enums.ApplicationStatus;
 import com.sencours.service.InstructorApplicationService;
 import jakarta.validation.Valid;
@@ -26,14 +26,14 @@ public class InstructorApplicationController {
 
     @PostMapping("/instructor-applications")
     public ResponseEntity<InstructorApplicationResponse> createApplication(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody InstructorApplicationCreateRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(applicationService.createApplication(user.getId(), request));
     }
 
     @GetMapping("/instructor-applications/my-application")
-    public ResponseEntity<InstructorApplicationResponse> getMyApplication(@AuthenticationPrincipal User user) {
+    public ResponseEntity<InstructorApplicationResponse> getMyApplication(@AuthenticationPrincipal AuthenticatedUser user) {
         InstructorApplicationResponse application = applicationService.getMyApplication(user.getId());
         if (application == null) {
             return ResponseEntity.noContent().build();
@@ -42,7 +42,7 @@ public class InstructorApplicationController {
     }
 
     @GetMapping("/instructor-applications/check")
-    public ResponseEntity<Boolean> hasPendingApplication(@AuthenticationPrincipal User user) {
+    public ResponseEntity<Boolean> hasPendingApplication(@AuthenticationPrincipal AuthenticatedUser user) {
         return ResponseEntity.ok(applicationService.hasPendingApplication(user.getId()));
     }
 
@@ -74,7 +74,7 @@ public class InstructorApplicationController {
     @PutMapping("/admin/instructor-applications/{id}/review")
     public ResponseEntity<InstructorApplicationResponse> reviewApplication(
             @PathVariable Long id,
-            @AuthenticationPrincipal User admin,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @Valid @RequestBody ApplicationReviewRequest request) {
         return ResponseEntity.ok(applicationService.reviewApplication(id, admin.getId(), request));
     }
@@ -3,6 +3,8 @@ package com.sencours.controller;
 import com.sencours.dto.request.LessonRequest;
 import com.sencours.dto.request.ReorderRequest;
 import com.sencours.dto.response.LessonResponse;
+import com.sencours.http.CatalogCaching;
+import com.sencours.http.ResourceVersion;
 import com.sencours.service.LessonService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +21,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -77,13 +80,20 @@ public class LessonController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Leçon gratuite récupérée",
                     content = @Content(schema = @Schema(implementation = LessonResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Leçon inchangée depuis la version du client"),
             @ApiResponse(responseCode = "403", description = "Leçon non gratuite"),
             @ApiResponse(responseCode = "404", description = "Leçon non trouvée")
     })
     public ResponseEntity<LessonResponse> getPreview(
-            @Parameter(description = "ID de la leçon") @PathVariable Long id) {
+            @Parameter(description = "ID de la leçon") @PathVariable Long id,
+            WebRequest webRequest,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        ResourceVersion version = lessonService.getPreviewVersion(id);
+        if (CatalogCaching.isNotModified(webRequest, version)) {
+            return null;
+        }
         LessonResponse response = lessonService.getPreview(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(CatalogCaching.cacheControl(userDetails)).body(response);
     }
 
     @GetMapping("/lessons/{id}/content")
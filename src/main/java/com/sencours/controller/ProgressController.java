@@ -1,8 +1,13 @@
 package com.sencours.controller;
 
+import com.sencours.dto.request.ProgressBatchRequest;
 import com.sencours.dto.request.ProgressRequest;
+import com.sencours.dto.response.ContinueLearningResponse;
+import com.sencours.dto.response.ProgressBatchResponse;
 import com.sencours.dto.response.ProgressResponse;
 import com.sencours.service.ProgressService;
+import com.sencours.service.ProgressSyncService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,6 +23,7 @@ import java.util.List;
 public class ProgressController {
 
     private final ProgressService progressService;
+    private final ProgressSyncService progressSyncService;
 
     @PutMapping("/lessons/{lessonId}")
     @PreAuthorize("isAuthenticated()")
@@ -29,6 +35,15 @@ public class ProgressController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ProgressBatchResponse> syncBatch(
+            @Valid @RequestBody ProgressBatchRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        ProgressBatchResponse response = progressSyncService.sync(request, userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/lessons/{lessonId}/complete")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Void> markAsCompleted(
@@ -47,6 +62,13 @@ public class ProgressController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/continue")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<ContinueLearningResponse>> getContinueLearning(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(progressService.getContinueLearning(userDetails.getUsername()));
+    }
+
     @GetMapping("/courses/{courseId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<ProgressResponse>> getCourseProgress(
@@ -7,6 +7,7 @@ import com.sencours.enums.Role;
 import com.sencours.exception.BadRequestException;
 import com.sencours.repository.UserRepository;
 import com.sencours.service.SuperAdminService;
+import com.sencours.service.TokenVersionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -30,6 +31,7 @@ public class SuperAdminController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final SuperAdminService superAdminService;
+    private final TokenVersionService tokenVersionService;
 
     @PostMapping("/admins")
     public ResponseEntity<UserResponse> createAdmin(@Valid @RequestBody CreateAdminRequest request) {
@@ -68,6 +70,7 @@ public class SuperAdminController {
             throw new BadRequestException("Cet utilisateur n'est pas un admin");
         }
 
+        tokenVersionService.invalidate(admin);
         userRepository.delete(admin);
         return ResponseEntity.noContent().build();
     }
@@ -1,7 +1,8 @@
 package com.sencours.controller;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -9,9 +10,11 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/utility")
+@RequiredArgsConstructor
 public class UtilityController {
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    // Encodeur de l'application : meme cout calibre que les hash crees a l'inscription
+    private final PasswordEncoder passwordEncoder;
 
     /**
      * Génère un hash BCrypt pour un mot de passe donné.
@@ -0,0 +1,37 @@
+package com.sencours.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pagination par curseur (keyset) : la page suivante reprend apres la derniere ligne lue
+ * au lieu de sauter un offset, et le COUNT n'est execute que sur demande.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageRequest {
+
+    // Curseur opaque renvoye par la page precedente, vide ou null pour la premiere page
+    private String cursor;
+    private int size;
+    private Sort sort;
+    private boolean withCount;
+
+    /**
+     * Requete construite a partir des parametres HTTP : taille bornee a [1, 50], tri ascendant sauf "desc"
+     */
+    public static CursorPageRequest of(String cursor, int size, String sort, String direction, boolean withCount) {
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return CursorPageRequest.builder()
+                .cursor(cursor)
+                .size(Math.min(Math.max(1, size), 50))
+                .sort(Sort.by(sortDirection, sort))
+                .withCount(withCount)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.sencours.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressBatchItemRequest {
+
+    @NotNull(message = "La leçon est obligatoire")
+    private Long lessonId;
+
+    private Boolean completed;
+
+    @Min(value = 0, message = "Le temps de visionnage ne peut pas être négatif")
+    private Integer watchTimeSeconds;
+
+    @Min(value = 0, message = "La position ne peut pas être négative")
+    private Integer lastPositionSeconds;
+
+    // Horodatage de l'appareil avec son fuseau : la modification la plus recente l'emporte
+    @NotNull(message = "La date de modification est obligatoire")
+    private OffsetDateTime clientUpdatedAt;
+}
@@ -0,0 +1,22 @@
+package com.sencours.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressBatchRequest {
+
+    @NotEmpty(message = "La liste des progressions ne peut pas être vide")
+    @Size(max = 500, message = "500 progressions maximum par synchronisation")
+    private List<@Valid ProgressBatchItemRequest> items;
+}
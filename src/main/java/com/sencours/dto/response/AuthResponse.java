@@ -17,6 +17,11 @@ public class AuthResponse {
     @Builder.Default
     private String type = "Bearer";
 
+    // Duree de vie du jeton d'acces, en secondes
+    private Long expiresIn;
+
+    private String refreshToken;
+
     private Long userId;
 
     private String email;
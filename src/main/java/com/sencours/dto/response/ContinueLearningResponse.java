@@ -0,0 +1,23 @@
+package com.sencours.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContinueLearningResponse {
+
+    private Long courseId;
+    private String courseTitle;
+    private String courseThumbnail;
+    // Prochaine lecon non terminee dans l'ordre du curriculum
+    private Long lessonId;
+    private String lessonTitle;
+    private Long sectionId;
+    private String sectionTitle;
+    private Integer lastPositionSeconds;
+}
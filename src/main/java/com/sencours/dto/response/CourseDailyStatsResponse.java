@@ -0,0 +1,24 @@
+package com.sencours.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseDailyStatsResponse {
+
+    private Long courseId;
+    private String courseTitle;
+    private LocalDate day;
+    private Integer enrollments;
+    private Integer completions;
+    // Apprenants inscrits ayant progresse ce jour-la, comptes une fois par jour
+    private Integer activeLearners;
+    private Long watchTimeSeconds;
+}
@@ -0,0 +1,77 @@
+package com.sencours.dto.response;
+
+import com.sencours.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Carte de cours pour les listes du catalogue : ni sections ni lecons.
+ * Construite directement par une projection JPQL (cours, instructeur, categorie et statistiques
+ * en une seule requete) ; l'arbre complet reste reserve a {@code GET /courses/{id}}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSummaryResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private BigDecimal price;
+    private String thumbnailUrl;
+    private Status status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private Long instructorId;
+    private String instructorFirstName;
+    private String instructorLastName;
+    private String instructorName;
+
+    private Long categoryId;
+    private String categoryName;
+
+    private Integer totalLessons;
+    private Integer totalDuration;
+    private Integer totalStudents;
+    private Double averageRating;
+    private Integer enrollmentCount;
+    private Integer reviewCount;
+
+    /**
+     * Constructeur de la projection JPQL (statistiques nulles si le cours n'a pas encore de ligne course_stats)
+     */
+    public CourseSummaryResponse(Long id, String title, String description, BigDecimal price, String thumbnailUrl,
+                                 Status status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                                 Long instructorId, String instructorFirstName, String instructorLastName,
+                                 Long categoryId, String categoryName,
+                                 Integer lessonCount, Integer totalDuration, Integer enrollmentCount,
+                                 Double averageRating, Integer reviewCount) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.price = price;
+        this.thumbnailUrl = thumbnailUrl;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.instructorId = instructorId;
+        this.instructorFirstName = instructorFirstName;
+        this.instructorLastName = instructorLastName;
+        this.instructorName = instructorFirstName + " " + instructorLastName;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.totalLessons = lessonCount != null ? lessonCount : 0;
+        this.totalDuration = totalDuration != null ? totalDuration : 0;
+        this.totalStudents = enrollmentCount != null ? enrollmentCount : 0;
+        this.enrollmentCount = this.totalStudents;
+        this.averageRating = averageRating != null ? Math.round(averageRating * 10.0) / 10.0 : 0.0;
+        this.reviewCount = reviewCount != null ? reviewCount : 0;
+    }
+}
@@ -18,6 +18,7 @@ public class EnrollmentResponse {
     private Long courseId;
     private String courseTitle;
     private String courseThumbnail;
+    private String instructorName;
     private Long userId;
     private String userName;
     private LocalDateTime enrolledAt;
@@ -28,4 +29,5 @@ public class EnrollmentResponse {
     private BigDecimal amountPaid;
     private Integer totalLessons;
     private Integer completedLessons;
+    private LocalDateTime lastActivityAt;
 }
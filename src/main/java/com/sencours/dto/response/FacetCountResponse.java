@@ -0,0 +1,17 @@
+package com.sencours.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountResponse {
+
+    private String value;
+    private String label;
+    private long count;
+}
@@ -1,5 +1,6 @@
 package com.sencours.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,13 +16,25 @@ import java.util.List;
 public class PageResponse<T> {
 
     private List<T> content;
-    private int page;
+    // Absents en mode curseur (page) ou quand le total n'est pas demande
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
     private boolean first;
     private boolean last;
 
+    // Curseur opaque de la page suivante (mode curseur uniquement)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    // Renseigne uniquement par la recherche de cours
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SearchFacetsResponse facets;
+
     public static <E, D> PageResponse<D> of(Page<E> page, List<D> content) {
         return PageResponse.<D>builder()
                 .content(content)
@@ -33,4 +46,19 @@ public class PageResponse<T> {
                 .last(page.isLast())
                 .build();
     }
+
+    /**
+     * Page en mode curseur : pas de numero de page, total seulement s'il a ete compte
+     */
+    public static <D> PageResponse<D> of(List<D> content, int size, boolean first, String nextCursor, Long total) {
+        return PageResponse.<D>builder()
+                .content(content)
+                .size(size)
+                .totalElements(total)
+                .totalPages(total != null ? (int) Math.ceil((double) total / size) : null)
+                .first(first)
+                .last(nextCursor == null)
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
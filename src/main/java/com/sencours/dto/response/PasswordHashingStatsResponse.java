@@ -0,0 +1,35 @@
+package com.sencours.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashingStatsResponse {
+
+    // Cout BCrypt des nouveaux hash, et s'il a ete calibre au demarrage
+    private int strength;
+    private boolean calibrated;
+    private long targetMillis;
+    private long calibrationMillis;
+
+    private long hashCount;
+    private double hashAvgMillis;
+    private long hashMaxMillis;
+
+    private long verifyCount;
+    private double verifyAvgMillis;
+    private long verifyMaxMillis;
+
+    // Attente dans la file du pool avant le calcul
+    private double queueWaitAvgMillis;
+    private long rejectedCount;
+    private long timedOutCount;
+
+    // Mots de passe re-haches a la connexion vers le cout courant
+    private long rehashCount;
+}
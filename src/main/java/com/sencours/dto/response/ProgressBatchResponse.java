@@ -0,0 +1,22 @@
+package com.sencours.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressBatchResponse {
+
+    // Progressions ecrites
+    private Integer applied;
+    // Progressions plus anciennes que celles du serveur, ignorees
+    private Integer skipped;
+    // Lecons inconnues ou non accessibles
+    private List<Long> rejectedLessonIds;
+}
@@ -0,0 +1,29 @@
+package com.sencours.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nombre de cours par valeur de filtre pour la recherche courante.
+ * Chaque facette ignore son propre filtre : les valeurs voisines restent selectionnables.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacetsResponse {
+
+    @Builder.Default
+    private List<FacetCountResponse> categories = new ArrayList<>();
+
+    @Builder.Default
+    private List<FacetCountResponse> prices = new ArrayList<>();
+
+    @Builder.Default
+    private List<FacetCountResponse> ratings = new ArrayList<>();
+}
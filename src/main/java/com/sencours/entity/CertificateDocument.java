@@ -0,0 +1,39 @@
+package com.sencours.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * PDF rendu d'un certificat, dans sa propre table pour que les listes de certificats ne le chargent pas.
+ */
+@Entity
+@Table(name = "certificate_documents")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CertificateDocument {
+
+    @Id
+    @Column(name = "certificate_id")
+    private Long certificateId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "certificate_id")
+    private Certificate certificate;
+
+    @Column(name = "pdf", nullable = false, length = 1_048_576)
+    private byte[] pdf;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        generatedAt = LocalDateTime.now();
+    }
+}
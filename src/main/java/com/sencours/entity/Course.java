@@ -64,10 +64,19 @@ public class Course {
     @OneToMany(mappedBy = "course", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Review> reviews = new ArrayList<>();
 
+    // Cle primaire partagee (@MapsId) et ligne toujours presente (creee a l'insertion, ou par
+    // CourseStatsBackfill avant le demarrage du serveur) : Hibernate pose un proxy sans requete.
+    // Optionnel, le cote inverse serait charge pour chaque cours de la liste.
+    @OneToOne(mappedBy = "course", fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL)
+    private CourseStats stats;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        if (stats == null) {
+            stats = CourseStats.builder().course(this).build();
+        }
     }
 
     @PreUpdate
@@ -0,0 +1,49 @@
+package com.sencours.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Agregats journaliers d'un cours pour le tableau de bord instructeur.
+ * Alimentes par le rollup incremental (CourseAnalyticsService), jamais lus depuis les tables sources.
+ */
+@Entity
+@Table(name = "course_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"course_id", "stats_day"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Sans cle etrangere : l'historique reste lisible si le cours est supprime
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "stats_day", nullable = false)
+    private LocalDate day;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer enrollments = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer completions = 0;
+
+    @Builder.Default
+    @Column(name = "active_learners", nullable = false)
+    private Integer activeLearners = 0;
+
+    @Builder.Default
+    @Column(name = "watch_time_seconds", nullable = false)
+    private Long watchTimeSeconds = 0L;
+}
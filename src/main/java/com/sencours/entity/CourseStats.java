@@ -0,0 +1,70 @@
+package com.sencours.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.BatchSize;
+
+import java.time.LocalDateTime;
+
+/**
+ * Statistiques denormalisees d'un cours (inscrits, avis, lecons, duree).
+ * Tenues a jour par increments dans la transaction qui modifie la donnee source,
+ * elles evitent de charger les collections du cours pour chaque carte du catalogue.
+ */
+@Entity
+@Table(name = "course_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@BatchSize(size = 50)
+public class CourseStats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    @Builder.Default
+    @Column(name = "enrollment_count", nullable = false)
+    private Integer enrollmentCount = 0;
+
+    @Builder.Default
+    @Column(name = "review_count", nullable = false)
+    private Integer reviewCount = 0;
+
+    @Builder.Default
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
+    @Builder.Default
+    @Column(name = "average_rating", nullable = false)
+    private Double averageRating = 0.0;
+
+    @Builder.Default
+    @Column(name = "lesson_count", nullable = false)
+    private Integer lessonCount = 0;
+
+    @Builder.Default
+    @Column(name = "total_duration", nullable = false)
+    private Integer totalDuration = 0;
+
+    // Incrementee a chaque reindexation du curriculum : un bitmap de completion d'une autre version est reconstruit
+    @Builder.Default
+    @Column(name = "curriculum_version", updatable = false)
+    private Long curriculumVersion = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -38,6 +39,24 @@ public class Enrollment {
     @Column(name = "progress_percentage")
     private Integer progressPercentage = 0;
 
+    // Lecons terminees du cours : popcount du bitmap, copie pour le tableau de bord
+    @Builder.Default
+    @Column(name = "completed_lessons")
+    private Integer completedLessons = 0;
+
+    // Un bit par lecon, a sa position Lesson.curriculumPosition (voir CompletionBitmap)
+    @Column(name = "completion_bitmap", length = 1024)
+    private byte[] completionBitmap;
+
+    // Version du curriculum (CourseStats.curriculumVersion) au calcul du bitmap : si elle a change,
+    // le bitmap est reconstruit depuis Progress
+    @Column(name = "completion_curriculum_version")
+    private Long completionCurriculumVersion;
+
+    // Dernier jour compte comme actif dans course_daily_stats ; ecrit uniquement par le rollup
+    @Column(name = "last_active_on", insertable = false, updatable = false)
+    private LocalDate lastActiveOn;
+
     @Column(name = "payment_reference")
     private String paymentReference;
 
@@ -50,6 +69,8 @@ public class Enrollment {
     @PrePersist
     protected void onCreate() {
         enrolledAt = LocalDateTime.now();
-        progressPercentage = 0;
+        if (progressPercentage == null) {
+            progressPercentage = 0;
+        }
     }
 }
@@ -0,0 +1,46 @@
+package com.sencours.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Requete POST identifiee par son en-tete Idempotency-Key, et sa reponse une fois traitee.
+ * Une ligne non terminee signale une execution en cours sur une instance.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    // Empreinte de l'utilisateur et de la cle : une cle n'est jamais partagee entre comptes
+    @Id
+    @Column(name = "scope_key", length = 64)
+    private String scopeKey;
+
+    // Empreinte de la methode, de l'URI et du corps de la premiere requete
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "response_body", length = 65_536)
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
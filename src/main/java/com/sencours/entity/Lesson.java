@@ -54,4 +54,8 @@ public class Lesson {
     @Column(name = "thumbnail_url")
     private String thumbnailUrl;
 
+    // Position dans l'ordre du curriculum (bit dans Enrollment.completionBitmap) ; ecrit uniquement par la reindexation
+    @Column(name = "curriculum_position", insertable = false, updatable = false)
+    private Integer curriculumPosition;
+
 }
@@ -8,6 +8,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "progress", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "lesson_id"})
+}, indexes = {
+        @Index(name = "idx_progress_modified_at", columnList = "modified_at")
 })
 @Getter
 @Setter
@@ -39,4 +41,24 @@ public class Progress {
 
     @Column(name = "last_position_seconds")
     private Integer lastPositionSeconds = 0;
+
+    // Derniere activite de l'apprenant sur la lecon (aussi ecrite par le flush des battements)
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Derniere ecriture cote serveur, quelle que soit la date fournie par le client : filigrane du rollup.
+    // Vide sur les lignes anterieures a la colonne, deja agregees
+    @Column(name = "modified_at")
+    private LocalDateTime modifiedAt;
+
+    // Temps de visionnage deja agrege dans course_daily_stats ; ecrit uniquement par le rollup
+    @Column(name = "rolled_up_watch_time_seconds", insertable = false, updatable = false)
+    private Integer rolledUpWatchTimeSeconds;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+        modifiedAt = updatedAt;
+    }
 }
@@ -0,0 +1,33 @@
+package com.sencours.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Jeton d'acces revoque avant son expiration (deconnexion), identifie par son claim jti.
+ * Chaque instance recopie ces lignes en memoire ; elles sont purgees une fois le jeton expire.
+ */
+@Entity
+@Table(name = "revoked_access_tokens", indexes = {
+        @Index(name = "idx_revoked_access_tokens_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_access_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedAccessToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,26 @@
+package com.sencours.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Borne jusqu'a laquelle un rollup a deja agrege les tables sources
+ */
+@Entity
+@Table(name = "rollup_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupWatermark {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "processed_until", nullable = false)
+    private LocalDateTime processedUntil;
+}
@@ -0,0 +1,33 @@
+package com.sencours.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Derniere invalidation des jetons d'un utilisateur, recopiee en memoire par chaque instance.
+ * Sans cle etrangere vers users : la ligne survit a la suppression du compte et est purgee
+ * une fois expires les jetons emis avant elle.
+ */
+@Entity
+@Table(name = "token_version_changes", indexes = {
+        @Index(name = "idx_token_version_changes_changed_at", columnList = "changed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenVersionChange {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -61,10 +61,19 @@ public class User implements UserDetails {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    // Incrementee a chaque suspension, suppression ou changement de role : invalide les jetons deja emis
+    @Column(name = "token_version")
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
     public boolean isDeleted() {
         return deletedAt != null;
     }
 
+    public int currentTokenVersion() {
+        return tokenVersion != null ? tokenVersion : 0;
+    }
+
     @OneToMany(mappedBy = "instructor", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Course> coursesCreated = new ArrayList<>();
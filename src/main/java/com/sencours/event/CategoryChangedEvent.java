@@ -0,0 +1,14 @@
+package com.sencours.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publie quand une categorie est creee, renommee ou supprimee.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+
+    private final Long categoryId;
+}
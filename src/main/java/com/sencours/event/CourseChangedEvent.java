@@ -0,0 +1,16 @@
+package com.sencours.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publie quand un cours est cree, modifie, change de statut ou est supprime,
+ * ainsi que lorsque son curriculum (sections, lecons) ou ses avis changent.
+ * Les abonnes relisent l'etat du cours apres le commit de la transaction.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseChangedEvent {
+
+    private final Long courseId;
+}
@@ -0,0 +1,15 @@
+package com.sencours.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publie quand une inscription atteint 100 % pour la premiere fois (date de completion fixee).
+ */
+@Getter
+@AllArgsConstructor
+public class CourseCompletedEvent {
+
+    private final Long userId;
+    private final Long courseId;
+}
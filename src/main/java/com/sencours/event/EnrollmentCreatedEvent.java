@@ -0,0 +1,14 @@
+package com.sencours.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publie quand un etudiant s'inscrit a un cours (gratuit ou apres paiement).
+ */
+@Getter
+@AllArgsConstructor
+public class EnrollmentCreatedEvent {
+
+    private final Long courseId;
+}
@@ -0,0 +1,15 @@
+package com.sencours.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publie quand les jetons d'un utilisateur sont invalides (suspension, suppression, changement de role).
+ */
+@Getter
+@AllArgsConstructor
+public class TokenVersionChangedEvent {
+
+    private final Long userId;
+    private final int version;
+}
@@ -0,0 +1,15 @@
+package com.sencours.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publie quand le prenom ou le nom d'un utilisateur change
+ * (le nom de l'instructeur est indexe avec chacun de ses cours).
+ */
+@Getter
+@AllArgsConstructor
+public class UserRenamedEvent {
+
+    private final Long userId;
+}
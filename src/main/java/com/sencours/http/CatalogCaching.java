@@ -0,0 +1,34 @@
+package com.sencours.http;
+
+import org.springframework.http.CacheControl;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+/**
+ * GET conditionnels des endpoints publics du catalogue.
+ */
+public final class CatalogCaching {
+
+    // Les visiteurs anonymes reutilisent la reponse une minute sans la redemander
+    private static final CacheControl ANONYMOUS = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+    // Utilisateur connecte : pas de cache partage, revalidation a chaque affichage
+    private static final CacheControl AUTHENTICATED = CacheControl.noCache().cachePrivate();
+
+    private CatalogCaching() {
+    }
+
+    /**
+     * Vrai si le client possede deja cette version : la reponse 304 est alors prete
+     * (ETag, Last-Modified), le controleur doit renvoyer null sans charger la ressource.
+     */
+    public static boolean isNotModified(WebRequest request, ResourceVersion version) {
+        return version != null && request.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+
+    public static CacheControl cacheControl(UserDetails userDetails) {
+        return userDetails == null ? ANONYMOUS : AUTHENTICATED;
+    }
+}
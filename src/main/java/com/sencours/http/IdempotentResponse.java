@@ -0,0 +1,7 @@
+package com.sencours.http;
+
+/**
+ * Reponse enregistree d'une requete idempotente, rejouee telle quelle aux nouvelles tentatives
+ */
+public record IdempotentResponse(int status, String contentType, byte[] body) {
+}
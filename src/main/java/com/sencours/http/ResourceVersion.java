@@ -0,0 +1,45 @@
+package com.sencours.http;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Validateurs HTTP d'une ressource du catalogue : ETag fort et Last-Modified,
+ * derives des dates de mise a jour sans charger la ressource elle-meme.
+ */
+@Getter
+public final class ResourceVersion {
+
+    private final String etag;
+    private final long lastModified;
+
+    private ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Version a partir de la plus recente des dates fournies ; null si aucune date n'est connue
+     * (lignes anterieures aux colonnes updated_at : pas de validateur plutot qu'un ETag fige).
+     */
+    public static ResourceVersion of(String kind, Object key, LocalDateTime... timestamps) {
+        LocalDateTime latest = Arrays.stream(timestamps)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        if (latest == null) {
+            return null;
+        }
+
+        Instant instant = latest.atZone(ZoneId.systemDefault()).toInstant();
+        long micros = instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+        String etag = "\"" + kind + "-" + key + "-" + Long.toString(micros, 36) + "\"";
+        return new ResourceVersion(etag, micros / 1000);
+    }
+}
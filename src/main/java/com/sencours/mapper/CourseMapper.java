@@ -5,6 +5,7 @@ import com.sencours.dto.response.CourseResponse;
 import com.sencours.dto.response.SectionResponse;
 import com.sencours.entity.Category;
 import com.sencours.entity.Course;
+import com.sencours.entity.CourseStats;
 import com.sencours.entity.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -47,25 +48,23 @@ public class CourseMapper {
                     .categoryName(entity.getCategory().getName());
         }
 
-        if (entity.getEnrollments() != null) {
-            int count = entity.getEnrollments().size();
-            builder.totalStudents(count);
-            builder.enrollmentCount(count);
+        CourseStats stats = entity.getStats();
+        if (stats != null) {
+            // Compteurs denormalises : aucune collection du cours n'est parcourue
+            builder.totalStudents(stats.getEnrollmentCount())
+                    .enrollmentCount(stats.getEnrollmentCount())
+                    .averageRating(Math.round(stats.getAverageRating() * 10.0) / 10.0)
+                    .reviewCount(stats.getReviewCount())
+                    .totalLessons(stats.getLessonCount())
+                    .totalDuration(stats.getTotalDuration());
         } else {
-            builder.totalStudents(0);
-            builder.enrollmentCount(0);
-        }
-
-        if (entity.getReviews() != null && !entity.getReviews().isEmpty()) {
-            double avg = entity.getReviews().stream()
-                    .mapToInt(r -> r.getRating())
-                    .average()
-                    .orElse(0.0);
-            builder.averageRating(Math.round(avg * 10.0) / 10.0);
-            builder.reviewCount(entity.getReviews().size());
-        } else {
-            builder.averageRating(0.0);
-            builder.reviewCount(0);
+            // Cours pas encore enregistre : sa ligne course_stats sera creee a l'insertion
+            builder.totalStudents(0)
+                    .enrollmentCount(0)
+                    .averageRating(0.0)
+                    .reviewCount(0)
+                    .totalLessons(0)
+                    .totalDuration(0);
         }
 
         if (entity.getSections() != null && !entity.getSections().isEmpty()) {
@@ -73,16 +72,6 @@ public class CourseMapper {
                     .map(sectionMapper::toResponse)
                     .collect(Collectors.toList());
             builder.sections(sectionResponses);
-
-            int totalLessons = entity.getSections().stream()
-                    .mapToInt(s -> s.getLessons() != null ? s.getLessons().size() : 0)
-                    .sum();
-            int totalDuration = entity.getSections().stream()
-                    .flatMap(s -> s.getLessons() != null ? s.getLessons().stream() : java.util.stream.Stream.empty())
-                    .mapToInt(l -> l.getDuration() != null ? l.getDuration() : 0)
-                    .sum();
-            builder.totalLessons(totalLessons);
-            builder.totalDuration(totalDuration);
         }
 
         return builder.build();
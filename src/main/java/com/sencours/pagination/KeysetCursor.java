@@ -0,0 +1,154 @@
+package com.sencours.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sencours.dto.request.CursorPageRequest;
+import com.sencours.dto.response.PageResponse;
+import com.sencours.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Curseur opaque de la pagination keyset.
+ *
+ * Le curseur encode (JSON puis Base64 URL) le tri demande et les valeurs des cles de tri
+ * de la derniere ligne renvoyee, id compris : Spring Data en tire le predicat de reprise
+ * {@code (tri, id) > (valeurs)} sans OFFSET ni COUNT. Chaque liste declare ses champs de tri :
+ * non nuls et sans donnee sensible, l'id y figure toujours.
+ */
+public final class KeysetCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Verifie que chaque champ de tri fait partie des champs autorises pour la liste.
+     * Liste explicite : un champ sensible (mot de passe) ne doit pas se retrouver dans le curseur,
+     * et un champ nullable casserait le predicat de reprise (lignes sautees ou repetees)
+     */
+    public static Sort validate(Sort sort, Set<String> sortableFields) {
+        for (Sort.Order order : sort) {
+            if (!sortableFields.contains(order.getProperty())) {
+                throw new BadRequestException("Tri non supporté en pagination par curseur: " + order.getProperty());
+            }
+        }
+        return sort;
+    }
+
+    /**
+     * Position de depart decrite par le curseur (debut de liste si le curseur est vide)
+     */
+    public static ScrollPosition position(CursorPageRequest request, Class<?> entityType, Set<String> sortableFields) {
+        Sort sort = validate(request.getSort(), sortableFields);
+        if (request.getCursor() == null || request.getCursor().isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, String> payload;
+        try {
+            payload = MAPPER.readValue(Base64.getUrlDecoder().decode(request.getCursor()), new TypeReference<>() {
+            });
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadRequestException("Curseur de pagination invalide");
+        }
+
+        if (!describe(sort).equals(payload.remove("$sort"))) {
+            throw new BadRequestException("Le curseur ne correspond pas au tri demandé");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : payload.entrySet()) {
+            Field field = sortableFields.contains(entry.getKey())
+                    ? ReflectionUtils.findField(entityType, entry.getKey())
+                    : null;
+            if (field == null) {
+                throw new BadRequestException("Curseur de pagination invalide");
+            }
+            keys.put(entry.getKey(), entry.getValue() != null ? parse(entry.getValue(), field.getType()) : null);
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public static Limit limit(CursorPageRequest request) {
+        return Limit.of(request.getSize());
+    }
+
+    /**
+     * Construit la reponse : curseur de la page suivante s'il en reste une, total seulement si demande
+     */
+    public static <E, D> PageResponse<D> toResponse(Window<E> window, List<D> content,
+                                                    CursorPageRequest request, Long total) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode((KeysetScrollPosition) window.positionAt(window.size() - 1), request.getSort())
+                : null;
+        return PageResponse.of(content, request.getSize(),
+                request.getCursor() == null || request.getCursor().isBlank(), nextCursor, total);
+    }
+
+    static String encode(KeysetScrollPosition position, Sort sort) {
+        Map<String, String> payload = new LinkedHashMap<>();
+        payload.put("$sort", describe(sort));
+        position.getKeys().forEach((key, value) ->
+                payload.put(key, value instanceof BigDecimal decimal ? decimal.toPlainString() : value != null ? value.toString() : null));
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Encodage du curseur impossible", e);
+        }
+    }
+
+    private static String describe(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + order.getDirection().name().toLowerCase())
+                .collect(Collectors.joining(","));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(String value, Class<?> type) {
+        try {
+            if (type == String.class) {
+                return value;
+            }
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == Double.class || type == double.class) {
+                return Double.valueOf(value);
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<Enum>) type, value);
+            }
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Curseur de pagination invalide");
+        }
+        throw new BadRequestException("Curseur de pagination invalide");
+    }
+}
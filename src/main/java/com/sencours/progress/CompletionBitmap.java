@@ -0,0 +1,65 @@
+package com.sencours.progress;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Lecons terminees d'une inscription, un bit par position dans l'ordre du curriculum
+ * (lessons.curriculum_position : sections puis lecons par orderIndex). Stocke tel quel dans
+ * enrollments.completion_bitmap : pourcentage, prochaine lecon et eligibilite au certificat se lisent sur une seule ligne.
+ */
+public final class CompletionBitmap {
+
+    private final BitSet bits;
+
+    private CompletionBitmap(BitSet bits) {
+        this.bits = bits;
+    }
+
+    public static CompletionBitmap fromBytes(byte[] bytes) {
+        return new CompletionBitmap(bytes != null ? BitSet.valueOf(bytes) : new BitSet());
+    }
+
+    /**
+     * Construit le bitmap a partir des positions des lecons terminees
+     */
+    public static CompletionBitmap of(Collection<Integer> completedPositions) {
+        BitSet bits = new BitSet();
+        completedPositions.forEach(bits::set);
+        return new CompletionBitmap(bits);
+    }
+
+    public boolean isCompleted(int position) {
+        return bits.get(position);
+    }
+
+    public void set(int position, boolean completed) {
+        bits.set(position, completed);
+    }
+
+    /**
+     * Nombre de lecons terminees (popcount)
+     */
+    public int cardinality() {
+        return bits.cardinality();
+    }
+
+    /**
+     * Pourcentage de progression sur {@code size} lecons
+     */
+    public int percentageOf(int size) {
+        return size > 0 ? Math.min(100, cardinality() * 100 / size) : 0;
+    }
+
+    /**
+     * Premiere position non terminee parmi {@code size} lecons, -1 si tout est termine
+     */
+    public int nextIncomplete(int size) {
+        int position = bits.nextClearBit(0);
+        return position < size ? position : -1;
+    }
+
+    public byte[] toBytes() {
+        return bits.toByteArray();
+    }
+}
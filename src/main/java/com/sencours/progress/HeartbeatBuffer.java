@@ -0,0 +1,75 @@
+package com.sencours.progress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derniers battements du lecteur video, fusionnes par (utilisateur, lecon) en attendant
+ * d'etre ecrits par lots : seule la position la plus recente de chaque lecon compte.
+ */
+public class HeartbeatBuffer {
+
+    private final Map<Key, Heartbeat> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Fusionne un battement avec celui deja en attente (les champs renseignes l'emportent)
+     */
+    public void offer(Heartbeat heartbeat) {
+        pending.merge(new Key(heartbeat.userId(), heartbeat.lessonId()), heartbeat, Heartbeat::mergeWith);
+    }
+
+    public boolean contains(Long userId, Long lessonId) {
+        return pending.containsKey(new Key(userId, lessonId));
+    }
+
+    public Optional<Heartbeat> get(Long userId, Long lessonId) {
+        return Optional.ofNullable(pending.get(new Key(userId, lessonId)));
+    }
+
+    /**
+     * Retire le battement en attente (ecriture immediate d'une completion)
+     */
+    public Optional<Heartbeat> take(Long userId, Long lessonId) {
+        return Optional.ofNullable(pending.remove(new Key(userId, lessonId)));
+    }
+
+    /**
+     * Vide le tampon ; un battement recu pendant la vidange part au lot suivant
+     */
+    public List<Heartbeat> drain() {
+        List<Heartbeat> drained = new ArrayList<>(pending.size());
+        for (Key key : pending.keySet()) {
+            Heartbeat heartbeat = pending.remove(key);
+            if (heartbeat != null) {
+                drained.add(heartbeat);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Remet en attente des battements non ecrits, sauf si un plus recent est arrive entre-temps
+     */
+    public void restore(List<Heartbeat> heartbeats) {
+        heartbeats.forEach(hb -> pending.putIfAbsent(new Key(hb.userId(), hb.lessonId()), hb));
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    private record Key(Long userId, Long lessonId) {
+    }
+
+    public record Heartbeat(Long userId, Long lessonId, Integer watchTimeSeconds, Integer lastPositionSeconds) {
+
+        Heartbeat mergeWith(Heartbeat newer) {
+            return new Heartbeat(userId, lessonId,
+                    newer.watchTimeSeconds != null ? newer.watchTimeSeconds : watchTimeSeconds,
+                    newer.lastPositionSeconds != null ? newer.lastPositionSeconds : lastPositionSeconds);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.sencours.repository;
 
 import com.sencours.entity.Category;
+import com.sencours.repository.projection.CategoriesVersionView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,4 +23,18 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     // Pagination methods
     Page<Category> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    // Pagination par curseur (keyset) : pas d'OFFSET ni de COUNT
+    Window<Category> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Category> findByNameContainingIgnoreCase(String name, ScrollPosition position, Sort sort, Limit limit);
+
+    long countByNameContainingIgnoreCase(String name);
+
+    // Validateurs HTTP des categories : leur nombre de cours change avec le catalogue
+    @Query("SELECT COUNT(c) AS categoryCount, MAX(c.updatedAt) AS categoriesUpdatedAt, " +
+           "(SELECT COUNT(co) FROM Course co) AS courseCount, " +
+           "(SELECT MAX(co.updatedAt) FROM Course co) AS coursesUpdatedAt " +
+           "FROM Category c")
+    CategoriesVersionView findCatalogVersion();
 }
@@ -0,0 +1,18 @@
+package com.sencours.repository;
+
+import com.sencours.entity.CertificateDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CertificateDocumentRepository extends JpaRepository<CertificateDocument, Long> {
+
+    // Telechargement : seul le PDF est lu, sans charger le certificat ni le cours
+    @Query("SELECT d.pdf FROM CertificateDocument d " +
+           "WHERE d.certificate.user.id = :userId AND d.certificate.course.id = :courseId")
+    Optional<byte[]> findPdfByUserIdAndCourseId(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    boolean existsByCertificateId(Long certificateId);
+}
@@ -0,0 +1,56 @@
+package com.sencours.repository;
+
+import com.sencours.entity.CourseDailyStats;
+import com.sencours.repository.projection.CourseDailyStatsView;
+import com.sencours.repository.projection.DailyCountView;
+import com.sencours.repository.projection.ProgressActivityView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourseDailyStatsRepository extends JpaRepository<CourseDailyStats, Long> {
+
+    List<CourseDailyStats> findByCourseIdInAndDayIn(Collection<Long> courseIds, Collection<LocalDate> days);
+
+    // Lecture du tableau de bord : uniquement les agregats, jamais Enrollment ni Progress
+    @Query("SELECT d.courseId AS courseId, c.title AS courseTitle, d.day AS day, " +
+           "d.enrollments AS enrollments, d.completions AS completions, " +
+           "d.activeLearners AS activeLearners, d.watchTimeSeconds AS watchTimeSeconds " +
+           "FROM CourseDailyStats d JOIN Course c ON c.id = d.courseId " +
+           "WHERE c.instructor.id = :instructorId AND (:courseId IS NULL OR c.id = :courseId) " +
+           "AND d.day BETWEEN :from AND :to " +
+           "ORDER BY d.day, c.id")
+    List<CourseDailyStatsView> findByInstructor(@Param("instructorId") Long instructorId,
+                                                @Param("courseId") Long courseId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    // Sources du rollup : lignes creees ou modifiees dans la fenetre ]from, to]
+
+    @Query("SELECT e.course.id AS courseId, CAST(e.enrolledAt AS LocalDate) AS day, COUNT(e) AS total " +
+           "FROM Enrollment e WHERE e.enrolledAt > :from AND e.enrolledAt <= :to " +
+           "GROUP BY e.course.id, CAST(e.enrolledAt AS LocalDate)")
+    List<DailyCountView> countEnrollments(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT e.course.id AS courseId, CAST(e.completedAt AS LocalDate) AS day, COUNT(e) AS total " +
+           "FROM Enrollment e WHERE e.completedAt > :from AND e.completedAt <= :to " +
+           "GROUP BY e.course.id, CAST(e.completedAt AS LocalDate)")
+    List<DailyCountView> countCompletions(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Jour de l'activite selon l'appareil (updated_at), selection par l'heure d'ecriture du serveur (modified_at) :
+    // une progression synchronisee hors ligne, datee d'avant le filigrane, est tout de meme agregee
+    @Query("SELECT p.id AS id, s.course.id AS courseId, CAST(p.updatedAt AS LocalDate) AS day, " +
+           "p.watchTimeSeconds AS watchTimeSeconds, p.rolledUpWatchTimeSeconds AS rolledUpWatchTimeSeconds, " +
+           "e.id AS enrollmentId, e.lastActiveOn AS lastActiveOn " +
+           "FROM Progress p JOIN p.lesson l JOIN l.section s " +
+           "LEFT JOIN Enrollment e ON e.user = p.user AND e.course = s.course " +
+           "WHERE p.modifiedAt > :from AND p.modifiedAt <= :to")
+    List<ProgressActivityView> findProgressActivity(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -1,19 +1,27 @@
 package com.sencours.repository;
 
+import com.sencours.dto.response.CourseSummaryResponse;
 import com.sencours.entity.Course;
 import com.sencours.enums.Status;
+import com.sencours.repository.projection.CourseTitleView;
+import com.sencours.repository.projection.CourseVersionView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseSummaryScrollOperations {
 
     List<Course> findByInstructorId(Long instructorId);
 
@@ -25,6 +33,101 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     List<Course> findByStatusAndCategoryId(Status status, Long categoryId);
 
+    // Detail d'un cours : instructeur, categorie, statistiques et sections en une requete
+    @EntityGraph(attributePaths = {"instructor", "category", "stats", "sections"})
+    Optional<Course> findDetailById(Long id);
+
+    // Validateurs HTTP du detail, sans charger le graphe
+    @Query("SELECT c.updatedAt AS updatedAt, s.updatedAt AS statsUpdatedAt, i.updatedAt AS instructorUpdatedAt " +
+           "FROM Course c JOIN c.instructor i LEFT JOIN c.stats s WHERE c.id = :id")
+    Optional<CourseVersionView> findVersionById(@Param("id") Long id);
+
+    // Horloge de la base : les dates ne dependent pas de l'instance qui ecrit
+    @Modifying
+    @Query("UPDATE Course c SET c.updatedAt = CURRENT_TIMESTAMP WHERE c.id = :id")
+    int touch(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.updatedAt = CURRENT_TIMESTAMP WHERE c.category.id = :categoryId")
+    int touchByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Chargement pour l'index de recherche (instructeur et catégorie en une requête)
+    @Query("SELECT c FROM Course c JOIN FETCH c.instructor JOIN FETCH c.category LEFT JOIN FETCH c.stats WHERE c.id = :id")
+    Optional<Course> findWithInstructorAndCategoryById(@Param("id") Long id);
+
+    @Query("SELECT c FROM Course c JOIN FETCH c.instructor JOIN FETCH c.category LEFT JOIN FETCH c.stats " +
+           "WHERE c.status = :status")
+    List<Course> findWithInstructorAndCategoryByStatus(@Param("status") Status status);
+
+    @Query("SELECT c FROM Course c JOIN FETCH c.instructor JOIN FETCH c.category LEFT JOIN FETCH c.stats " +
+           "WHERE c.status = :status AND c.category.id = :categoryId")
+    List<Course> findWithInstructorAndCategoryByStatusAndCategoryId(@Param("status") Status status,
+                                                                    @Param("categoryId") Long categoryId);
+
+    @Query("SELECT c FROM Course c JOIN FETCH c.instructor JOIN FETCH c.category LEFT JOIN FETCH c.stats " +
+           "WHERE c.status = :status AND c.instructor.id = :instructorId")
+    List<Course> findWithInstructorAndCategoryByStatusAndInstructorId(@Param("status") Status status,
+                                                                      @Param("instructorId") Long instructorId);
+
+    // Cartes du catalogue : projection sur les seuls champs affiches, instructeur, categorie
+    // et statistiques joints dans la meme requete (aucune section ni lecon chargee)
+    String SUMMARY_SELECT = "SELECT new com.sencours.dto.response.CourseSummaryResponse(" +
+            "c.id, c.title, c.description, c.price, c.thumbnailUrl, c.status, c.createdAt, c.updatedAt, " +
+            "i.id, i.firstName, i.lastName, cat.id, cat.name, " +
+            "s.lessonCount, s.totalDuration, s.enrollmentCount, s.averageRating, s.reviewCount) " +
+            "FROM Course c JOIN c.instructor i LEFT JOIN c.category cat LEFT JOIN c.stats s ";
+
+    @Query(SUMMARY_SELECT)
+    List<CourseSummaryResponse> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids")
+    List<CourseSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY_SELECT + "WHERE i.id = :instructorId")
+    List<CourseSummaryResponse> findSummariesByInstructorId(@Param("instructorId") Long instructorId);
+
+    @Query(SUMMARY_SELECT + "WHERE cat.id = :categoryId")
+    List<CourseSummaryResponse> findSummariesByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(SUMMARY_SELECT + "WHERE c.status = :status")
+    List<CourseSummaryResponse> findSummariesByStatus(@Param("status") Status status);
+
+    @Query(SUMMARY_SELECT + "WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    List<CourseSummaryResponse> findSummariesByTitle(@Param("title") String title);
+
+    @Query(value = SUMMARY_SELECT,
+           countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<CourseSummaryResponse> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%'))",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    Page<CourseSummaryResponse> findSummariesByTitle(@Param("title") String title, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE cat.id = :categoryId",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE c.category.id = :categoryId")
+    Page<CourseSummaryResponse> findSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.status = :status",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE c.status = :status")
+    Page<CourseSummaryResponse> findSummariesByStatus(@Param("status") Status status, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE i.id = :instructorId",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE c.instructor.id = :instructorId")
+    Page<CourseSummaryResponse> findSummariesByInstructorId(@Param("instructorId") Long instructorId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%')) AND c.status = :status",
+           countQuery = "SELECT COUNT(c) FROM Course c " +
+                        "WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%')) AND c.status = :status")
+    Page<CourseSummaryResponse> findSummariesByTitleAndStatus(@Param("title") String title,
+                                                              @Param("status") Status status,
+                                                              Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE cat.id = :categoryId AND c.status = :status",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE c.category.id = :categoryId AND c.status = :status")
+    Page<CourseSummaryResponse> findSummariesByCategoryIdAndStatus(@Param("categoryId") Long categoryId,
+                                                                   @Param("status") Status status,
+                                                                   Pageable pageable);
+
     // Pagination methods
     Page<Course> findByTitleContainingIgnoreCase(String title, Pageable pageable);
 
@@ -38,10 +141,20 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     Page<Course> findByInstructorId(Long instructorId, Pageable pageable);
 
+    // Pagination par curseur : COUNT seulement sur demande (le scroll est dans CourseSummaryScrollOperations)
+    long countByTitleContainingIgnoreCase(String title);
+
+    long countByCategoryId(Long categoryId);
+
+    long countByStatus(Status status);
+
+    long countByInstructorId(Long instructorId);
+
     // Recherche avancée avec filtres
     @Query("SELECT c FROM Course c " +
            "LEFT JOIN c.instructor i " +
            "LEFT JOIN c.category cat " +
+           "LEFT JOIN c.stats s " +
            "WHERE c.status = 'PUBLISHED' " +
            "AND (:query IS NULL OR :query = '' OR " +
            "     LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
@@ -51,16 +164,30 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
            "AND (:categoryId IS NULL OR cat.id = :categoryId) " +
            "AND (:minPrice IS NULL OR c.price >= :minPrice) " +
            "AND (:maxPrice IS NULL OR c.price <= :maxPrice) " +
-           "AND (:free IS NULL OR (:free = true AND c.price = 0) OR (:free = false AND c.price > 0))")
+           "AND (:free IS NULL OR (:free = true AND c.price = 0) OR (:free = false AND c.price > 0)) " +
+           "AND (:minRating IS NULL OR s.averageRating >= :minRating)")
     Page<Course> search(
             @Param("query") String query,
             @Param("categoryId") Long categoryId,
             @Param("minPrice") BigDecimal minPrice,
             @Param("maxPrice") BigDecimal maxPrice,
             @Param("free") Boolean free,
+            @Param("minRating") Double minRating,
             Pageable pageable
     );
 
+    // IDs des cours publiés correspondant au texte seul (candidats des facettes)
+    @Query("SELECT c.id FROM Course c " +
+           "LEFT JOIN c.instructor i " +
+           "LEFT JOIN c.category cat " +
+           "WHERE c.status = 'PUBLISHED' " +
+           "AND (:query IS NULL OR :query = '' OR " +
+           "     LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "     LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "     LOWER(cat.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "     LOWER(CONCAT(i.firstName, ' ', i.lastName)) LIKE LOWER(CONCAT('%', :query, '%')))")
+    List<Long> searchIds(@Param("query") String query);
+
     // Recherche simple par mot-clé
     @Query("SELECT c FROM Course c " +
            "LEFT JOIN c.instructor i " +
@@ -72,10 +199,16 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
            "     LOWER(CONCAT(i.firstName, ' ', i.lastName)) LIKE LOWER(CONCAT('%', :query, '%')))")
     Page<Course> searchByKeyword(@Param("query") String query, Pageable pageable);
 
-    // Suggestions de recherche (autocomplete)
-    @Query("SELECT DISTINCT c.title FROM Course c " +
-           "WHERE c.status = 'PUBLISHED' " +
-           "AND LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-           "ORDER BY c.title")
-    List<String> findTitleSuggestions(@Param("query") String query, Pageable pageable);
+    // Titres et nombre d'inscrits pour l'autocompletion
+    @Query("SELECT c.id AS id, c.title AS title, COUNT(e) AS enrollmentCount FROM Course c " +
+           "LEFT JOIN c.enrollments e " +
+           "WHERE c.status = :status " +
+           "GROUP BY c.id, c.title")
+    List<CourseTitleView> findTitlesWithEnrollmentCount(@Param("status") Status status);
+
+    @Query("SELECT c.id AS id, c.title AS title, COUNT(e) AS enrollmentCount FROM Course c " +
+           "LEFT JOIN c.enrollments e " +
+           "WHERE c.id = :id AND c.status = :status " +
+           "GROUP BY c.id, c.title")
+    Optional<CourseTitleView> findTitleWithEnrollmentCount(@Param("id") Long id, @Param("status") Status status);
 }
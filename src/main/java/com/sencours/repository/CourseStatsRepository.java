@@ -0,0 +1,53 @@
+package com.sencours.repository;
+
+import com.sencours.entity.CourseStats;
+import com.sencours.repository.projection.CurriculumView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseStatsRepository extends JpaRepository<CourseStats, Long> {
+
+    // Increments atomiques : pas de lecture prealable, pas de mise a jour perdue entre transactions concurrentes
+    @Modifying
+    @Query("UPDATE CourseStats s SET s.enrollmentCount = s.enrollmentCount + :delta, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.courseId = :courseId")
+    int addEnrollments(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE CourseStats s SET s.reviewCount = s.reviewCount + :countDelta, " +
+           "s.ratingSum = s.ratingSum + :ratingDelta, " +
+           "s.averageRating = CASE WHEN s.reviewCount + :countDelta > 0 " +
+           "    THEN (s.ratingSum + :ratingDelta) * 1.0 / (s.reviewCount + :countDelta) ELSE 0.0 END, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.courseId = :courseId")
+    int addReviews(@Param("courseId") Long courseId,
+                   @Param("countDelta") int countDelta,
+                   @Param("ratingDelta") long ratingDelta);
+
+    @Modifying
+    @Query("UPDATE CourseStats s SET s.lessonCount = s.lessonCount + :countDelta, " +
+           "s.totalDuration = s.totalDuration + :durationDelta, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.courseId = :courseId")
+    int addLessons(@Param("courseId") Long courseId,
+                   @Param("countDelta") int countDelta,
+                   @Param("durationDelta") int durationDelta);
+
+    // Verrouille la ligne jusqu'au commit : les reindexations d'un meme cours se succedent
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CourseStats s SET s.curriculumVersion = COALESCE(s.curriculumVersion, 0) + 1, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.courseId = :courseId")
+    int incrementCurriculumVersion(@Param("courseId") Long courseId);
+
+    @Query("SELECT s.lessonCount AS lessonCount, COALESCE(s.curriculumVersion, 0) AS curriculumVersion " +
+           "FROM CourseStats s WHERE s.courseId = :courseId")
+    Optional<CurriculumView> findCurriculumByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT c.id FROM Course c WHERE NOT EXISTS (SELECT s FROM CourseStats s WHERE s.courseId = c.id)")
+    List<Long> findCourseIdsWithoutStats();
+}
@@ -0,0 +1,25 @@
+package com.sencours.repository;
+
+import com.sencours.dto.response.CourseSummaryResponse;
+import com.sencours.enums.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+/**
+ * Pagination par curseur (keyset) des cartes du catalogue : la projection est lue directement,
+ * en une requete, sans OFFSET ni COUNT ni chargement des entites Course.
+ */
+public interface CourseSummaryScrollOperations {
+
+    Window<CourseSummaryResponse> scrollSummaries(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<CourseSummaryResponse> scrollSummariesByTitle(String title, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<CourseSummaryResponse> scrollSummariesByCategoryId(Long categoryId, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<CourseSummaryResponse> scrollSummariesByStatus(Status status, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<CourseSummaryResponse> scrollSummariesByInstructorId(Long instructorId, ScrollPosition position, Sort sort, Limit limit);
+}
@@ -0,0 +1,119 @@
+package com.sencours.repository;
+
+import com.sencours.dto.response.CourseSummaryResponse;
+import com.sencours.enums.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset sur {@link CourseRepository#SUMMARY_SELECT}.
+ *
+ * Comme le scroll de Spring Data, l'id est ajoute en dernier critere de tri (ascendant) et la reprise
+ * s'ecrit {@code (k1 > v1) OR (k1 = v1 AND k2 > v2) ...} ; une ligne de plus que la limite est lue
+ * pour savoir s'il reste une page. Les champs de tri sont valides en amont par KeysetCursor.
+ */
+public class CourseSummaryScrollOperationsImpl implements CourseSummaryScrollOperations {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Window<CourseSummaryResponse> scrollSummaries(ScrollPosition position, Sort sort, Limit limit) {
+        return scroll(null, Map.of(), position, sort, limit);
+    }
+
+    @Override
+    public Window<CourseSummaryResponse> scrollSummariesByTitle(String title, ScrollPosition position, Sort sort, Limit limit) {
+        return scroll("LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%'))", Map.of("title", title), position, sort, limit);
+    }
+
+    @Override
+    public Window<CourseSummaryResponse> scrollSummariesByCategoryId(Long categoryId, ScrollPosition position, Sort sort, Limit limit) {
+        return scroll("cat.id = :categoryId", Map.of("categoryId", categoryId), position, sort, limit);
+    }
+
+    @Override
+    public Window<CourseSummaryResponse> scrollSummariesByStatus(Status status, ScrollPosition position, Sort sort, Limit limit) {
+        return scroll("c.status = :status", Map.of("status", status), position, sort, limit);
+    }
+
+    @Override
+    public Window<CourseSummaryResponse> scrollSummariesByInstructorId(Long instructorId, ScrollPosition position, Sort sort, Limit limit) {
+        return scroll("i.id = :instructorId", Map.of("instructorId", instructorId), position, sort, limit);
+    }
+
+    private Window<CourseSummaryResponse> scroll(String filter, Map<String, Object> filterParams,
+                                                 ScrollPosition position, Sort sort, Limit limit) {
+        List<Sort.Order> orders = new ArrayList<>(sort.toList());
+        if (sort.getOrderFor("id") == null) {
+            orders.add(Sort.Order.asc("id"));
+        }
+
+        Map<String, Object> params = new HashMap<>(filterParams);
+        List<String> conditions = new ArrayList<>();
+        if (filter != null) {
+            conditions.add(filter);
+        }
+        Map<String, Object> keys = position instanceof KeysetScrollPosition keyset ? keyset.getKeys() : Map.of();
+        if (!keys.isEmpty()) {
+            conditions.add(resumeAfter(orders, keys, params));
+        }
+
+        StringBuilder jpql = new StringBuilder(CourseRepository.SUMMARY_SELECT);
+        if (!conditions.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY ");
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            jpql.append(i > 0 ? ", " : "").append("c.").append(order.getProperty())
+                    .append(order.isAscending() ? " ASC" : " DESC");
+        }
+
+        TypedQuery<CourseSummaryResponse> query = entityManager.createQuery(jpql.toString(), CourseSummaryResponse.class);
+        params.forEach(query::setParameter);
+        int max = limit.max();
+        query.setMaxResults(max + 1);
+
+        List<CourseSummaryResponse> rows = query.getResultList();
+        boolean hasNext = rows.size() > max;
+        List<CourseSummaryResponse> content = hasNext ? rows.subList(0, max) : rows;
+        return Window.from(content, index -> ScrollPosition.forward(keysOf(content.get(index), orders)), hasNext);
+    }
+
+    private static String resumeAfter(List<Sort.Order> orders, Map<String, Object> keys, Map<String, Object> params) {
+        List<String> alternatives = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            List<String> terms = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                terms.add("c." + orders.get(j).getProperty() + " = :key" + j);
+            }
+            Sort.Order order = orders.get(i);
+            terms.add("c." + order.getProperty() + (order.isAscending() ? " > :key" : " < :key") + i);
+            alternatives.add("(" + String.join(" AND ", terms) + ")");
+            params.put("key" + i, keys.get(order.getProperty()));
+        }
+        return "(" + String.join(" OR ", alternatives) + ")";
+    }
+
+    private static Map<String, Object> keysOf(CourseSummaryResponse row, List<Sort.Order> orders) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        orders.forEach(order -> keys.put(order.getProperty(), wrapper.getPropertyValue(order.getProperty())));
+        return keys;
+    }
+}
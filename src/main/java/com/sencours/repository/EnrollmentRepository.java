@@ -1,11 +1,17 @@
 package com.sencours.repository;
 
 import com.sencours.entity.Enrollment;
+import com.sencours.repository.projection.ContinueLearningView;
+import com.sencours.repository.projection.EnrollmentDashboardView;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,11 +24,53 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     List<Enrollment> findByUserIdOrderByEnrolledAtDesc(Long userId);
 
+    // Tableau de bord en une requete : compteurs denormalises, derniere activite par sous-requete indexee sur user_id
+    @Query("SELECT e.id AS id, c.id AS courseId, c.title AS courseTitle, c.thumbnailUrl AS courseThumbnail, " +
+           "i.firstName AS instructorFirstName, i.lastName AS instructorLastName, " +
+           "e.enrolledAt AS enrolledAt, e.completedAt AS completedAt, " +
+           "e.paymentReference AS paymentReference, e.paymentMethod AS paymentMethod, e.amountPaid AS amountPaid, " +
+           "COALESCE(s.lessonCount, 0) AS totalLessons, COALESCE(e.completedLessons, 0) AS completedLessons, " +
+           "(SELECT MAX(p.updatedAt) FROM Progress p " +
+           "    WHERE p.user.id = :userId AND p.lesson.section.course.id = c.id) AS lastActivityAt " +
+           "FROM Enrollment e JOIN e.course c JOIN c.instructor i LEFT JOIN c.stats s " +
+           "WHERE e.user.id = :userId " +
+           "ORDER BY e.enrolledAt DESC")
+    List<EnrollmentDashboardView> findDashboardByUserId(@Param("userId") Long userId);
+
+    // Ecran d'accueil en une requete, une ligne par inscription en cours : sa premiere lecon non terminee,
+    // c'est-a-dire la plus petite curriculumPosition sans progression terminee
+    @Query("SELECT c.id AS courseId, c.title AS courseTitle, c.thumbnailUrl AS courseThumbnail, " +
+           "s.id AS sectionId, s.title AS sectionTitle, l.id AS lessonId, l.title AS lessonTitle, " +
+           "COALESCE(p.lastPositionSeconds, 0) AS lastPositionSeconds " +
+           "FROM Enrollment e JOIN e.course c JOIN c.sections s JOIN s.lessons l " +
+           "LEFT JOIN Progress p ON p.user = e.user AND p.lesson = l " +
+           "WHERE e.user.id = :userId AND e.completedAt IS NULL " +
+           "AND l.curriculumPosition = (SELECT MIN(n.curriculumPosition) FROM Lesson n " +
+           "    WHERE n.section.course = c AND NOT EXISTS (SELECT d.id FROM Progress d " +
+           "        WHERE d.user = e.user AND d.lesson = n AND d.completed = true)) " +
+           "ORDER BY e.enrolledAt DESC, c.id")
+    List<ContinueLearningView> findNextLessonsByUserId(@Param("userId") Long userId);
+
     List<Enrollment> findByCourseId(Long courseId);
 
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.user.id = :userId AND e.course.id IN :courseIds")
+    List<Long> findEnrolledCourseIds(@Param("userId") Long userId, @Param("courseIds") Collection<Long> courseIds);
+
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId")
     Long countByCourseId(@Param("courseId") Long courseId);
 
     @Query("SELECT e FROM Enrollment e WHERE e.user.id = :userId AND e.completedAt IS NOT NULL")
     List<Enrollment> findCompletedByUserId(@Param("userId") Long userId);
+
+    // Verrou de ligne : les bascules de completion concurrentes modifient le bitmap l'une apres l'autre
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Enrollment e WHERE e.user.id = :userId AND e.course.id = :courseId")
+    Optional<Enrollment> findForUpdate(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    // Lecons supprimees : chaque inscription du cours perd celles qu'elle avait terminees
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.completedLessons = e.completedLessons - (SELECT COUNT(p) FROM Progress p " +
+           "WHERE p.user = e.user AND p.lesson.id IN :lessonIds AND p.completed = true) " +
+           "WHERE e.course.id = :courseId")
+    int removeCompletedLessons(@Param("courseId") Long courseId, @Param("lessonIds") Collection<Long> lessonIds);
 }
@@ -0,0 +1,92 @@
+package com.sencours.repository;
+
+/**
+ * Variante H2 des upserts PostgreSQL (base embarquee des tests) : {@code MERGE} standard,
+ * ligne ecrite lue par {@code FINAL TABLE}. Memes parametres et memes colonnes lues
+ * (verifie par ProgressUpsertStatementsTest).
+ * Un MERGE peut etre devance par une insertion concurrente : il est alors rejoue une fois.
+ */
+public class H2ProgressUpsertStatements implements ProgressUpsertStatements {
+
+    private static final String POSITION_SQL = """
+            MERGE INTO progress p
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS INTEGER),
+                           CAST(? AS INTEGER)))
+                AS v(user_id, lesson_id, watch_time_seconds, last_position_seconds, new_position_seconds)
+            ON p.user_id = v.user_id AND p.lesson_id = v.lesson_id
+            WHEN MATCHED THEN UPDATE SET
+                watch_time_seconds = GREATEST(COALESCE(p.watch_time_seconds, 0), COALESCE(v.watch_time_seconds, 0)),
+                last_position_seconds = COALESCE(v.new_position_seconds, p.last_position_seconds),
+                updated_at = CURRENT_TIMESTAMP,
+                modified_at = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN INSERT
+                (user_id, lesson_id, completed, watch_time_seconds, last_position_seconds, updated_at, modified_at)
+                VALUES (v.user_id, v.lesson_id, FALSE, COALESCE(v.watch_time_seconds, 0),
+                        COALESCE(v.last_position_seconds, 0), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """;
+
+    private static final String COMPLETED_SQL = """
+            MERGE INTO progress p
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP), CAST(? AS INTEGER),
+                           CAST(? AS INTEGER), CAST(? AS INTEGER)))
+                AS v(user_id, lesson_id, completed_at, watch_time_seconds, last_position_seconds, new_position_seconds)
+            ON p.user_id = v.user_id AND p.lesson_id = v.lesson_id
+            WHEN MATCHED THEN UPDATE SET
+                completed = TRUE,
+                completed_at = CASE WHEN p.completed THEN p.completed_at ELSE v.completed_at END,
+                watch_time_seconds = GREATEST(COALESCE(p.watch_time_seconds, 0), COALESCE(v.watch_time_seconds, 0)),
+                last_position_seconds = COALESCE(v.new_position_seconds, p.last_position_seconds),
+                updated_at = CURRENT_TIMESTAMP,
+                modified_at = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN INSERT
+                (user_id, lesson_id, completed, completed_at, watch_time_seconds, last_position_seconds,
+                 updated_at, modified_at)
+                VALUES (v.user_id, v.lesson_id, TRUE, v.completed_at, COALESCE(v.watch_time_seconds, 0),
+                        COALESCE(v.last_position_seconds, 0), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """;
+
+    private static final String SYNCED_SQL = """
+            MERGE INTO progress p
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BOOLEAN), CAST(? AS TIMESTAMP),
+                           CAST(? AS INTEGER), CAST(? AS INTEGER), CAST(? AS TIMESTAMP)))
+                AS v(user_id, lesson_id, completed, completed_at, watch_time_seconds, last_position_seconds, updated_at)
+            ON p.user_id = v.user_id AND p.lesson_id = v.lesson_id
+            WHEN MATCHED AND (p.updated_at IS NULL OR p.updated_at < v.updated_at) THEN UPDATE SET
+                completed = v.completed,
+                completed_at = v.completed_at,
+                watch_time_seconds = v.watch_time_seconds,
+                last_position_seconds = v.last_position_seconds,
+                updated_at = v.updated_at,
+                modified_at = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN INSERT
+                (user_id, lesson_id, completed, completed_at, watch_time_seconds, last_position_seconds,
+                 updated_at, modified_at)
+                VALUES (v.user_id, v.lesson_id, v.completed, v.completed_at, v.watch_time_seconds,
+                        v.last_position_seconds, v.updated_at, CURRENT_TIMESTAMP)
+            """;
+
+    @Override
+    public String upsertPosition() {
+        return POSITION_SQL;
+    }
+
+    @Override
+    public String upsertCompleted() {
+        return COMPLETED_SQL;
+    }
+
+    @Override
+    public String upsertSynced() {
+        return SYNCED_SQL;
+    }
+
+    @Override
+    public String returning(String upsert) {
+        return "SELECT " + PostgresProgressUpsertStatements.RETURNED_COLUMNS + " FROM FINAL TABLE (" + upsert + ")";
+    }
+
+    @Override
+    public boolean retryOnConflict() {
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package com.sencours.repository;
+
+import com.sencours.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Insertion stricte (pas de merge) : la contrainte de cle primaire departage deux instances
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO IdempotencyRecord (scopeKey, requestHash, completed, createdAt) " +
+           "VALUES (:scopeKey, :requestHash, false, :createdAt)")
+    int insertInProgress(@Param("scopeKey") String scopeKey,
+                         @Param("requestHash") String requestHash,
+                         @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.completed = true, r.responseStatus = :status, " +
+           "r.contentType = :contentType, r.responseBody = :body WHERE r.scopeKey = :scopeKey")
+    int complete(@Param("scopeKey") String scopeKey,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("body") byte[] body);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.scopeKey = :scopeKey")
+    int deleteByScopeKey(@Param("scopeKey") String scopeKey);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -2,12 +2,17 @@ package com.sencours.repository;
 
 import com.sencours.entity.Lesson;
 import com.sencours.enums.LessonType;
+import com.sencours.repository.projection.LessonAccessView;
+import com.sencours.repository.projection.LessonPositionView;
+import com.sencours.repository.projection.LessonVersionView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
@@ -22,4 +27,35 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
 
     @Query("SELECT l FROM Lesson l WHERE l.section.course.id = :courseId ORDER BY l.section.orderIndex, l.orderIndex")
     List<Lesson> findByCourseIdOrderByOrderIndex(@Param("courseId") Long courseId);
+
+    // Ordre du curriculum : le rang d'une lecon dans cette liste devient sa curriculumPosition
+    @Query("SELECT l.id AS id, l.curriculumPosition AS curriculumPosition FROM Lesson l " +
+           "WHERE l.section.course.id = :courseId ORDER BY l.section.orderIndex, l.orderIndex, l.id")
+    List<LessonPositionView> findPositionsByCourseIdInCurriculumOrder(@Param("courseId") Long courseId);
+
+    @Query("SELECT l.id AS id, l.curriculumPosition AS curriculumPosition FROM Lesson l WHERE l.id IN :ids")
+    List<LessonPositionView> findPositionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT l.id FROM Lesson l WHERE l.section.course.id = :courseId AND l.curriculumPosition = :position")
+    Optional<Long> findIdByCourseIdAndCurriculumPosition(@Param("courseId") Long courseId,
+                                                         @Param("position") int position);
+
+    // Lecons anterieures a la colonne curriculum_position
+    @Query("SELECT DISTINCT l.section.course.id FROM Lesson l WHERE l.curriculumPosition IS NULL")
+    List<Long> findCourseIdsWithUnindexedLessons();
+
+    @Query("SELECT COUNT(l) FROM Lesson l WHERE l.section.course.id = :courseId")
+    long countByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT COALESCE(SUM(l.duration), 0) FROM Lesson l WHERE l.section.course.id = :courseId")
+    long sumDurationByCourseId(@Param("courseId") Long courseId);
+
+    // Toute modification d'une lecon avance la date du cours (voir CourseChangedEvent)
+    @Query("SELECT l.id AS id, c.updatedAt AS courseUpdatedAt FROM Lesson l JOIN l.section s JOIN s.course c " +
+           "WHERE l.id = :id")
+    Optional<LessonVersionView> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT l.id AS id, l.isFree AS isFree, s.course.id AS courseId FROM Lesson l JOIN l.section s " +
+           "WHERE l.id IN :ids")
+    List<LessonAccessView> findAccessByIdIn(@Param("ids") Collection<Long> ids);
 }
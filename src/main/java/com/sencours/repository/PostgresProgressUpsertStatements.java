@@ -0,0 +1,71 @@
+package com.sencours.repository;
+
+/**
+ * Upserts PostgreSQL : {@code INSERT ... ON CONFLICT (user_id, lesson_id) DO UPDATE}, atomiques
+ * et sans erreur de doublon entre requetes concurrentes ; la ligne ecrite est relue par {@code RETURNING}.
+ */
+public class PostgresProgressUpsertStatements implements ProgressUpsertStatements {
+
+    static final String RETURNED_COLUMNS = "id, completed, completed_at, watch_time_seconds, last_position_seconds";
+
+    private static final String POSITION_SQL = """
+            INSERT INTO progress (user_id, lesson_id, completed, watch_time_seconds, last_position_seconds,
+                                  updated_at, modified_at)
+            VALUES (?, ?, false, COALESCE(?, 0), COALESCE(?, 0), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, lesson_id) DO UPDATE SET
+                watch_time_seconds = GREATEST(COALESCE(progress.watch_time_seconds, 0), EXCLUDED.watch_time_seconds),
+                last_position_seconds = COALESCE(?, progress.last_position_seconds),
+                updated_at = EXCLUDED.updated_at,
+                modified_at = EXCLUDED.modified_at
+            """;
+
+    // Une ligne deja terminee garde sa date de completion : l'appelant y reconnait l'absence de bascule
+    private static final String COMPLETED_SQL = """
+            INSERT INTO progress (user_id, lesson_id, completed, completed_at, watch_time_seconds,
+                                  last_position_seconds, updated_at, modified_at)
+            VALUES (?, ?, true, ?, COALESCE(?, 0), COALESCE(?, 0), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, lesson_id) DO UPDATE SET
+                completed = true,
+                completed_at = CASE WHEN progress.completed THEN progress.completed_at ELSE EXCLUDED.completed_at END,
+                watch_time_seconds = GREATEST(COALESCE(progress.watch_time_seconds, 0), EXCLUDED.watch_time_seconds),
+                last_position_seconds = COALESCE(?, progress.last_position_seconds),
+                updated_at = EXCLUDED.updated_at,
+                modified_at = EXCLUDED.modified_at
+            """;
+
+    // Derniere modification gagnante : une ligne plus recente que l'entree synchronisee reste intacte.
+    // updated_at vient de l'appareil, modified_at reste l'heure du serveur (rollup)
+    private static final String SYNCED_SQL = """
+            INSERT INTO progress (user_id, lesson_id, completed, completed_at, watch_time_seconds,
+                                  last_position_seconds, updated_at, modified_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, lesson_id) DO UPDATE SET
+                completed = EXCLUDED.completed,
+                completed_at = EXCLUDED.completed_at,
+                watch_time_seconds = EXCLUDED.watch_time_seconds,
+                last_position_seconds = EXCLUDED.last_position_seconds,
+                updated_at = EXCLUDED.updated_at,
+                modified_at = EXCLUDED.modified_at
+            WHERE progress.updated_at IS NULL OR progress.updated_at < EXCLUDED.updated_at
+            """;
+
+    @Override
+    public String upsertPosition() {
+        return POSITION_SQL;
+    }
+
+    @Override
+    public String upsertCompleted() {
+        return COMPLETED_SQL;
+    }
+
+    @Override
+    public String upsertSynced() {
+        return SYNCED_SQL;
+    }
+
+    @Override
+    public String returning(String upsert) {
+        return upsert.stripTrailing() + "\nRETURNING " + RETURNED_COLUMNS;
+    }
+}
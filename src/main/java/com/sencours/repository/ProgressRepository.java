@@ -1,24 +1,47 @@
 package com.sencours.repository;
 
 import com.sencours.entity.Progress;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProgressRepository extends JpaRepository<Progress, Long> {
+public interface ProgressRepository extends JpaRepository<Progress, Long>, ProgressUpsertOperations {
 
     Optional<Progress> findByUserIdAndLessonId(Long userId, Long lessonId);
 
+    // Verrou de ligne : deux completions concurrentes ne doivent pas incrementer deux fois le compteur
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Progress p WHERE p.user.id = :userId AND p.lesson.id = :lessonId")
+    Optional<Progress> findForUpdate(@Param("userId") Long userId, @Param("lessonId") Long lessonId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Progress p WHERE p.user.id = :userId AND p.lesson.id IN :lessonIds")
+    List<Progress> findAllForUpdate(@Param("userId") Long userId, @Param("lessonIds") Collection<Long> lessonIds);
+
     List<Progress> findByUserId(Long userId);
 
     @Query("SELECT p FROM Progress p WHERE p.user.id = :userId AND p.lesson.section.course.id = :courseId")
     List<Progress> findByUserIdAndCourseId(@Param("userId") Long userId, @Param("courseId") Long courseId);
 
+    // Bits du bitmap de completion : positions dans le curriculum des lecons terminees
+    @Query("SELECT p.lesson.curriculumPosition FROM Progress p WHERE p.user.id = :userId " +
+           "AND p.lesson.section.course.id = :courseId AND p.completed = true " +
+           "AND p.lesson.curriculumPosition IS NOT NULL")
+    List<Integer> findCompletedLessonPositions(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
     @Query("SELECT COUNT(p) FROM Progress p WHERE p.user.id = :userId AND p.lesson.section.course.id = :courseId AND p.completed = true")
     Long countCompletedLessonsByUserAndCourse(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM Progress p WHERE p.lesson.id IN :lessonIds")
+    int deleteByLessonIdIn(@Param("lessonIds") Collection<Long> lessonIds);
 }
@@ -0,0 +1,47 @@
+package com.sencours.repository;
+
+import com.sencours.progress.HeartbeatBuffer.Heartbeat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ecritures de progression sans lecture prealable, sures face aux requetes concurrentes sur (user_id, lesson_id).
+ * La fusion est monotone : le temps de visionnage ne diminue jamais et une completion n'est annulee
+ * que par une synchronisation plus recente que la ligne.
+ */
+public interface ProgressUpsertOperations {
+
+    /**
+     * Cree ou met a jour la position et le temps de visionnage (null : valeur existante conservee)
+     */
+    UpsertedProgress upsertPosition(Long userId, Long lessonId, Integer watchTimeSeconds, Integer lastPositionSeconds);
+
+    /**
+     * Meme ecriture par lots JDBC (vidange des battements du lecteur)
+     */
+    void upsertPositions(List<Heartbeat> heartbeats, int batchSize);
+
+    /**
+     * Marque la lecon terminee en fusionnant la position comme {@link #upsertPosition}
+     */
+    UpsertedProgress upsertCompleted(Long userId, Long lessonId, Integer watchTimeSeconds,
+                                     Integer lastPositionSeconds, LocalDateTime completedAt);
+
+    /**
+     * Ecrit par lots les progressions synchronisees, lignes existantes et nouvelles confondues.
+     * Une ligne n'est remplacee que si elle est plus ancienne (updated_at) : 0 pour une entree devancee
+     */
+    int[] upsertSynced(Long userId, List<SyncedProgress> rows);
+
+    record SyncedProgress(Long lessonId, boolean completed, LocalDateTime completedAt,
+                          int watchTimeSeconds, int lastPositionSeconds, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * Ligne telle qu'ecrite ; newlyCompleted seulement si cet appel l'a fait passer a completed
+     */
+    record UpsertedProgress(Long id, boolean completed, LocalDateTime completedAt,
+                            int watchTimeSeconds, int lastPositionSeconds, boolean newlyCompleted) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.sencours.repository;
+
+import com.sencours.progress.HeartbeatBuffer.Heartbeat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Upsert des progressions : les ordres SQL viennent de {@link ProgressUpsertStatements}, choisis d'apres
+ * la base de la connexion (PostgreSQL en production, H2 dans les tests) ; la ligne ecrite est lue
+ * par le meme ordre, sans relecture.
+ */
+@Slf4j
+public class ProgressUpsertOperationsImpl implements ProgressUpsertOperations {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile ProgressUpsertStatements statements;
+
+    public ProgressUpsertOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public UpsertedProgress upsertPosition(Long userId, Long lessonId,
+                                           Integer watchTimeSeconds, Integer lastPositionSeconds) {
+        String sql = statements().returning(statements().upsertPosition());
+        return retryOnConflict(() -> jdbcTemplate.queryForObject(sql, (rs, rowNum) -> toUpserted(rs, null),
+                userId, lessonId, watchTimeSeconds, lastPositionSeconds, lastPositionSeconds));
+    }
+
+    @Override
+    public void upsertPositions(List<Heartbeat> heartbeats, int batchSize) {
+        try {
+            jdbcTemplate.batchUpdate(statements().upsertPosition(), heartbeats, batchSize,
+                    (ps, hb) -> bindPosition(ps, hb.userId(), hb.lessonId(),
+                            hb.watchTimeSeconds(), hb.lastPositionSeconds()));
+        } catch (DataIntegrityViolationException e) {
+            if (!statements().retryOnConflict()) {
+                throw e;
+            }
+            // Upsert devance par une insertion concurrente : reprise ligne a ligne
+            log.debug("Upsert groupé des progressions en conflit, reprise unitaire: {}", e.getMessage());
+            heartbeats.forEach(hb -> upsertPosition(hb.userId(), hb.lessonId(),
+                    hb.watchTimeSeconds(), hb.lastPositionSeconds()));
+        }
+    }
+
+    @Override
+    public UpsertedProgress upsertCompleted(Long userId, Long lessonId, Integer watchTimeSeconds,
+                                            Integer lastPositionSeconds, LocalDateTime completedAt) {
+        // Precision de la colonne : la date relue n'est egale a celle-ci que si cet appel l'a ecrite
+        LocalDateTime stored = completedAt.truncatedTo(ChronoUnit.MICROS);
+        String sql = statements().returning(statements().upsertCompleted());
+        return retryOnConflict(() -> jdbcTemplate.queryForObject(sql, (rs, rowNum) -> toUpserted(rs, stored),
+                userId, lessonId, stored, watchTimeSeconds, lastPositionSeconds, lastPositionSeconds));
+    }
+
+    @Override
+    public int[] upsertSynced(Long userId, List<SyncedProgress> rows) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+        return retryOnConflict(() -> {
+            int[][] counts = jdbcTemplate.batchUpdate(statements().upsertSynced(), rows, rows.size(), (ps, row) -> {
+                ps.setLong(1, userId);
+                ps.setLong(2, row.lessonId());
+                ps.setBoolean(3, row.completed());
+                ps.setObject(4, row.completedAt(), Types.TIMESTAMP);
+                ps.setInt(5, row.watchTimeSeconds());
+                ps.setInt(6, row.lastPositionSeconds());
+                ps.setObject(7, row.updatedAt(), Types.TIMESTAMP);
+            });
+            return counts.length > 0 ? counts[0] : new int[0];
+        });
+    }
+
+    private static void bindPosition(PreparedStatement ps, Long userId, Long lessonId,
+                                     Integer watchTimeSeconds, Integer lastPositionSeconds) throws SQLException {
+        ps.setLong(1, userId);
+        ps.setLong(2, lessonId);
+        ps.setObject(3, watchTimeSeconds, Types.INTEGER);
+        ps.setObject(4, lastPositionSeconds, Types.INTEGER);
+        ps.setObject(5, lastPositionSeconds, Types.INTEGER);
+    }
+
+    private static UpsertedProgress toUpserted(ResultSet rs, LocalDateTime completedAt) throws SQLException {
+        LocalDateTime storedCompletedAt = rs.getObject("completed_at", LocalDateTime.class);
+        return new UpsertedProgress(
+                rs.getLong("id"),
+                rs.getBoolean("completed"),
+                storedCompletedAt,
+                rs.getInt("watch_time_seconds"),
+                rs.getInt("last_position_seconds"),
+                completedAt != null && Objects.equals(completedAt, storedCompletedAt));
+    }
+
+    // Base connue a la premiere ecriture : aucune connexion n'est ouverte a la creation du depot
+    private ProgressUpsertStatements statements() {
+        ProgressUpsertStatements resolved = statements;
+        if (resolved == null) {
+            resolved = ProgressUpsertStatements.forDatabase(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+            statements = resolved;
+        }
+        return resolved;
+    }
+
+    private <T> T retryOnConflict(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (DataIntegrityViolationException e) {
+            if (!statements().retryOnConflict()) {
+                throw e;
+            }
+            // La ligne inseree entre-temps existe : l'ordre rejoue passe par la branche de mise a jour
+            return call.get();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.sencours.repository;
+
+/**
+ * Ordres SQL des upserts de progression, propres a la base.
+ * L'ordre des parametres est fixe ici : ProgressUpsertOperationsImpl les lie sans connaitre la base.
+ */
+public interface ProgressUpsertStatements {
+
+    /**
+     * Variante de la base, d'apres le nom de produit JDBC (DatabaseMetaData.getDatabaseProductName())
+     */
+    static ProgressUpsertStatements forDatabase(String productName) {
+        return switch (productName) {
+            case "PostgreSQL" -> new PostgresProgressUpsertStatements();
+            case "H2" -> new H2ProgressUpsertStatements();
+            default -> throw new IllegalStateException("Base non supportée pour l'upsert des progressions: " + productName);
+        };
+    }
+
+    /**
+     * Position et temps de visionnage (null : valeur existante conservee).
+     * Parametres : user_id, lesson_id, watch_time_seconds, last_position_seconds, last_position_seconds
+     */
+    String upsertPosition();
+
+    /**
+     * Completion avec position et temps de visionnage ; completed_at n'est ecrit que si la ligne n'etait pas terminee.
+     * Parametres : user_id, lesson_id, completed_at, watch_time_seconds, last_position_seconds, last_position_seconds
+     */
+    String upsertCompleted();
+
+    /**
+     * Progression synchronisee, ecrite seulement si la ligne existante est plus ancienne (updated_at).
+     * Parametres : user_id, lesson_id, completed, completed_at, watch_time_seconds, last_position_seconds, updated_at
+     */
+    String upsertSynced();
+
+    /**
+     * Meme ordre, lu comme une requete : id, completed, completed_at, watch_time_seconds, last_position_seconds
+     * de la ligne ecrite
+     */
+    String returning(String upsert);
+
+    /**
+     * Vrai si l'upsert peut echouer sur une insertion concurrente de la meme ligne et doit etre rejoue
+     */
+    default boolean retryOnConflict() {
+        return false;
+    }
+}
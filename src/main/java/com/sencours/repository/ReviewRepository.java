@@ -23,4 +23,7 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     @Query("SELECT COUNT(r) FROM Review r WHERE r.course.id = :courseId")
     Long countByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.course.id = :courseId")
+    Long sumRatingByCourseId(@Param("courseId") Long courseId);
 }
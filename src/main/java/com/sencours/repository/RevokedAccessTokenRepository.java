@@ -0,0 +1,25 @@
+package com.sencours.repository;
+
+import com.sencours.entity.RevokedAccessToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    @Query("SELECT r FROM RevokedAccessToken r WHERE r.revokedAt >= :since AND r.expiresAt > :now")
+    List<RevokedAccessToken> findActiveRevokedSince(@Param("since") LocalDateTime since,
+                                                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedAccessToken r WHERE r.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
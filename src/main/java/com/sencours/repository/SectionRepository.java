@@ -1,6 +1,7 @@
 package com.sencours.repository;
 
 import com.sencours.entity.Section;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +13,8 @@ public interface SectionRepository extends JpaRepository<Section, Long> {
     List<Section> findByCourseIdOrderByOrderIndexAsc(Long courseId);
 
     int countByCourseId(Long courseId);
+
+    // Detail d'un cours : toutes les lecons de toutes les sections en une requete
+    @EntityGraph(attributePaths = "lessons")
+    List<Section> findWithLessonsByCourseIdOrderByOrderIndexAsc(Long courseId);
 }
@@ -0,0 +1,24 @@
+package com.sencours.repository;
+
+import com.sencours.entity.TokenVersionChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenVersionChangeRepository extends JpaRepository<TokenVersionChange, Long> {
+
+    @Query("SELECT c FROM TokenVersionChange c WHERE c.changedAt >= :since")
+    List<TokenVersionChange> findChangedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TokenVersionChange c WHERE c.changedAt < :before")
+    int deleteChangedBefore(@Param("before") LocalDateTime before);
+}
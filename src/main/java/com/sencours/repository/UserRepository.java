@@ -2,10 +2,18 @@ package com.sencours.repository;
 
 import com.sencours.entity.User;
 import com.sencours.enums.Role;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +23,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    // Identifiant seul (chemin chaud des battements de progression)
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
     boolean existsByEmail(String email);
 
     List<User> findByRole(Role role);
@@ -27,9 +39,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Page<User> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
             String firstName, String lastName, String email, Pageable pageable);
 
+    // Pagination par curseur (keyset) : pas d'OFFSET ni de COUNT
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<User> findByRole(Role role, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<User> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
+            String firstName, String lastName, String email, ScrollPosition position, Sort sort, Limit limit);
+
+    long countByRole(Role role);
+
+    long countByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
+            String firstName, String lastName, String email);
+
     void deleteAllByIdNot(Long id);
 
     List<User> findAllByDeletedAtIsNullOrderByCreatedAtDesc();
 
     Optional<User> findByEmailAndDeletedAtIsNull(String email);
+
+    // Re-hachage a la connexion : sans effet si le mot de passe a change entre-temps
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
@@ -0,0 +1,17 @@
+package com.sencours.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Nombre et derniere modification des categories et des cours (validateurs HTTP des categories)
+ */
+public interface CategoriesVersionView {
+
+    Long getCategoryCount();
+
+    LocalDateTime getCategoriesUpdatedAt();
+
+    Long getCourseCount();
+
+    LocalDateTime getCoursesUpdatedAt();
+}
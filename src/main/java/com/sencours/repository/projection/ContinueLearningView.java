@@ -0,0 +1,23 @@
+package com.sencours.repository.projection;
+
+/**
+ * Prochaine lecon non terminee d'une inscription en cours, avec sa section et la position de reprise
+ */
+public interface ContinueLearningView {
+
+    Long getCourseId();
+
+    String getCourseTitle();
+
+    String getCourseThumbnail();
+
+    Long getSectionId();
+
+    String getSectionTitle();
+
+    Long getLessonId();
+
+    String getLessonTitle();
+
+    Integer getLastPositionSeconds();
+}
@@ -0,0 +1,23 @@
+package com.sencours.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Agregat journalier d'un cours avec son titre, pour le tableau de bord instructeur
+ */
+public interface CourseDailyStatsView {
+
+    Long getCourseId();
+
+    String getCourseTitle();
+
+    LocalDate getDay();
+
+    Integer getEnrollments();
+
+    Integer getCompletions();
+
+    Integer getActiveLearners();
+
+    Long getWatchTimeSeconds();
+}
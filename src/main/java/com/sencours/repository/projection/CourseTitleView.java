@@ -0,0 +1,13 @@
+package com.sencours.repository.projection;
+
+/**
+ * Titre d'un cours avec son nombre d'inscrits (autocompletion)
+ */
+public interface CourseTitleView {
+
+    Long getId();
+
+    String getTitle();
+
+    Long getEnrollmentCount();
+}
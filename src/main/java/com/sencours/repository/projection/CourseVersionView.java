@@ -0,0 +1,15 @@
+package com.sencours.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dates de mise a jour dont depend le detail d'un cours (validateurs HTTP)
+ */
+public interface CourseVersionView {
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getStatsUpdatedAt();
+
+    LocalDateTime getInstructorUpdatedAt();
+}
@@ -0,0 +1,11 @@
+package com.sencours.repository.projection;
+
+/**
+ * Nombre de lecons du cours et version du curriculum sur laquelle sont calculees les positions des lecons
+ */
+public interface CurriculumView {
+
+    Integer getLessonCount();
+
+    Long getCurriculumVersion();
+}
@@ -0,0 +1,15 @@
+package com.sencours.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Nombre d'evenements d'un cours pour une journee
+ */
+public interface DailyCountView {
+
+    Long getCourseId();
+
+    LocalDate getDay();
+
+    Long getTotal();
+}
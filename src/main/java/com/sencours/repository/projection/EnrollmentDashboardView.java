@@ -0,0 +1,38 @@
+package com.sencours.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ligne du tableau de bord "Mon apprentissage" : inscription, carte du cours et compteurs de progression
+ */
+public interface EnrollmentDashboardView {
+
+    Long getId();
+
+    Long getCourseId();
+
+    String getCourseTitle();
+
+    String getCourseThumbnail();
+
+    String getInstructorFirstName();
+
+    String getInstructorLastName();
+
+    LocalDateTime getEnrolledAt();
+
+    LocalDateTime getCompletedAt();
+
+    String getPaymentReference();
+
+    String getPaymentMethod();
+
+    BigDecimal getAmountPaid();
+
+    Integer getTotalLessons();
+
+    Integer getCompletedLessons();
+
+    LocalDateTime getLastActivityAt();
+}
@@ -0,0 +1,13 @@
+package com.sencours.repository.projection;
+
+/**
+ * Ce qu'il faut pour verifier l'acces a une lecon : gratuite ou cours d'inscription
+ */
+public interface LessonAccessView {
+
+    Long getId();
+
+    Boolean getIsFree();
+
+    Long getCourseId();
+}
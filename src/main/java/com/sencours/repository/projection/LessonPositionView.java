@@ -0,0 +1,11 @@
+package com.sencours.repository.projection;
+
+/**
+ * Position d'une lecon dans l'ordre du curriculum, c'est-a-dire son bit dans le bitmap de completion
+ */
+public interface LessonPositionView {
+
+    Long getId();
+
+    Integer getCurriculumPosition();
+}
@@ -0,0 +1,13 @@
+package com.sencours.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Derniere modification du cours d'une lecon (validateurs HTTP de l'apercu)
+ */
+public interface LessonVersionView {
+
+    Long getId();
+
+    LocalDateTime getCourseUpdatedAt();
+}
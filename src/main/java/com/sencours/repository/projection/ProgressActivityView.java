@@ -0,0 +1,24 @@
+package com.sencours.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Ligne de progression modifiee depuis le dernier rollup, avec l'inscription correspondante
+ */
+public interface ProgressActivityView {
+
+    Long getId();
+
+    Long getCourseId();
+
+    LocalDate getDay();
+
+    Integer getWatchTimeSeconds();
+
+    Integer getRolledUpWatchTimeSeconds();
+
+    // Nuls pour une lecon gratuite consultee sans inscription
+    Long getEnrollmentId();
+
+    LocalDate getLastActiveOn();
+}
@@ -0,0 +1,322 @@
+package com.sencours.search;
+
+import com.sencours.dto.request.CourseSearchRequest;
+import com.sencours.dto.response.FacetCountResponse;
+import com.sencours.dto.response.SearchFacetsResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facettes du catalogue (categorie, tranche de prix, note minimale) sous forme de bitsets.
+ *
+ * Chaque cours publie recoit un numero dense ; chaque valeur de facette garde le bitset
+ * des cours qui la portent. Compter une facette revient a intersecter ce bitset avec
+ * l'ensemble des candidats, sans requete COUNT ni parcours des cours.
+ */
+public class CatalogFacetIndex {
+
+    static final double[] RATING_THRESHOLDS = {4.5, 4.0, 3.5, 3.0};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<Long, BitSet> byCategory = new HashMap<>();
+    private final Map<Long, String> categoryNames = new HashMap<>();
+    private final Map<PriceRange, BitSet> byPrice = new EnumMap<>(PriceRange.class);
+    private final BitSet[] byRating = new BitSet[RATING_THRESHOLDS.length];
+    private BigDecimal[] prices = new BigDecimal[64];
+    private Long[] categories = new Long[64];
+    private double[] ratings = new double[64];
+    private int nextOrdinal;
+
+    public CatalogFacetIndex() {
+        for (PriceRange range : PriceRange.values()) {
+            byPrice.put(range, new BitSet());
+        }
+        for (int i = 0; i < byRating.length; i++) {
+            byRating[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Ajoute ou remplace un cours
+     */
+    public void upsert(CourseDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.getId());
+            addInternal(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un cours (sans effet s'il n'y est pas)
+     */
+    public void remove(Long courseId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remplace tout le contenu de l'index
+     */
+    public void replaceAll(Collection<CourseDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            freeOrdinals.clear();
+            live.clear();
+            byCategory.clear();
+            categoryNames.clear();
+            byPrice.values().forEach(BitSet::clear);
+            Arrays.stream(byRating).forEach(BitSet::clear);
+            prices = new BigDecimal[Math.max(64, documents.size())];
+            categories = new Long[prices.length];
+            ratings = new double[prices.length];
+            nextOrdinal = 0;
+            documents.forEach(this::addInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Met a jour le libelle d'une categorie (sans effet si aucun cours indexe ne la porte)
+     */
+    public void renameCategory(Long categoryId, String name) {
+        lock.writeLock().lock();
+        try {
+            categoryNames.computeIfPresent(categoryId, (id, previous) -> name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compte les cours par valeur de facette parmi les candidats.
+     * Chaque facette applique les filtres de la requete sauf le sien ;
+     * la note minimale restreint donc les categories et les prix, pas les notes.
+     *
+     * @param candidateIds cours correspondant au texte recherche, ou null pour tout le catalogue
+     */
+    public SearchFacetsResponse count(Collection<Long> candidateIds, CourseSearchRequest request) {
+        lock.readLock().lock();
+        try {
+            BitSet base = candidateIds == null ? (BitSet) live.clone() : toBits(candidateIds);
+            BitSet categoryFilter = categoryFilter(request);
+            BitSet priceFilter = priceFilter(base, request);
+            BitSet ratingFilter = ratingFilter(base, request);
+
+            return SearchFacetsResponse.builder()
+                    .categories(countCategories(and(and(base, priceFilter), ratingFilter), request.getCategoryId()))
+                    .prices(countPrices(and(and(base, categoryFilter), ratingFilter)))
+                    .ratings(countRatings(and(and(base, categoryFilter), priceFilter)))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addInternal(CourseDocument document) {
+        int ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+        ensureCapacity(ordinal);
+        ordinals.put(document.getId(), ordinal);
+        live.set(ordinal);
+
+        BigDecimal price = document.getPrice() != null ? document.getPrice() : BigDecimal.ZERO;
+        prices[ordinal] = price;
+        for (PriceRange range : PriceRange.values()) {
+            if (range.contains(price)) {
+                byPrice.get(range).set(ordinal);
+            }
+        }
+
+        if (document.getCategoryId() != null) {
+            categories[ordinal] = document.getCategoryId();
+            byCategory.computeIfAbsent(document.getCategoryId(), id -> new BitSet()).set(ordinal);
+            categoryNames.put(document.getCategoryId(), document.getCategoryName());
+        }
+
+        Double rating = document.getAverageRating();
+        ratings[ordinal] = rating != null ? rating : -1;
+        for (int i = 0; i < RATING_THRESHOLDS.length; i++) {
+            if (rating != null && rating >= RATING_THRESHOLDS[i]) {
+                byRating[i].set(ordinal);
+            }
+        }
+    }
+
+    private void removeInternal(Long courseId) {
+        Integer ordinal = ordinals.remove(courseId);
+        if (ordinal == null) {
+            return;
+        }
+        live.clear(ordinal);
+        byPrice.values().forEach(bits -> bits.clear(ordinal));
+        Arrays.stream(byRating).forEach(bits -> bits.clear(ordinal));
+
+        Long categoryId = categories[ordinal];
+        if (categoryId != null) {
+            BitSet bits = byCategory.get(categoryId);
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                byCategory.remove(categoryId);
+                categoryNames.remove(categoryId);
+            }
+        }
+        prices[ordinal] = null;
+        categories[ordinal] = null;
+        freeOrdinals.push(ordinal);
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal >= prices.length) {
+            int capacity = Math.max(ordinal + 1, prices.length * 2);
+            prices = Arrays.copyOf(prices, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+        }
+    }
+
+    private BitSet toBits(Collection<Long> courseIds) {
+        BitSet bits = new BitSet(nextOrdinal);
+        for (Long courseId : courseIds) {
+            Integer ordinal = ordinals.get(courseId);
+            if (ordinal != null) {
+                bits.set(ordinal);
+            }
+        }
+        return bits;
+    }
+
+    private BitSet categoryFilter(CourseSearchRequest request) {
+        if (request.getCategoryId() == null) {
+            return null;
+        }
+        return byCategory.getOrDefault(request.getCategoryId(), new BitSet());
+    }
+
+    private BitSet priceFilter(BitSet base, CourseSearchRequest request) {
+        if (request.getMinPrice() == null && request.getMaxPrice() == null && request.getFree() == null) {
+            return null;
+        }
+
+        BitSet filter = request.getFree() != null
+                ? (BitSet) byPrice.get(request.getFree() ? PriceRange.FREE : PriceRange.PAID).clone()
+                : (BitSet) live.clone();
+        if (request.getMinPrice() == null && request.getMaxPrice() == null) {
+            return filter;
+        }
+
+        // Bornes libres : verifier le prix des seuls candidats
+        filter.and(base);
+        BigDecimal min = request.getMinPrice() != null ? BigDecimal.valueOf(request.getMinPrice()) : null;
+        BigDecimal max = request.getMaxPrice() != null ? BigDecimal.valueOf(request.getMaxPrice()) : null;
+        for (int ordinal = filter.nextSetBit(0); ordinal >= 0; ordinal = filter.nextSetBit(ordinal + 1)) {
+            BigDecimal price = prices[ordinal];
+            if ((min != null && price.compareTo(min) < 0) || (max != null && price.compareTo(max) > 0)) {
+                filter.clear(ordinal);
+            }
+        }
+        return filter;
+    }
+
+    private BitSet ratingFilter(BitSet base, CourseSearchRequest request) {
+        if (request.getMinRating() == null) {
+            return null;
+        }
+        // Cours sans avis : note -1, jamais retenus
+        BitSet filter = (BitSet) base.clone();
+        for (int ordinal = filter.nextSetBit(0); ordinal >= 0; ordinal = filter.nextSetBit(ordinal + 1)) {
+            if (ratings[ordinal] < request.getMinRating()) {
+                filter.clear(ordinal);
+            }
+        }
+        return filter;
+    }
+
+    private List<FacetCountResponse> countCategories(BitSet scope, Long selectedCategoryId) {
+        List<FacetCountResponse> counts = new ArrayList<>();
+        byCategory.forEach((categoryId, bits) -> {
+            int count = intersectionCount(scope, bits);
+            if (count > 0 || categoryId.equals(selectedCategoryId)) {
+                counts.add(FacetCountResponse.builder()
+                        .value(String.valueOf(categoryId))
+                        .label(categoryNames.get(categoryId))
+                        .count(count)
+                        .build());
+            }
+        });
+        counts.sort(Comparator.comparingLong(FacetCountResponse::getCount).reversed()
+                .thenComparing(FacetCountResponse::getLabel, Comparator.nullsLast(Comparator.naturalOrder())));
+        return counts;
+    }
+
+    private List<FacetCountResponse> countPrices(BitSet scope) {
+        List<FacetCountResponse> counts = new ArrayList<>();
+        for (PriceRange range : PriceRange.values()) {
+            counts.add(FacetCountResponse.builder()
+                    .value(range.getValue())
+                    .label(range.getLabel())
+                    .count(intersectionCount(scope, byPrice.get(range)))
+                    .build());
+        }
+        return counts;
+    }
+
+    private List<FacetCountResponse> countRatings(BitSet scope) {
+        List<FacetCountResponse> counts = new ArrayList<>();
+        for (int i = 0; i < RATING_THRESHOLDS.length; i++) {
+            counts.add(FacetCountResponse.builder()
+                    .value(String.valueOf(RATING_THRESHOLDS[i]))
+                    .label(String.valueOf(RATING_THRESHOLDS[i]).replace('.', ',') + " et plus")
+                    .count(intersectionCount(scope, byRating[i]))
+                    .build());
+        }
+        return counts;
+    }
+
+    private static BitSet and(BitSet base, BitSet filter) {
+        if (filter == null) {
+            return base;
+        }
+        BitSet result = (BitSet) base.clone();
+        result.and(filter);
+        return result;
+    }
+
+    private static int intersectionCount(BitSet a, BitSet b) {
+        BitSet intersection = (BitSet) a.clone();
+        intersection.and(b);
+        return intersection.cardinality();
+    }
+}
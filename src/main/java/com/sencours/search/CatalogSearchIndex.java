@@ -0,0 +1,299 @@
+package com.sencours.search;
+
+import com.sencours.dto.request.CourseSearchRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inverse en memoire des cours publies, classe par BM25.
+ *
+ * Chaque champ contribue a la frequence d'un terme avec un poids (titre > categorie
+ * et instructeur > description). Tous les termes de la requete doivent correspondre ;
+ * le dernier est aussi cherche comme prefixe pour la saisie en cours.
+ * Les lectures sont concurrentes, les ecritures exclusives.
+ */
+public class CatalogSearchIndex {
+
+    static final float TITLE_WEIGHT = 3.0f;
+    static final float CATEGORY_WEIGHT = 2.0f;
+    static final float INSTRUCTOR_WEIGHT = 2.0f;
+    static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_PENALTY = 0.8;
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private double totalLength;
+
+    /**
+     * Ajoute ou remplace un cours dans l'index
+     */
+    public void upsert(CourseDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.getId());
+            addInternal(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un cours de l'index (sans effet s'il n'y est pas)
+     */
+    public void remove(Long courseId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remplace tout le contenu de l'index
+     */
+    public void replaceAll(Collection<CourseDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+            totalLength = 0;
+            documents.forEach(this::addInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(Long courseId) {
+        lock.readLock().lock();
+        try {
+            return entries.containsKey(courseId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche les cours correspondant a la requete et aux filtres.
+     * Sans tri explicite (ou avec le tri "relevance"), les resultats sont classes par score,
+     * puis du plus recent au plus ancien.
+     *
+     * @return la page des IDs de cours, dans l'ordre du classement
+     */
+    public Page<Long> search(CourseSearchRequest request, Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(FrenchTextAnalyzer.analyze(request.getQuery()));
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = terms.isEmpty() ? matchAll() : score(new ArrayList<>(terms));
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Double> scored : scores.entrySet()) {
+                Entry entry = entries.get(scored.getKey());
+                if (matchesFilters(entry.document, request)) {
+                    hits.add(new Hit(entry, scored.getValue()));
+                }
+            }
+            hits.sort(comparator(pageable.getSort()));
+
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(hits.stream().map(Hit::id).toList(), pageable, hits.size());
+            }
+            int from = (int) Math.min(pageable.getOffset(), hits.size());
+            int to = Math.min(from + pageable.getPageSize(), hits.size());
+            List<Long> ids = hits.subList(from, to).stream().map(Hit::id).toList();
+            return new PageImpl<>(ids, pageable, hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retourne les IDs des cours correspondant au texte, sans filtre
+     */
+    public Set<Long> match(String query) {
+        Set<String> terms = new LinkedHashSet<>(FrenchTextAnalyzer.analyze(query));
+
+        lock.readLock().lock();
+        try {
+            return terms.isEmpty() ? new HashSet<>(entries.keySet()) : score(new ArrayList<>(terms)).keySet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addInternal(CourseDocument document) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        length += accumulate(frequencies, document.getTitle(), TITLE_WEIGHT);
+        length += accumulate(frequencies, document.getCategoryName(), CATEGORY_WEIGHT);
+        length += accumulate(frequencies, document.getInstructorName(), INSTRUCTOR_WEIGHT);
+        length += accumulate(frequencies, document.getDescription(), DESCRIPTION_WEIGHT);
+
+        frequencies.forEach((term, tf) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.getId(), tf));
+
+        entries.put(document.getId(), new Entry(document, length, frequencies.keySet(),
+                FrenchTextAnalyzer.fold(document.getTitle())));
+        totalLength += length;
+    }
+
+    private void removeInternal(Long courseId) {
+        Entry previous = entries.remove(courseId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(courseId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= previous.length;
+    }
+
+    private static float accumulate(Map<String, Float> frequencies, String text, float weight) {
+        List<String> terms = FrenchTextAnalyzer.analyze(text);
+        for (String term : terms) {
+            frequencies.merge(term, weight, Float::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    private Map<Long, Double> matchAll() {
+        Map<Long, Double> scores = new HashMap<>();
+        entries.keySet().forEach(id -> scores.put(id, 0.0));
+        return scores;
+    }
+
+    private Map<Long, Double> score(List<String> terms) {
+        Map<Long, Double> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            boolean prefix = i == terms.size() - 1 && terms.get(i).length() >= MIN_PREFIX_LENGTH;
+            Map<Long, Double> termScores = scoreTerm(terms.get(i), prefix);
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private Map<Long, Double> scoreTerm(String term, boolean prefix) {
+        Map<String, Map<Long, Float>> matching = prefix
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, true)
+                : postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of();
+
+        double averageLength = entries.isEmpty() ? 1.0 : Math.max(totalLength / entries.size(), 1.0);
+        Map<Long, Double> result = new HashMap<>();
+        matching.forEach((indexedTerm, docs) -> {
+            double idf = Math.log(1.0 + (entries.size() - docs.size() + 0.5) / (docs.size() + 0.5));
+            double boost = indexedTerm.equals(term) ? 1.0 : PREFIX_PENALTY;
+            docs.forEach((courseId, tf) -> {
+                double norm = K1 * (1 - B + B * entries.get(courseId).length / averageLength);
+                double score = boost * idf * (tf * (K1 + 1)) / (tf + norm);
+                result.merge(courseId, score, Math::max);
+            });
+        });
+        return result;
+    }
+
+    private static boolean matchesFilters(CourseDocument document, CourseSearchRequest request) {
+        if (request.getCategoryId() != null && !request.getCategoryId().equals(document.getCategoryId())) {
+            return false;
+        }
+        BigDecimal price = document.getPrice();
+        if (request.getMinPrice() != null && price.compareTo(BigDecimal.valueOf(request.getMinPrice())) < 0) {
+            return false;
+        }
+        if (request.getMaxPrice() != null && price.compareTo(BigDecimal.valueOf(request.getMaxPrice())) > 0) {
+            return false;
+        }
+        if (request.getFree() != null && request.getFree() != (price.signum() == 0)) {
+            return false;
+        }
+        if (request.getMinRating() != null) {
+            Double rating = document.getAverageRating();
+            return rating != null && rating >= request.getMinRating();
+        }
+        return true;
+    }
+
+    private static Comparator<Hit> comparator(Sort sort) {
+        Comparator<Hit> newestFirst = Comparator.comparing(
+                (Hit hit) -> hit.entry.document.getCreatedAt(),
+                Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()));
+        Comparator<Hit> byId = Comparator.comparing(Hit::id, Comparator.reverseOrder());
+
+        Sort.Order order = sort.stream().findFirst().orElse(null);
+        if (order == null || "relevance".equals(order.getProperty())) {
+            return Comparator.comparingDouble((Hit hit) -> hit.score).reversed()
+                    .thenComparing(newestFirst)
+                    .thenComparing(byId);
+        }
+
+        Comparator<Hit> field = switch (order.getProperty()) {
+            case "title" -> Comparator.comparing((Hit hit) -> hit.entry.sortTitle);
+            case "price" -> Comparator.comparing((Hit hit) -> hit.entry.document.getPrice());
+            case "stats.averageRating" -> Comparator.comparing((Hit hit) -> hit.entry.document.getAverageRating(),
+                    Comparator.nullsFirst(Comparator.<Double>naturalOrder()));
+            case "stats.enrollmentCount" -> Comparator.comparingInt((Hit hit) -> hit.entry.document.getEnrollmentCount());
+            default -> Comparator.comparing((Hit hit) -> hit.entry.document.getCreatedAt(),
+                    Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+        };
+        if (order.isDescending()) {
+            field = field.reversed();
+        }
+        return field.thenComparing(byId);
+    }
+
+    private record Entry(CourseDocument document, float length, Set<String> terms, String sortTitle) {
+    }
+
+    private record Hit(Entry entry, double score) {
+        Long id() {
+            return entry.document.getId();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.sencours.search;
+
+import com.sencours.entity.Course;
+import com.sencours.entity.CourseStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Vue d'un cours publie telle qu'elle est indexee par {@link CatalogSearchIndex}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CourseDocument {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String categoryName;
+    private final String instructorName;
+    private final Long categoryId;
+    private final BigDecimal price;
+    private final LocalDateTime createdAt;
+    private final Double averageRating;
+    private final int enrollmentCount;
+
+    /**
+     * Construit le document a partir d'un cours dont l'instructeur, la categorie et les statistiques sont charges.
+     * La note moyenne reste null tant que le cours n'a aucun avis.
+     */
+    public static CourseDocument from(Course course) {
+        CourseStats stats = course.getStats();
+        return CourseDocument.builder()
+                .id(course.getId())
+                .title(course.getTitle())
+                .description(course.getDescription())
+                .categoryName(course.getCategory() != null ? course.getCategory().getName() : null)
+                .categoryId(course.getCategory() != null ? course.getCategory().getId() : null)
+                .instructorName(course.getInstructor() != null
+                        ? course.getInstructor().getFirstName() + " " + course.getInstructor().getLastName()
+                        : null)
+                .price(course.getPrice() != null ? course.getPrice() : BigDecimal.ZERO)
+                .createdAt(course.getCreatedAt())
+                .averageRating(stats != null && stats.getReviewCount() > 0 ? stats.getAverageRating() : null)
+                .enrollmentCount(stats != null ? stats.getEnrollmentCount() : 0)
+                .build();
+    }
+}
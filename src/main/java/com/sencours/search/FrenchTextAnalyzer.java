@@ -0,0 +1,92 @@
+package com.sencours.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Analyseur de texte pour le catalogue : minuscules, suppression des accents,
+ * mots vides francais et racinisation legere (pluriels et terminaisons courantes).
+ */
+public final class FrenchTextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "au", "aux", "avec", "ce", "ces", "d", "dans", "de", "des", "du", "en", "et",
+            "l", "la", "le", "les", "leur", "n", "ne", "ou", "par", "pas", "pour", "qu", "que",
+            "qui", "s", "sa", "se", "ses", "son", "sur", "t", "un", "une", "vos", "votre",
+            "the", "and", "of", "for", "to", "in", "with");
+
+    private FrenchTextAnalyzer() {
+    }
+
+    /**
+     * Decoupe un texte en termes normalises et racinises, dans l'ordre d'apparition
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (token.isEmpty() || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            terms.add(stem(token));
+        }
+        return terms;
+    }
+
+    /**
+     * Met en minuscules et retire les accents ("Développement" -> "developpement")
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("")
+                .replace("œ", "oe")
+                .replace("æ", "ae")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Racinisation minimale inspiree du stemmer de Savoy : on retire les marques
+     * du pluriel puis quelques terminaisons, sans jamais descendre sous 4 lettres.
+     */
+    static String stem(String token) {
+        if (token.length() < 4 || !Character.isLetter(token.charAt(token.length() - 1))) {
+            return token;
+        }
+
+        String word = token;
+        if (word.endsWith("aux") && word.length() > 5) {
+            word = word.substring(0, word.length() - 3) + "al";
+        } else if (word.endsWith("s") || word.endsWith("x")) {
+            word = word.substring(0, word.length() - 1);
+        }
+
+        if (word.length() < 6) {
+            return word;
+        }
+        if (word.endsWith("r")) {
+            word = word.substring(0, word.length() - 1);
+        }
+        // "ée" devient "ee" apres suppression des accents : on retire les deux
+        for (int i = 0; i < 2 && word.endsWith("e"); i++) {
+            word = word.substring(0, word.length() - 1);
+        }
+        int last = word.length() - 1;
+        if (word.length() > 4 && word.charAt(last) == word.charAt(last - 1)) {
+            word = word.substring(0, last);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,40 @@
+package com.sencours.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Tranches de prix proposees comme facettes de recherche (en FCFA).
+ * GRATUIT et PAYANT se recouvrent avec les tranches chiffrees.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PriceRange {
+
+    FREE("free", "Gratuit", null, null),
+    PAID("paid", "Payant", null, null),
+    UNDER_10000("0-10000", "Moins de 10 000 FCFA", null, 10_000),
+    FROM_10000_TO_25000("10000-25000", "10 000 à 25 000 FCFA", 10_000, 25_000),
+    FROM_25000_TO_50000("25000-50000", "25 000 à 50 000 FCFA", 25_000, 50_000),
+    OVER_50000("50000+", "50 000 FCFA et plus", 50_000, null);
+
+    private final String value;
+    private final String label;
+    private final Integer min;
+    private final Integer max;
+
+    /**
+     * Indique si le prix tombe dans la tranche (borne basse incluse, borne haute exclue)
+     */
+    public boolean contains(BigDecimal price) {
+        return switch (this) {
+            case FREE -> price.signum() == 0;
+            case PAID -> price.signum() > 0;
+            default -> price.signum() > 0
+                    && (min == null || price.compareTo(BigDecimal.valueOf(min)) >= 0)
+                    && (max == null || price.compareTo(BigDecimal.valueOf(max)) < 0);
+        };
+    }
+}
@@ -0,0 +1,413 @@
+package com.sencours.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Arbre radix (trie compresse) des titres de cours pour l'autocompletion.
+ *
+ * Chaque titre normalise est insere a partir de chacun de ses mots
+ * ("java pour debutants", "pour debutants", "debutants"), ce qui permet de
+ * completer un mot au milieu du titre. Chaque noeud garde les meilleurs cours
+ * de son sous-arbre (poids decroissant), une suggestion coute donc seulement
+ * la descente le long du prefixe.
+ */
+public class TitleSuggestionTrie {
+
+    // Plus que le maximum demande pour absorber les titres identiques
+    private static final int TOP_K = 8;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long[] NO_IDS = new long[0];
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private Node root = new Node("");
+
+    /**
+     * Ajoute ou remplace le titre d'un cours avec son poids (nombre d'inscrits)
+     */
+    public void put(Long courseId, String title, long weight) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(courseId);
+            addInternal(courseId, title, weight, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un cours des suggestions (sans effet s'il n'y est pas)
+     */
+    public void remove(Long courseId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Modifie le poids d'un cours deja present (ex: +1 a chaque inscription)
+     */
+    public void adjustWeight(Long courseId, long delta) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(courseId);
+            if (entry != null) {
+                removeInternal(courseId);
+                addInternal(courseId, entry.title, Math.max(0, entry.weight + delta), true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remplace tout le contenu de l'arbre
+     */
+    public void replaceAll(Collection<Suggestion> suggestions) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            root = new Node("");
+            // Insertion en vrac puis un seul calcul des meilleurs cours, des feuilles vers la racine
+            suggestions.forEach(s -> addInternal(s.courseId(), s.title(), s.weight(), false));
+            recomputeSubtree(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retourne au plus {@code limit} titres distincts dont un mot commence par le prefixe,
+     * les plus suivis en premier
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+
+            Set<String> titles = new LinkedHashSet<>();
+            for (long id : node.top) {
+                titles.add(entries.get(id).title);
+                if (titles.size() == limit) {
+                    break;
+                }
+            }
+            return new ArrayList<>(titles);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normalise un titre : sans accents, en minuscules, mots separes par un seul espace
+     */
+    static String normalize(String text) {
+        return SEPARATORS.matcher(FrenchTextAnalyzer.fold(text)).replaceAll(" ").trim();
+    }
+
+    private void addInternal(Long courseId, String title, long weight, boolean updateTop) {
+        String key = normalize(title);
+        if (key.isEmpty()) {
+            return;
+        }
+        entries.put(courseId, new Entry(title, key, weight));
+
+        for (String suffix : wordSuffixes(key)) {
+            List<Node> path = insertPath(suffix);
+            Node terminal = path.get(path.size() - 1);
+            terminal.terminals = append(terminal.terminals, courseId);
+            if (updateTop) {
+                for (int i = path.size() - 1; i >= 0; i--) {
+                    recomputeTop(path.get(i));
+                }
+            }
+        }
+    }
+
+    private void removeInternal(Long courseId) {
+        Entry entry = entries.get(courseId);
+        if (entry == null) {
+            return;
+        }
+
+        for (String suffix : wordSuffixes(entry.key)) {
+            List<Node> path = findPath(suffix);
+            if (path == null) {
+                continue;
+            }
+            Node terminal = path.get(path.size() - 1);
+            terminal.terminals = without(terminal.terminals, courseId);
+
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node node = path.get(i);
+                Node parent = path.get(i - 1);
+                if (node.terminals.length == 0 && node.children.length == 0) {
+                    parent.removeChild(node.label.charAt(0));
+                } else if (node.terminals.length == 0 && node.children.length == 1) {
+                    // Recompresser le chemin : le noeud intermediaire devient inutile
+                    Node child = node.children[0];
+                    child.label = node.label + child.label;
+                    parent.replaceChild(child);
+                } else {
+                    recomputeTop(node);
+                }
+            }
+            recomputeTop(path.get(0));
+        }
+        entries.remove(courseId);
+    }
+
+    private List<Node> insertPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        String remaining = key;
+
+        while (!remaining.isEmpty()) {
+            Node child = node.child(remaining.charAt(0));
+            if (child == null) {
+                child = new Node(remaining);
+                node.addChild(child);
+                path.add(child);
+                return path;
+            }
+
+            int common = commonPrefixLength(child.label, remaining);
+            if (common < child.label.length()) {
+                // Couper l'arete : un noeud intermediaire porte le prefixe commun
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.addChild(child);
+                split.top = child.top;
+                node.replaceChild(split);
+                child = split;
+            }
+            path.add(child);
+            node = child;
+            remaining = remaining.substring(common);
+        }
+        return path;
+    }
+
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        String remaining = key;
+
+        while (!remaining.isEmpty()) {
+            Node child = node.child(remaining.charAt(0));
+            if (child == null || !remaining.startsWith(child.label)) {
+                return null;
+            }
+            path.add(child);
+            node = child;
+            remaining = remaining.substring(child.label.length());
+        }
+        return path;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        String remaining = prefix;
+
+        while (!remaining.isEmpty()) {
+            Node child = node.child(remaining.charAt(0));
+            if (child == null) {
+                return null;
+            }
+            if (child.label.startsWith(remaining)) {
+                return child;
+            }
+            if (!remaining.startsWith(child.label)) {
+                return null;
+            }
+            node = child;
+            remaining = remaining.substring(child.label.length());
+        }
+        return node;
+    }
+
+    private void recomputeSubtree(Node node) {
+        for (Node child : node.children) {
+            recomputeSubtree(child);
+        }
+        recomputeTop(node);
+    }
+
+    private void recomputeTop(Node node) {
+        long[] top = new long[TOP_K];
+        int size = 0;
+        for (long id : node.terminals) {
+            size = Math.max(size, offer(top, size, id));
+        }
+        for (Node child : node.children) {
+            // Le top d'un enfant est deja trie : inutile d'aller au-dela du premier refus
+            for (long id : child.top) {
+                int newSize = offer(top, size, id);
+                if (newSize < 0) {
+                    break;
+                }
+                size = newSize;
+            }
+        }
+        node.top = size == TOP_K ? top : Arrays.copyOf(top, size);
+    }
+
+    /**
+     * Insere un cours a son rang dans un top trie, sans doublon et borne a TOP_K.
+     *
+     * @return la nouvelle taille, ou -1 si le cours est moins bien classe que tout le top plein
+     */
+    private int offer(long[] top, int size, long id) {
+        for (int i = 0; i < size; i++) {
+            if (top[i] == id) {
+                return size;
+            }
+        }
+        Entry entry = entries.get(id);
+        int position = size;
+        while (position > 0 && ranksBefore(id, entry, top[position - 1])) {
+            position--;
+        }
+        if (position >= TOP_K) {
+            return -1;
+        }
+        int newSize = Math.min(size + 1, TOP_K);
+        System.arraycopy(top, position, top, position + 1, newSize - position - 1);
+        top[position] = id;
+        return newSize;
+    }
+
+    // Poids decroissant, puis titre, puis ID
+    private boolean ranksBefore(long id, Entry entry, long otherId) {
+        Entry other = entries.get(otherId);
+        if (entry.weight != other.weight) {
+            return entry.weight > other.weight;
+        }
+        int byKey = entry.key.compareTo(other.key);
+        return byKey != 0 ? byKey < 0 : id < otherId;
+    }
+
+    private static List<String> wordSuffixes(String key) {
+        List<String> suffixes = new ArrayList<>();
+        suffixes.add(key);
+        for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            suffixes.add(key.substring(i + 1));
+        }
+        return suffixes;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static long[] append(long[] ids, long id) {
+        for (long existing : ids) {
+            if (existing == id) {
+                return ids;
+            }
+        }
+        long[] result = Arrays.copyOf(ids, ids.length + 1);
+        result[ids.length] = id;
+        return result;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        return Arrays.stream(ids).filter(existing -> existing != id).toArray();
+    }
+
+    /**
+     * Titre a suggerer, avec son poids
+     */
+    public record Suggestion(Long courseId, String title, long weight) {
+    }
+
+    private record Entry(String title, String key, long weight) {
+    }
+
+    private static final class Node {
+
+        private String label;
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private long[] terminals = NO_IDS;
+        private long[] top = NO_IDS;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void addChild(Node child) {
+            int index = -(Arrays.binarySearch(keys, child.label.charAt(0)) + 1);
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = child.label.charAt(0);
+            newChildren[index] = child;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private void replaceChild(Node child) {
+            children[Arrays.binarySearch(keys, child.label.charAt(0))] = child;
+        }
+
+        private void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+}
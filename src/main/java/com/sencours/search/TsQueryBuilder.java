@@ -0,0 +1,41 @@
+package com.sencours.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Traduit la saisie de l'utilisateur en expression {@code to_tsquery} PostgreSQL.
+ *
+ * Seuls les lettres et chiffres sont conserves (aucun operateur tsquery ne passe),
+ * tous les mots sont exiges et le dernier est cherche comme prefixe pour la saisie en cours :
+ * "spring boo" devient "spring & boo:*".
+ */
+public final class TsQueryBuilder {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TsQueryBuilder() {
+    }
+
+    /**
+     * @param foldAccents retirer les accents (quand la base indexe avec unaccent)
+     * @return l'expression tsquery, ou une chaine vide si la saisie ne contient aucun mot
+     */
+    public static String build(String text, boolean foldAccents) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String normalized = foldAccents ? FrenchTextAnalyzer.fold(text) : text.toLowerCase(Locale.ROOT);
+        String[] words = Arrays.stream(SEPARATORS.split(normalized))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+        if (words.length == 0) {
+            return "";
+        }
+
+        words[words.length - 1] = words[words.length - 1] + ":*";
+        return Arrays.stream(words).collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,26 @@
+package com.sencours.service;
+
+import java.time.Instant;
+
+public interface AccessTokenRevocationService {
+
+    /**
+     * Vrai si le jeton d'acces (claim jti) a ete revoque avant son expiration ; verification en memoire
+     */
+    boolean isRevoked(String jti);
+
+    /**
+     * Revoque un jeton d'acces jusqu'a son expiration, sur cette instance immediatement et sur les autres a la synchronisation
+     */
+    void revoke(String jti, Instant expiresAt);
+
+    /**
+     * Recopie en memoire les revocations enregistrees par les autres instances et oublie les jetons expires
+     */
+    void sync();
+
+    /**
+     * Supprime les revocations de jetons expires ; retourne le nombre de lignes supprimees
+     */
+    int purgeExpired();
+}
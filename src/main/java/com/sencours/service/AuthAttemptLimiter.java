@@ -0,0 +1,20 @@
+package com.sencours.service;
+
+public interface AuthAttemptLimiter {
+
+    /**
+     * Enregistre une tentative de connexion ; leve TooManyRequestsException si l'email ou l'adresse IP
+     * a depasse sa limite sur la fenetre glissante
+     */
+    void checkLogin(String email, String clientIp);
+
+    /**
+     * Connexion reussie : le compteur de l'email repart de zero
+     */
+    void onLoginSuccess(String email);
+
+    /**
+     * Enregistre une inscription ; leve TooManyRequestsException si l'adresse IP a depasse sa limite
+     */
+    void checkRegistration(String clientIp);
+}
@@ -7,9 +7,31 @@ import com.sencours.entity.User;
 
 public interface AuthService {
 
-    AuthResponse register(RegisterRequest request);
+    /**
+     * Inscription ; l'adresse IP du client alimente la limitation des tentatives
+     */
+    AuthResponse register(RegisterRequest request, String clientIp);
 
-    AuthResponse login(LoginRequest request);
+    /**
+     * Connexion ; l'email et l'adresse IP du client alimentent la limitation des tentatives
+     */
+    AuthResponse login(LoginRequest request, String clientIp);
+
+    /**
+     * Nouveau jeton d'acces et nouveau jeton de rafraichissement en echange de l'ancien
+     */
+    AuthResponse refresh(String refreshToken);
+
+    /**
+     * Revoque le jeton d'acces presente (en-tete Authorization "Bearer ...") et, s'il est fourni,
+     * la session du jeton de rafraichissement
+     */
+    void logout(String authorization, String refreshToken);
 
     AuthResponse getCurrentUser(User user);
+
+    /**
+     * Profil de l'utilisateur du jeton, charge par email (le principal ne porte que les claims)
+     */
+    AuthResponse getCurrentUser(String email);
 }
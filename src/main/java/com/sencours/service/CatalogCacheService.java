@@ -0,0 +1,23 @@
+package com.sencours.service;
+
+import com.sencours.dto.response.CacheStatsResponse;
+
+import java.util.List;
+
+public interface CatalogCacheService {
+
+    /**
+     * Retire le detail d'un cours et toutes les listes (cours, categories) en cache
+     */
+    void evictCourse(Long courseId);
+
+    /**
+     * Vide tous les caches du catalogue
+     */
+    void evictAll();
+
+    /**
+     * Hits, misses et taille de chaque cache du catalogue
+     */
+    List<CacheStatsResponse> getStats();
+}
@@ -1,8 +1,10 @@
 package com.sencours.service;
 
 import com.sencours.dto.request.CategoryRequest;
+import com.sencours.dto.request.CursorPageRequest;
 import com.sencours.dto.response.CategoryResponse;
 import com.sencours.dto.response.PageResponse;
+import com.sencours.http.ResourceVersion;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -15,6 +17,9 @@ public interface CategoryService {
 
     List<CategoryResponse> getAll();
 
+    // Validateurs HTTP communs aux lectures de categories
+    ResourceVersion getCatalogVersion();
+
     CategoryResponse update(Long id, CategoryRequest request);
 
     void delete(Long id);
@@ -25,4 +30,9 @@ public interface CategoryService {
     PageResponse<CategoryResponse> getAllPaginated(Pageable pageable);
 
     PageResponse<CategoryResponse> searchByNamePaginated(String name, Pageable pageable);
+
+    // Variantes par curseur (keyset) des listes paginees
+    PageResponse<CategoryResponse> getAllPaginated(CursorPageRequest request);
+
+    PageResponse<CategoryResponse> searchByNamePaginated(String name, CursorPageRequest request);
 }
@@ -0,0 +1,11 @@
+package com.sencours.service;
+
+import com.sencours.event.CourseCompletedEvent;
+
+public interface CertificatePregenerationService {
+
+    /**
+     * Confie l'emission du certificat et le rendu du PDF au pool de generation, apres le commit
+     */
+    void onCourseCompleted(CourseCompletedEvent event);
+}
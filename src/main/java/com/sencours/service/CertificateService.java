@@ -6,6 +6,12 @@ import java.util.List;
 
 public interface CertificateService {
     byte[] generateCertificatePdf(Long courseId, String userEmail);
+
+    /**
+     * Emet le certificat et stocke son PDF (idempotent) ; appele en arriere-plan a la completion du cours
+     */
+    void issueCertificate(Long userId, Long courseId);
+
     CertificateResponse getCertificate(Long courseId, String userEmail);
     List<CertificateResponse> getMyCertificates(String userEmail);
     CertificateResponse verifyCertificate(String certificateNumber);
@@ -0,0 +1,26 @@
+package com.sencours.service;
+
+import com.sencours.dto.response.CourseDailyStatsResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CourseAnalyticsService {
+
+    /**
+     * Rollup planifie (app.analytics.rollup.enabled) ; retourne le nombre de journees modifiees
+     */
+    int rollup();
+
+    /**
+     * Agrege dans course_daily_stats les lignes creees ou modifiees entre le filigrane et la borne donnee
+     */
+    int rollupUntil(LocalDateTime upTo);
+
+    /**
+     * Statistiques journalieres des cours d'un instructeur, lues uniquement dans les agregats
+     */
+    List<CourseDailyStatsResponse> getInstructorDailyStats(Long instructorId, Long courseId,
+                                                           LocalDate from, LocalDate to, String userEmail);
+}
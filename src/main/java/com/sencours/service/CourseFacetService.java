@@ -0,0 +1,26 @@
+package com.sencours.service;
+
+import com.sencours.dto.request.CourseSearchRequest;
+import com.sencours.dto.response.SearchFacetsResponse;
+
+import java.util.Collection;
+
+public interface CourseFacetService {
+
+    /**
+     * Compte les cours par categorie, tranche de prix et note parmi les candidats
+     *
+     * @param candidateIds cours correspondant au texte recherche, ou null pour tous les cours publies
+     */
+    SearchFacetsResponse count(Collection<Long> candidateIds, CourseSearchRequest request);
+
+    /**
+     * Relit un cours en base et met a jour ses facettes (ajout, mise a jour ou retrait)
+     */
+    void refresh(Long courseId);
+
+    /**
+     * Reconstruit les facettes a partir de tous les cours publies
+     */
+    void rebuild();
+}
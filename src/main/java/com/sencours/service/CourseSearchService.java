@@ -0,0 +1,31 @@
+package com.sencours.service;
+
+import com.sencours.dto.request.CourseSearchRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+
+public interface CourseSearchService {
+
+    /**
+     * Retourne la page des IDs de cours publies correspondant a la recherche, dans l'ordre du classement
+     */
+    Page<Long> search(CourseSearchRequest request, Pageable pageable);
+
+    /**
+     * Retourne les IDs de tous les cours publies correspondant au texte, sans filtre ni tri
+     * (ensemble de candidats pour les facettes)
+     */
+    Collection<Long> findMatchingIds(String query);
+
+    /**
+     * Relit un cours en base et met a jour l'index (ajout, mise a jour ou retrait)
+     */
+    void refresh(Long courseId);
+
+    /**
+     * Reconstruit l'index a partir de tous les cours publies
+     */
+    void rebuild();
+}
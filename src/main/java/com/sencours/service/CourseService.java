@@ -2,9 +2,12 @@ package com.sencours.service;
 
 import com.sencours.dto.request.CourseRequest;
 import com.sencours.dto.request.CourseSearchRequest;
+import com.sencours.dto.request.CursorPageRequest;
 import com.sencours.dto.response.CourseResponse;
+import com.sencours.dto.response.CourseSummaryResponse;
 import com.sencours.dto.response.PageResponse;
 import com.sencours.enums.Status;
+import com.sencours.http.ResourceVersion;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -15,15 +18,18 @@ public interface CourseService {
 
     CourseResponse getById(Long id);
 
-    List<CourseResponse> getAll();
+    // Validateurs HTTP du detail (ETag, Last-Modified) en une requete legere
+    ResourceVersion getVersion(Long id);
 
-    List<CourseResponse> getByInstructorId(Long instructorId);
+    List<CourseSummaryResponse> getAll();
 
-    List<CourseResponse> getByCategoryId(Long categoryId);
+    List<CourseSummaryResponse> getByInstructorId(Long instructorId);
 
-    List<CourseResponse> getByStatus(Status status);
+    List<CourseSummaryResponse> getByCategoryId(Long categoryId);
 
-    List<CourseResponse> searchByTitle(String title);
+    List<CourseSummaryResponse> getByStatus(Status status);
+
+    List<CourseSummaryResponse> searchByTitle(String title);
 
     CourseResponse update(Long id, CourseRequest request);
 
@@ -36,24 +42,35 @@ public interface CourseService {
     CourseResponse updateStatus(Long courseId, String status, String userEmail);
 
     // Pagination methods
-    PageResponse<CourseResponse> getAllPaginated(Pageable pageable);
+    PageResponse<CourseSummaryResponse> getAllPaginated(Pageable pageable);
+
+    PageResponse<CourseSummaryResponse> searchByTitlePaginated(String title, Pageable pageable);
+
+    PageResponse<CourseSummaryResponse> getByCategoryIdPaginated(Long categoryId, Pageable pageable);
+
+    PageResponse<CourseSummaryResponse> getByStatusPaginated(Status status, Pageable pageable);
+
+    PageResponse<CourseSummaryResponse> getByInstructorIdPaginated(Long instructorId, Pageable pageable);
+
+    PageResponse<CourseSummaryResponse> searchByTitleAndStatusPaginated(String title, Status status, Pageable pageable);
 
-    PageResponse<CourseResponse> searchByTitlePaginated(String title, Pageable pageable);
+    PageResponse<CourseSummaryResponse> getByCategoryIdAndStatusPaginated(Long categoryId, Status status, Pageable pageable);
 
-    PageResponse<CourseResponse> getByCategoryIdPaginated(Long categoryId, Pageable pageable);
+    // Variantes par curseur (keyset) des listes paginees
+    PageResponse<CourseSummaryResponse> getAllPaginated(CursorPageRequest request);
 
-    PageResponse<CourseResponse> getByStatusPaginated(Status status, Pageable pageable);
+    PageResponse<CourseSummaryResponse> searchByTitlePaginated(String title, CursorPageRequest request);
 
-    PageResponse<CourseResponse> getByInstructorIdPaginated(Long instructorId, Pageable pageable);
+    PageResponse<CourseSummaryResponse> getByCategoryIdPaginated(Long categoryId, CursorPageRequest request);
 
-    PageResponse<CourseResponse> searchByTitleAndStatusPaginated(String title, Status status, Pageable pageable);
+    PageResponse<CourseSummaryResponse> getByStatusPaginated(Status status, CursorPageRequest request);
 
-    PageResponse<CourseResponse> getByCategoryIdAndStatusPaginated(Long categoryId, Status status, Pageable pageable);
+    PageResponse<CourseSummaryResponse> getByInstructorIdPaginated(Long instructorId, CursorPageRequest request);
 
     // Search methods
-    PageResponse<CourseResponse> search(CourseSearchRequest request, Pageable pageable);
+    PageResponse<CourseSummaryResponse> search(CourseSearchRequest request, Pageable pageable);
 
-    PageResponse<CourseResponse> searchByKeyword(String query, Pageable pageable);
+    PageResponse<CourseSummaryResponse> searchByKeyword(String query, Pageable pageable);
 
     List<String> getSuggestions(String query);
 }
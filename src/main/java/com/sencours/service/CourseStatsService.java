@@ -0,0 +1,43 @@
+package com.sencours.service;
+
+import com.sencours.repository.projection.CurriculumView;
+
+public interface CourseStatsService {
+
+    /**
+     * Ajoute des inscrits au cours (delta negatif pour un retrait)
+     */
+    void addEnrollments(Long courseId, int delta);
+
+    /**
+     * Applique la variation du nombre d'avis et de la somme des notes
+     */
+    void addReviews(Long courseId, int countDelta, long ratingDelta);
+
+    /**
+     * Applique la variation du nombre de lecons et de la duree totale
+     */
+    void addLessons(Long courseId, int countDelta, int durationDelta);
+
+    /**
+     * Nombre de lecons et version du curriculum, sans charger les sections du cours
+     */
+    CurriculumView getCurriculum(Long courseId);
+
+    /**
+     * Renumerote les lecons du cours dans l'ordre du curriculum et incremente sa version,
+     * apres toute creation, suppression ou reorganisation de lecons ou de sections
+     */
+    void reindexCurriculum(Long courseId);
+
+    /**
+     * Recalcule entierement les statistiques d'un cours a partir des tables sources
+     */
+    void recompute(Long courseId);
+
+    /**
+     * Cree les statistiques manquantes (cours anterieurs a la table course_stats)
+     * et indexe les lecons sans position ; appele au demarrage, avant le serveur web
+     */
+    void backfill();
+}
@@ -0,0 +1,22 @@
+package com.sencours.service;
+
+import java.util.List;
+
+public interface CourseSuggestionService {
+
+    /**
+     * Retourne au plus {@code limit} titres de cours publies dont un mot commence par la saisie,
+     * les cours les plus suivis en premier
+     */
+    List<String> suggest(String query, int limit);
+
+    /**
+     * Relit le titre et le nombre d'inscrits d'un cours et met a jour les suggestions
+     */
+    void refresh(Long courseId);
+
+    /**
+     * Reconstruit les suggestions a partir de tous les cours publies
+     */
+    void rebuild();
+}
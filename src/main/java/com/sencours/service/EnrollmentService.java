@@ -3,8 +3,12 @@ package com.sencours.service;
 import com.sencours.dto.request.EnrollmentRequest;
 import com.sencours.dto.response.EnrollmentResponse;
 import com.sencours.dto.response.PaymentResponse;
+import com.sencours.entity.Enrollment;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface EnrollmentService {
 
@@ -20,5 +24,28 @@ public interface EnrollmentService {
 
     EnrollmentResponse getEnrollment(Long courseId, String userEmail);
 
+    /**
+     * Reconstruit le bitmap de l'inscription a partir des progressions
+     */
     void updateProgress(Long courseId, String userEmail);
+
+    /**
+     * Reporte les bascules de Progress.completed (lecon -> terminee ou non) dans le bitmap et le compteur
+     */
+    void applyCompletions(Long userId, Long courseId, Map<Long, Boolean> completions);
+
+    /**
+     * Retire des lecons supprimees les progressions et les compteurs des inscriptions qui les avaient terminees
+     */
+    void removeLessons(Long courseId, Collection<Long> lessonIds);
+
+    /**
+     * Premiere lecon non terminee du cours dans l'ordre du curriculum, vide si tout est termine
+     */
+    Optional<Long> findNextIncompleteLessonId(Long userId, Long courseId);
+
+    /**
+     * Pourcentage de progression de l'inscription : popcount du bitmap sur le nombre de lecons du cours
+     */
+    int getProgressPercentage(Enrollment enrollment);
 }
@@ -0,0 +1,47 @@
+package com.sencours.service;
+
+import com.sencours.http.IdempotentResponse;
+
+public interface IdempotencyService {
+
+    /**
+     * Issue d'une reservation de cle
+     */
+    enum Outcome {
+        // Premiere execution : la requete doit etre traitee puis completee ou liberee
+        ACQUIRED,
+        // Deja traitee : la reponse enregistree doit etre rejouee
+        REPLAY,
+        // Cle deja utilisee pour une requete differente
+        MISMATCH,
+        // Premiere execution toujours en cours au-dela du delai d'attente
+        IN_PROGRESS
+    }
+
+    record Reservation(Outcome outcome, IdempotentResponse response) {
+
+        public static Reservation of(Outcome outcome) {
+            return new Reservation(outcome, null);
+        }
+    }
+
+    /**
+     * Reserve la cle ; un doublon concurrent attend la fin de la premiere execution
+     */
+    Reservation reserve(String scopeKey, String requestHash);
+
+    /**
+     * Enregistre la reponse de la requete reservee (les erreurs serveur liberent la cle)
+     */
+    void complete(String scopeKey, IdempotentResponse response);
+
+    /**
+     * Libere la cle sans reponse : une nouvelle tentative sera executee
+     */
+    void release(String scopeKey);
+
+    /**
+     * Supprime les cles plus anciennes que la duree de retention ; retourne le nombre de lignes supprimees
+     */
+    int purgeExpired();
+}
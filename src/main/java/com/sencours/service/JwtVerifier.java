@@ -0,0 +1,70 @@
+package com.sencours.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sencours.util.Hashing;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification des jetons presentes par le filtre : un seul parsing par jeton, puis
+ * les claims valides sont gardees en memoire (cle : empreinte du jeton) jusqu'a son expiration.
+ * Les jetons invalides ne sont jamais mis en cache.
+ */
+@Service
+public class JwtVerifier {
+
+    private final JwtService jwtService;
+    private final Cache<String, VerifiedToken> verified;
+
+    public JwtVerifier(JwtService jwtService,
+                       @Value("${app.security.jwt.claims-cache-size:10000}") long cacheSize) {
+        this.jwtService = jwtService;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAt() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Claims d'un jeton dont la signature et l'expiration ont ete verifiees ;
+     * leve une JwtException si le jeton est invalide ou expire
+     */
+    public VerifiedToken verify(String token) {
+        String key = Hashing.sha256(token);
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached;
+        }
+
+        Claims claims = jwtService.parseClaims(token);
+        VerifiedToken result = new VerifiedToken(claims.getSubject(), claims, claims.getExpiration().getTime());
+        verified.put(key, result);
+        return result;
+    }
+
+    /**
+     * Jeton verifie : sujet, claims et instant d'expiration (epoch millis)
+     */
+    public record VerifiedToken(String subject, Claims claims, long expiresAt) {
+    }
+}
@@ -3,6 +3,7 @@ package com.sencours.service;
 import com.sencours.dto.request.LessonRequest;
 import com.sencours.dto.request.ReorderRequest;
 import com.sencours.dto.response.LessonResponse;
+import com.sencours.http.ResourceVersion;
 
 import java.util.List;
 
@@ -27,4 +28,7 @@ public interface LessonService {
     LessonResponse getLessonWithAccessCheck(Long lessonId, String userEmail);
 
     LessonResponse getPreview(Long lessonId);
+
+    // Validateurs HTTP de l'apercu d'une lecon
+    ResourceVersion getPreviewVersion(Long lessonId);
 }
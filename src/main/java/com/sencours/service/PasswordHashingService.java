@@ -0,0 +1,26 @@
+package com.sencours.service;
+
+import com.sencours.dto.response.PasswordHashingStatsResponse;
+
+import java.util.Optional;
+
+public interface PasswordHashingService {
+
+    /**
+     * Hash du mot de passe, calcule sur le pool dedie ; leve ServiceOverloadedException si le pool est sature
+     */
+    String hash(String rawPassword);
+
+    /**
+     * Verification du mot de passe, calculee sur le pool dedie ; leve ServiceOverloadedException si le pool est sature
+     */
+    boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * Nouveau hash au cout courant si celui du hash fourni est inferieur ; vide si le hash est a jour ou plus couteux,
+     * ou si le pool est sature (le re-hachage sera retente a la connexion suivante)
+     */
+    Optional<String> rehashIfNeeded(String rawPassword, String encodedPassword);
+
+    PasswordHashingStatsResponse getStats();
+}
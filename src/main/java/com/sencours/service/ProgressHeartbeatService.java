@@ -0,0 +1,38 @@
+package com.sencours.service;
+
+import com.sencours.progress.HeartbeatBuffer.Heartbeat;
+
+import java.util.Optional;
+
+public interface ProgressHeartbeatService {
+
+    /**
+     * Vrai si les battements du lecteur passent par le tampon (app.progress.write-behind.enabled)
+     */
+    boolean isEnabled();
+
+    /**
+     * Vrai si un battement est deja en attente : l'acces a la lecon a alors ete verifie
+     */
+    boolean isPending(Long userId, Long lessonId);
+
+    /**
+     * Met en attente la position et le temps de visionnage, fusionnes avec le battement precedent
+     */
+    void record(Heartbeat heartbeat);
+
+    /**
+     * Dernier battement non encore ecrit (lecture de ses propres ecritures)
+     */
+    Optional<Heartbeat> getPending(Long userId, Long lessonId);
+
+    /**
+     * Retire le battement en attente pour l'ecrire avec une completion
+     */
+    Optional<Heartbeat> takePending(Long userId, Long lessonId);
+
+    /**
+     * Ecrit tous les battements en attente par lots JDBC ; retourne le nombre de lignes ecrites
+     */
+    int flush();
+}
@@ -1,6 +1,7 @@
 package com.sencours.service;
 
 import com.sencours.dto.request.ProgressRequest;
+import com.sencours.dto.response.ContinueLearningResponse;
 import com.sencours.dto.response.ProgressResponse;
 
 import java.util.List;
@@ -14,4 +15,9 @@ public interface ProgressService {
     List<ProgressResponse> getCourseProgress(Long courseId, String userEmail);
 
     void markAsCompleted(Long lessonId, String userEmail);
+
+    /**
+     * Prochaine lecon a suivre et position de reprise pour chaque inscription en cours
+     */
+    List<ContinueLearningResponse> getContinueLearning(String userEmail);
 }
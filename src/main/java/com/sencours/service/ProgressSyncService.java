@@ -0,0 +1,13 @@
+package com.sencours.service;
+
+import com.sencours.dto.request.ProgressBatchRequest;
+import com.sencours.dto.response.ProgressBatchResponse;
+
+public interface ProgressSyncService {
+
+    /**
+     * Applique en une transaction les progressions enregistrees hors ligne ; la plus recente l'emporte.
+     * Les compteurs d'inscription sont mis a jour une seule fois par cours concerne.
+     */
+    ProgressBatchResponse sync(ProgressBatchRequest request, String userEmail);
+}
@@ -0,0 +1,35 @@
+package com.sencours.service;
+
+public interface RefreshTokenService {
+
+    /**
+     * Nouveau jeton remplacant celui presente, et l'utilisateur auquel il appartient
+     */
+    record Rotation(Long userId, String refreshToken) {
+    }
+
+    /**
+     * Ouvre une session : nouveau jeton de rafraichissement, seule son empreinte est conservee
+     */
+    String issue(Long userId);
+
+    /**
+     * Consomme le jeton et le remplace ; un jeton deja consomme revoque toute sa famille
+     */
+    Rotation rotate(String refreshToken);
+
+    /**
+     * Ferme la session du jeton (toute sa famille) ; sans effet si le jeton est inconnu
+     */
+    void revoke(String refreshToken);
+
+    /**
+     * Ferme toutes les sessions de l'utilisateur
+     */
+    void revokeAll(Long userId);
+
+    /**
+     * Supprime les jetons expires ; retourne le nombre de lignes supprimees
+     */
+    int purgeExpired();
+}
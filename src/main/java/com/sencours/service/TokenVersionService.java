@@ -0,0 +1,34 @@
+package com.sencours.service;
+
+import com.sencours.entity.User;
+import com.sencours.event.TokenVersionChangedEvent;
+
+public interface TokenVersionService {
+
+    /**
+     * Vrai si un jeton de cette version est encore accepte pour l'utilisateur (verification en memoire)
+     */
+    boolean isCurrent(Long userId, int tokenVersion);
+
+    /**
+     * Invalide les jetons deja emis : la version est incrementee sur l'entite, que l'appelant sauvegarde,
+     * et enregistree pour les autres instances (y compris si le compte est ensuite supprime)
+     */
+    void invalidate(User user);
+
+    /**
+     * Applique la nouvelle version en memoire, apres le commit
+     */
+    void onTokenVersionChanged(TokenVersionChangedEvent event);
+
+    /**
+     * Recharge les invalidations recentes depuis la base (demarrage, changements faits par une autre instance)
+     * et oublie celles dont tous les jetons concernes ont expire
+     */
+    void refresh();
+
+    /**
+     * Supprime les invalidations dont tous les jetons concernes ont expire ; retourne le nombre de lignes supprimees
+     */
+    int purgeExpired();
+}
@@ -1,5 +1,6 @@
 package com.sencours.service;
 
+import com.sencours.dto.request.CursorPageRequest;
 import com.sencours.dto.request.PasswordChangeRequest;
 import com.sencours.dto.request.UserRequest;
 import com.sencours.dto.response.PageResponse;
@@ -41,4 +42,11 @@ public interface UserService {
     PageResponse<UserResponse> getByRolePaginated(Role role, Pageable pageable);
 
     PageResponse<UserResponse> searchUsersPaginated(String search, Pageable pageable);
+
+    // Variantes par curseur (keyset) des listes paginees
+    PageResponse<UserResponse> getAllPaginated(CursorPageRequest request);
+
+    PageResponse<UserResponse> getByRolePaginated(Role role, CursorPageRequest request);
+
+    PageResponse<UserResponse> searchUsersPaginated(String search, CursorPageRequest request);
 }
@@ -0,0 +1,77 @@
+package com.sencours.service.impl;
+
+import com.sencours.entity.RevokedAccessToken;
+import com.sencours.repository.RevokedAccessTokenRepository;
+import com.sencours.service.AccessTokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jetons d'acces revoques, gardes en memoire jusqu'a leur expiration : le filtre JWT les verifie
+ * en O(1) sans interroger la base. Les jetons d'acces etant courts, l'ensemble reste petit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccessTokenRevocationServiceImpl implements AccessTokenRevocationService {
+
+    // Marge de relecture : couvre les revocations validees juste apres la lecture precedente
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSync = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Override
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    @Override
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revoked.put(jti, expiresAt.toEpochMilli());
+        revokedAccessTokenRepository.save(RevokedAccessToken.builder()
+                .jti(jti)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.security.revocation.sync-interval:5000}",
+            initialDelayString = "${app.security.revocation.sync-interval:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedAccessToken token : revokedAccessTokenRepository.findActiveRevokedSince(lastSync.minus(SYNC_OVERLAP), now)) {
+            revoked.put(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        lastSync = now;
+
+        long nowMillis = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.security.revocation.purge-interval:3600000}")
+    public int purgeExpired() {
+        int deleted = revokedAccessTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Révocations de jetons expirés supprimées: {}", deleted);
+        }
+        return deleted;
+    }
+}
@@ -9,6 +9,7 @@ import com.sencours.mapper.UserMapper;
 import com.sencours.repository.InstructorApplicationRepository;
 import com.sencours.repository.UserRepository;
 import com.sencours.service.AdminService;
+import com.sencours.service.TokenVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +25,7 @@ public class AdminServiceImpl implements AdminService {
     private final UserRepository userRepository;
     private final InstructorApplicationRepository instructorApplicationRepository;
     private final UserMapper userMapper;
+    private final TokenVersionService tokenVersionService;
 
     @Override
     @Transactional
@@ -58,6 +60,7 @@ public class AdminServiceImpl implements AdminService {
 
         // Toggle le statut
         targetUser.setIsActive(!targetUser.getIsActive());
+        tokenVersionService.invalidate(targetUser);
         User savedUser = userRepository.save(targetUser);
 
         log.info("Statut de l'utilisateur {} modifié à is_active={} par {}",
@@ -88,6 +91,7 @@ public class AdminServiceImpl implements AdminService {
         // SOFT DELETE : marquer comme supprimé au lieu de supprimer vraiment
         targetUser.setDeletedAt(LocalDateTime.now());
         targetUser.setIsActive(false);
+        tokenVersionService.invalidate(targetUser);
         userRepository.save(targetUser);
 
         log.info("Utilisateur {} soft-deleted par {}", userId, currentUserEmail);
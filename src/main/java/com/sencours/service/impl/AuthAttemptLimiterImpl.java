@@ -0,0 +1,149 @@
+package com.sencours.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sencours.exception.TooManyRequestsException;
+import com.sencours.service.AuthAttemptLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limitation des tentatives de connexion et d'inscription, en memoire et par instance.
+ * Chaque cle (email ou adresse IP) a une fenetre glissante approchee par deux compteurs :
+ * la fenetre courante et la precedente, ponderee par la part qui chevauche encore la fenetre glissante.
+ * Les tentatives refusees ne sont pas comptees : le blocage se leve a la fin de la fenetre.
+ */
+@Slf4j
+@Service
+public class AuthAttemptLimiterImpl implements AuthAttemptLimiter {
+
+    private static final String TOO_MANY = "Trop de tentatives, veuillez réessayer plus tard";
+
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+
+    public AuthAttemptLimiterImpl(@Value("${app.security.attempt-limiter.email.max-attempts:10}") int emailMaxAttempts,
+                                  @Value("${app.security.attempt-limiter.email.window-seconds:900}") long emailWindowSeconds,
+                                  @Value("${app.security.attempt-limiter.ip.max-attempts:30}") int ipMaxAttempts,
+                                  @Value("${app.security.attempt-limiter.ip.window-seconds:60}") long ipWindowSeconds,
+                                  @Value("${app.security.attempt-limiter.max-keys:100000}") long maxKeys) {
+        this.emailLimit = new Limit("email", emailMaxAttempts, Duration.ofSeconds(emailWindowSeconds), maxKeys);
+        this.ipLimit = new Limit("ip", ipMaxAttempts, Duration.ofSeconds(ipWindowSeconds), maxKeys);
+    }
+
+    @Override
+    public void checkLogin(String email, String clientIp) {
+        String emailKey = normalize(email);
+        long now = System.currentTimeMillis();
+        // Les deux limites sont verifiees avant d'enregistrer quoi que ce soit
+        long retryAfter = Math.max(ipLimit.retryAfter(clientIp, now), emailLimit.retryAfter(emailKey, now));
+        if (retryAfter > 0) {
+            throw new TooManyRequestsException(TOO_MANY, retryAfter);
+        }
+        ipLimit.record(clientIp, now);
+        emailLimit.record(emailKey, now);
+    }
+
+    @Override
+    public void onLoginSuccess(String email) {
+        emailLimit.reset(normalize(email));
+    }
+
+    @Override
+    public void checkRegistration(String clientIp) {
+        long now = System.currentTimeMillis();
+        long retryAfter = ipLimit.retryAfter(clientIp, now);
+        if (retryAfter > 0) {
+            throw new TooManyRequestsException(TOO_MANY, retryAfter);
+        }
+        ipLimit.record(clientIp, now);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Limit {
+
+        private final String name;
+        private final int maxAttempts;
+        private final long windowMillis;
+        private final Cache<String, SlidingWindow> windows;
+
+        Limit(String name, int maxAttempts, Duration window, long maxKeys) {
+            this.name = name;
+            this.maxAttempts = maxAttempts;
+            this.windowMillis = window.toMillis();
+            // Au-dela de deux fenetres sans tentative, une cle n'a plus d'effet
+            this.windows = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(window.multipliedBy(2))
+                    .build();
+        }
+
+        /**
+         * Secondes a attendre avant une nouvelle tentative, 0 si elle est permise
+         */
+        long retryAfter(String key, long now) {
+            if (key == null) {
+                return 0;
+            }
+            SlidingWindow window = windows.getIfPresent(key);
+            if (window == null) {
+                return 0;
+            }
+            long retryAfter = window.retryAfterMillis(now, windowMillis, maxAttempts);
+            if (retryAfter > 0) {
+                log.warn("Limite de tentatives atteinte ({} {})", name, key);
+            }
+            return (retryAfter + 999) / 1000;
+        }
+
+        void record(String key, long now) {
+            if (key != null) {
+                windows.get(key, k -> new SlidingWindow()).record(now, windowMillis);
+            }
+        }
+
+        void reset(String key) {
+            windows.invalidate(key);
+        }
+    }
+
+    private static final class SlidingWindow {
+
+        private long currentStart;
+        private int current;
+        private int previous;
+
+        synchronized void record(long now, long windowMillis) {
+            roll(now, windowMillis);
+            current++;
+        }
+
+        synchronized long retryAfterMillis(long now, long windowMillis, int maxAttempts) {
+            roll(now, windowMillis);
+            long elapsed = now - currentStart;
+            double estimate = previous * (1 - (double) elapsed / windowMillis) + current;
+            if (estimate < maxAttempts) {
+                return 0;
+            }
+            // Le compteur precedent ne pese plus rien a la fin de la fenetre courante
+            return current >= maxAttempts ? 2 * windowMillis - elapsed : windowMillis - elapsed;
+        }
+
+        private void roll(long now, long windowMillis) {
+            long start = now - Math.floorMod(now, windowMillis);
+            if (start == currentStart) {
+                return;
+            }
+            previous = start - currentStart == windowMillis ? current : 0;
+            current = 0;
+            currentStart = start;
+        }
+    }
+}
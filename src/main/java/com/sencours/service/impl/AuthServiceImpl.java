@@ -8,35 +8,74 @@ import com.sencours.enums.Role;
 import com.sencours.exception.AccountDeletedException;
 import com.sencours.exception.EmailAlreadyExistsException;
 import com.sencours.exception.InvalidCredentialsException;
+import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.repository.UserRepository;
+import com.sencours.service.AccessTokenRevocationService;
+import com.sencours.service.AuthAttemptLimiter;
 import com.sencours.service.AuthService;
 import com.sencours.service.JwtService;
-import lombok.RequiredArgsConstructor;
+import com.sencours.service.JwtVerifier;
+import com.sencours.service.PasswordHashingService;
+import com.sencours.service.RefreshTokenService;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final AuthAttemptLimiter authAttemptLimiter;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final AccessTokenRevocationService accessTokenRevocationService;
+    private final JwtVerifier jwtVerifier;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuthServiceImpl(UserRepository userRepository,
+                           PasswordHashingService passwordHashingService,
+                           AuthAttemptLimiter authAttemptLimiter,
+                           JwtService jwtService,
+                           AuthenticationManager authenticationManager,
+                           RefreshTokenService refreshTokenService,
+                           AccessTokenRevocationService accessTokenRevocationService,
+                           JwtVerifier jwtVerifier,
+                           PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.authAttemptLimiter = authAttemptLimiter;
+        this.jwtService = jwtService;
+        this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
+        this.accessTokenRevocationService = accessTokenRevocationService;
+        this.jwtVerifier = jwtVerifier;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
-    @Transactional
-    public AuthResponse register(RegisterRequest request) {
+    public AuthResponse register(RegisterRequest request, String clientIp) {
         log.info("Tentative d'inscription pour l'email: {}", request.getEmail());
+        authAttemptLimiter.checkRegistration(clientIp);
+
+        // Hachage avant toute lecture : avec open-in-view, la premiere requete retient sa connexion jusqu'a la
+        // fin de la requete HTTP, et l'attente d'un thread BCrypt puis le calcul l'occuperaient pour rien
+        String passwordHash = passwordHashingService.hash(request.getPassword());
 
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new EmailAlreadyExistsException(request.getEmail());
@@ -46,21 +85,30 @@ public class AuthServiceImpl implements AuthService {
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .role(Role.ETUDIANT)
                 .build();
 
-        User savedUser = userRepository.save(user);
-
-        String token = jwtService.generateToken(savedUser);
-
-        log.info("Inscription réussie pour l'utilisateur: {} (ID: {})", savedUser.getEmail(), savedUser.getId());
-        return buildAuthResponse(savedUser, token);
+        try {
+            return transactionTemplate.execute(status -> {
+                User savedUser = userRepository.save(user);
+                String token = jwtService.generateToken(savedUser);
+                String refreshToken = refreshTokenService.issue(savedUser.getId());
+
+                log.info("Inscription réussie pour l'utilisateur: {} (ID: {})", savedUser.getEmail(), savedUser.getId());
+                return buildAuthResponse(savedUser, token, refreshToken);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Inscription concurrente sur le meme email entre la verification et l'insertion
+            throw new EmailAlreadyExistsException(request.getEmail());
+        }
     }
 
     @Override
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
         log.info("Tentative de connexion pour l'email: {}", request.getEmail());
+        // Avant toute lecture ou verification BCrypt : une attaque par dictionnaire ne coute que ce controle
+        authAttemptLimiter.checkLogin(request.getEmail(), clientIp);
 
         // Chercher l'utilisateur
         Optional<User> optionalUser = userRepository.findByEmail(request.getEmail());
@@ -79,15 +127,59 @@ public class AuthServiceImpl implements AuthService {
         }
 
         // Vérifier le mot de passe
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new InvalidCredentialsException("Email ou mot de passe incorrect");
         }
+        authAttemptLimiter.onLoginSuccess(request.getEmail());
+
+        // Hash d'un cout different du cout calibre : remplace de maniere transparente
+        passwordHashingService.rehashIfNeeded(request.getPassword(), user.getPassword())
+                .ifPresent(hash -> {
+                    userRepository.updatePasswordHash(user.getId(), user.getPassword(), hash);
+                    log.info("Mot de passe re-haché au coût courant pour l'utilisateur {}", user.getId());
+                });
 
         // Générer le token même si suspendu (le frontend gèrera l'affichage)
         String token = jwtService.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user.getId());
 
         log.info("Connexion réussie pour l'utilisateur: {} (ID: {})", user.getEmail(), user.getId());
-        return buildAuthResponse(user, token);
+        return buildAuthResponse(user, token, refreshToken);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InvalidCredentialsException.class)
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+
+        // Seul appel en base du cycle d'un jeton d'acces : un compte supprime ne recoit plus de jeton
+        User user = userRepository.findById(rotation.userId())
+                .filter(u -> !u.isDeleted())
+                .orElseThrow(() -> {
+                    refreshTokenService.revokeAll(rotation.userId());
+                    return new InvalidCredentialsException("Session expirée, veuillez vous reconnecter");
+                });
+
+        return buildAuthResponse(user, jwtService.generateToken(user), rotation.refreshToken());
+    }
+
+    @Override
+    @Transactional
+    public void logout(String authorization, String refreshToken) {
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            try {
+                JwtVerifier.VerifiedToken token = jwtVerifier.verify(authorization.substring(BEARER_PREFIX.length()));
+                accessTokenRevocationService.revoke(token.claims().getId(), Instant.ofEpochMilli(token.expiresAt()));
+                log.info("Déconnexion de {}", token.subject());
+            } catch (JwtException e) {
+                // Jeton deja invalide : rien a revoquer
+                log.debug("Déconnexion avec un jeton invalide: {}", e.getMessage());
+            }
+        }
+
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
     }
 
     @Override
@@ -101,10 +193,19 @@ public class AuthServiceImpl implements AuthService {
                 .build();
     }
 
-    private AuthResponse buildAuthResponse(User user, String token) {
+    @Override
+    public AuthResponse getCurrentUser(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
+        return getCurrentUser(user);
+    }
+
+    private AuthResponse buildAuthResponse(User user, String token, String refreshToken) {
         return AuthResponse.builder()
                 .token(token)
                 .type("Bearer")
+                .expiresIn(jwtService.getExpirationSeconds())
+                .refreshToken(refreshToken)
                 .userId(user.getId())
                 .email(user.getEmail())
                 .fullName(user.getFirstName() + " " + user.getLastName())
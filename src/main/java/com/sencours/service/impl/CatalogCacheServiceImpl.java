@@ -0,0 +1,102 @@
+package com.sencours.service.impl;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sencours.config.CacheConfig;
+import com.sencours.dto.response.CacheStatsResponse;
+import com.sencours.event.CategoryChangedEvent;
+import com.sencours.event.CourseChangedEvent;
+import com.sencours.event.EnrollmentCreatedEvent;
+import com.sencours.service.CatalogCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Invalidation des caches du catalogue public.
+ * Les evictions ont lieu apres le commit : une lecture concurrente ne peut pas
+ * remettre en cache l'etat d'avant la modification.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogCacheServiceImpl implements CatalogCacheService {
+
+    private static final List<String> CACHE_NAMES =
+            List.of(CacheConfig.COURSE_DETAIL, CacheConfig.COURSE_PAGES, CacheConfig.CATEGORIES);
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public void evictCourse(Long courseId) {
+        cache(CacheConfig.COURSE_DETAIL).ifPresent(cache -> cache.evict(courseId));
+        cache(CacheConfig.COURSE_PAGES).ifPresent(Cache::clear);
+        // Les categories exposent leur nombre de cours
+        cache(CacheConfig.CATEGORIES).ifPresent(Cache::clear);
+    }
+
+    @Override
+    public void evictAll() {
+        CACHE_NAMES.forEach(name -> cache(name).ifPresent(Cache::clear));
+    }
+
+    @Override
+    public List<CacheStatsResponse> getStats() {
+        return CACHE_NAMES.stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> {
+                    CacheStats stats = cache.getNativeCache().stats();
+                    return CacheStatsResponse.builder()
+                            .name(cache.getName())
+                            .size(cache.getNativeCache().estimatedSize())
+                            .hitCount(stats.hitCount())
+                            .missCount(stats.missCount())
+                            .hitRate(stats.hitRate())
+                            .evictionCount(stats.evictionCount())
+                            .build();
+                })
+                .toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        try {
+            evictCourse(event.getCourseId());
+        } catch (Exception e) {
+            log.error("Invalidation du cache impossible pour le cours {}: {}", event.getCourseId(), e.getMessage());
+        }
+    }
+
+    // Le nombre d'inscrits figure dans le detail ; les listes se contentent de la duree de vie du cache
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnrollmentCreated(EnrollmentCreatedEvent event) {
+        try {
+            cache(CacheConfig.COURSE_DETAIL).ifPresent(cache -> cache.evict(event.getCourseId()));
+        } catch (Exception e) {
+            log.error("Invalidation du cache impossible pour le cours {}: {}", event.getCourseId(), e.getMessage());
+        }
+    }
+
+    // Le nom de la categorie est recopie dans chaque cours : tout le catalogue est concerne
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        try {
+            evictAll();
+        } catch (Exception e) {
+            log.error("Invalidation du cache impossible pour la catégorie {}: {}", event.getCategoryId(), e.getMessage());
+        }
+    }
+
+    private Optional<Cache> cache(String name) {
+        return Optional.ofNullable(cacheManager.getCache(name));
+    }
+}
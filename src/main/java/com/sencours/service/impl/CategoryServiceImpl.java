@@ -1,24 +1,34 @@
 package com.sencours.service.impl;
 
+import com.sencours.config.CacheConfig;
 import com.sencours.dto.request.CategoryRequest;
+import com.sencours.dto.request.CursorPageRequest;
 import com.sencours.dto.response.CategoryResponse;
 import com.sencours.dto.response.PageResponse;
 import com.sencours.entity.Category;
+import com.sencours.event.CategoryChangedEvent;
 import com.sencours.exception.BadRequestException;
 import com.sencours.exception.ResourceAlreadyExistsException;
 import com.sencours.exception.ResourceNotFoundException;
+import com.sencours.http.ResourceVersion;
 import com.sencours.mapper.CategoryMapper;
+import com.sencours.pagination.KeysetCursor;
 import com.sencours.repository.CategoryRepository;
 import com.sencours.repository.CourseRepository;
+import com.sencours.repository.projection.CategoriesVersionView;
 import com.sencours.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -26,9 +36,12 @@ import java.util.List;
 @Transactional
 public class CategoryServiceImpl implements CategoryService {
 
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("id", "name");
+
     private final CategoryRepository categoryRepository;
     private final CourseRepository courseRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public CategoryResponse create(CategoryRequest request) {
@@ -40,6 +53,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         Category category = categoryMapper.toEntity(request);
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
 
         log.info("Catégorie créée avec succès. ID: {}", savedCategory.getId());
         return categoryMapper.toResponse(savedCategory);
@@ -58,6 +72,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'all'")
     public List<CategoryResponse> getAll() {
         log.debug("Récupération de toutes les catégories");
 
@@ -67,6 +82,14 @@ public class CategoryServiceImpl implements CategoryService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCatalogVersion() {
+        CategoriesVersionView v = categoryRepository.findCatalogVersion();
+        return ResourceVersion.of("categories", v.getCategoryCount() + "." + v.getCourseCount(),
+                v.getCategoriesUpdatedAt(), v.getCoursesUpdatedAt());
+    }
+
     @Override
     public CategoryResponse update(Long id, CategoryRequest request) {
         log.info("Mise à jour de la catégorie avec ID: {}", id);
@@ -82,6 +105,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         categoryMapper.updateEntityFromRequest(request, category);
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(updatedCategory.getId()));
 
         log.info("Catégorie mise à jour avec succès. ID: {}", updatedCategory.getId());
         return categoryMapper.toResponse(updatedCategory);
@@ -100,6 +124,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
         log.info("Catégorie supprimée avec succès. ID: {}", id);
     }
 
@@ -130,4 +155,30 @@ public class CategoryServiceImpl implements CategoryService {
                 .toList();
         return PageResponse.of(page, content);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<CategoryResponse> getAllPaginated(CursorPageRequest request) {
+        log.debug("Récupération de toutes les catégories par curseur");
+        Window<Category> window = categoryRepository.findAllBy(
+                KeysetCursor.position(request, Category.class, CURSOR_SORT_FIELDS), request.getSort(), KeysetCursor.limit(request));
+        return toCursorPage(window, request, request.isWithCount() ? categoryRepository.count() : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<CategoryResponse> searchByNamePaginated(String name, CursorPageRequest request) {
+        log.debug("Recherche des catégories par nom par curseur: {}", name);
+        Window<Category> window = categoryRepository.findByNameContainingIgnoreCase(name,
+                KeysetCursor.position(request, Category.class, CURSOR_SORT_FIELDS), request.getSort(), KeysetCursor.limit(request));
+        return toCursorPage(window, request,
+                request.isWithCount() ? categoryRepository.countByNameContainingIgnoreCase(name) : null);
+    }
+
+    private PageResponse<CategoryResponse> toCursorPage(Window<Category> window, CursorPageRequest request, Long total) {
+        List<CategoryResponse> content = window.getContent().stream()
+                .map(categoryMapper::toResponse)
+                .toList();
+        return KeysetCursor.toResponse(window, content, request, total);
+    }
 }
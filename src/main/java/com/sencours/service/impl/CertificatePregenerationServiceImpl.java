@@ -0,0 +1,82 @@
+package com.sencours.service.impl;
+
+import com.sencours.event.CourseCompletedEvent;
+import com.sencours.service.CertificatePregenerationService;
+import com.sencours.service.CertificateService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Emission des certificats en arriere-plan des qu'un cours est termine, pour que le telechargement
+ * ne soit plus qu'une lecture. Pool et file bornes : si la file est pleine, la tache est abandonnee
+ * et le certificat sera genere au premier telechargement.
+ */
+@Slf4j
+@Service
+public class CertificatePregenerationServiceImpl implements CertificatePregenerationService {
+
+    private final CertificateService certificateService;
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+
+    public CertificatePregenerationServiceImpl(CertificateService certificateService,
+                                               @Value("${app.certificates.pregeneration.enabled:false}") boolean enabled,
+                                               @Value("${app.certificates.pregeneration.threads:2}") int threads,
+                                               @Value("${app.certificates.pregeneration.queue-capacity:200}") int queueCapacity) {
+        this.certificateService = certificateService;
+        this.enabled = enabled;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "certificate-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseCompleted(CourseCompletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(() -> issue(event.getUserId(), event.getCourseId()));
+        } catch (RejectedExecutionException e) {
+            log.warn("File de génération des certificats pleine, certificat généré au téléchargement " +
+                    "(utilisateur {}, cours {})", event.getUserId(), event.getCourseId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Certificats encore en file à l'arrêt: {}", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+
+    private void issue(Long userId, Long courseId) {
+        long start = System.currentTimeMillis();
+        try {
+            certificateService.issueCertificate(userId, courseId);
+            log.debug("Certificat généré (utilisateur {}, cours {}) en {} ms",
+                    userId, courseId, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // Le telechargement retentera la generation
+            log.error("Génération du certificat impossible (utilisateur {}, cours {}): {}",
+                    userId, courseId, e.getMessage());
+        }
+    }
+}
@@ -8,46 +8,92 @@ import com.sencours.exception.BadRequestException;
 import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.repository.*;
 import com.sencours.service.CertificateService;
-import lombok.RequiredArgsConstructor;
+import com.sencours.service.EnrollmentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class CertificateServiceImpl implements CertificateService {
 
     private final CertificateRepository certificateRepository;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
-    private final ProgressRepository progressRepository;
+    private final CertificateDocumentRepository certificateDocumentRepository;
+    private final EnrollmentService enrollmentService;
+    private final TransactionTemplate transactionTemplate;
+
+    public CertificateServiceImpl(CertificateRepository certificateRepository,
+                                  UserRepository userRepository,
+                                  CourseRepository courseRepository,
+                                  EnrollmentRepository enrollmentRepository,
+                                  CertificateDocumentRepository certificateDocumentRepository,
+                                  EnrollmentService enrollmentService,
+                                  PlatformTransactionManager transactionManager) {
+        this.certificateRepository = certificateRepository;
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.certificateDocumentRepository = certificateDocumentRepository;
+        this.enrollmentService = enrollmentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
-    @Transactional
     public byte[] generateCertificatePdf(Long courseId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
+        return retryOnConflict(() -> {
+            User user = userRepository.findByEmail(userEmail)
+                    .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
+
+            // PDF pre-genere a la completion du cours : simple lecture
+            return certificateDocumentRepository.findPdfByUserIdAndCourseId(user.getId(), courseId)
+                    .orElseGet(() -> issue(user, courseId).getPdf());
+        });
+    }
 
+    @Override
+    public void issueCertificate(Long userId, Long courseId) {
+        retryOnConflict(() -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
+
+            return issue(user, courseId);
+        });
+    }
+
+    // Telechargement et pre-generation peuvent emettre le meme certificat en meme temps : la transaction
+    // qui perd sur une contrainte unique est annulee puis rejouee, et relit les lignes inserees par l'autre
+    private <T> T retryOnConflict(Supplier<T> issue) {
+        try {
+            return transactionTemplate.execute(status -> issue.get());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Certificat émis par une requête concurrente, relecture: {}", e.getMessage());
+            return transactionTemplate.execute(status -> issue.get());
+        }
+    }
+
+    // Verifie l'eligibilite, cree le certificat s'il n'existe pas, puis rend et stocke son PDF
+    private CertificateDocument issue(User user, Long courseId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cours non trouvé"));
 
         Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(user.getId(), courseId)
                 .orElseThrow(() -> new BadRequestException("Vous n'êtes pas inscrit à ce cours"));
 
-        // Calculer la progression en temps réel
-        int totalLessons = 0;
-        for (com.sencours.entity.Section section : course.getSections()) {
-            totalLessons += section.getLessons().size();
-        }
-        Long completedLessons = progressRepository.countCompletedLessonsByUserAndCourse(user.getId(), courseId);
-        int progressPercentage = totalLessons > 0 ? (int) ((completedLessons * 100) / totalLessons) : 0;
+        // Progression lue sur le bitmap de completion de l'inscription
+        int progressPercentage = enrollmentService.getProgressPercentage(enrollment);
 
         if (progressPercentage < 100) {
             throw new BadRequestException(
@@ -63,10 +109,14 @@ public class CertificateServiceImpl implements CertificateService {
                             .completionDate(enrollment.getCompletedAt() != null
                                     ? enrollment.getCompletedAt() : LocalDateTime.now())
                             .build();
-                    return certificateRepository.save(newCert);
+                    return certificateRepository.saveAndFlush(newCert);
                 });
 
-        return generatePdf(certificate, user, course);
+        return certificateDocumentRepository.findById(certificate.getId())
+                .orElseGet(() -> certificateDocumentRepository.saveAndFlush(CertificateDocument.builder()
+                        .certificate(certificate)
+                        .pdf(generatePdf(certificate, user, course))
+                        .build()));
     }
 
     private byte[] generatePdf(Certificate certificate, User user, Course course) {
@@ -0,0 +1,231 @@
+package com.sencours.service.impl;
+
+import com.sencours.dto.response.CourseDailyStatsResponse;
+import com.sencours.entity.CourseDailyStats;
+import com.sencours.entity.RollupWatermark;
+import com.sencours.entity.User;
+import com.sencours.enums.Role;
+import com.sencours.exception.BadRequestException;
+import com.sencours.exception.ForbiddenException;
+import com.sencours.exception.ResourceNotFoundException;
+import com.sencours.repository.CourseDailyStatsRepository;
+import com.sencours.repository.RollupWatermarkRepository;
+import com.sencours.repository.UserRepository;
+import com.sencours.repository.projection.DailyCountView;
+import com.sencours.repository.projection.ProgressActivityView;
+import com.sencours.service.CourseAnalyticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Rollup incremental des statistiques journalieres par cours.
+ * Chaque passage ne lit que les inscriptions et progressions creees ou modifiees depuis le filigrane
+ * (heure du serveur : progress.modified_at, meme pour une synchronisation datee d'avant par l'appareil),
+ * et ajoute leurs variations aux lignes de course_daily_stats. Le temps de visionnage est compte par
+ * difference avec progress.rolled_up_watch_time_seconds, les apprenants actifs une fois par jour
+ * grace a enrollments.last_active_on : relancer une fenetre ne compte rien deux fois.
+ */
+@Slf4j
+@Service
+public class CourseAnalyticsServiceImpl implements CourseAnalyticsService {
+
+    static final String WATERMARK = "course_daily_stats";
+
+    // Premier passage : tout l'historique
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private static final String ROLLED_UP_SQL =
+            "UPDATE progress SET rolled_up_watch_time_seconds = ? WHERE id = ?";
+
+    private static final String LAST_ACTIVE_SQL =
+            "UPDATE enrollments SET last_active_on = ? WHERE id = ? AND (last_active_on IS NULL OR last_active_on < ?)";
+
+    private final CourseDailyStatsRepository courseDailyStatsRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long lagSeconds;
+
+    public CourseAnalyticsServiceImpl(CourseDailyStatsRepository courseDailyStatsRepository,
+                                      RollupWatermarkRepository watermarkRepository,
+                                      UserRepository userRepository,
+                                      JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.analytics.rollup.enabled:false}") boolean enabled,
+                                      @Value("${app.analytics.rollup.lag-seconds:60}") long lagSeconds) {
+        this.courseDailyStatsRepository = courseDailyStatsRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.lagSeconds = lagSeconds;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.analytics.rollup.interval:900000}")
+    public int rollup() {
+        if (!enabled) {
+            return 0;
+        }
+        // Retard sur l'horloge : les transactions encore ouvertes sur la fin de fenetre seront vues au passage suivant
+        try {
+            return rollupUntil(LocalDateTime.now().minusSeconds(lagSeconds));
+        } catch (Exception e) {
+            log.error("Rollup des statistiques journalières impossible, nouvel essai au prochain passage: {}",
+                    e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public synchronized int rollupUntil(LocalDateTime upTo) {
+        Integer touched = transactionTemplate.execute(status -> aggregate(upTo));
+        return touched != null ? touched : 0;
+    }
+
+    private int aggregate(LocalDateTime upTo) {
+        RollupWatermark watermark = watermarkRepository.findForUpdate(WATERMARK)
+                .orElseGet(() -> RollupWatermark.builder().name(WATERMARK).processedUntil(ORIGIN).build());
+        LocalDateTime from = watermark.getProcessedUntil();
+        if (!upTo.isAfter(from)) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+
+        Map<DayKey, CourseDailyStats> deltas = new HashMap<>();
+        for (DailyCountView view : courseDailyStatsRepository.countEnrollments(from, upTo)) {
+            CourseDailyStats delta = deltaOf(deltas, view.getCourseId(), view.getDay());
+            delta.setEnrollments(delta.getEnrollments() + view.getTotal().intValue());
+        }
+        for (DailyCountView view : courseDailyStatsRepository.countCompletions(from, upTo)) {
+            CourseDailyStats delta = deltaOf(deltas, view.getCourseId(), view.getDay());
+            delta.setCompletions(delta.getCompletions() + view.getTotal().intValue());
+        }
+
+        List<Object[]> rolledUp = new ArrayList<>();
+        Map<Long, Set<LocalDate>> activeDays = new HashMap<>();
+        for (ProgressActivityView view : courseDailyStatsRepository.findProgressActivity(from, upTo)) {
+            int watched = view.getWatchTimeSeconds() != null ? view.getWatchTimeSeconds() : 0;
+            int counted = view.getRolledUpWatchTimeSeconds() != null ? view.getRolledUpWatchTimeSeconds() : 0;
+            if (watched != counted) {
+                // Valeur lue, pas la colonne : une ecriture concurrente garde sa difference pour le passage suivant
+                rolledUp.add(new Object[]{watched, view.getId()});
+                if (watched > counted) {
+                    CourseDailyStats delta = deltaOf(deltas, view.getCourseId(), view.getDay());
+                    delta.setWatchTimeSeconds(delta.getWatchTimeSeconds() + (watched - counted));
+                }
+            }
+
+            // Un apprenant inscrit compte une fois par jour et par cours, quel que soit le nombre de lecons
+            if (view.getEnrollmentId() != null
+                    && (view.getLastActiveOn() == null || view.getDay().isAfter(view.getLastActiveOn()))
+                    && activeDays.computeIfAbsent(view.getEnrollmentId(), id -> new HashSet<>()).add(view.getDay())) {
+                CourseDailyStats delta = deltaOf(deltas, view.getCourseId(), view.getDay());
+                delta.setActiveLearners(delta.getActiveLearners() + 1);
+            }
+        }
+
+        merge(deltas);
+
+        if (!rolledUp.isEmpty()) {
+            jdbcTemplate.batchUpdate(ROLLED_UP_SQL, rolledUp);
+        }
+        if (!activeDays.isEmpty()) {
+            List<Object[]> lastActive = new ArrayList<>();
+            activeDays.forEach((enrollmentId, days) -> {
+                LocalDate last = Collections.max(days);
+                lastActive.add(new Object[]{last, enrollmentId, last});
+            });
+            jdbcTemplate.batchUpdate(LAST_ACTIVE_SQL, lastActive);
+        }
+
+        watermark.setProcessedUntil(upTo);
+        watermarkRepository.save(watermark);
+
+        log.info("Rollup des statistiques journalières jusqu'à {}: {} journées modifiées en {} ms",
+                upTo, deltas.size(), System.currentTimeMillis() - start);
+        return deltas.size();
+    }
+
+    private void merge(Map<DayKey, CourseDailyStats> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Set<Long> courseIds = new HashSet<>();
+        Set<LocalDate> days = new HashSet<>();
+        deltas.keySet().forEach(key -> {
+            courseIds.add(key.courseId());
+            days.add(key.day());
+        });
+
+        List<CourseDailyStats> rows = new ArrayList<>();
+        for (CourseDailyStats existing : courseDailyStatsRepository.findByCourseIdInAndDayIn(courseIds, days)) {
+            CourseDailyStats delta = deltas.remove(new DayKey(existing.getCourseId(), existing.getDay()));
+            if (delta != null) {
+                existing.setEnrollments(existing.getEnrollments() + delta.getEnrollments());
+                existing.setCompletions(existing.getCompletions() + delta.getCompletions());
+                existing.setActiveLearners(existing.getActiveLearners() + delta.getActiveLearners());
+                existing.setWatchTimeSeconds(existing.getWatchTimeSeconds() + delta.getWatchTimeSeconds());
+                rows.add(existing);
+            }
+        }
+        // Journees sans ligne : la variation devient la ligne
+        rows.addAll(deltas.values());
+        courseDailyStatsRepository.saveAll(rows);
+    }
+
+    private static CourseDailyStats deltaOf(Map<DayKey, CourseDailyStats> deltas, Long courseId, LocalDate day) {
+        return deltas.computeIfAbsent(new DayKey(courseId, day),
+                key -> CourseDailyStats.builder().courseId(courseId).day(day).build());
+    }
+
+    @Override
+    public List<CourseDailyStatsResponse> getInstructorDailyStats(Long instructorId, Long courseId,
+                                                                  LocalDate from, LocalDate to, String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
+        if (!user.getId().equals(instructorId)
+                && user.getRole() != Role.ADMIN
+                && user.getRole() != Role.SUPER_ADMIN) {
+            throw new ForbiddenException("Vous n'avez pas accès aux statistiques de cet instructeur");
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate begin = from != null ? from : end.minusDays(29);
+        if (begin.isAfter(end)) {
+            throw new BadRequestException("La date de début doit précéder la date de fin");
+        }
+        if (ChronoUnit.DAYS.between(begin, end) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("La période ne peut pas dépasser " + MAX_RANGE_DAYS + " jours");
+        }
+
+        return courseDailyStatsRepository.findByInstructor(instructorId, courseId, begin, end).stream()
+                .map(view -> CourseDailyStatsResponse.builder()
+                        .courseId(view.getCourseId())
+                        .courseTitle(view.getCourseTitle())
+                        .day(view.getDay())
+                        .enrollments(view.getEnrollments())
+                        .completions(view.getCompletions())
+                        .activeLearners(view.getActiveLearners())
+                        .watchTimeSeconds(view.getWatchTimeSeconds())
+                        .build())
+                .toList();
+    }
+
+    private record DayKey(Long courseId, LocalDate day) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.sencours.service.impl;
+
+import com.sencours.dto.request.CourseSearchRequest;
+import com.sencours.dto.response.SearchFacetsResponse;
+import com.sencours.entity.Category;
+import com.sencours.entity.Course;
+import com.sencours.enums.Status;
+import com.sencours.event.CategoryChangedEvent;
+import com.sencours.event.CourseChangedEvent;
+import com.sencours.repository.CategoryRepository;
+import com.sencours.repository.CourseRepository;
+import com.sencours.search.CatalogFacetIndex;
+import com.sencours.search.CourseDocument;
+import com.sencours.service.CourseFacetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Facettes de recherche servies par des bitsets en memoire, quel que soit le moteur de recherche.
+ * Reconstruites au demarrage puis tenues a jour apres chaque commit qui touche un cours, ses avis
+ * ou le nom de sa categorie.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseFacetServiceImpl implements CourseFacetService {
+
+    private final CourseRepository courseRepository;
+    private final CategoryRepository categoryRepository;
+    private final CatalogFacetIndex index = new CatalogFacetIndex();
+
+    @Override
+    public SearchFacetsResponse count(Collection<Long> candidateIds, CourseSearchRequest request) {
+        return index.count(candidateIds, request);
+    }
+
+    @Override
+    public void refresh(Long courseId) {
+        Optional<Course> course = courseRepository.findWithInstructorAndCategoryById(courseId);
+
+        if (course.isPresent() && course.get().getStatus() == Status.PUBLISHED) {
+            index.upsert(CourseDocument.from(course.get()));
+        } else {
+            index.remove(courseId);
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        List<CourseDocument> documents = courseRepository.findWithInstructorAndCategoryByStatus(Status.PUBLISHED)
+                .stream()
+                .map(CourseDocument::from)
+                .toList();
+        index.replaceAll(documents);
+
+        log.info("Facettes de recherche reconstruites: {} cours en {} ms",
+                documents.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        try {
+            refresh(event.getCourseId());
+        } catch (Exception e) {
+            log.error("Mise à jour des facettes impossible pour le cours {}: {}", event.getCourseId(), e.getMessage());
+        }
+    }
+
+    // Une categorie supprimee n'a plus de cours : seul le renommage change les facettes
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        try {
+            categoryRepository.findById(event.getCategoryId())
+                    .map(Category::getName)
+                    .ifPresent(name -> index.renameCategory(event.getCategoryId(), name));
+        } catch (Exception e) {
+            log.error("Mise à jour des facettes impossible pour la catégorie {}: {}", event.getCategoryId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.sencours.service.impl;
+
+import com.sencours.dto.request.CourseSearchRequest;
+import com.sencours.entity.Course;
+import com.sencours.enums.Status;
+import com.sencours.event.CategoryChangedEvent;
+import com.sencours.event.CourseChangedEvent;
+import com.sencours.event.EnrollmentCreatedEvent;
+import com.sencours.event.UserRenamedEvent;
+import com.sencours.repository.CourseRepository;
+import com.sencours.search.CatalogSearchIndex;
+import com.sencours.search.CourseDocument;
+import com.sencours.service.CourseSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recherche du catalogue servie par un index inverse en memoire.
+ * L'index est reconstruit au demarrage puis tenu a jour apres chaque commit
+ * qui touche un cours (voir {@link CourseChangedEvent}), renomme sa categorie ou son instructeur.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "memory", matchIfMissing = true)
+public class CourseSearchServiceImpl implements CourseSearchService {
+
+    private final CourseRepository courseRepository;
+    private final CatalogSearchIndex index = new CatalogSearchIndex();
+
+    @Override
+    public Page<Long> search(CourseSearchRequest request, Pageable pageable) {
+        return index.search(request, pageable);
+    }
+
+    @Override
+    public Collection<Long> findMatchingIds(String query) {
+        return index.match(query);
+    }
+
+    @Override
+    public void refresh(Long courseId) {
+        Optional<Course> course = courseRepository.findWithInstructorAndCategoryById(courseId);
+
+        if (course.isPresent() && course.get().getStatus() == Status.PUBLISHED) {
+            index.upsert(CourseDocument.from(course.get()));
+        } else {
+            index.remove(courseId);
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        List<CourseDocument> documents = courseRepository.findWithInstructorAndCategoryByStatus(Status.PUBLISHED)
+                .stream()
+                .map(CourseDocument::from)
+                .toList();
+        index.replaceAll(documents);
+
+        log.info("Index de recherche reconstruit: {} cours en {} ms",
+                documents.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        try {
+            refresh(event.getCourseId());
+        } catch (Exception e) {
+            // L'index ne doit jamais faire echouer l'operation deja validee
+            log.error("Mise à jour de l'index impossible pour le cours {}: {}", event.getCourseId(), e.getMessage());
+        }
+    }
+
+    // Le tri par popularite lit le nombre d'inscrits du document
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnrollmentCreated(EnrollmentCreatedEvent event) {
+        try {
+            refresh(event.getCourseId());
+        } catch (Exception e) {
+            log.error("Mise à jour de l'index impossible pour le cours {}: {}", event.getCourseId(), e.getMessage());
+        }
+    }
+
+    // Le nom de la categorie est indexe avec chacun de ses cours publies
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        try {
+            courseRepository.findWithInstructorAndCategoryByStatusAndCategoryId(Status.PUBLISHED, event.getCategoryId())
+                    .forEach(course -> index.upsert(CourseDocument.from(course)));
+        } catch (Exception e) {
+            log.error("Mise à jour de l'index impossible pour la catégorie {}: {}", event.getCategoryId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRenamed(UserRenamedEvent event) {
+        try {
+            courseRepository.findWithInstructorAndCategoryByStatusAndInstructorId(Status.PUBLISHED, event.getUserId())
+                    .forEach(course -> index.upsert(CourseDocument.from(course)));
+        } catch (Exception e) {
+            log.error("Mise à jour de l'index impossible pour l'instructeur {}: {}", event.getUserId(), e.getMessage());
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.sencours.service.impl;
 
+import com.sencours.config.CacheConfig;
 import com.sencours.dto.request.CourseRequest;
 import com.sencours.dto.request.CourseSearchRequest;
+import com.sencours.dto.request.CursorPageRequest;
 import com.sencours.dto.response.CourseResponse;
+import com.sencours.dto.response.CourseSummaryResponse;
 import com.sencours.dto.response.PageResponse;
 import com.sencours.entity.Category;
 import com.sencours.entity.Course;
@@ -10,28 +13,47 @@ import com.sencours.entity.Lesson;
 import com.sencours.entity.User;
 import com.sencours.enums.Role;
 import com.sencours.enums.Status;
+import com.sencours.event.CategoryChangedEvent;
+import com.sencours.event.CourseChangedEvent;
 import com.sencours.exception.BadRequestException;
 import com.sencours.exception.ForbiddenException;
 import com.sencours.exception.InstructorNotFoundException;
 import com.sencours.exception.InvalidInstructorRoleException;
 import com.sencours.exception.ResourceNotFoundException;
+import com.sencours.http.ResourceVersion;
 import com.sencours.mapper.CourseMapper;
+import com.sencours.pagination.KeysetCursor;
 import com.sencours.repository.CategoryRepository;
 import com.sencours.repository.CourseRepository;
+import com.sencours.repository.SectionRepository;
 import com.sencours.repository.UserRepository;
+import com.sencours.service.CourseFacetService;
+import com.sencours.service.CourseSearchService;
 import com.sencours.service.CourseService;
+import com.sencours.service.CourseSuggestionService;
 import com.sencours.service.FileStorageService;
 import com.sencours.service.YouTubeThumbnailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -39,12 +61,19 @@ import java.util.List;
 @Transactional
 public class CourseServiceImpl implements CourseService {
 
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("id", "createdAt", "title", "price");
+
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final SectionRepository sectionRepository;
     private final CourseMapper courseMapper;
     private final FileStorageService fileStorageService;
     private final YouTubeThumbnailService youTubeThumbnailService;
+    private final CourseSearchService courseSearchService;
+    private final CourseSuggestionService courseSuggestionService;
+    private final CourseFacetService courseFacetService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public CourseResponse create(CourseRequest request) {
@@ -62,6 +91,7 @@ public class CourseServiceImpl implements CourseService {
         course.setThumbnailUrl(thumbnailUrl);
 
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(savedCourse.getId()));
 
         log.info("Cours créé avec succès. ID: {}", savedCourse.getId());
         return courseMapper.toResponse(savedCourse);
@@ -69,76 +99,102 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COURSE_DETAIL, key = "#id")
     public CourseResponse getById(Long id) {
         log.debug("Recherche du cours avec ID: {}", id);
 
-        Course course = courseRepository.findById(id)
+        // Deux requetes quelle que soit la taille du curriculum : le cours avec ses sections,
+        // puis les lecons de toutes les sections (rattachees aux sections deja chargees)
+        Course course = courseRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cours", "id", id));
+        sectionRepository.findWithLessonsByCourseIdOrderByOrderIndexAsc(id);
 
         return courseMapper.toResponse(course);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CourseResponse> getAll() {
+    public ResourceVersion getVersion(Long id) {
+        return courseRepository.findVersionById(id)
+                .map(v -> ResourceVersion.of("course", id,
+                        v.getUpdatedAt(), v.getStatsUpdatedAt(), v.getInstructorUpdatedAt()))
+                .orElseThrow(() -> new ResourceNotFoundException("Cours", "id", id));
+    }
+
+    /**
+     * Sections, lecons et avis n'ont pas de date propre : toute modification publiee
+     * pour un cours avance son updatedAt (validateur HTTP du detail). La mise a jour se fait
+     * apres le commit, dans sa propre transaction courte, pour ne pas garder la ligne du cours
+     * verrouillee pendant l'ecriture d'origine.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCourseChanged(CourseChangedEvent event) {
+        try {
+            courseRepository.touch(event.getCourseId());
+        } catch (Exception e) {
+            log.error("Mise à jour de la date du cours {} impossible: {}", event.getCourseId(), e.getMessage());
+        }
+    }
+
+    // Le nom de la categorie figure dans le detail de chacun de ses cours
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        try {
+            courseRepository.touchByCategoryId(event.getCategoryId());
+        } catch (Exception e) {
+            log.error("Mise à jour de la date des cours de la catégorie {} impossible: {}",
+                    event.getCategoryId(), e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseSummaryResponse> getAll() {
         log.debug("Récupération de tous les cours");
 
-        return courseRepository.findAll()
-                .stream()
-                .map(courseMapper::toResponse)
-                .toList();
+        return courseRepository.findAllSummaries();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CourseResponse> getByInstructorId(Long instructorId) {
+    public List<CourseSummaryResponse> getByInstructorId(Long instructorId) {
         log.debug("Récupération des cours de l'instructeur ID: {}", instructorId);
 
         if (!userRepository.existsById(instructorId)) {
             throw new InstructorNotFoundException(instructorId);
         }
 
-        return courseRepository.findByInstructorId(instructorId)
-                .stream()
-                .map(courseMapper::toResponse)
-                .toList();
+        return courseRepository.findSummariesByInstructorId(instructorId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CourseResponse> getByCategoryId(Long categoryId) {
+    public List<CourseSummaryResponse> getByCategoryId(Long categoryId) {
         log.debug("Récupération des cours de la catégorie ID: {}", categoryId);
 
         if (!categoryRepository.existsById(categoryId)) {
             throw new ResourceNotFoundException("Catégorie", "id", categoryId);
         }
 
-        return courseRepository.findByCategoryId(categoryId)
-                .stream()
-                .map(courseMapper::toResponse)
-                .toList();
+        return courseRepository.findSummariesByCategoryId(categoryId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CourseResponse> getByStatus(Status status) {
+    public List<CourseSummaryResponse> getByStatus(Status status) {
         log.debug("Récupération des cours avec status: {}", status);
 
-        return courseRepository.findByStatus(status)
-                .stream()
-                .map(courseMapper::toResponse)
-                .toList();
+        return courseRepository.findSummariesByStatus(status);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CourseResponse> searchByTitle(String title) {
+    public List<CourseSummaryResponse> searchByTitle(String title) {
         log.debug("Recherche des cours par titre: {}", title);
 
-        return courseRepository.findByTitleContainingIgnoreCase(title)
-                .stream()
-                .map(courseMapper::toResponse)
-                .toList();
+        return courseRepository.findSummariesByTitle(title);
     }
 
     @Override
@@ -170,6 +226,7 @@ public class CourseServiceImpl implements CourseService {
         course.setThumbnailUrl(thumbnailUrl);
 
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(updatedCourse.getId()));
 
         log.info("Cours mis à jour avec succès. ID: {}", updatedCourse.getId());
         return courseMapper.toResponse(updatedCourse);
@@ -184,6 +241,7 @@ public class CourseServiceImpl implements CourseService {
         }
 
         courseRepository.deleteById(id);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
         log.info("Cours supprimé avec succès. ID: {}", id);
     }
 
@@ -196,6 +254,7 @@ public class CourseServiceImpl implements CourseService {
 
         course.setStatus(Status.PUBLISHED);
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
 
         log.info("Cours publié avec succès. ID: {}", id);
         return courseMapper.toResponse(updatedCourse);
@@ -210,6 +269,7 @@ public class CourseServiceImpl implements CourseService {
 
         course.setStatus(Status.ARCHIVED);
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
 
         log.info("Cours archivé avec succès. ID: {}", id);
         return courseMapper.toResponse(updatedCourse);
@@ -238,141 +298,168 @@ public class CourseServiceImpl implements CourseService {
         }
 
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
         log.info("Statut du cours mis à jour avec succès. ID: {}, Nouveau statut: {}", courseId, status);
         return courseMapper.toResponse(savedCourse);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<CourseResponse> getAllPaginated(Pageable pageable) {
+    public PageResponse<CourseSummaryResponse> getAllPaginated(Pageable pageable) {
         log.debug("Récupération de tous les cours avec pagination");
-        Page<Course> page = courseRepository.findAll(pageable);
-        List<CourseResponse> content = page.getContent().stream()
-                .map(courseMapper::toResponse)
-                .toList();
-        return PageResponse.of(page, content);
+        Page<CourseSummaryResponse> page = courseRepository.findSummaries(pageable);
+        return PageResponse.of(page, page.getContent());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<CourseResponse> searchByTitlePaginated(String title, Pageable pageable) {
+    public PageResponse<CourseSummaryResponse> searchByTitlePaginated(String title, Pageable pageable) {
         log.debug("Recherche des cours par titre avec pagination: {}", title);
-        Page<Course> page = courseRepository.findByTitleContainingIgnoreCase(title, pageable);
-        List<CourseResponse> content = page.getContent().stream()
-                .map(courseMapper::toResponse)
-                .toList();
-        return PageResponse.of(page, content);
+        Page<CourseSummaryResponse> page = courseRepository.findSummariesByTitle(title, pageable);
+        return PageResponse.of(page, page.getContent());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<CourseResponse> getByCategoryIdPaginated(Long categoryId, Pageable pageable) {
+    @Cacheable(cacheNames = CacheConfig.COURSE_PAGES, key = "'category:' + #categoryId + ':' + #pageable")
+    public PageResponse<CourseSummaryResponse> getByCategoryIdPaginated(Long categoryId, Pageable pageable) {
         log.debug("Récupération des cours de la catégorie ID avec pagination: {}", categoryId);
         if (!categoryRepository.existsById(categoryId)) {
             throw new ResourceNotFoundException("Catégorie", "id", categoryId);
         }
-        Page<Course> page = courseRepository.findByCategoryId(categoryId, pageable);
-        List<CourseResponse> content = page.getContent().stream()
-                .map(courseMapper::toResponse)
-                .toList();
-        return PageResponse.of(page, content);
+        Page<CourseSummaryResponse> page = courseRepository.findSummariesByCategoryId(categoryId, pageable);
+        return PageResponse.of(page, page.getContent());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<CourseResponse> getByStatusPaginated(Status status, Pageable pageable) {
+    public PageResponse<CourseSummaryResponse> getByStatusPaginated(Status status, Pageable pageable) {
         log.debug("Récupération des cours par status avec pagination: {}", status);
-        Page<Course> page = courseRepository.findByStatus(status, pageable);
-        List<CourseResponse> content = page.getContent().stream()
-                .map(courseMapper::toResponse)
-                .toList();
-        return PageResponse.of(page, content);
+        Page<CourseSummaryResponse> page = courseRepository.findSummariesByStatus(status, pageable);
+        return PageResponse.of(page, page.getContent());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<CourseResponse> getByInstructorIdPaginated(Long instructorId, Pageable pageable) {
+    public PageResponse<CourseSummaryResponse> getByInstructorIdPaginated(Long instructorId, Pageable pageable) {
         log.debug("Récupération des cours de l'instructeur ID avec pagination: {}", instructorId);
         if (!userRepository.existsById(instructorId)) {
             throw new InstructorNotFoundException(instructorId);
         }
-        Page<Course> page = courseRepository.findByInstructorId(instructorId, pageable);
-        List<CourseResponse> content = page.getContent().stream()
-                .map(courseMapper::toResponse)
-                .toList();
-        return PageResponse.of(page, content);
+        Page<CourseSummaryResponse> page = courseRepository.findSummariesByInstructorId(instructorId, pageable);
+        return PageResponse.of(page, page.getContent());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<CourseSummaryResponse> getAllPaginated(CursorPageRequest request) {
+        log.debug("Récupération de tous les cours par curseur");
+        Window<CourseSummaryResponse> window = courseRepository.scrollSummaries(
+                KeysetCursor.position(request, Course.class, CURSOR_SORT_FIELDS), request.getSort(), KeysetCursor.limit(request));
+        return toCursorPage(window, request, request.isWithCount() ? courseRepository.count() : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<CourseSummaryResponse> searchByTitlePaginated(String title, CursorPageRequest request) {
+        log.debug("Recherche des cours par titre par curseur: {}", title);
+        Window<CourseSummaryResponse> window = courseRepository.scrollSummariesByTitle(title,
+                KeysetCursor.position(request, Course.class, CURSOR_SORT_FIELDS), request.getSort(), KeysetCursor.limit(request));
+        return toCursorPage(window, request,
+                request.isWithCount() ? courseRepository.countByTitleContainingIgnoreCase(title) : null);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<CourseResponse> searchByTitleAndStatusPaginated(String title, Status status, Pageable pageable) {
+    public PageResponse<CourseSummaryResponse> getByCategoryIdPaginated(Long categoryId, CursorPageRequest request) {
+        log.debug("Récupération des cours de la catégorie ID par curseur: {}", categoryId);
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Catégorie", "id", categoryId);
+        }
+        Window<CourseSummaryResponse> window = courseRepository.scrollSummariesByCategoryId(categoryId,
+                KeysetCursor.position(request, Course.class, CURSOR_SORT_FIELDS), request.getSort(), KeysetCursor.limit(request));
+        return toCursorPage(window, request,
+                request.isWithCount() ? courseRepository.countByCategoryId(categoryId) : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<CourseSummaryResponse> getByStatusPaginated(Status status, CursorPageRequest request) {
+        log.debug("Récupération des cours par status par curseur: {}", status);
+        Window<CourseSummaryResponse> window = courseRepository.scrollSummariesByStatus(status,
+                KeysetCursor.position(request, Course.class, CURSOR_SORT_FIELDS), request.getSort(), KeysetCursor.limit(request));
+        return toCursorPage(window, request, request.isWithCount() ? courseRepository.countByStatus(status) : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<CourseSummaryResponse> getByInstructorIdPaginated(Long instructorId, CursorPageRequest request) {
+        log.debug("Récupération des cours de l'instructeur ID par curseur: {}", instructorId);
+        if (!userRepository.existsById(instructorId)) {
+            throw new InstructorNotFoundException(instructorId);
+        }
+        Window<CourseSummaryResponse> window = courseRepository.scrollSummariesByInstructorId(instructorId,
+                KeysetCursor.position(request, Course.class, CURSOR_SORT_FIELDS), request.getSort(), KeysetCursor.limit(request));
+        return toCursorPage(window, request,
+                request.isWithCount() ? courseRepository.countByInstructorId(instructorId) : null);
+    }
+
+    private PageResponse<CourseSummaryResponse> toCursorPage(Window<CourseSummaryResponse> window,
+                                                             CursorPageRequest request, Long total) {
+        return KeysetCursor.toResponse(window, window.getContent(), request, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<CourseSummaryResponse> searchByTitleAndStatusPaginated(String title, Status status, Pageable pageable) {
         log.debug("Recherche des cours par titre et status avec pagination: {} - {}", title, status);
-        Page<Course> page = courseRepository.findByTitleContainingIgnoreCaseAndStatus(title, status, pageable);
-        List<CourseResponse> content = page.getContent().stream()
-                .map(courseMapper::toResponse)
-                .toList();
-        return PageResponse.of(page, content);
+        Page<CourseSummaryResponse> page = courseRepository.findSummariesByTitleAndStatus(title, status, pageable);
+        return PageResponse.of(page, page.getContent());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<CourseResponse> getByCategoryIdAndStatusPaginated(Long categoryId, Status status, Pageable pageable) {
+    public PageResponse<CourseSummaryResponse> getByCategoryIdAndStatusPaginated(Long categoryId, Status status, Pageable pageable) {
         log.debug("Récupération des cours par catégorie et status avec pagination: {} - {}", categoryId, status);
         if (!categoryRepository.existsById(categoryId)) {
             throw new ResourceNotFoundException("Catégorie", "id", categoryId);
         }
-        Page<Course> page = courseRepository.findByCategoryIdAndStatus(categoryId, status, pageable);
-        List<CourseResponse> content = page.getContent().stream()
-                .map(courseMapper::toResponse)
-                .toList();
-        return PageResponse.of(page, content);
+        Page<CourseSummaryResponse> page = courseRepository.findSummariesByCategoryIdAndStatus(categoryId, status, pageable);
+        return PageResponse.of(page, page.getContent());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<CourseResponse> search(CourseSearchRequest request, Pageable pageable) {
+    public PageResponse<CourseSummaryResponse> search(CourseSearchRequest request, Pageable pageable) {
         log.debug("Recherche avancée de cours: {}", request);
 
-        BigDecimal minPrice = request.getMinPrice() != null ?
-                BigDecimal.valueOf(request.getMinPrice()) : null;
-        BigDecimal maxPrice = request.getMaxPrice() != null ?
-                BigDecimal.valueOf(request.getMaxPrice()) : null;
-
-        Page<Course> page = courseRepository.search(
-                request.getQuery(),
-                request.getCategoryId(),
-                minPrice,
-                maxPrice,
-                request.getFree(),
-                pageable
-        );
-
-        List<CourseResponse> content = page.getContent().stream()
-                .map(courseMapper::toResponse)
-                .toList();
-        return PageResponse.of(page, content);
+        Page<Long> page = courseSearchService.search(request, pageable);
+        PageResponse<CourseSummaryResponse> response = PageResponse.of(page, loadInOrder(page.getContent()));
+
+        // Sans texte, les facettes portent sur tout le catalogue publié
+        Collection<Long> candidates = request.getQuery() == null || request.getQuery().isBlank()
+                ? null
+                : courseSearchService.findMatchingIds(request.getQuery());
+        response.setFacets(courseFacetService.count(candidates, request));
+        return response;
     }
 
+    // Seule la recherche sans texte (page d'accueil du catalogue) est mise en cache
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<CourseResponse> searchByKeyword(String query, Pageable pageable) {
+    @Cacheable(cacheNames = CacheConfig.COURSE_PAGES, key = "'catalog:' + #pageable",
+            condition = "#query == null || #query.isBlank()")
+    public PageResponse<CourseSummaryResponse> searchByKeyword(String query, Pageable pageable) {
         log.debug("Recherche rapide de cours: {}", query);
 
-        Page<Course> page;
-        if (query == null || query.trim().isEmpty()) {
-            page = courseRepository.findByStatus(Status.PUBLISHED, pageable);
-        } else {
-            page = courseRepository.searchByKeyword(query.trim(), pageable);
-        }
+        CourseSearchRequest request = new CourseSearchRequest();
+        request.setQuery(query != null ? query.trim() : null);
 
-        List<CourseResponse> content = page.getContent().stream()
-                .map(courseMapper::toResponse)
-                .toList();
-        return PageResponse.of(page, content);
+        Page<Long> page = courseSearchService.search(request, pageable);
+        return PageResponse.of(page, loadInOrder(page.getContent()));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<String> getSuggestions(String query) {
         log.debug("Suggestions de recherche pour: {}", query);
 
@@ -380,10 +467,24 @@ public class CourseServiceImpl implements CourseService {
             return new ArrayList<>();
         }
 
-        return courseRepository.findTitleSuggestions(
-                query.trim(),
-                org.springframework.data.domain.PageRequest.of(0, 5)
-        );
+        return courseSuggestionService.suggest(query.trim(), 5);
+    }
+
+    /**
+     * Charge les cartes des cours en conservant l'ordre donne (classement de l'index, curseur)
+     */
+    private List<CourseSummaryResponse> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, CourseSummaryResponse> coursesById = courseRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(CourseSummaryResponse::getId, Function.identity()));
+
+        return ids.stream()
+                .map(coursesById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     private User validateAndGetInstructor(Long instructorId) {
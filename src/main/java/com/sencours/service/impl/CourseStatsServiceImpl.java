@@ -0,0 +1,134 @@
+package com.sencours.service.impl;
+
+import com.sencours.entity.Course;
+import com.sencours.entity.CourseStats;
+import com.sencours.repository.CourseRepository;
+import com.sencours.repository.CourseStatsRepository;
+import com.sencours.repository.EnrollmentRepository;
+import com.sencours.repository.LessonRepository;
+import com.sencours.repository.ReviewRepository;
+import com.sencours.repository.projection.CurriculumView;
+import com.sencours.repository.projection.LessonPositionView;
+import com.sencours.service.CourseStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintient la table course_stats dans la transaction de l'ecriture source.
+ * Si la ligne d'un cours n'existe pas encore, elle est recalculee entierement.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CourseStatsServiceImpl implements CourseStatsService {
+
+    private static final String UPDATE_POSITION_SQL = "UPDATE lessons SET curriculum_position = ? WHERE id = ?";
+
+    private final CourseStatsRepository courseStatsRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ReviewRepository reviewRepository;
+    private final LessonRepository lessonRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addEnrollments(Long courseId, int delta) {
+        if (courseStatsRepository.addEnrollments(courseId, delta) == 0) {
+            recompute(courseId);
+        }
+    }
+
+    @Override
+    public void addReviews(Long courseId, int countDelta, long ratingDelta) {
+        if (courseStatsRepository.addReviews(courseId, countDelta, ratingDelta) == 0) {
+            recompute(courseId);
+        }
+    }
+
+    @Override
+    public void addLessons(Long courseId, int countDelta, int durationDelta) {
+        if (courseStatsRepository.addLessons(courseId, countDelta, durationDelta) == 0) {
+            recompute(courseId);
+        }
+    }
+
+    @Override
+    public CurriculumView getCurriculum(Long courseId) {
+        return courseStatsRepository.findCurriculumByCourseId(courseId)
+                .orElseGet(() -> {
+                    recompute(courseId);
+                    return courseStatsRepository.findCurriculumByCourseId(courseId).orElse(null);
+                });
+    }
+
+    @Override
+    public void reindexCurriculum(Long courseId) {
+        // Version d'abord : elle verrouille la ligne du cours et rend obsoletes les bitmaps calcules sur l'ancien ordre
+        if (courseStatsRepository.incrementCurriculumVersion(courseId) == 0) {
+            recompute(courseId);
+            return;
+        }
+        writePositions(courseId);
+    }
+
+    @Override
+    public void recompute(Long courseId) {
+        Course course = courseRepository.findById(courseId).orElse(null);
+        if (course == null) {
+            return;
+        }
+
+        CourseStats stats = courseStatsRepository.findById(courseId)
+                .orElseGet(() -> CourseStats.builder().course(course).build());
+
+        int reviewCount = reviewRepository.countByCourseId(courseId).intValue();
+        long ratingSum = reviewRepository.sumRatingByCourseId(courseId);
+        stats.setEnrollmentCount(enrollmentRepository.countByCourseId(courseId).intValue());
+        stats.setReviewCount(reviewCount);
+        stats.setRatingSum(ratingSum);
+        stats.setAverageRating(reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0);
+        stats.setLessonCount((int) lessonRepository.countByCourseId(courseId));
+        stats.setTotalDuration((int) lessonRepository.sumDurationByCourseId(courseId));
+
+        course.setStats(courseStatsRepository.save(stats));
+        courseStatsRepository.incrementCurriculumVersion(courseId);
+        writePositions(courseId);
+    }
+
+    @Override
+    public void backfill() {
+        List<Long> courseIds = courseStatsRepository.findCourseIdsWithoutStats();
+        if (!courseIds.isEmpty()) {
+            courseIds.forEach(this::recompute);
+            log.info("Statistiques initialisées pour {} cours", courseIds.size());
+        }
+
+        List<Long> unindexed = lessonRepository.findCourseIdsWithUnindexedLessons();
+        if (!unindexed.isEmpty()) {
+            unindexed.forEach(this::reindexCurriculum);
+            log.info("Positions des leçons initialisées pour {} cours", unindexed.size());
+        }
+    }
+
+    // Rang de chaque lecon dans l'ordre du curriculum ; seules les positions qui changent sont ecrites
+    private void writePositions(Long courseId) {
+        List<Object[]> changed = new ArrayList<>();
+        int position = 0;
+        for (LessonPositionView lesson : lessonRepository.findPositionsByCourseIdInCurriculumOrder(courseId)) {
+            if (!Integer.valueOf(position).equals(lesson.getCurriculumPosition())) {
+                changed.add(new Object[]{position, lesson.getId()});
+            }
+            position++;
+        }
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_POSITION_SQL, changed);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.sencours.service.impl;
+
+import com.sencours.enums.Status;
+import com.sencours.event.CourseChangedEvent;
+import com.sencours.event.EnrollmentCreatedEvent;
+import com.sencours.repository.CourseRepository;
+import com.sencours.repository.projection.CourseTitleView;
+import com.sencours.search.TitleSuggestionTrie;
+import com.sencours.service.CourseSuggestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Autocompletion des titres servie par un trie en memoire, pondere par le nombre d'inscrits.
+ * Le trie est reconstruit au demarrage, suit les changements de cours apres commit
+ * et incremente le poids d'un cours a chaque inscription.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseSuggestionServiceImpl implements CourseSuggestionService {
+
+    private final CourseRepository courseRepository;
+    private final TitleSuggestionTrie trie = new TitleSuggestionTrie();
+
+    @Override
+    public List<String> suggest(String query, int limit) {
+        return trie.suggest(query, limit);
+    }
+
+    @Override
+    public void refresh(Long courseId) {
+        Optional<CourseTitleView> view = courseRepository.findTitleWithEnrollmentCount(courseId, Status.PUBLISHED);
+
+        if (view.isPresent()) {
+            trie.put(courseId, view.get().getTitle(), view.get().getEnrollmentCount());
+        } else {
+            trie.remove(courseId);
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        List<TitleSuggestionTrie.Suggestion> suggestions = courseRepository.findTitlesWithEnrollmentCount(Status.PUBLISHED)
+                .stream()
+                .map(view -> new TitleSuggestionTrie.Suggestion(view.getId(), view.getTitle(), view.getEnrollmentCount()))
+                .toList();
+        trie.replaceAll(suggestions);
+
+        log.info("Suggestions de titres reconstruites: {} cours en {} ms",
+                suggestions.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        try {
+            refresh(event.getCourseId());
+        } catch (Exception e) {
+            log.error("Mise à jour des suggestions impossible pour le cours {}: {}", event.getCourseId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnrollmentCreated(EnrollmentCreatedEvent event) {
+        trie.adjustWeight(event.getCourseId(), 1);
+    }
+}
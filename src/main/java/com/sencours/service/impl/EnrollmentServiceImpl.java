@@ -4,18 +4,25 @@ import com.sencours.dto.request.EnrollmentRequest;
 import com.sencours.dto.response.EnrollmentResponse;
 import com.sencours.dto.response.PaymentResponse;
 import com.sencours.entity.*;
+import com.sencours.event.CourseCompletedEvent;
+import com.sencours.event.EnrollmentCreatedEvent;
 import com.sencours.exception.BadRequestException;
 import com.sencours.exception.ResourceNotFoundException;
+import com.sencours.progress.CompletionBitmap;
 import com.sencours.repository.*;
+import com.sencours.repository.projection.CurriculumView;
+import com.sencours.repository.projection.EnrollmentDashboardView;
+import com.sencours.repository.projection.LessonPositionView;
+import com.sencours.service.CourseStatsService;
 import com.sencours.service.EnrollmentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +33,9 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final ProgressRepository progressRepository;
+    private final LessonRepository lessonRepository;
+    private final CourseStatsService courseStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -71,9 +81,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 .amountPaid(course.getPrice())
                 .build();
 
-        enrollment = enrollmentRepository.save(enrollment);
-
-        return mapToResponse(enrollment);
+        return enroll(enrollment);
     }
 
     @Override
@@ -99,9 +107,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 .amountPaid(BigDecimal.ZERO)
                 .build();
 
-        enrollment = enrollmentRepository.save(enrollment);
-
-        return mapToResponse(enrollment);
+        return enroll(enrollment);
     }
 
     @Override
@@ -117,9 +123,10 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
 
-        return enrollmentRepository.findByUserIdOrderByEnrolledAtDesc(user.getId())
+        String userName = user.getFirstName() + " " + user.getLastName();
+        return enrollmentRepository.findDashboardByUserId(user.getId())
                 .stream()
-                .map(this::mapToResponse)
+                .map(view -> mapToResponse(view, user.getId(), userName))
                 .collect(Collectors.toList());
     }
 
@@ -131,7 +138,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(user.getId(), courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Inscription non trouvée"));
 
-        return mapToResponse(enrollment);
+        return mapToResponse(enrollment, courseStatsService.getCurriculum(courseId));
     }
 
     @Override
@@ -140,56 +147,161 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
 
-        Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(user.getId(), courseId)
+        Enrollment enrollment = enrollmentRepository.findForUpdate(user.getId(), courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Inscription non trouvée"));
 
-        Course course = enrollment.getCourse();
-        int totalLessons = 0;
-        for (Section section : course.getSections()) {
-            totalLessons += section.getLessons().size();
+        store(enrollment, rebuild(enrollment), courseStatsService.getCurriculum(courseId));
+
+        enrollmentRepository.save(enrollment);
+    }
+
+    @Override
+    @Transactional
+    public void applyCompletions(Long userId, Long courseId, Map<Long, Boolean> completions) {
+        // Lecon gratuite suivie sans inscription : rien a compter
+        Enrollment enrollment = enrollmentRepository.findForUpdate(userId, courseId).orElse(null);
+        if (enrollment == null) {
+            return;
         }
 
-        Long completedLessons = progressRepository.countCompletedLessonsByUserAndCourse(user.getId(), courseId);
+        // Version lue avant les positions : une reindexation concurrente laisse le bitmap obsolete, jamais faux
+        CurriculumView curriculum = courseStatsService.getCurriculum(courseId);
+        CompletionBitmap bitmap = bitmapOf(enrollment, curriculum);
+        for (LessonPositionView lesson : lessonRepository.findPositionsByIdIn(completions.keySet())) {
+            if (lesson.getCurriculumPosition() != null) {
+                bitmap.set(lesson.getCurriculumPosition(), completions.get(lesson.getId()));
+            }
+        }
+        store(enrollment, bitmap, curriculum);
+    }
 
-        int percentage = totalLessons > 0 ? (int) ((completedLessons * 100) / totalLessons) : 0;
-        enrollment.setProgressPercentage(percentage);
+    @Override
+    @Transactional
+    public void removeLessons(Long courseId, Collection<Long> lessonIds) {
+        if (lessonIds.isEmpty()) {
+            return;
+        }
+        // Compteurs d'abord : ils se calculent sur les progressions qui vont etre supprimees
+        enrollmentRepository.removeCompletedLessons(courseId, lessonIds);
+        progressRepository.deleteByLessonIdIn(lessonIds);
+    }
 
-        if (percentage >= 100 && enrollment.getCompletedAt() == null) {
-            enrollment.setCompletedAt(LocalDateTime.now());
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findNextIncompleteLessonId(Long userId, Long courseId) {
+        Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId).orElse(null);
+        if (enrollment == null) {
+            return Optional.empty();
         }
 
-        enrollmentRepository.save(enrollment);
+        // Lecture seule : un bitmap obsolete est reconstruit en memoire, la prochaine completion l'ecrira
+        CurriculumView curriculum = courseStatsService.getCurriculum(courseId);
+        int position = bitmapOf(enrollment, curriculum).nextIncomplete(curriculum.getLessonCount());
+        return position >= 0
+                ? lessonRepository.findIdByCourseIdAndCurriculumPosition(courseId, position)
+                : Optional.empty();
     }
 
-    private EnrollmentResponse mapToResponse(Enrollment enrollment) {
-        Course course = enrollment.getCourse();
+    @Override
+    @Transactional(readOnly = true)
+    public int getProgressPercentage(Enrollment enrollment) {
+        CurriculumView curriculum = courseStatsService.getCurriculum(enrollment.getCourse().getId());
+        return bitmapOf(enrollment, curriculum).percentageOf(curriculum.getLessonCount());
+    }
+
+    // Nouvelle inscription : lecons gratuites deja terminees comprises
+    private EnrollmentResponse enroll(Enrollment enrollment) {
+        Long courseId = enrollment.getCourse().getId();
+        CurriculumView curriculum = courseStatsService.getCurriculum(courseId);
+        store(enrollment, rebuild(enrollment), curriculum);
+
+        enrollment = enrollmentRepository.save(enrollment);
+        courseStatsService.addEnrollments(courseId, 1);
+        eventPublisher.publishEvent(new EnrollmentCreatedEvent(courseId));
+
+        return mapToResponse(enrollment, curriculum);
+    }
+
+    // Bitmap stocke s'il correspond a la version actuelle du curriculum, sinon reconstruit depuis les progressions
+    private CompletionBitmap bitmapOf(Enrollment enrollment, CurriculumView curriculum) {
+        return isCurrent(enrollment, curriculum)
+                ? CompletionBitmap.fromBytes(enrollment.getCompletionBitmap())
+                : rebuild(enrollment);
+    }
+
+    private CompletionBitmap rebuild(Enrollment enrollment) {
+        return CompletionBitmap.of(progressRepository.findCompletedLessonPositions(
+                enrollment.getUser().getId(), enrollment.getCourse().getId()));
+    }
+
+    private static boolean isCurrent(Enrollment enrollment, CurriculumView curriculum) {
+        return enrollment.getCompletionBitmap() != null
+                && curriculum.getCurriculumVersion().equals(enrollment.getCompletionCurriculumVersion());
+    }
 
-        int totalLessons = 0;
-        for (Section section : course.getSections()) {
-            totalLessons += section.getLessons().size();
+    // Compteur, pourcentage et date de completion suivent le bitmap
+    private void store(Enrollment enrollment, CompletionBitmap bitmap, CurriculumView curriculum) {
+        enrollment.setCompletionBitmap(bitmap.toBytes());
+        enrollment.setCompletionCurriculumVersion(curriculum.getCurriculumVersion());
+        enrollment.setCompletedLessons(bitmap.cardinality());
+
+        int percentage = bitmap.percentageOf(curriculum.getLessonCount());
+        enrollment.setProgressPercentage(percentage);
+        if (percentage >= 100 && enrollment.getCompletedAt() == null) {
+            enrollment.setCompletedAt(LocalDateTime.now());
+            // Certificat prepare en arriere-plan apres le commit
+            eventPublisher.publishEvent(new CourseCompletedEvent(
+                    enrollment.getUser().getId(), enrollment.getCourse().getId()));
         }
+    }
+
+    private EnrollmentResponse mapToResponse(EnrollmentDashboardView view, Long userId, String userName) {
+        int totalLessons = view.getTotalLessons();
+        int completedLessons = view.getCompletedLessons();
 
-        Long completedLessons = progressRepository.countCompletedLessonsByUserAndCourse(
-                enrollment.getUser().getId(), course.getId());
+        return EnrollmentResponse.builder()
+                .id(view.getId())
+                .courseId(view.getCourseId())
+                .courseTitle(view.getCourseTitle())
+                .courseThumbnail(view.getCourseThumbnail())
+                .instructorName(view.getInstructorFirstName() + " " + view.getInstructorLastName())
+                .userId(userId)
+                .userName(userName)
+                .enrolledAt(view.getEnrolledAt())
+                .completedAt(view.getCompletedAt())
+                .progressPercentage(totalLessons > 0 ? Math.min(100, completedLessons * 100 / totalLessons) : 0)
+                .paymentReference(view.getPaymentReference())
+                .paymentMethod(view.getPaymentMethod())
+                .amountPaid(view.getAmountPaid())
+                .totalLessons(totalLessons)
+                .completedLessons(completedLessons)
+                .lastActivityAt(view.getLastActivityAt())
+                .build();
+    }
+
+    private EnrollmentResponse mapToResponse(Enrollment enrollment, CurriculumView curriculum) {
+        Course course = enrollment.getCourse();
 
-        // Calculer le pourcentage en temps réel au lieu de lire la valeur stockée
-        int progressPercentage = totalLessons > 0 ? (int) ((completedLessons * 100) / totalLessons) : 0;
+        // Progression lue sur le bitmap : le nombre de lecons du cours peut avoir change depuis la derniere ecriture
+        CompletionBitmap bitmap = bitmapOf(enrollment, curriculum);
+        int totalLessons = curriculum.getLessonCount();
 
         return EnrollmentResponse.builder()
                 .id(enrollment.getId())
                 .courseId(course.getId())
                 .courseTitle(course.getTitle())
                 .courseThumbnail(course.getThumbnailUrl())
+                .instructorName(course.getInstructor().getFirstName() + " " + course.getInstructor().getLastName())
                 .userId(enrollment.getUser().getId())
                 .userName(enrollment.getUser().getFirstName() + " " + enrollment.getUser().getLastName())
                 .enrolledAt(enrollment.getEnrolledAt())
                 .completedAt(enrollment.getCompletedAt())
-                .progressPercentage(progressPercentage)
+                .progressPercentage(bitmap.percentageOf(totalLessons))
                 .paymentReference(enrollment.getPaymentReference())
                 .paymentMethod(enrollment.getPaymentMethod())
                 .amountPaid(enrollment.getAmountPaid())
                 .totalLessons(totalLessons)
-                .completedLessons(completedLessons.intValue())
+                .completedLessons(bitmap.cardinality())
                 .build();
     }
 }
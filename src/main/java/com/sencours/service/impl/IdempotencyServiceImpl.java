@@ -0,0 +1,214 @@
+package com.sencours.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sencours.entity.IdempotencyRecord;
+import com.sencours.http.IdempotentResponse;
+import com.sencours.repository.IdempotencyRecordRepository;
+import com.sencours.service.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cles d'idempotence des requetes POST.
+ * Les reponses recentes sont servies depuis un cache memoire, la table idempotency_keys
+ * fait foi apres un redemarrage et entre instances. Sur une meme instance, un doublon
+ * concurrent attend la premiere execution ; entre instances, il interroge la table.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final int MAX_BODY_BYTES = 65_536;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Cache<String, Completed> recent;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Duration retention;
+    private final Duration waitTimeout;
+    private final Duration staleAfter;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  @Value("${app.idempotency.retention-hours:24}") long retentionHours,
+                                  @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+                                  @Value("${app.idempotency.stale-after-ms:300000}") long staleAfterMs,
+                                  @Value("${app.idempotency.cache-size:10000}") long cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.retention = Duration.ofHours(retentionHours);
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMs);
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    @Override
+    public Reservation reserve(String scopeKey, String requestHash) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Completed done = recent.getIfPresent(scopeKey);
+            if (done != null) {
+                return replay(done, requestHash);
+            }
+
+            InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+            InFlight running = inFlight.putIfAbsent(scopeKey, mine);
+            if (running != null) {
+                if (!running.requestHash().equals(requestHash)) {
+                    return Reservation.of(Outcome.MISMATCH);
+                }
+                Optional<Completed> result;
+                try {
+                    result = Optional.ofNullable(running.result().get(remaining(deadline), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    return Reservation.of(Outcome.IN_PROGRESS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Reservation.of(Outcome.IN_PROGRESS);
+                } catch (ExecutionException e) {
+                    result = Optional.empty();
+                }
+                if (result.isPresent()) {
+                    return replay(result.get(), requestHash);
+                }
+                // Premiere execution liberee sans reponse : nouvel essai
+                continue;
+            }
+
+            Reservation reservation;
+            try {
+                reservation = reserveStored(scopeKey, requestHash, deadline);
+            } catch (RuntimeException e) {
+                finish(scopeKey, mine, null);
+                throw e;
+            }
+            if (reservation.outcome() != Outcome.ACQUIRED) {
+                finish(scopeKey, mine, reservation.outcome() == Outcome.REPLAY ? recent.getIfPresent(scopeKey) : null);
+            }
+            return reservation;
+        }
+    }
+
+    private Reservation reserveStored(String scopeKey, String requestHash, long deadline) {
+        while (true) {
+            IdempotencyRecord stored = idempotencyRecordRepository.findById(scopeKey).orElse(null);
+            if (stored == null) {
+                try {
+                    idempotencyRecordRepository.insertInProgress(scopeKey, requestHash, LocalDateTime.now());
+                    return Reservation.of(Outcome.ACQUIRED);
+                } catch (DataIntegrityViolationException e) {
+                    // Une autre instance vient de reserver la meme cle
+                    continue;
+                }
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            if (stored.getCreatedAt().isBefore(now.minus(retention))
+                    || (!stored.getCompleted() && stored.getCreatedAt().isBefore(now.minus(staleAfter)))) {
+                // Cle expiree, ou execution abandonnee par une instance arretee
+                idempotencyRecordRepository.deleteByScopeKey(scopeKey);
+                continue;
+            }
+            if (!stored.getRequestHash().equals(requestHash)) {
+                return Reservation.of(Outcome.MISMATCH);
+            }
+            if (stored.getCompleted()) {
+                Completed done = new Completed(stored.getRequestHash(), new IdempotentResponse(
+                        stored.getResponseStatus(), stored.getContentType(), stored.getResponseBody()));
+                recent.put(scopeKey, done);
+                return new Reservation(Outcome.REPLAY, done.response());
+            }
+            if (remaining(deadline) <= 0) {
+                return Reservation.of(Outcome.IN_PROGRESS);
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Reservation.of(Outcome.IN_PROGRESS);
+            }
+        }
+    }
+
+    @Override
+    public void complete(String scopeKey, IdempotentResponse response) {
+        InFlight flight = inFlight.get(scopeKey);
+        if (flight == null) {
+            return;
+        }
+        byte[] body = response.body() != null ? response.body() : new byte[0];
+        // Erreur serveur ou reponse trop lourde : la prochaine tentative sera executee
+        if (response.status() >= 500 || body.length > MAX_BODY_BYTES) {
+            release(scopeKey);
+            return;
+        }
+
+        Completed done = new Completed(flight.requestHash(),
+                new IdempotentResponse(response.status(), response.contentType(), body));
+        try {
+            idempotencyRecordRepository.complete(scopeKey, response.status(), response.contentType(), body);
+        } catch (RuntimeException e) {
+            log.warn("Enregistrement de la réponse idempotente impossible: {}", e.getMessage());
+        }
+        recent.put(scopeKey, done);
+        finish(scopeKey, flight, done);
+    }
+
+    @Override
+    public void release(String scopeKey) {
+        InFlight flight = inFlight.get(scopeKey);
+        try {
+            idempotencyRecordRepository.deleteByScopeKey(scopeKey);
+        } finally {
+            if (flight != null) {
+                finish(scopeKey, flight, null);
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:3600000}")
+    public int purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Clés d'idempotence expirées supprimées: {}", deleted);
+        }
+        return deleted;
+    }
+
+    private void finish(String scopeKey, InFlight flight, Completed done) {
+        inFlight.remove(scopeKey, flight);
+        flight.result().complete(done);
+    }
+
+    private static Reservation replay(Completed done, String requestHash) {
+        if (!done.requestHash().equals(requestHash)) {
+            return Reservation.of(Outcome.MISMATCH);
+        }
+        return new Reservation(Outcome.REPLAY, done.response());
+    }
+
+    private static long remaining(long deadline) {
+        return deadline - System.nanoTime();
+    }
+
+    private record Completed(String requestHash, IdempotentResponse response) {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<Completed> result) {
+    }
+}
@@ -12,6 +12,7 @@ import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.repository.InstructorApplicationRepository;
 import com.sencours.repository.UserRepository;
 import com.sencours.service.InstructorApplicationService;
+import com.sencours.service.TokenVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -26,6 +27,7 @@ public class InstructorApplicationServiceImpl implements InstructorApplicationSe
 
     private final InstructorApplicationRepository applicationRepository;
     private final UserRepository userRepository;
+    private final TokenVersionService tokenVersionService;
 
     @Override
     @Transactional
@@ -104,6 +106,8 @@ public class InstructorApplicationServiceImpl implements InstructorApplicationSe
             application.setStatus(ApplicationStatus.APPROVED);
             User user = application.getUser();
             user.setRole(Role.INSTRUCTEUR);
+            // Le role est porte par le jeton : l'etudiant se reconnecte avec ses nouveaux droits
+            tokenVersionService.invalidate(user);
             userRepository.save(user);
         } else {
             application.setStatus(ApplicationStatus.REJECTED);
@@ -0,0 +1,62 @@
+package com.sencours.service.impl;
+
+import com.sencours.dto.request.CourseSearchRequest;
+import com.sencours.entity.Course;
+import com.sencours.repository.CourseRepository;
+import com.sencours.service.CourseSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Recherche par requetes JPQL LIKE, sans index dedie.
+ * Fonctionne sur toutes les bases (H2 pour les tests) ; a reserver aux petits catalogues.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "jpql")
+public class JpqlCourseSearchServiceImpl implements CourseSearchService {
+
+    private final CourseRepository courseRepository;
+
+    @Override
+    public Page<Long> search(CourseSearchRequest request, Pageable pageable) {
+        // LIKE ne sait pas classer par pertinence : les plus recents d'abord
+        if (pageable.isPaged() && pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by(Sort.Direction.DESC, "createdAt"));
+        }
+
+        return courseRepository.search(
+                request.getQuery(),
+                request.getCategoryId(),
+                request.getMinPrice() != null ? BigDecimal.valueOf(request.getMinPrice()) : null,
+                request.getMaxPrice() != null ? BigDecimal.valueOf(request.getMaxPrice()) : null,
+                request.getFree(),
+                request.getMinRating(),
+                pageable
+        ).map(Course::getId);
+    }
+
+    @Override
+    public Collection<Long> findMatchingIds(String query) {
+        return courseRepository.searchIds(query);
+    }
+
+    @Override
+    public void refresh(Long courseId) {
+        // Rien a maintenir : chaque recherche lit directement les tables
+    }
+
+    @Override
+    public void rebuild() {
+        // Rien a reconstruire
+    }
+}
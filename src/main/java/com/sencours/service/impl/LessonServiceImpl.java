@@ -8,19 +8,24 @@ import com.sencours.entity.Lesson;
 import com.sencours.entity.Section;
 import com.sencours.entity.User;
 import com.sencours.enums.Role;
+import com.sencours.event.CourseChangedEvent;
 import com.sencours.exception.ForbiddenException;
 import com.sencours.exception.LessonNotFoundException;
 import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.exception.SectionNotFoundException;
+import com.sencours.http.ResourceVersion;
 import com.sencours.mapper.LessonMapper;
 import com.sencours.repository.EnrollmentRepository;
 import com.sencours.repository.LessonRepository;
 import com.sencours.repository.SectionRepository;
 import com.sencours.repository.UserRepository;
+import com.sencours.service.CourseStatsService;
+import com.sencours.service.EnrollmentService;
 import com.sencours.service.FileStorageService;
 import com.sencours.service.LessonService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,6 +44,9 @@ public class LessonServiceImpl implements LessonService {
     private final EnrollmentRepository enrollmentRepository;
     private final FileStorageService fileStorageService;
     private final LessonMapper lessonMapper;
+    private final CourseStatsService courseStatsService;
+    private final EnrollmentService enrollmentService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public LessonResponse create(Long sectionId, LessonRequest request) {
@@ -53,6 +61,9 @@ public class LessonServiceImpl implements LessonService {
         lesson.setOrderIndex(nextOrderIndex);
 
         Lesson savedLesson = lessonRepository.save(lesson);
+        courseStatsService.addLessons(section.getCourse().getId(), 1, durationOf(savedLesson));
+        courseStatsService.reindexCurriculum(section.getCourse().getId());
+        publishCourseChanged(section);
 
         log.info("Leçon créée avec succès. ID: {}, orderIndex: {}", savedLesson.getId(), savedLesson.getOrderIndex());
         return lessonMapper.toResponse(savedLesson);
@@ -102,8 +113,14 @@ public class LessonServiceImpl implements LessonService {
         Lesson lesson = lessonRepository.findById(id)
                 .orElseThrow(() -> new LessonNotFoundException(id));
 
+        int previousDuration = durationOf(lesson);
         lessonMapper.updateEntityFromRequest(request, lesson);
         Lesson updatedLesson = lessonRepository.save(lesson);
+        if (durationOf(updatedLesson) != previousDuration) {
+            courseStatsService.addLessons(lesson.getSection().getCourse().getId(), 0,
+                    durationOf(updatedLesson) - previousDuration);
+        }
+        publishCourseChanged(lesson.getSection());
 
         log.info("Leçon mise à jour avec succès. ID: {}", updatedLesson.getId());
         return lessonMapper.toResponse(updatedLesson);
@@ -119,7 +136,10 @@ public class LessonServiceImpl implements LessonService {
         Long sectionId = lesson.getSection().getId();
         int deletedOrderIndex = lesson.getOrderIndex();
 
+        enrollmentService.removeLessons(lesson.getSection().getCourse().getId(), List.of(lesson.getId()));
         lessonRepository.delete(lesson);
+        courseStatsService.addLessons(lesson.getSection().getCourse().getId(), -1, -durationOf(lesson));
+        publishCourseChanged(lesson.getSection());
 
         List<Lesson> remainingLessons = lessonRepository.findBySectionIdOrderByOrderIndexAsc(sectionId);
         for (Lesson l : remainingLessons) {
@@ -128,6 +148,7 @@ public class LessonServiceImpl implements LessonService {
                 lessonRepository.save(l);
             }
         }
+        courseStatsService.reindexCurriculum(lesson.getSection().getCourse().getId());
 
         log.info("Leçon supprimée avec succès. ID: {}", id);
     }
@@ -157,7 +178,10 @@ public class LessonServiceImpl implements LessonService {
         Long sectionId = lesson.getSection().getId();
         int deletedOrderIndex = lesson.getOrderIndex();
 
+        enrollmentService.removeLessons(lesson.getSection().getCourse().getId(), List.of(lesson.getId()));
         lessonRepository.delete(lesson);
+        courseStatsService.addLessons(lesson.getSection().getCourse().getId(), -1, -durationOf(lesson));
+        publishCourseChanged(lesson.getSection());
 
         List<Lesson> remainingLessons = lessonRepository.findBySectionIdOrderByOrderIndexAsc(sectionId);
         for (Lesson l : remainingLessons) {
@@ -166,6 +190,7 @@ public class LessonServiceImpl implements LessonService {
                 lessonRepository.save(l);
             }
         }
+        courseStatsService.reindexCurriculum(lesson.getSection().getCourse().getId());
 
         log.info("Leçon supprimée avec succès. ID: {}", id);
     }
@@ -193,6 +218,10 @@ public class LessonServiceImpl implements LessonService {
             lesson.setOrderIndex(orderIndex++);
             lessons.add(lessonRepository.save(lesson));
         }
+        if (!lessons.isEmpty()) {
+            courseStatsService.reindexCurriculum(lessons.get(0).getSection().getCourse().getId());
+            publishCourseChanged(lessons.get(0).getSection());
+        }
 
         log.info("Leçons réorganisées avec succès pour la section ID: {}", sectionId);
         return lessons.stream()
@@ -244,4 +273,21 @@ public class LessonServiceImpl implements LessonService {
 
         return lessonMapper.toResponse(lesson);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getPreviewVersion(Long lessonId) {
+        return lessonRepository.findVersionById(lessonId)
+                .map(v -> ResourceVersion.of("lesson", lessonId, v.getCourseUpdatedAt()))
+                .orElseThrow(() -> new LessonNotFoundException(lessonId));
+    }
+
+    private static int durationOf(Lesson lesson) {
+        return lesson.getDuration() != null ? lesson.getDuration() : 0;
+    }
+
+    // Le curriculum fait partie du detail du cours (cache, validateurs HTTP, index de recherche)
+    private void publishCourseChanged(Section section) {
+        eventPublisher.publishEvent(new CourseChangedEvent(section.getCourse().getId()));
+    }
 }
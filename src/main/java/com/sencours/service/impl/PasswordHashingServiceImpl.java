@@ -0,0 +1,183 @@
+package com.sencours.service.impl;
+
+import com.sencours.config.PasswordCostCalibrator;
+import com.sencours.dto.response.PasswordHashingStatsResponse;
+import com.sencours.exception.ServiceOverloadedException;
+import com.sencours.service.PasswordHashingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt hors des threads Tomcat : un pool borne limite le CPU consomme par les connexions et
+ * inscriptions. Si la file est pleine ou si l'attente depasse le delai, la requete echoue
+ * immediatement (503) au lieu de ralentir les autres endpoints.
+ * Les durees de hachage, de verification et d'attente sont mesurees pour suivre le cout calibre.
+ */
+@Slf4j
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private static final String OVERLOADED = "Service d'authentification surchargé, veuillez réessayer dans un instant";
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordCostCalibrator passwordCostCalibrator;
+    private final Timing hashTiming = new Timing();
+    private final Timing verifyTiming = new Timing();
+    private final Timing queueWait = new Timing();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+    private final long queueTimeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder,
+                                      PasswordCostCalibrator passwordCostCalibrator,
+                                      @Value("${app.security.password-hashing.threads:0}") int threads,
+                                      @Value("${app.security.password-hashing.queue-capacity:32}") int queueCapacity,
+                                      @Value("${app.security.password-hashing.queue-timeout-ms:2000}") long queueTimeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordCostCalibrator = passwordCostCalibrator;
+        this.queueTimeoutMs = queueTimeoutMs;
+        // 0 : la moitie des coeurs, au moins un, pour laisser du CPU aux autres requetes
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword), hashTiming);
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword), verifyTiming);
+    }
+
+    @Override
+    public Optional<String> rehashIfNeeded(String rawPassword, String encodedPassword) {
+        // Seul un cout inferieur est releve : un hash plus couteux (calibration sur une machine plus rapide)
+        // reste au moins aussi sur et n'est pas degrade
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (!matcher.find() || Integer.parseInt(matcher.group(1)) >= passwordCostCalibrator.getStrength()) {
+            return Optional.empty();
+        }
+        try {
+            String hash = hash(rawPassword);
+            rehashed.increment();
+            return Optional.of(hash);
+        } catch (ServiceOverloadedException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public PasswordHashingStatsResponse getStats() {
+        return PasswordHashingStatsResponse.builder()
+                .strength(passwordCostCalibrator.getStrength())
+                .calibrated(passwordCostCalibrator.isCalibrated())
+                .targetMillis(passwordCostCalibrator.getTargetMillis())
+                .calibrationMillis(passwordCostCalibrator.getMeasuredMillis())
+                .hashCount(hashTiming.count())
+                .hashAvgMillis(hashTiming.averageMillis())
+                .hashMaxMillis(hashTiming.maxMillis())
+                .verifyCount(verifyTiming.count())
+                .verifyAvgMillis(verifyTiming.averageMillis())
+                .verifyMaxMillis(verifyTiming.maxMillis())
+                .queueWaitAvgMillis(queueWait.averageMillis())
+                .rejectedCount(rejected.sum())
+                .timedOutCount(timedOut.sum())
+                .rehashCount(rehashed.sum())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task, Timing timing) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                queueWait.record(start - submitted);
+                try {
+                    return task.call();
+                } finally {
+                    timing.record(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("File de hachage des mots de passe pleine ({} en attente)", executor.getQueue().size());
+            throw new ServiceOverloadedException(OVERLOADED);
+        }
+
+        try {
+            return future.get(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Une tache encore en file ne sera jamais executee
+            future.cancel(false);
+            timedOut.increment();
+            log.warn("Hachage de mot de passe non traité en {} ms", queueTimeoutMs);
+            throw new ServiceOverloadedException(OVERLOADED);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException(OVERLOADED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class Timing {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double averageMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / (n * 1_000_000.0);
+        }
+
+        long maxMillis() {
+            return maxNanos.get() / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.sencours.service.impl;
+
+import com.sencours.dto.request.CourseSearchRequest;
+import com.sencours.repository.CourseRepository;
+import com.sencours.search.TsQueryBuilder;
+import com.sencours.service.CourseSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recherche plein texte PostgreSQL.
+ *
+ * La colonne {@code courses.search_vector} agrege titre (A), categorie (B), nom de l'instructeur (B)
+ * et description (C) avec la configuration {@code french}. Elle est tenue a jour par des triggers,
+ * y compris quand une categorie ou un instructeur est renomme, et indexee en GIN.
+ * Les resultats sont classes par {@code ts_rank}.
+ *
+ * Sur une autre base (H2), la recherche retombe sur les requetes LIKE.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "postgres")
+public class PostgresCourseSearchServiceImpl implements CourseSearchService {
+
+    private static final String VECTOR_FUNCTION = """
+            CREATE OR REPLACE FUNCTION courses_search_vector_update() RETURNS trigger AS $$
+            DECLARE
+                category_name text;
+                instructor_name text;
+            BEGIN
+                SELECT name INTO category_name FROM categories WHERE id = NEW.category_id;
+                SELECT first_name || ' ' || last_name INTO instructor_name FROM users WHERE id = NEW.instructor_id;
+                NEW.search_vector :=
+                    setweight(to_tsvector('french', %1$s(coalesce(NEW.title, ''))), 'A') ||
+                    setweight(to_tsvector('french', %1$s(coalesce(category_name, ''))), 'B') ||
+                    setweight(to_tsvector('french', %1$s(coalesce(instructor_name, ''))), 'B') ||
+                    setweight(to_tsvector('french', %1$s(coalesce(NEW.description, ''))), 'C');
+                RETURN NEW;
+            END
+            $$ LANGUAGE plpgsql
+            """;
+
+    // Un renommage de categorie ou d'instructeur recalcule le vecteur des cours concernes
+    private static final String TOUCH_FUNCTION = """
+            CREATE OR REPLACE FUNCTION courses_search_vector_touch() RETURNS trigger AS $$
+            BEGIN
+                IF TG_TABLE_NAME = 'categories' THEN
+                    UPDATE courses SET title = title WHERE category_id = NEW.id;
+                ELSE
+                    UPDATE courses SET title = title WHERE instructor_id = NEW.id;
+                END IF;
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql
+            """;
+
+    private static final List<String> SCHEMA = List.of(
+            "ALTER TABLE courses ADD COLUMN IF NOT EXISTS search_vector tsvector",
+            "DROP TRIGGER IF EXISTS courses_search_vector_trigger ON courses",
+            "CREATE TRIGGER courses_search_vector_trigger BEFORE INSERT OR UPDATE OF title, description, category_id, instructor_id " +
+                    "ON courses FOR EACH ROW EXECUTE FUNCTION courses_search_vector_update()",
+            "DROP TRIGGER IF EXISTS categories_search_vector_trigger ON categories",
+            "CREATE TRIGGER categories_search_vector_trigger AFTER UPDATE OF name ON categories FOR EACH ROW " +
+                    "WHEN (OLD.name IS DISTINCT FROM NEW.name) EXECUTE FUNCTION courses_search_vector_touch()",
+            "DROP TRIGGER IF EXISTS users_search_vector_trigger ON users",
+            // Hibernate reecrit toutes les colonnes a chaque sauvegarde : seul un vrai renommage recalcule les cours
+            "CREATE TRIGGER users_search_vector_trigger AFTER UPDATE OF first_name, last_name ON users FOR EACH ROW " +
+                    "WHEN (OLD.first_name IS DISTINCT FROM NEW.first_name OR OLD.last_name IS DISTINCT FROM NEW.last_name) " +
+                    "EXECUTE FUNCTION courses_search_vector_touch()",
+            "CREATE INDEX IF NOT EXISTS idx_courses_search_vector ON courses USING GIN (search_vector)",
+            "UPDATE courses SET title = title WHERE search_vector IS NULL"
+    );
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "title", "c.title",
+            "price", "c.price",
+            "createdAt", "c.created_at",
+            "stats.averageRating", "s.average_rating",
+            "stats.enrollmentCount", "s.enrollment_count"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final JpqlCourseSearchServiceImpl fallback;
+    private volatile boolean available;
+    private volatile boolean unaccent;
+
+    public PostgresCourseSearchServiceImpl(JdbcTemplate jdbcTemplate, CourseRepository courseRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.fallback = new JpqlCourseSearchServiceImpl(courseRepository);
+    }
+
+    @Override
+    public Page<Long> search(CourseSearchRequest request, Pageable pageable) {
+        if (!available) {
+            return fallback.search(request, pageable);
+        }
+
+        String tsQuery = TsQueryBuilder.build(request.getQuery(), unaccent);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder where = new StringBuilder(" FROM courses c LEFT JOIN course_stats s ON s.course_id = c.id");
+
+        if (!tsQuery.isEmpty()) {
+            where.append(", to_tsquery('french', :query) q");
+            params.addValue("query", tsQuery);
+        }
+        where.append(" WHERE c.status = 'PUBLISHED'");
+        if (!tsQuery.isEmpty()) {
+            where.append(" AND c.search_vector @@ q");
+        }
+        if (request.getCategoryId() != null) {
+            where.append(" AND c.category_id = :categoryId");
+            params.addValue("categoryId", request.getCategoryId());
+        }
+        if (request.getMinPrice() != null) {
+            where.append(" AND c.price >= :minPrice");
+            params.addValue("minPrice", BigDecimal.valueOf(request.getMinPrice()));
+        }
+        if (request.getMaxPrice() != null) {
+            where.append(" AND c.price <= :maxPrice");
+            params.addValue("maxPrice", BigDecimal.valueOf(request.getMaxPrice()));
+        }
+        if (request.getFree() != null) {
+            where.append(request.getFree() ? " AND c.price = 0" : " AND c.price > 0");
+        }
+        if (request.getMinRating() != null) {
+            where.append(" AND s.average_rating >= :minRating");
+            params.addValue("minRating", request.getMinRating());
+        }
+
+        Long total = namedJdbcTemplate.queryForObject("SELECT COUNT(*)" + where, params, Long.class);
+
+        StringBuilder sql = new StringBuilder("SELECT c.id").append(where)
+                .append(" ORDER BY ").append(orderBy(pageable.getSort(), !tsQuery.isEmpty()));
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+            params.addValue("limit", pageable.getPageSize());
+            params.addValue("offset", pageable.getOffset());
+        }
+        List<Long> ids = namedJdbcTemplate.queryForList(sql.toString(), params, Long.class);
+
+        return new PageImpl<>(ids, pageable, total != null ? total : 0);
+    }
+
+    @Override
+    public Collection<Long> findMatchingIds(String query) {
+        if (!available) {
+            return fallback.findMatchingIds(query);
+        }
+
+        String tsQuery = TsQueryBuilder.build(query, unaccent);
+        if (tsQuery.isEmpty()) {
+            return jdbcTemplate.queryForList("SELECT c.id FROM courses c WHERE c.status = 'PUBLISHED'", Long.class);
+        }
+        return namedJdbcTemplate.queryForList(
+                "SELECT c.id FROM courses c, to_tsquery('french', :query) q " +
+                        "WHERE c.status = 'PUBLISHED' AND c.search_vector @@ q",
+                new MapSqlParameterSource("query", tsQuery), Long.class);
+    }
+
+    @Override
+    public void refresh(Long courseId) {
+        // Les triggers recalculent le vecteur a chaque ecriture sur le cours
+    }
+
+    /**
+     * Installe (ou met a jour) la colonne, les triggers et l'index GIN, puis remplit les cours sans vecteur
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!isPostgres()) {
+            log.warn("Recherche plein texte PostgreSQL indisponible sur cette base, repli sur les requêtes LIKE");
+            available = false;
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        unaccent = enableUnaccent();
+        jdbcTemplate.execute(VECTOR_FUNCTION.formatted(unaccent ? "unaccent" : ""));
+        jdbcTemplate.execute(TOUCH_FUNCTION);
+        SCHEMA.forEach(jdbcTemplate::execute);
+        available = true;
+
+        log.info("Recherche plein texte PostgreSQL prête (unaccent: {}) en {} ms",
+                unaccent, System.currentTimeMillis() - start);
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (DataAccessException e) {
+            log.warn("Impossible de déterminer la base de données: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean enableUnaccent() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+            return true;
+        } catch (DataAccessException e) {
+            // Sans l'extension, les accents restent significatifs
+            log.warn("Extension unaccent indisponible: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static String orderBy(Sort sort, boolean ranked) {
+        Sort.Order order = sort.stream()
+                .filter(o -> SORT_COLUMNS.containsKey(o.getProperty()))
+                .findFirst()
+                .orElse(null);
+
+        if (order == null) {
+            return ranked
+                    ? "ts_rank(c.search_vector, q) DESC, c.created_at DESC, c.id DESC"
+                    : "c.created_at DESC, c.id DESC";
+        }
+        String direction = order.isAscending() ? "ASC" : "DESC";
+        return SORT_COLUMNS.get(order.getProperty()) + " " + direction + " NULLS LAST, c.id " + direction;
+    }
+}
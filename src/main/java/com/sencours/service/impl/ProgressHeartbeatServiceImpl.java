@@ -0,0 +1,101 @@
+package com.sencours.service.impl;
+
+import com.sencours.progress.HeartbeatBuffer;
+import com.sencours.progress.HeartbeatBuffer.Heartbeat;
+import com.sencours.repository.ProgressRepository;
+import com.sencours.service.ProgressHeartbeatService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ecriture differee des battements du lecteur video (position, temps de visionnage).
+ * Les battements sont fusionnes en memoire puis ecrits par lots JDBC a intervalle fixe
+ * et a l'arret de l'application ; les completions ne passent pas par ici.
+ */
+@Slf4j
+@Service
+public class ProgressHeartbeatServiceImpl implements ProgressHeartbeatService {
+
+    private final HeartbeatBuffer buffer = new HeartbeatBuffer();
+    private final ProgressRepository progressRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public ProgressHeartbeatServiceImpl(ProgressRepository progressRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.progress.write-behind.enabled:false}") boolean enabled,
+                                        @Value("${app.progress.write-behind.batch-size:500}") int batchSize) {
+        this.progressRepository = progressRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isPending(Long userId, Long lessonId) {
+        return buffer.contains(userId, lessonId);
+    }
+
+    @Override
+    public void record(Heartbeat heartbeat) {
+        buffer.offer(heartbeat);
+    }
+
+    @Override
+    public Optional<Heartbeat> getPending(Long userId, Long lessonId) {
+        return buffer.get(userId, lessonId);
+    }
+
+    @Override
+    public Optional<Heartbeat> takePending(Long userId, Long lessonId) {
+        return buffer.take(userId, lessonId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.progress.write-behind.flush-interval:5000}")
+    public synchronized int flush() {
+        List<Heartbeat> heartbeats = buffer.drain();
+        if (heartbeats.isEmpty()) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+
+        // Un seul upsert par lot : lignes existantes et nouvelles confondues
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    progressRepository.upsertPositions(heartbeats, batchSize));
+        } catch (Exception e) {
+            // Base indisponible : les battements repartent au lot suivant sans ecraser de plus recents
+            buffer.restore(heartbeats);
+            log.error("Écriture des battements de progression impossible ({}), nouvel essai au prochain lot: {}",
+                    heartbeats.size(), e.getMessage());
+            return 0;
+        }
+
+        log.debug("Battements de progression écrits: {} lignes en {} ms",
+                heartbeats.size(), System.currentTimeMillis() - start);
+        return heartbeats.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int written = flush();
+        if (written > 0) {
+            log.info("Battements de progression écrits à l'arrêt: {}", written);
+        }
+    }
+}
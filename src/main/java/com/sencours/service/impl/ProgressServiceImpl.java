@@ -1,12 +1,17 @@
 package com.sencours.service.impl;
 
 import com.sencours.dto.request.ProgressRequest;
+import com.sencours.dto.response.ContinueLearningResponse;
 import com.sencours.dto.response.ProgressResponse;
 import com.sencours.entity.*;
 import com.sencours.exception.BadRequestException;
 import com.sencours.exception.ResourceNotFoundException;
+import com.sencours.progress.HeartbeatBuffer.Heartbeat;
 import com.sencours.repository.*;
+import com.sencours.repository.ProgressUpsertOperations.UpsertedProgress;
+import com.sencours.repository.projection.ContinueLearningView;
 import com.sencours.service.EnrollmentService;
+import com.sencours.service.ProgressHeartbeatService;
 import com.sencours.service.ProgressService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,10 +31,16 @@ public class ProgressServiceImpl implements ProgressService {
     private final UserRepository userRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final EnrollmentService enrollmentService;
+    private final ProgressHeartbeatService progressHeartbeatService;
 
     @Override
     @Transactional
     public ProgressResponse updateProgress(Long lessonId, ProgressRequest request, String userEmail) {
+        // Simple battement du lecteur : ecriture differee, sans relire la progression ni recompter l'inscription
+        if (request.getCompleted() == null && progressHeartbeatService.isEnabled()) {
+            return recordHeartbeat(lessonId, request, userEmail);
+        }
+
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
 
@@ -37,43 +49,32 @@ public class ProgressServiceImpl implements ProgressService {
 
         Course course = lesson.getSection().getCourse();
 
-        if (!lesson.getIsFree()) {
-            if (!enrollmentRepository.existsByUserIdAndCourseId(user.getId(), course.getId())) {
-                throw new BadRequestException("Vous devez être inscrit au cours pour accéder à cette leçon");
-            }
-        }
+        checkAccess(user.getId(), lesson);
 
-        Progress progress = progressRepository.findByUserIdAndLessonId(user.getId(), lessonId)
-                .orElse(Progress.builder()
-                        .user(user)
-                        .lesson(lesson)
-                        .completed(false)
-                        .watchTimeSeconds(0)
-                        .lastPositionSeconds(0)
-                        .build());
+        // L'ecriture immediate emporte le battement en attente : il ne doit pas la suivre au prochain lot
+        progressHeartbeatService.takePending(user.getId(), lessonId)
+                .ifPresent(heartbeat -> mergeInto(request, heartbeat));
 
-        if (request.getCompleted() != null) {
-            progress.setCompleted(request.getCompleted());
-            if (request.getCompleted() && progress.getCompletedAt() == null) {
-                progress.setCompletedAt(LocalDateTime.now());
-            }
-        }
-
-        if (request.getWatchTimeSeconds() != null) {
-            progress.setWatchTimeSeconds(request.getWatchTimeSeconds());
-        }
-
-        if (request.getLastPositionSeconds() != null) {
-            progress.setLastPositionSeconds(request.getLastPositionSeconds());
+        // Une completion annulee reste sur le chemin verrouille : les upserts ne font qu'avancer
+        if (Boolean.FALSE.equals(request.getCompleted())) {
+            return mapToResponse(uncomplete(user, lesson, request));
         }
 
-        progress = progressRepository.save(progress);
-
-        if (enrollmentRepository.existsByUserIdAndCourseId(user.getId(), course.getId())) {
-            enrollmentService.updateProgress(course.getId(), userEmail);
+        // Upserts monotones : ni lecture prealable ni conflit sur (user_id, lesson_id) entre requetes paralleles,
+        // la ligne ecrite revient avec l'ordre lui-meme
+        UpsertedProgress progress;
+        if (Boolean.TRUE.equals(request.getCompleted())) {
+            progress = progressRepository.upsertCompleted(user.getId(), lessonId,
+                    request.getWatchTimeSeconds(), request.getLastPositionSeconds(), LocalDateTime.now());
+            // Seule la requete qui fait basculer la ligne met a jour le bitmap de l'inscription
+            if (progress.newlyCompleted()) {
+                enrollmentService.applyCompletions(user.getId(), course.getId(), Map.of(lessonId, true));
+            }
+        } else {
+            progress = progressRepository.upsertPosition(user.getId(), lessonId,
+                    request.getWatchTimeSeconds(), request.getLastPositionSeconds());
         }
-
-        return mapToResponse(progress);
+        return mapToResponse(lesson, progress);
     }
 
     @Override
@@ -81,7 +82,7 @@ public class ProgressServiceImpl implements ProgressService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
 
-        return progressRepository.findByUserIdAndLessonId(user.getId(), lessonId)
+        ProgressResponse response = progressRepository.findByUserIdAndLessonId(user.getId(), lessonId)
                 .map(this::mapToResponse)
                 .orElse(ProgressResponse.builder()
                         .lessonId(lessonId)
@@ -89,6 +90,7 @@ public class ProgressServiceImpl implements ProgressService {
                         .watchTimeSeconds(0)
                         .lastPositionSeconds(0)
                         .build());
+        return withPendingHeartbeat(user.getId(), response);
     }
 
     @Override
@@ -99,6 +101,7 @@ public class ProgressServiceImpl implements ProgressService {
         return progressRepository.findByUserIdAndCourseId(user.getId(), courseId)
                 .stream()
                 .map(this::mapToResponse)
+                .map(response -> withPendingHeartbeat(user.getId(), response))
                 .collect(Collectors.toList());
     }
 
@@ -110,6 +113,124 @@ public class ProgressServiceImpl implements ProgressService {
         updateProgress(lessonId, request, userEmail);
     }
 
+    private Progress uncomplete(User user, Lesson lesson, ProgressRequest request) {
+        Progress progress = progressRepository.findForUpdate(user.getId(), lesson.getId())
+                .orElse(Progress.builder()
+                        .user(user)
+                        .lesson(lesson)
+                        .completed(false)
+                        .watchTimeSeconds(0)
+                        .lastPositionSeconds(0)
+                        .build());
+        boolean wasCompleted = Boolean.TRUE.equals(progress.getCompleted());
+
+        progress.setCompleted(false);
+        progress.setCompletedAt(null);
+        if (request.getWatchTimeSeconds() != null) {
+            progress.setWatchTimeSeconds(request.getWatchTimeSeconds());
+        }
+        if (request.getLastPositionSeconds() != null) {
+            progress.setLastPositionSeconds(request.getLastPositionSeconds());
+        }
+        progress = progressRepository.save(progress);
+
+        if (wasCompleted) {
+            enrollmentService.applyCompletions(user.getId(), lesson.getSection().getCourse().getId(),
+                    Map.of(lesson.getId(), false));
+        }
+        return progress;
+    }
+
+    @Override
+    public List<ContinueLearningResponse> getContinueLearning(String userEmail) {
+        Long userId = userRepository.findIdByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
+
+        return enrollmentRepository.findNextLessonsByUserId(userId).stream()
+                .map(row -> mapToResponse(userId, row))
+                .collect(Collectors.toList());
+    }
+
+    private ProgressResponse recordHeartbeat(Long lessonId, ProgressRequest request, String userEmail) {
+        Long userId = userRepository.findIdByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
+
+        // L'acces n'est verifie qu'au premier battement de chaque lot
+        if (!progressHeartbeatService.isPending(userId, lessonId)) {
+            Lesson lesson = lessonRepository.findById(lessonId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Leçon non trouvée"));
+            checkAccess(userId, lesson);
+        }
+
+        progressHeartbeatService.record(new Heartbeat(userId, lessonId,
+                request.getWatchTimeSeconds(), request.getLastPositionSeconds()));
+
+        return ProgressResponse.builder()
+                .lessonId(lessonId)
+                .watchTimeSeconds(request.getWatchTimeSeconds())
+                .lastPositionSeconds(request.getLastPositionSeconds())
+                .build();
+    }
+
+    private void checkAccess(Long userId, Lesson lesson) {
+        if (!lesson.getIsFree()
+                && !enrollmentRepository.existsByUserIdAndCourseId(userId, lesson.getSection().getCourse().getId())) {
+            throw new BadRequestException("Vous devez être inscrit au cours pour accéder à cette leçon");
+        }
+    }
+
+    private static void mergeInto(ProgressRequest request, Heartbeat heartbeat) {
+        if (request.getWatchTimeSeconds() == null) {
+            request.setWatchTimeSeconds(heartbeat.watchTimeSeconds());
+        }
+        if (request.getLastPositionSeconds() == null) {
+            request.setLastPositionSeconds(heartbeat.lastPositionSeconds());
+        }
+    }
+
+    // Le lecteur reprend a la derniere position recue, meme si elle n'est pas encore ecrite
+    private ProgressResponse withPendingHeartbeat(Long userId, ProgressResponse response) {
+        progressHeartbeatService.getPending(userId, response.getLessonId()).ifPresent(heartbeat -> {
+            if (heartbeat.watchTimeSeconds() != null) {
+                response.setWatchTimeSeconds(heartbeat.watchTimeSeconds());
+            }
+            if (heartbeat.lastPositionSeconds() != null) {
+                response.setLastPositionSeconds(heartbeat.lastPositionSeconds());
+            }
+        });
+        return response;
+    }
+
+    private ContinueLearningResponse mapToResponse(Long userId, ContinueLearningView row) {
+        // Position en attente d'ecriture prioritaire, comme pour getProgress
+        Integer lastPosition = progressHeartbeatService.getPending(userId, row.getLessonId())
+                .map(Heartbeat::lastPositionSeconds)
+                .orElse(row.getLastPositionSeconds());
+
+        return ContinueLearningResponse.builder()
+                .courseId(row.getCourseId())
+                .courseTitle(row.getCourseTitle())
+                .courseThumbnail(row.getCourseThumbnail())
+                .lessonId(row.getLessonId())
+                .lessonTitle(row.getLessonTitle())
+                .sectionId(row.getSectionId())
+                .sectionTitle(row.getSectionTitle())
+                .lastPositionSeconds(lastPosition)
+                .build();
+    }
+
+    private ProgressResponse mapToResponse(Lesson lesson, UpsertedProgress progress) {
+        return ProgressResponse.builder()
+                .id(progress.id())
+                .lessonId(lesson.getId())
+                .lessonTitle(lesson.getTitle())
+                .completed(progress.completed())
+                .completedAt(progress.completedAt())
+                .watchTimeSeconds(progress.watchTimeSeconds())
+                .lastPositionSeconds(progress.lastPositionSeconds())
+                .build();
+    }
+
     private ProgressResponse mapToResponse(Progress progress) {
         return ProgressResponse.builder()
                 .id(progress.getId())
@@ -0,0 +1,153 @@
+package com.sencours.service.impl;
+
+import com.sencours.dto.request.ProgressBatchItemRequest;
+import com.sencours.dto.request.ProgressBatchRequest;
+import com.sencours.dto.response.ProgressBatchResponse;
+import com.sencours.entity.Progress;
+import com.sencours.entity.User;
+import com.sencours.exception.ResourceNotFoundException;
+import com.sencours.repository.EnrollmentRepository;
+import com.sencours.repository.LessonRepository;
+import com.sencours.repository.ProgressRepository;
+import com.sencours.repository.ProgressUpsertOperations.SyncedProgress;
+import com.sencours.repository.UserRepository;
+import com.sencours.repository.projection.LessonAccessView;
+import com.sencours.service.EnrollmentService;
+import com.sencours.service.ProgressHeartbeatService;
+import com.sencours.service.ProgressSyncService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Synchronisation des progressions enregistrees hors ligne par l'application mobile.
+ * Les lignes existantes sont verrouillees et lues en une requete, fusionnees en memoire
+ * (la modification la plus recente l'emporte), puis ecrites par un upsert JDBC par lots
+ * qui ne remplace jamais une ligne plus recente, y compris inseree entre-temps par une autre requete.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgressSyncServiceImpl implements ProgressSyncService {
+
+    private final UserRepository userRepository;
+    private final LessonRepository lessonRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ProgressRepository progressRepository;
+    private final EnrollmentService enrollmentService;
+    private final ProgressHeartbeatService progressHeartbeatService;
+
+    @Override
+    @Transactional
+    public ProgressBatchResponse sync(ProgressBatchRequest request, String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
+
+        // Une seule entree par lecon : la plus recente du lot
+        Map<Long, ProgressBatchItemRequest> latest = request.getItems().stream()
+                .collect(Collectors.toMap(ProgressBatchItemRequest::getLessonId, Function.identity(),
+                        (a, b) -> b.getClientUpdatedAt().isAfter(a.getClientUpdatedAt()) ? b : a));
+
+        Map<Long, LessonAccessView> lessons = lessonRepository.findAccessByIdIn(latest.keySet()).stream()
+                .collect(Collectors.toMap(LessonAccessView::getId, Function.identity()));
+        Set<Long> enrolledCourseIds = lessons.isEmpty() ? Set.of() : new HashSet<>(
+                enrollmentRepository.findEnrolledCourseIds(user.getId(),
+                        lessons.values().stream().map(LessonAccessView::getCourseId).collect(Collectors.toSet())));
+
+        List<Long> rejected = new ArrayList<>();
+        latest.keySet().removeIf(lessonId -> {
+            LessonAccessView lesson = lessons.get(lessonId);
+            boolean accessible = lesson != null
+                    && (Boolean.TRUE.equals(lesson.getIsFree()) || enrolledCourseIds.contains(lesson.getCourseId()));
+            if (!accessible) {
+                rejected.add(lessonId);
+            }
+            return !accessible;
+        });
+
+        Map<Long, Progress> existing = latest.isEmpty() ? Map.of()
+                : progressRepository.findAllForUpdate(user.getId(), latest.keySet()).stream()
+                        .collect(Collectors.toMap(p -> p.getLesson().getId(), Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SyncedProgress> rows = new ArrayList<>();
+        Map<Long, Boolean> transitions = new HashMap<>();
+        int skipped = 0;
+
+        for (ProgressBatchItemRequest item : latest.values()) {
+            // Les dates sont stockees a l'heure du serveur ; une horloge d'appareil en avance ne doit pas figer la ligne
+            LocalDateTime clientUpdatedAt = item.getClientUpdatedAt()
+                    .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            LocalDateTime updatedAt = clientUpdatedAt.isAfter(now) ? now : clientUpdatedAt;
+            Progress current = existing.get(item.getLessonId());
+
+            if (current != null && current.getUpdatedAt() != null && !updatedAt.isAfter(current.getUpdatedAt())) {
+                skipped++;
+                continue;
+            }
+
+            boolean wasCompleted = current != null && Boolean.TRUE.equals(current.getCompleted());
+            boolean completed = item.getCompleted() != null ? item.getCompleted() : wasCompleted;
+            // Une lecon de-completee perd sa date de completion
+            LocalDateTime completedAt = completed && current != null ? current.getCompletedAt() : null;
+            if (completed && completedAt == null) {
+                completedAt = updatedAt;
+            }
+
+            rows.add(new SyncedProgress(item.getLessonId(), completed, completedAt,
+                    valueOr(item.getWatchTimeSeconds(), current != null ? current.getWatchTimeSeconds() : null),
+                    valueOr(item.getLastPositionSeconds(), current != null ? current.getLastPositionSeconds() : null),
+                    updatedAt));
+            if (completed != wasCompleted) {
+                transitions.put(item.getLessonId(), completed);
+            }
+        }
+
+        int[] counts = rows.isEmpty() ? new int[0] : progressRepository.upsertSynced(user.getId(), rows);
+        Map<Long, Map<Long, Boolean>> completionsByCourse = new HashMap<>();
+        int applied = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            Long lessonId = rows.get(i).lessonId();
+            // Ligne inseree ou modifiee plus recemment par une requete concurrente : elle l'emporte
+            if (counts[i] == 0) {
+                skipped++;
+                continue;
+            }
+            applied++;
+            // Un battement du lecteur encore en attente ecraserait la position synchronisee a la prochaine vidange
+            progressHeartbeatService.takePending(user.getId(), lessonId);
+            Boolean completed = transitions.get(lessonId);
+            if (completed != null) {
+                completionsByCourse.computeIfAbsent(lessons.get(lessonId).getCourseId(), id -> new HashMap<>())
+                        .put(lessonId, completed);
+            }
+        }
+
+        // Une seule mise a jour du bitmap par cours, quel que soit le nombre de lecons synchronisees
+        completionsByCourse.forEach((courseId, completions) ->
+                enrollmentService.applyCompletions(user.getId(), courseId, completions));
+
+        log.debug("Synchronisation de progression pour {}: {} écrites, {} ignorées, {} refusées",
+                userEmail, applied, skipped, rejected.size());
+
+        return ProgressBatchResponse.builder()
+                .applied(applied)
+                .skipped(skipped)
+                .rejectedLessonIds(rejected)
+                .build();
+    }
+
+    private static int valueOr(Integer value, Integer fallback) {
+        if (value != null) {
+            return value;
+        }
+        return fallback != null ? fallback : 0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.sencours.service.impl;
+
+import com.sencours.entity.RefreshToken;
+import com.sencours.exception.InvalidCredentialsException;
+import com.sencours.repository.RefreshTokenRepository;
+import com.sencours.service.RefreshTokenService;
+import com.sencours.util.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Jetons de rafraichissement opaques et a usage unique. La base ne conserve que leur empreinte SHA-256 :
+ * une fuite de la table ne permet pas d'ouvrir de session.
+ */
+@Slf4j
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final String SESSION_EXPIRED = "Session expirée, veuillez vous reconnecter";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration lifetime;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   @Value("${jwt.refresh-expiration:2592000000}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.lifetime = Duration.ofMillis(refreshExpiration);
+    }
+
+    @Override
+    @Transactional
+    public String issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InvalidCredentialsException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findForUpdate(Hashing.sha256(refreshToken))
+                .orElseThrow(() -> new InvalidCredentialsException(SESSION_EXPIRED));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null) {
+            // Jeton deja consomme : il a fuite ou a ete rejoue, la session entiere est fermee
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Réutilisation d'un jeton de rafraîchissement pour l'utilisateur {}: {} jeton(s) révoqué(s)",
+                    current.getUserId(), revoked);
+            throw new InvalidCredentialsException(SESSION_EXPIRED);
+        }
+        if (!current.isUsable(now)) {
+            throw new InvalidCredentialsException(SESSION_EXPIRED);
+        }
+
+        current.setRevokedAt(now);
+        return new Rotation(current.getUserId(), create(current.getUserId(), current.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findForUpdate(Hashing.sha256(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.security.refresh-token.purge-interval:3600000}")
+    public int purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Jetons de rafraîchissement expirés supprimés: {}", deleted);
+        }
+        return deleted;
+    }
+
+    private String create(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(Hashing.sha256(value))
+                .userId(userId)
+                .familyId(familyId)
+                .expiresAt(now.plus(lifetime))
+                .createdAt(now)
+                .build());
+        return value;
+    }
+}
@@ -3,12 +3,15 @@ package com.sencours.service.impl;
 import com.sencours.dto.request.ReviewRequest;
 import com.sencours.dto.response.ReviewResponse;
 import com.sencours.entity.*;
+import com.sencours.event.CourseChangedEvent;
 import com.sencours.exception.BadRequestException;
 import com.sencours.exception.ForbiddenException;
 import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.repository.*;
+import com.sencours.service.CourseStatsService;
 import com.sencours.service.ReviewService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +26,8 @@ public class ReviewServiceImpl implements ReviewService {
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final CourseStatsService courseStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -47,10 +52,14 @@ public class ReviewServiceImpl implements ReviewService {
                         .course(course)
                         .build());
 
+        boolean isNew = review.getId() == null;
+        int previousRating = isNew ? 0 : review.getRating();
         review.setRating(request.getRating());
         review.setComment(request.getComment());
 
         review = reviewRepository.save(review);
+        courseStatsService.addReviews(courseId, isNew ? 1 : 0, request.getRating() - previousRating);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
 
         return mapToResponse(review);
     }
@@ -87,6 +96,8 @@ public class ReviewServiceImpl implements ReviewService {
         }
 
         reviewRepository.delete(review);
+        courseStatsService.addReviews(review.getCourse().getId(), -1, -review.getRating());
+        eventPublisher.publishEvent(new CourseChangedEvent(review.getCourse().getId()));
     }
 
     @Override
@@ -101,6 +112,8 @@ public class ReviewServiceImpl implements ReviewService {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Avis non trouvé"));
         reviewRepository.delete(review);
+        courseStatsService.addReviews(review.getCourse().getId(), -1, -review.getRating());
+        eventPublisher.publishEvent(new CourseChangedEvent(review.getCourse().getId()));
     }
 
     private ReviewResponse mapToResponse(Review review) {
@@ -4,9 +4,11 @@ import com.sencours.dto.request.ReorderRequest;
 import com.sencours.dto.request.SectionRequest;
 import com.sencours.dto.response.SectionResponse;
 import com.sencours.entity.Course;
+import com.sencours.entity.Lesson;
 import com.sencours.entity.Section;
 import com.sencours.entity.User;
 import com.sencours.enums.Role;
+import com.sencours.event.CourseChangedEvent;
 import com.sencours.exception.ForbiddenException;
 import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.exception.SectionNotFoundException;
@@ -14,9 +16,12 @@ import com.sencours.mapper.SectionMapper;
 import com.sencours.repository.CourseRepository;
 import com.sencours.repository.SectionRepository;
 import com.sencours.repository.UserRepository;
+import com.sencours.service.CourseStatsService;
+import com.sencours.service.EnrollmentService;
 import com.sencours.service.SectionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +38,9 @@ public class SectionServiceImpl implements SectionService {
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final SectionMapper sectionMapper;
+    private final CourseStatsService courseStatsService;
+    private final EnrollmentService enrollmentService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public SectionResponse create(Long courseId, SectionRequest request) {
@@ -47,6 +55,7 @@ public class SectionServiceImpl implements SectionService {
         section.setOrderIndex(nextOrderIndex);
 
         Section savedSection = sectionRepository.save(section);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
 
         log.info("Section créée avec succès. ID: {}, orderIndex: {}", savedSection.getId(), savedSection.getOrderIndex());
         return sectionMapper.toResponseWithoutLessons(savedSection);
@@ -87,6 +96,7 @@ public class SectionServiceImpl implements SectionService {
 
         sectionMapper.updateEntityFromRequest(request, section);
         Section updatedSection = sectionRepository.save(section);
+        eventPublisher.publishEvent(new CourseChangedEvent(section.getCourse().getId()));
 
         log.info("Section mise à jour avec succès. ID: {}", updatedSection.getId());
         return sectionMapper.toResponse(updatedSection);
@@ -102,6 +112,7 @@ public class SectionServiceImpl implements SectionService {
         Long courseId = section.getCourse().getId();
         int deletedOrderIndex = section.getOrderIndex();
 
+        removeLessons(section);
         sectionRepository.delete(section);
 
         List<Section> remainingSections = sectionRepository.findByCourseIdOrderByOrderIndexAsc(courseId);
@@ -111,6 +122,8 @@ public class SectionServiceImpl implements SectionService {
                 sectionRepository.save(s);
             }
         }
+        courseStatsService.reindexCurriculum(courseId);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
 
         log.info("Section supprimée avec succès. ID: {}", id);
     }
@@ -136,6 +149,7 @@ public class SectionServiceImpl implements SectionService {
         Long courseId = course.getId();
         int deletedOrderIndex = section.getOrderIndex();
 
+        removeLessons(section);
         sectionRepository.delete(section);
 
         List<Section> remainingSections = sectionRepository.findByCourseIdOrderByOrderIndexAsc(courseId);
@@ -145,6 +159,8 @@ public class SectionServiceImpl implements SectionService {
                 sectionRepository.save(s);
             }
         }
+        courseStatsService.reindexCurriculum(courseId);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
 
         log.info("Section supprimée avec succès. ID: {}", id);
     }
@@ -172,10 +188,26 @@ public class SectionServiceImpl implements SectionService {
             section.setOrderIndex(orderIndex++);
             sections.add(sectionRepository.save(section));
         }
+        courseStatsService.reindexCurriculum(courseId);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
 
         log.info("Sections réorganisées avec succès pour le cours ID: {}", courseId);
         return sections.stream()
                 .map(sectionMapper::toResponseWithoutLessons)
                 .toList();
     }
+
+    // Les lecons partent avec la section (cascade) : les retirer des compteurs du cours
+    private void removeLessons(Section section) {
+        List<Lesson> lessons = section.getLessons();
+        if (lessons == null || lessons.isEmpty()) {
+            return;
+        }
+        Long courseId = section.getCourse().getId();
+        enrollmentService.removeLessons(courseId, lessons.stream().map(Lesson::getId).toList());
+        int duration = lessons.stream()
+                .mapToInt(lesson -> lesson.getDuration() != null ? lesson.getDuration() : 0)
+                .sum();
+        courseStatsService.addLessons(courseId, -lessons.size(), -duration);
+    }
 }
@@ -12,6 +12,7 @@ import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.repository.SuspensionAppealRepository;
 import com.sencours.repository.UserRepository;
 import com.sencours.service.SuspensionAppealService;
+import com.sencours.service.TokenVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,6 +28,7 @@ public class SuspensionAppealServiceImpl implements SuspensionAppealService {
 
     private final SuspensionAppealRepository appealRepository;
     private final UserRepository userRepository;
+    private final TokenVersionService tokenVersionService;
 
     @Override
     @Transactional
@@ -108,6 +110,7 @@ public class SuspensionAppealServiceImpl implements SuspensionAppealService {
         if (request.getStatus() == AppealStatus.APPROVED) {
             User user = appeal.getUser();
             user.setIsActive(true);
+            tokenVersionService.invalidate(user);
             userRepository.save(user);
             log.info("Utilisateur {} réactivé suite à la contestation approuvée par {}", user.getEmail(), adminEmail);
         }
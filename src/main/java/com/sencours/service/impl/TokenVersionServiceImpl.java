@@ -0,0 +1,108 @@
+package com.sencours.service.impl;
+
+import com.sencours.entity.TokenVersionChange;
+import com.sencours.entity.User;
+import com.sencours.event.TokenVersionChangedEvent;
+import com.sencours.repository.TokenVersionChangeRepository;
+import com.sencours.service.TokenVersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versions des jetons par utilisateur, gardees en memoire pour que le filtre JWT n'interroge pas la base.
+ * Seuls les utilisateurs invalides depuis moins d'une duree de vie de jeton d'acces ont une entree :
+ * au-dela, tous les jetons emis avant l'invalidation ont expire. Une version ne fait que croitre,
+ * ce qui permet de fusionner sans ordre les changements locaux et les rechargements depuis la base.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenVersionServiceImpl implements TokenVersionService {
+
+    // Marge au-dela de l'expiration des jetons : couvre le decalage d'horloge entre instances
+    private static final Duration CLOCK_MARGIN = Duration.ofMinutes(1);
+
+    private final TokenVersionChangeRepository tokenVersionChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentHashMap<Long, Entry> versions = new ConcurrentHashMap<>();
+
+    @Value("${jwt.expiration}")
+    private long accessTokenExpiration;
+
+    @Override
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        // Un jeton plus recent que la memoire vient d'une autre instance qui a deja vu le changement
+        Entry entry = versions.get(userId);
+        return entry == null || tokenVersion >= entry.version();
+    }
+
+    @Override
+    public void invalidate(User user) {
+        int version = user.currentTokenVersion() + 1;
+        user.setTokenVersion(version);
+        tokenVersionChangeRepository.save(TokenVersionChange.builder()
+                .userId(user.getId())
+                .version(version)
+                .changedAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(new TokenVersionChangedEvent(user.getId(), version));
+    }
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTokenVersionChanged(TokenVersionChangedEvent event) {
+        merge(event.getUserId(), new Entry(event.getVersion(), System.currentTimeMillis()));
+        log.info("Jetons de l'utilisateur {} invalidés (version {})", event.getUserId(), event.getVersion());
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.security.token-version.refresh-interval:60000}",
+            initialDelayString = "${app.security.token-version.refresh-interval:60000}")
+    public void refresh() {
+        LocalDateTime since = retainedSince();
+        for (TokenVersionChange change : tokenVersionChangeRepository.findChangedSince(since)) {
+            long changedAt = change.getChangedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            merge(change.getUserId(), new Entry(change.getVersion(), changedAt));
+        }
+
+        long retainedSinceMillis = since.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        versions.values().removeIf(entry -> entry.changedAt() < retainedSinceMillis);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.security.token-version.purge-interval:3600000}")
+    public int purgeExpired() {
+        int deleted = tokenVersionChangeRepository.deleteChangedBefore(retainedSince());
+        if (deleted > 0) {
+            log.info("Invalidations de jetons expirées supprimées: {}", deleted);
+        }
+        return deleted;
+    }
+
+    private LocalDateTime retainedSince() {
+        return LocalDateTime.now().minus(Duration.ofMillis(accessTokenExpiration)).minus(CLOCK_MARGIN);
+    }
+
+    private void merge(Long userId, Entry entry) {
+        versions.merge(userId, entry, (current, candidate) -> current.version() >= candidate.version()
+                ? new Entry(current.version(), Math.max(current.changedAt(), candidate.changedAt()))
+                : candidate);
+    }
+
+    private record Entry(int version, long changedAt) {
+    }
+}
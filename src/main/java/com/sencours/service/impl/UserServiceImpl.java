@@ -1,28 +1,36 @@
 package com.sencours.service.impl;
 
+import com.sencours.dto.request.CursorPageRequest;
 import com.sencours.dto.request.PasswordChangeRequest;
 import com.sencours.dto.request.UserRequest;
 import com.sencours.dto.response.PageResponse;
 import com.sencours.dto.response.UserResponse;
 import com.sencours.entity.User;
 import com.sencours.enums.Role;
+import com.sencours.event.UserRenamedEvent;
 import com.sencours.exception.ForbiddenException;
 import com.sencours.exception.InvalidPasswordException;
 import com.sencours.exception.ResourceAlreadyExistsException;
 import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.mapper.UserMapper;
+import com.sencours.pagination.KeysetCursor;
 import com.sencours.repository.InstructorApplicationRepository;
 import com.sencours.repository.UserRepository;
 import com.sencours.service.UserService;
+import com.sencours.service.RefreshTokenService;
+import com.sencours.service.TokenVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -30,10 +38,16 @@ import java.util.List;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    // Jamais password : les valeurs de tri de la derniere ligne sont recopiees dans le curseur
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("id", "createdAt", "lastName", "email");
+
     private final UserRepository userRepository;
     private final InstructorApplicationRepository instructorApplicationRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserResponse create(UserRequest request) {
@@ -120,8 +134,18 @@ public class UserServiceImpl implements UserService {
             throw new ResourceAlreadyExistsException("Utilisateur", "email", request.getEmail());
         }
 
+        String previousEmail = user.getEmail();
+        Role previousRole = user.getRole();
+        String previousName = user.getFirstName() + " " + user.getLastName();
         userMapper.updateEntityFromRequest(request, user);
+        // Email (sujet du jeton) ou role modifie : les jetons emis ne correspondent plus
+        if (!previousEmail.equals(user.getEmail()) || previousRole != user.getRole()) {
+            tokenVersionService.invalidate(user);
+        }
         User updatedUser = userRepository.save(user);
+        if (!previousName.equals(user.getFirstName() + " " + user.getLastName())) {
+            eventPublisher.publishEvent(new UserRenamedEvent(user.getId()));
+        }
 
         log.info("Utilisateur mis à jour avec succès. ID: {}", updatedUser.getId());
         return userMapper.toResponse(updatedUser);
@@ -144,6 +168,7 @@ public class UserServiceImpl implements UserService {
             instructorApplicationRepository.save(app);
         });
 
+        tokenVersionService.invalidate(user);
         userRepository.delete(user);
         log.info("Utilisateur supprimé avec succès. ID: {}", id);
     }
@@ -164,7 +189,10 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        // Ancien mot de passe peut-etre compromis : sessions et jetons deja emis sont fermes
+        tokenVersionService.invalidate(user);
         userRepository.save(user);
+        refreshTokenService.revokeAll(id);
 
         log.info("Mot de passe changé avec succès pour l'utilisateur ID: {}", id);
     }
@@ -177,6 +205,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", "id", id));
 
         user.setIsActive(true);
+        tokenVersionService.invalidate(user);
         userRepository.save(user);
 
         log.info("Utilisateur activé avec succès. ID: {}", id);
@@ -190,6 +219,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", "id", id));
 
         user.setIsActive(false);
+        tokenVersionService.invalidate(user);
         userRepository.save(user);
 
         log.info("Utilisateur désactivé avec succès. ID: {}", id);
@@ -234,4 +264,43 @@ public class UserServiceImpl implements UserService {
                 .toList();
         return PageResponse.of(page, content);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getAllPaginated(CursorPageRequest request) {
+        log.debug("Récupération de tous les utilisateurs par curseur");
+        Window<User> window = userRepository.findAllBy(
+                KeysetCursor.position(request, User.class, CURSOR_SORT_FIELDS), request.getSort(), KeysetCursor.limit(request));
+        return toCursorPage(window, request, request.isWithCount() ? userRepository.count() : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getByRolePaginated(Role role, CursorPageRequest request) {
+        log.debug("Récupération des utilisateurs par rôle par curseur: {}", role);
+        Window<User> window = userRepository.findByRole(role,
+                KeysetCursor.position(request, User.class, CURSOR_SORT_FIELDS), request.getSort(), KeysetCursor.limit(request));
+        return toCursorPage(window, request, request.isWithCount() ? userRepository.countByRole(role) : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> searchUsersPaginated(String search, CursorPageRequest request) {
+        log.debug("Recherche des utilisateurs par curseur: {}", search);
+        Window<User> window = userRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
+                search, search, search,
+                KeysetCursor.position(request, User.class, CURSOR_SORT_FIELDS), request.getSort(), KeysetCursor.limit(request));
+        Long total = request.isWithCount()
+                ? userRepository.countByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
+                        search, search, search)
+                : null;
+        return toCursorPage(window, request, total);
+    }
+
+    private PageResponse<UserResponse> toCursorPage(Window<User> window, CursorPageRequest request, Long total) {
+        List<UserResponse> content = window.getContent().stream()
+                .map(userMapper::toResponse)
+                .toList();
+        return KeysetCursor.toResponse(window, content, request, total);
+    }
 }
@@ -0,0 +1,25 @@
+package com.sencours.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Empreintes SHA-256 en hexadecimal : jetons de rafraichissement stockes, cache des JWT verifies,
+ * cles et corps des requetes idempotentes.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    public static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.sencours.benchmark;
+
+import com.sencours.config.JwtAuthenticationFilter;
+import com.sencours.entity.User;
+import com.sencours.enums.Role;
+import com.sencours.service.AccessTokenRevocationService;
+import com.sencours.service.JwtService;
+import com.sencours.service.JwtVerifier;
+import com.sencours.service.TokenVersionService;
+import com.sencours.service.impl.AccessTokenRevocationServiceImpl;
+import com.sencours.service.impl.TokenVersionServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.io.File;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cout de l'authentification JWT par requete : l'ancien parsing (cle et parseur reconstruits,
+ * jeton parse trois fois) contre le parseur partage, et le filtre complet avec et sans cache de claims.
+ * La lecture de l'utilisateur en base, supprimee auparavant, n'est pas mesuree ici.
+ *
+ * Lancement :
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.sencours.benchmark.JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "VG9rZW5TZWNyZXRLZXlGb3JTZW5Db3Vyc0VsZWFybmluZ1BsYXRmb3JtMjAyNA==";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private String token;
+    private JwtService jwtService;
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        User user = User.builder()
+                .id(42L)
+                .email("moussa@test.sn")
+                .password("x")
+                .role(Role.ETUDIANT)
+                .isActive(true)
+                .build();
+        token = jwtService.generateToken(user);
+
+        TokenVersionService tokenVersionService = new TokenVersionServiceImpl(null, event -> { });
+        AccessTokenRevocationService revocations = new AccessTokenRevocationServiceImpl(null);
+        UserDetailsService noDatabase = username -> {
+            throw new UsernameNotFoundException(username);
+        };
+        cachedFilter = new JwtAuthenticationFilter(new JwtVerifier(jwtService, 10_000), noDatabase, tokenVersionService, revocations);
+        uncachedFilter = new JwtAuthenticationFilter(new JwtVerifier(jwtService, 0), noDatabase, tokenVersionService, revocations);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/auth/me");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    // Chemin d'origine : extractUsername puis isTokenValid, chaque appel decodant la cle et construisant un parseur
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyParse(token).getSubject();
+        return legacyParse(token).getSubject().equals(username)
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims sharedParserSingleParse() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public Object filterWithoutClaimsCache() throws Exception {
+        return runFilter(uncachedFilter);
+    }
+
+    @Benchmark
+    public Object filterWithClaimsCache() throws Exception {
+        return runFilter(cachedFilter);
+    }
+
+    private Object runFilter(JwtAuthenticationFilter filter) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // exec:java charge le classpath de test dans un class loader dedie : le transmettre aux forks JMH
+        if (Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader) {
+            System.setProperty("java.class.path", Arrays.stream(loader.getURLs())
+                    .map(url -> new File(url.getFile()).getPath())
+                    .collect(Collectors.joining(File.pathSeparator)));
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
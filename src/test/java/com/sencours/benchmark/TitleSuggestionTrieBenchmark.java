@@ -0,0 +1,157 @@
+package com.sencours.benchmark;
+
+import com.sencours.search.TitleSuggestionTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Latence de l'autocompletion : trie en memoire contre un parcours lineaire
+ * equivalent au LIKE '%saisie%' precedent, plus le cout d'une reconstruction a froid
+ * et l'empreinte memoire du trie.
+ *
+ * Lancement :
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.sencours.benchmark.TitleSuggestionTrieBenchmark
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TitleSuggestionTrieBenchmark {
+
+    private static final String[] WORDS = {
+            "java", "javascript", "python", "spring", "boot", "react", "angular", "docker",
+            "kubernetes", "sql", "postgres", "donnees", "analyse", "marketing", "digital",
+            "design", "photoshop", "excel", "comptabilite", "gestion", "projet", "agile",
+            "securite", "reseaux", "linux", "cloud", "machine", "learning", "intelligence",
+            "artificielle", "anglais", "wolof", "entrepreneuriat", "finance", "mobile",
+            "flutter", "android", "laravel", "php", "devops"
+    };
+    private static final String[] LINKS = {"pour", "et", "avec", "en", "de"};
+    private static final String[] LEVELS = {"debutants", "avance", "pratique", "complet", "intensif"};
+
+    @Param({"10000"})
+    private int courses;
+
+    private List<TitleSuggestionTrie.Suggestion> suggestions;
+    private TitleSuggestionTrie trie;
+
+    @Setup
+    public void setUp() {
+        suggestions = syntheticTitles(courses);
+        trie = new TitleSuggestionTrie();
+        trie.replaceAll(suggestions);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> trieShortPrefix() {
+        return trie.suggest("ja", 5);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> trieLongPrefix() {
+        return trie.suggest("spring boot av", 5);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> linearScanShortPrefix() {
+        return linearScan("ja", 5);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 5)
+    public TitleSuggestionTrie coldRebuild() {
+        TitleSuggestionTrie rebuilt = new TitleSuggestionTrie();
+        rebuilt.replaceAll(suggestions);
+        return rebuilt;
+    }
+
+    // Equivalent en memoire de l'ancienne requete LIKE triee par titre
+    private List<String> linearScan(String query, int limit) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        return suggestions.stream()
+                .map(TitleSuggestionTrie.Suggestion::title)
+                .filter(title -> title.toLowerCase(Locale.ROOT).contains(needle))
+                .distinct()
+                .sorted()
+                .limit(limit)
+                .toList();
+    }
+
+    static List<TitleSuggestionTrie.Suggestion> syntheticTitles(int count) {
+        Random random = new Random(42);
+        List<TitleSuggestionTrie.Suggestion> result = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            String title = capitalize(WORDS[random.nextInt(WORDS.length)]) + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " "
+                    + LINKS[random.nextInt(LINKS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " "
+                    + LEVELS[random.nextInt(LEVELS.length)] + " " + id;
+            result.add(new TitleSuggestionTrie.Suggestion(id, title, random.nextInt(5000)));
+        }
+        return result;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        List<TitleSuggestionTrie.Suggestion> titles = syntheticTitles(10_000);
+        long before = usedHeap();
+        TitleSuggestionTrie trie = new TitleSuggestionTrie();
+        trie.replaceAll(titles);
+        long after = usedHeap();
+        System.out.printf("Empreinte du trie (%d titres) : ~%.1f Mo%n", trie.size(), (after - before) / 1_048_576.0);
+
+        // exec:java charge le classpath de test dans un class loader dedie : le transmettre aux forks JMH
+        if (Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader) {
+            System.setProperty("java.class.path", Arrays.stream(loader.getURLs())
+                    .map(url -> new File(url.getFile()).getPath())
+                    .collect(Collectors.joining(File.pathSeparator)));
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(TitleSuggestionTrieBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
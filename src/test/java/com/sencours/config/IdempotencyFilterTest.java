@@ -0,0 +1,75 @@
+package com.sencours.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sencours.service.IdempotencyService;
+import com.sencours.service.IdempotencyService.Outcome;
+import com.sencours.service.IdempotencyService.Reservation;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private final IdempotencyService idempotencyService = mock(IdempotencyService.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(idempotencyService, new ObjectMapper());
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Le corps relu devrait notifier un ReadListener en lecture non bloquante")
+    void shouldNotifyReadListenerOfCachedBody() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("mamadou@sencours.sn", null, List.of()));
+        when(idempotencyService.reserve(anyString(), anyString())).thenReturn(Reservation.of(Outcome.ACQUIRED));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/enrollments");
+        request.addHeader(IdempotencyFilter.HEADER, "cle-1");
+        request.setContent("{\"courseId\":1}".getBytes(StandardCharsets.UTF_8));
+        AtomicReference<HttpServletRequest> forwarded = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> forwarded.set((HttpServletRequest) req));
+
+        ServletInputStream input = forwarded.get().getInputStream();
+        List<String> events = new ArrayList<>();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws java.io.IOException {
+                events.add("data:" + StreamUtils.copyToString(input, StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertThat(events).containsExactly("data:{\"courseId\":1}", "done");
+        assertThat(input.isFinished()).isTrue();
+    }
+}
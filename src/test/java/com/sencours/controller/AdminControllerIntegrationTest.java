@@ -101,6 +101,28 @@ class AdminControllerIntegrationTest {
                     .andExpect(jsonPath("$.totalPages").value(4));
         }
 
+        @Test
+        @DisplayName("Devrait refuser le tri par mot de passe en mode curseur - 400")
+        void shouldRejectCursorSortOnPassword() throws Exception {
+            mockMvc.perform(get(BASE_URL + "/users")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .param("cursor", "")
+                            .param("sort", "password"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Devrait paginer par curseur sur un champ de tri autorisé")
+        void shouldScrollOnWhitelistedSort() throws Exception {
+            mockMvc.perform(get(BASE_URL + "/users")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .param("cursor", "")
+                            .param("sort", "lastName"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(10)))
+                    .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+        }
+
         @Test
         @DisplayName("Devrait retourner 401 sans token")
         void shouldReturn401WithoutToken() throws Exception {
@@ -0,0 +1,74 @@
+package com.sencours.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sencours.dto.request.LoginRequest;
+import com.sencours.entity.User;
+import com.sencours.enums.Role;
+import com.sencours.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.security.attempt-limiter.email.max-attempts=2",
+        "app.security.attempt-limiter.email.window-seconds=3600"
+})
+@AutoConfigureMockMvc
+class AuthAttemptLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.save(User.builder()
+                .firstName("Awa")
+                .lastName("Ndiaye")
+                .email("awa@sencours.sn")
+                .password(passwordEncoder.encode("password123"))
+                .role(Role.ETUDIANT)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Devrait retourner 429 avec Retry-After après trop d'échecs sur un email")
+    void shouldReturn429AfterTooManyFailures() throws Exception {
+        String wrongPassword = objectMapper.writeValueAsString(LoginRequest.builder()
+                .email("awa@sencours.sn").password("mauvais").build());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(wrongPassword))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // Meme le bon mot de passe est refuse tant que la fenetre n'est pas ecoulee
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(LoginRequest.builder()
+                                .email("awa@sencours.sn").password("password123").build())))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+}
@@ -1,7 +1,9 @@
 package com.sencours.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sencours.dto.request.LoginRequest;
+import com.sencours.dto.request.RefreshTokenRequest;
 import com.sencours.dto.request.RegisterRequest;
 import com.sencours.entity.User;
 import com.sencours.enums.Role;
@@ -15,9 +17,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -217,6 +221,27 @@ class AuthControllerIntegrationTest {
                     .andExpect(status().isBadRequest())
                     .andExpect(jsonPath("$.validationErrors.email").exists());
         }
+
+        @Test
+        @DisplayName("Devrait re-hacher au coût courant un mot de passe haché avec un autre coût")
+        void shouldRehashPasswordWithOutdatedCost() throws Exception {
+            existingUser.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+            userRepository.save(existingUser);
+
+            LoginRequest request = LoginRequest.builder()
+                    .email("existing@sencours.sn")
+                    .password("password123")
+                    .build();
+
+            mockMvc.perform(post("/api/v1/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+
+            String stored = userRepository.findById(existingUser.getId()).orElseThrow().getPassword();
+            assertThat(stored).startsWith("$2a$10$");
+            assertThat(passwordEncoder.matches("password123", stored)).isTrue();
+        }
     }
 
     @Nested
@@ -260,4 +285,85 @@ class AuthControllerIntegrationTest {
                     .andExpect(status().isUnauthorized());
         }
     }
+
+    @Nested
+    @DisplayName("POST /api/v1/auth/refresh et /logout")
+    class SessionTests {
+
+        @Test
+        @DisplayName("Devrait échanger le jeton de rafraîchissement et refuser sa réutilisation - 200/401")
+        void shouldRotateRefreshTokenOnce() throws Exception {
+            JsonNode session = login();
+            String refreshToken = session.get("refreshToken").asText();
+
+            String body = mockMvc.perform(post("/api/v1/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshBody(refreshToken)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.token").isNotEmpty())
+                    .andExpect(jsonPath("$.refreshToken", not(refreshToken)))
+                    .andReturn().getResponse().getContentAsString();
+            String rotated = objectMapper.readTree(body).get("refreshToken").asText();
+
+            // Rejeu de l'ancien jeton : toute la session est fermee, y compris le jeton qui l'a remplace
+            mockMvc.perform(post("/api/v1/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshBody(refreshToken)))
+                    .andExpect(status().isUnauthorized());
+            mockMvc.perform(post("/api/v1/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshBody(rotated)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("Devrait révoquer le jeton d'accès et la session à la déconnexion - 204")
+        void shouldRevokeTokensOnLogout() throws Exception {
+            JsonNode session = login();
+            String accessToken = session.get("token").asText();
+            String refreshToken = session.get("refreshToken").asText();
+
+            mockMvc.perform(post("/api/v1/auth/logout")
+                            .header("Authorization", "Bearer " + accessToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshBody(refreshToken)))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/v1/auth/me")
+                            .header("Authorization", "Bearer " + accessToken))
+                    .andExpect(status().isUnauthorized());
+            mockMvc.perform(post("/api/v1/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshBody(refreshToken)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("Devrait retourner 401 avec un jeton de rafraîchissement inconnu")
+        void shouldReturn401WithUnknownRefreshToken() throws Exception {
+            mockMvc.perform(post("/api/v1/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshBody("inconnu")))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        private JsonNode login() throws Exception {
+            LoginRequest request = LoginRequest.builder()
+                    .email("existing@sencours.sn")
+                    .password("password123")
+                    .build();
+            String body = mockMvc.perform(post("/api/v1/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.refreshToken").isNotEmpty())
+                    .andExpect(jsonPath("$.expiresIn").isNumber())
+                    .andReturn().getResponse().getContentAsString();
+            return objectMapper.readTree(body);
+        }
+
+        private String refreshBody(String refreshToken) throws Exception {
+            return objectMapper.writeValueAsString(RefreshTokenRequest.builder().refreshToken(refreshToken).build());
+        }
+    }
 }
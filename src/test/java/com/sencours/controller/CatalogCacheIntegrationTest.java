@@ -0,0 +1,145 @@
+package com.sencours.controller;
+
+import com.sencours.dto.request.CategoryRequest;
+import com.sencours.dto.request.SectionRequest;
+import com.sencours.dto.response.CacheStatsResponse;
+import com.sencours.entity.Category;
+import com.sencours.entity.Course;
+import com.sencours.entity.User;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.CategoryRepository;
+import com.sencours.repository.CourseRepository;
+import com.sencours.repository.UserRepository;
+import com.sencours.service.CatalogCacheService;
+import com.sencours.service.CategoryService;
+import com.sencours.service.SectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache du catalogue active (desactive par defaut dans les tests) : lectures servies
+ * depuis la memoire, invalidees apres le commit des modifications.
+ */
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+@AutoConfigureMockMvc
+class CatalogCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CatalogCacheService catalogCacheService;
+
+    private Course course;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+        catalogCacheService.evictAll();
+
+        User instructor = userRepository.save(User.builder()
+                .firstName("Prof")
+                .lastName("Diop")
+                .email("prof@sencours.sn")
+                .password(passwordEncoder.encode("password123"))
+                .role(Role.INSTRUCTEUR)
+                .build());
+        Category cat = new Category();
+        cat.setName("Développement Web");
+        category = categoryRepository.save(cat);
+
+        Course c = new Course();
+        c.setTitle("Java pour débutants");
+        c.setDescription("Apprenez Java");
+        c.setPrice(new BigDecimal("25000"));
+        c.setStatus(Status.PUBLISHED);
+        c.setInstructor(instructor);
+        c.setCategory(category);
+        course = courseRepository.save(c);
+    }
+
+    @Test
+    @DisplayName("Devrait servir le détail depuis le cache puis l'invalider à l'ajout d'une section")
+    void shouldCacheCourseDetailUntilCurriculumChanges() throws Exception {
+        mockMvc.perform(get("/api/v1/courses/" + course.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sections", hasSize(0)));
+        mockMvc.perform(get("/api/v1/courses/" + course.getId()))
+                .andExpect(status().isOk());
+
+        CacheStatsResponse stats = stats("courseDetail");
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+
+        sectionService.create(course.getId(), SectionRequest.builder().title("Introduction").build());
+
+        mockMvc.perform(get("/api/v1/courses/" + course.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sections", hasSize(1)))
+                .andExpect(jsonPath("$.sections[0].title").value("Introduction"));
+    }
+
+    @Test
+    @DisplayName("Devrait invalider les catégories et les pages de cours au renommage d'une catégorie")
+    void shouldEvictListsWhenCategoryChanges() throws Exception {
+        String categoryPage = "/api/v1/courses/category/" + category.getId() + "/paginated";
+
+        mockMvc.perform(get("/api/v1/categories"))
+                .andExpect(jsonPath("$[0].name").value("Développement Web"));
+        mockMvc.perform(get(categoryPage))
+                .andExpect(jsonPath("$.content[0].categoryName").value("Développement Web"));
+        mockMvc.perform(get(categoryPage))
+                .andExpect(status().isOk());
+        assertThat(stats("coursePages").getHitCount()).isEqualTo(1);
+
+        categoryService.update(category.getId(), CategoryRequest.builder().name("Web").build());
+
+        mockMvc.perform(get("/api/v1/categories"))
+                .andExpect(jsonPath("$[0].name").value("Web"));
+        mockMvc.perform(get(categoryPage))
+                .andExpect(jsonPath("$.content[0].categoryName").value("Web"));
+    }
+
+    private CacheStatsResponse stats(String name) {
+        return catalogCacheService.getStats().stream()
+                .filter(s -> s.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,229 @@
+package com.sencours.controller;
+
+import com.sencours.entity.*;
+import com.sencours.enums.LessonType;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.*;
+import com.sencours.service.CertificateService;
+import com.sencours.service.CourseStatsService;
+import com.sencours.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Certificat emis en arriere-plan a la completion du cours ; le telechargement ne fait que le lire.
+ */
+@SpringBootTest(properties = "app.certificates.pregeneration.enabled=true")
+@AutoConfigureMockMvc
+class CertificatePregenerationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CertificateDocumentRepository certificateDocumentRepository;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CertificateService certificateService;
+
+    private User student;
+    private Course course;
+    private Lesson lesson;
+    private String studentToken;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        reviewRepository.deleteAll();
+        enrollmentRepository.deleteAll();
+        lessonRepository.deleteAll();
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        User instructor = userRepository.save(User.builder()
+                .firstName("Prof").lastName("Diop").email("prof@sencours.sn")
+                .password(passwordEncoder.encode("password123")).role(Role.INSTRUCTEUR).build());
+        student = userRepository.save(User.builder()
+                .firstName("Mamadou").lastName("Diallo").email("mamadou@sencours.sn")
+                .password(passwordEncoder.encode("password123")).role(Role.ETUDIANT).build());
+
+        Category category = new Category();
+        category.setName("Développement Web");
+        category = categoryRepository.save(category);
+
+        course = new Course();
+        course.setTitle("Java pour débutants");
+        course.setDescription("Apprenez Java");
+        course.setPrice(new BigDecimal("25000"));
+        course.setStatus(Status.PUBLISHED);
+        course.setInstructor(instructor);
+        course.setCategory(category);
+        course = courseRepository.save(course);
+
+        Section section = new Section();
+        section.setTitle("Introduction");
+        section.setOrderIndex(1);
+        section.setCourse(course);
+        section = sectionRepository.save(section);
+
+        lesson = new Lesson();
+        lesson.setTitle("Bienvenue");
+        lesson.setType(LessonType.VIDEO);
+        lesson.setOrderIndex(1);
+        lesson.setIsFree(false);
+        lesson.setSection(section);
+        lesson = lessonRepository.save(lesson);
+        courseStatsService.recompute(course.getId());
+
+        Enrollment enrollment = new Enrollment();
+        enrollment.setUser(student);
+        enrollment.setCourse(course);
+        enrollmentRepository.save(enrollment);
+
+        studentToken = jwtService.generateToken(student);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Les autres classes de test suppriment utilisateurs et lecons sans vider ces tables
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("Devrait générer le certificat à la complétion et le servir au téléchargement")
+    void shouldPregenerateCertificateOnCompletion() throws Exception {
+        mockMvc.perform(post("/api/v1/progress/lessons/" + lesson.getId() + "/complete")
+                        .header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk());
+
+        awaitDocument();
+        assertThat(certificateRepository.findByUserIdAndCourseId(student.getId(), course.getId())).isPresent();
+
+        byte[] pdf = mockMvc.perform(get("/api/v1/certificates/courses/" + course.getId() + "/download")
+                        .header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new String(pdf, 0, 4, StandardCharsets.US_ASCII)).isEqualTo("%PDF");
+        assertThat(certificateDocumentRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser le téléchargement d'un cours non terminé - 400")
+    void shouldRejectDownloadBeforeCompletion() throws Exception {
+        mockMvc.perform(get("/api/v1/certificates/courses/" + course.getId() + "/download")
+                        .header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isBadRequest());
+
+        assertThat(certificateRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Des émissions concurrentes devraient toutes réussir sur un seul certificat")
+    void shouldIssueConcurrentlyOnce() throws Exception {
+        mockMvc.perform(post("/api/v1/progress/lessons/" + lesson.getId() + "/complete")
+                        .header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk());
+        awaitDocument();
+        cleanUp();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                boolean download = i % 2 == 0;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    if (download) {
+                        return certificateService.generateCertificatePdf(course.getId(), student.getEmail());
+                    }
+                    certificateService.issueCertificate(student.getId(), course.getId());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(certificateRepository.count()).isEqualTo(1);
+        assertThat(certificateDocumentRepository.count()).isEqualTo(1);
+    }
+
+    private void awaitDocument() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (certificateDocumentRepository.count() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(certificateDocumentRepository.count()).isEqualTo(1);
+    }
+
+    private void cleanUp() {
+        certificateDocumentRepository.deleteAll();
+        certificateRepository.deleteAll();
+        progressRepository.deleteAll();
+    }
+}
@@ -0,0 +1,195 @@
+package com.sencours.controller;
+
+import com.sencours.dto.request.CategoryRequest;
+import com.sencours.dto.request.LessonRequest;
+import com.sencours.dto.request.SectionRequest;
+import com.sencours.entity.Category;
+import com.sencours.entity.Course;
+import com.sencours.entity.User;
+import com.sencours.enums.LessonType;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.CategoryRepository;
+import com.sencours.repository.CourseRepository;
+import com.sencours.repository.UserRepository;
+import com.sencours.service.CategoryService;
+import com.sencours.service.LessonService;
+import com.sencours.service.SectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Course course;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        User instructor = userRepository.save(User.builder()
+                .firstName("Prof")
+                .lastName("Diop")
+                .email("prof@sencours.sn")
+                .password(passwordEncoder.encode("password123"))
+                .role(Role.INSTRUCTEUR)
+                .build());
+        Category cat = new Category();
+        cat.setName("Développement Web");
+        category = categoryRepository.save(cat);
+
+        Course c = new Course();
+        c.setTitle("Java pour débutants");
+        c.setDescription("Apprenez Java");
+        c.setPrice(new BigDecimal("25000"));
+        c.setStatus(Status.PUBLISHED);
+        c.setInstructor(instructor);
+        c.setCategory(category);
+        course = courseRepository.save(c);
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/courses/{id}")
+    class CourseDetailTests {
+
+        @Test
+        @DisplayName("Devrait renvoyer ETag, Last-Modified et un Cache-Control public aux anonymes")
+        void shouldReturnValidatorsForAnonymous() throws Exception {
+            mockMvc.perform(get("/api/v1/courses/" + course.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=60")));
+        }
+
+        @Test
+        @DisplayName("Devrait renvoyer un Cache-Control privé aux utilisateurs connectés")
+        void shouldReturnPrivateCacheControlWhenAuthenticated() throws Exception {
+            mockMvc.perform(get("/api/v1/courses/" + course.getId()).with(user("etudiant@sencours.sn")))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")));
+        }
+
+        @Test
+        @DisplayName("Devrait répondre 304 tant que le cours ne change pas")
+        void shouldReturnNotModifiedUntilCurriculumChanges() throws Exception {
+            String etag = etagOf("/api/v1/courses/" + course.getId());
+
+            mockMvc.perform(get("/api/v1/courses/" + course.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            sectionService.create(course.getId(), SectionRequest.builder().title("Introduction").build());
+
+            String newEtag = mockMvc.perform(get("/api/v1/courses/" + course.getId())
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            assertThat(newEtag).isNotEqualTo(etag);
+        }
+
+        @Test
+        @DisplayName("Devrait répondre 304 sur If-Modified-Since")
+        void shouldHonourIfModifiedSince() throws Exception {
+            String lastModified = mockMvc.perform(get("/api/v1/courses/" + course.getId()))
+                    .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+            mockMvc.perform(get("/api/v1/courses/" + course.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                    .andExpect(status().isNotModified());
+        }
+
+        @Test
+        @DisplayName("Devrait renvoyer 404 pour un cours inexistant")
+        void shouldReturnNotFound() throws Exception {
+            mockMvc.perform(get("/api/v1/courses/999999").header(HttpHeaders.IF_NONE_MATCH, "\"course-999999-0\""))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    @DisplayName("Les catégories devraient changer d'ETag au renommage")
+    void shouldRevalidateCategories() throws Exception {
+        String etag = etagOf("/api/v1/categories");
+
+        mockMvc.perform(get("/api/v1/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        categoryService.update(category.getId(), CategoryRequest.builder().name("Web").build());
+
+        mockMvc.perform(get("/api/v1/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("L'aperçu d'une leçon gratuite devrait répondre 304 tant qu'elle ne change pas")
+    void shouldRevalidateLessonPreview() throws Exception {
+        Long sectionId = sectionService.create(course.getId(), SectionRequest.builder().title("Introduction").build()).getId();
+        Long lessonId = lessonService.create(sectionId, LessonRequest.builder()
+                .title("Bienvenue").type(LessonType.TEXT).content("Bonjour").duration(5).isFree(true).build()).getId();
+        String url = "/api/v1/lessons/" + lessonId + "/preview";
+        String etag = etagOf(url);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        lessonService.update(lessonId, LessonRequest.builder()
+                .title("Bienvenue !").type(LessonType.TEXT).content("Bonjour").duration(5).isFree(true).build());
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,268 @@
+package com.sencours.controller;
+
+import com.sencours.entity.*;
+import com.sencours.enums.LessonType;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.*;
+import com.sencours.service.CourseStatsService;
+import com.sencours.service.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * "Reprendre" : prochaine lecon de chaque inscription en un nombre fixe de requetes SQL.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ContinueLearningIntegrationTest {
+
+    private static final String URL = "/api/v1/progress/continue";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User instructor;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        progressRepository.deleteAll();
+        enrollmentRepository.deleteAll();
+        lessonRepository.deleteAll();
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        instructor = createUser("prof@sencours.sn", Role.INSTRUCTEUR);
+        Category cat = new Category();
+        cat.setName("Développement Web");
+        category = categoryRepository.save(cat);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        // Les autres classes de test suppriment les lecons sans vider la progression
+        progressRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Devrait renvoyer la prochaine leçon dans l'ordre du curriculum et sa position de reprise")
+    void shouldReturnNextLessonInCurriculumOrder() throws Exception {
+        User student = createUser("mamadou@sencours.sn", Role.ETUDIANT);
+        Course course = createCourse(1);
+        List<Lesson> lessons = lessonsOf(course);
+        enroll(student, course);
+        saveProgress(student, lessons.get(0), true, 0);
+        saveProgress(student, lessons.get(1), false, 95);
+
+        mockMvc.perform(get(URL).header("Authorization", "Bearer " + jwtService.generateToken(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].courseTitle").value("Cours 1"))
+                .andExpect(jsonPath("$[0].lessonId").value(lessons.get(1).getId()))
+                .andExpect(jsonPath("$[0].lessonTitle").value("Leçon 1.2"))
+                .andExpect(jsonPath("$[0].sectionTitle").value("Section 1"))
+                .andExpect(jsonPath("$[0].lastPositionSeconds").value(95));
+    }
+
+    @Test
+    @DisplayName("Devrait reprendre à la première leçon non terminée même si une suivante est terminée")
+    void shouldReturnFirstIncompleteLessonOnce() throws Exception {
+        User student = createUser("mamadou@sencours.sn", Role.ETUDIANT);
+        Course course = createCourse(1);
+        List<Lesson> lessons = lessonsOf(course);
+        enroll(student, course);
+        saveProgress(student, lessons.get(0), true, 0);
+        saveProgress(student, lessons.get(2), true, 0);
+        saveProgress(student, lessons.get(3), false, 40);
+
+        mockMvc.perform(get(URL).header("Authorization", "Bearer " + jwtService.generateToken(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].lessonId").value(lessons.get(1).getId()))
+                .andExpect(jsonPath("$[0].lastPositionSeconds").value(0));
+    }
+
+    @Test
+    @DisplayName("Devrait ignorer les cours terminés")
+    void shouldSkipCompletedEnrollments() throws Exception {
+        User student = createUser("mamadou@sencours.sn", Role.ETUDIANT);
+        Course finished = createCourse(1);
+        Course ongoing = createCourse(2);
+        Enrollment enrollment = enroll(student, finished);
+        enrollment.setCompletedAt(LocalDateTime.now());
+        enrollmentRepository.save(enrollment);
+        enroll(student, ongoing);
+
+        mockMvc.perform(get(URL).header("Authorization", "Bearer " + jwtService.generateToken(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].courseTitle").value("Cours 2"))
+                .andExpect(jsonPath("$[0].lessonTitle").value("Leçon 1.1"))
+                .andExpect(jsonPath("$[0].lastPositionSeconds").value(0));
+    }
+
+    @Test
+    @DisplayName("Devrait servir 20 inscriptions avec autant de requêtes qu'une seule")
+    void shouldServeWithFixedStatementCount() throws Exception {
+        User light = createUser("awa@sencours.sn", Role.ETUDIANT);
+        User heavy = createUser("mamadou@sencours.sn", Role.ETUDIANT);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            courses.add(createCourse(i));
+        }
+        enroll(light, courses.get(0));
+        courses.forEach(course -> enroll(heavy, course));
+
+        long lightStatements = statementsFor(light, 1);
+        long heavyStatements = statementsFor(heavy, 20);
+
+        assertThat(heavyStatements).isEqualTo(lightStatements);
+        // Utilisateur du jeton, identifiant de l'utilisateur, prochaine lecon de chaque inscription
+        assertThat(heavyStatements).isLessThanOrEqualTo(3);
+    }
+
+    private long statementsFor(User student, int enrollments) throws Exception {
+        String token = jwtService.generateToken(student);
+        statistics.clear();
+
+        mockMvc.perform(get(URL).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(enrollments)));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User createUser(String email, Role role) {
+        return userRepository.save(User.builder()
+                .firstName(role == Role.INSTRUCTEUR ? "Prof" : "Etudiant")
+                .lastName(role == Role.INSTRUCTEUR ? "Diop" : "Test")
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .role(role)
+                .build());
+    }
+
+    private Course createCourse(int index) {
+        Course course = new Course();
+        course.setTitle("Cours " + index);
+        course.setDescription("Description du cours");
+        course.setPrice(new BigDecimal("25000"));
+        course.setStatus(Status.PUBLISHED);
+        course.setInstructor(instructor);
+        course.setCategory(category);
+        course.setStats(CourseStats.builder().course(course).lessonCount(4).build());
+
+        // Sections creees dans le desordre : seul orderIndex doit compter
+        for (int s = 2; s >= 1; s--) {
+            Section section = new Section();
+            section.setTitle("Section " + s);
+            section.setOrderIndex(s);
+            section.setCourse(course);
+            for (int l = 2; l >= 1; l--) {
+                Lesson lesson = new Lesson();
+                lesson.setTitle("Leçon " + s + "." + l);
+                lesson.setType(LessonType.VIDEO);
+                lesson.setOrderIndex(l);
+                lesson.setSection(section);
+                section.getLessons().add(lesson);
+            }
+            course.getSections().add(section);
+        }
+        course = courseRepository.save(course);
+        // Lecons creees directement en base : statistiques et positions du cours a recalculer
+        courseStatsService.recompute(course.getId());
+        return course;
+    }
+
+    // Lecons du cours dans l'ordre du curriculum
+    private List<Lesson> lessonsOf(Course course) {
+        return course.getSections().stream()
+                .sorted((a, b) -> a.getOrderIndex() - b.getOrderIndex())
+                .flatMap(section -> section.getLessons().stream()
+                        .sorted((a, b) -> a.getOrderIndex() - b.getOrderIndex()))
+                .toList();
+    }
+
+    private Enrollment enroll(User student, Course course) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setUser(student);
+        enrollment.setCourse(course);
+        return enrollmentRepository.save(enrollment);
+    }
+
+    private void saveProgress(User student, Lesson lesson, boolean completed, int lastPosition) {
+        Progress progress = new Progress();
+        progress.setUser(student);
+        progress.setLesson(lesson);
+        progress.setCompleted(completed);
+        progress.setWatchTimeSeconds(lastPosition);
+        progress.setLastPositionSeconds(lastPosition);
+        progressRepository.save(progress);
+    }
+}
@@ -0,0 +1,269 @@
+package com.sencours.controller;
+
+import com.sencours.dto.request.ProgressBatchItemRequest;
+import com.sencours.dto.request.ProgressBatchRequest;
+import com.sencours.entity.*;
+import com.sencours.enums.LessonType;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.*;
+import com.sencours.service.CourseAnalyticsService;
+import com.sencours.service.JwtService;
+import com.sencours.service.ProgressSyncService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Rollup incremental dans course_daily_stats et lecture par le tableau de bord instructeur.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CourseAnalyticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseAnalyticsService courseAnalyticsService;
+
+    @Autowired
+    private ProgressSyncService progressSyncService;
+
+    @Autowired
+    private CourseDailyStatsRepository courseDailyStatsRepository;
+
+    @Autowired
+    private RollupWatermarkRepository rollupWatermarkRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private User instructor;
+    private Course course;
+    private List<Lesson> lessons;
+
+    @BeforeEach
+    void setUp() {
+        courseDailyStatsRepository.deleteAll();
+        rollupWatermarkRepository.deleteAll();
+        reviewRepository.deleteAll();
+        progressRepository.deleteAll();
+        enrollmentRepository.deleteAll();
+        lessonRepository.deleteAll();
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        instructor = createUser("prof@sencours.sn", Role.INSTRUCTEUR);
+        Category category = new Category();
+        category.setName("Développement Web");
+        course = createCourse(categoryRepository.save(category));
+        lessons = course.getSections().get(0).getLessons();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseDailyStatsRepository.deleteAll();
+        rollupWatermarkRepository.deleteAll();
+        progressRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Devrait agréger inscriptions, complétions, apprenants actifs et temps de visionnage du jour")
+    void shouldAggregateDailyStats() throws Exception {
+        User awa = createUser("awa@sencours.sn", Role.ETUDIANT);
+        User mamadou = createUser("mamadou@sencours.sn", Role.ETUDIANT);
+        Enrollment finished = enroll(awa);
+        finished.setCompletedAt(LocalDateTime.now());
+        enrollmentRepository.save(finished);
+        enroll(mamadou);
+        saveProgress(awa, lessons.get(0), 120);
+        saveProgress(awa, lessons.get(1), 60);
+        saveProgress(mamadou, lessons.get(0), 45);
+
+        assertThat(courseAnalyticsService.rollupUntil(LocalDateTime.now())).isEqualTo(1);
+
+        mockMvc.perform(get(analyticsUrl()).header("Authorization", "Bearer " + jwtService.generateToken(instructor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].courseId").value(course.getId()))
+                .andExpect(jsonPath("$[0].courseTitle").value("Cours analysé"))
+                .andExpect(jsonPath("$[0].day").value(LocalDate.now().toString()))
+                .andExpect(jsonPath("$[0].enrollments").value(2))
+                .andExpect(jsonPath("$[0].completions").value(1))
+                .andExpect(jsonPath("$[0].activeLearners").value(2))
+                .andExpect(jsonPath("$[0].watchTimeSeconds").value(225));
+    }
+
+    @Test
+    @DisplayName("Devrait n'ajouter que les variations depuis le dernier filigrane")
+    void shouldOnlyAddChangesSinceWatermark() {
+        User awa = createUser("awa@sencours.sn", Role.ETUDIANT);
+        enroll(awa);
+        Progress progress = saveProgress(awa, lessons.get(0), 100);
+        courseAnalyticsService.rollupUntil(LocalDateTime.now());
+
+        // Rien de neuf : aucune ligne touchee
+        assertThat(courseAnalyticsService.rollupUntil(LocalDateTime.now())).isZero();
+
+        progress.setWatchTimeSeconds(130);
+        progressRepository.save(progress);
+        saveProgress(awa, lessons.get(1), 20);
+        courseAnalyticsService.rollupUntil(LocalDateTime.now());
+
+        CourseDailyStats stats = courseDailyStatsRepository.findAll().get(0);
+        assertThat(courseDailyStatsRepository.count()).isEqualTo(1);
+        assertThat(stats.getEnrollments()).isEqualTo(1);
+        // Meme apprenant le meme jour : compte une seule fois
+        assertThat(stats.getActiveLearners()).isEqualTo(1);
+        assertThat(stats.getWatchTimeSeconds()).isEqualTo(150L);
+    }
+
+    @Test
+    @DisplayName("Devrait agréger une progression synchronisée hors ligne datée d'avant le filigrane")
+    void shouldAggregateOfflineSyncDatedBeforeWatermark() {
+        User awa = createUser("awa@sencours.sn", Role.ETUDIANT);
+        enroll(awa);
+        courseAnalyticsService.rollupUntil(LocalDateTime.now());
+        OffsetDateTime watchedOffline = OffsetDateTime.now().minusHours(3);
+
+        progressSyncService.sync(ProgressBatchRequest.builder()
+                .items(List.of(ProgressBatchItemRequest.builder()
+                        .lessonId(lessons.get(0).getId())
+                        .watchTimeSeconds(90)
+                        .lastPositionSeconds(90)
+                        .clientUpdatedAt(watchedOffline)
+                        .build()))
+                .build(), awa.getEmail());
+        courseAnalyticsService.rollupUntil(LocalDateTime.now());
+
+        LocalDate day = watchedOffline.atZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+        CourseDailyStats stats = courseDailyStatsRepository.findAll().stream()
+                .filter(row -> row.getDay().equals(day))
+                .findFirst()
+                .orElseThrow();
+        assertThat(stats.getWatchTimeSeconds()).isEqualTo(90L);
+        assertThat(stats.getActiveLearners()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser les statistiques d'un autre instructeur")
+    void shouldRejectOtherInstructor() throws Exception {
+        User other = createUser("autre@sencours.sn", Role.INSTRUCTEUR);
+
+        mockMvc.perform(get(analyticsUrl()).header("Authorization", "Bearer " + jwtService.generateToken(other)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Devrait refuser les statistiques sans authentification")
+    void shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get(analyticsUrl()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String analyticsUrl() {
+        return "/api/v1/courses/instructor/" + instructor.getId() + "/analytics";
+    }
+
+    private User createUser(String email, Role role) {
+        return userRepository.save(User.builder()
+                .firstName(role == Role.INSTRUCTEUR ? "Prof" : "Etudiant")
+                .lastName(role == Role.INSTRUCTEUR ? "Diop" : "Test")
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .role(role)
+                .build());
+    }
+
+    private Course createCourse(Category category) {
+        Course newCourse = new Course();
+        newCourse.setTitle("Cours analysé");
+        newCourse.setDescription("Description du cours");
+        newCourse.setPrice(new BigDecimal("25000"));
+        newCourse.setStatus(Status.PUBLISHED);
+        newCourse.setInstructor(instructor);
+        newCourse.setCategory(category);
+        newCourse.setStats(CourseStats.builder().course(newCourse).lessonCount(2).build());
+
+        Section section = new Section();
+        section.setTitle("Section 1");
+        section.setOrderIndex(1);
+        section.setCourse(newCourse);
+        for (int l = 1; l <= 2; l++) {
+            Lesson lesson = new Lesson();
+            lesson.setTitle("Leçon " + l);
+            lesson.setType(LessonType.VIDEO);
+            lesson.setOrderIndex(l);
+            lesson.setSection(section);
+            section.getLessons().add(lesson);
+        }
+        newCourse.getSections().add(section);
+        return courseRepository.save(newCourse);
+    }
+
+    private Enrollment enroll(User student) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setUser(student);
+        enrollment.setCourse(course);
+        return enrollmentRepository.save(enrollment);
+    }
+
+    private Progress saveProgress(User student, Lesson lesson, int watchTime) {
+        Progress progress = new Progress();
+        progress.setUser(student);
+        progress.setLesson(lesson);
+        progress.setCompleted(false);
+        progress.setWatchTimeSeconds(watchTime);
+        progress.setLastPositionSeconds(watchTime);
+        return progressRepository.save(progress);
+    }
+}
@@ -1,5 +1,6 @@
 package com.sencours.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sencours.dto.request.CourseRequest;
 import com.sencours.entity.Category;
@@ -23,7 +24,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -213,6 +217,22 @@ class CourseControllerIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$", hasSize(2)));
         }
+
+        @Test
+        @DisplayName("Devrait retourner des cartes de cours sans curriculum - 200")
+        void shouldReturnCourseCardsWithoutCurriculum() throws Exception {
+            createCourse("Cours 1");
+
+            mockMvc.perform(get(BASE_URL))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].title").value("Cours 1"))
+                    .andExpect(jsonPath("$[0].instructorName").value("Prof Diop"))
+                    .andExpect(jsonPath("$[0].categoryName").value("Développement Web"))
+                    .andExpect(jsonPath("$[0].totalLessons").value(0))
+                    .andExpect(jsonPath("$[0].averageRating").value(0.0))
+                    .andExpect(jsonPath("$[0].sections").doesNotExist())
+                    .andExpect(jsonPath("$[0].instructorEmail").doesNotExist());
+        }
     }
 
     @Nested
@@ -379,6 +399,97 @@ class CourseControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/courses/paginated?cursor=")
+    class CursorPaginationTests {
+
+        @Test
+        @DisplayName("Devrait parcourir les cours par curseur sans doublon ni total - 200")
+        void shouldWalkCoursesWithCursor() throws Exception {
+            for (String title : List.of("E", "B", "D", "A", "C")) {
+                createCourse(title);
+            }
+
+            List<String> titles = new ArrayList<>();
+            String cursor = "";
+            for (int page = 0; page < 3; page++) {
+                String body = mockMvc.perform(get(BASE_URL + "/paginated")
+                                .param("size", "2")
+                                .param("sort", "title")
+                                .param("cursor", cursor))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").doesNotExist())
+                        .andExpect(jsonPath("$.page").doesNotExist())
+                        .andReturn().getResponse().getContentAsString();
+
+                JsonNode json = objectMapper.readTree(body);
+                json.get("content").forEach(course -> titles.add(course.get("title").asText()));
+                cursor = json.path("nextCursor").asText(null);
+                if (page < 2) {
+                    assertThat(cursor).isNotNull();
+                }
+            }
+
+            assertThat(titles).containsExactly("A", "B", "C", "D", "E");
+            assertThat(cursor).isNull();
+        }
+
+        @Test
+        @DisplayName("Devrait reprendre après les ex aequo en tri descendant - 200")
+        void shouldWalkDescendingCursorWithTies() throws Exception {
+            for (String title : List.of("A", "B", "B", "B", "C")) {
+                createCourse(title);
+            }
+
+            List<String> titles = new ArrayList<>();
+            String cursor = "";
+            do {
+                String body = mockMvc.perform(get(BASE_URL + "/paginated")
+                                .param("size", "2")
+                                .param("sort", "title")
+                                .param("direction", "desc")
+                                .param("cursor", cursor))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+
+                JsonNode json = objectMapper.readTree(body);
+                json.get("content").forEach(course -> titles.add(course.get("title").asText()));
+                cursor = json.path("nextCursor").asText(null);
+            } while (cursor != null);
+
+            assertThat(titles).containsExactly("C", "B", "B", "B", "A");
+        }
+
+        @Test
+        @DisplayName("Devrait compter le total seulement sur demande - 200")
+        void shouldCountOnlyWhenRequested() throws Exception {
+            createCourse("Cours 1");
+            createCourse("Cours 2");
+            createCourse("Cours 3");
+
+            mockMvc.perform(get(BASE_URL + "/paginated")
+                            .param("size", "2")
+                            .param("cursor", "")
+                            .param("withCount", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.totalElements").value(3))
+                    .andExpect(jsonPath("$.totalPages").value(2))
+                    .andExpect(jsonPath("$.last").value(false))
+                    .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+        }
+
+        @Test
+        @DisplayName("Devrait refuser un curseur invalide ou un tri non supporté - 400")
+        void shouldRejectInvalidCursor() throws Exception {
+            mockMvc.perform(get(BASE_URL + "/paginated").param("cursor", "pas-un-curseur"))
+                    .andExpect(status().isBadRequest());
+
+            mockMvc.perform(get(BASE_URL + "/paginated").param("cursor", "").param("sort", "instructor"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     private User createInstructor() {
         User user = User.builder()
                 .firstName("Prof")
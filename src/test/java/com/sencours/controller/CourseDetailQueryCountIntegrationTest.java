@@ -0,0 +1,199 @@
+package com.sencours.controller;
+
+import com.sencours.config.CourseStatsBackfill;
+import com.sencours.entity.Category;
+import com.sencours.entity.Course;
+import com.sencours.entity.Lesson;
+import com.sencours.entity.Section;
+import com.sencours.entity.User;
+import com.sencours.enums.LessonType;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.CategoryRepository;
+import com.sencours.repository.CourseRepository;
+import com.sencours.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Le detail d'un cours doit couter un nombre fixe de requetes SQL, quelle que soit la taille du curriculum.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CourseDetailQueryCountIntegrationTest {
+
+    private static final String BASE_URL = "/api/v1/courses/";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseStatsBackfill courseStatsBackfill;
+
+    private Statistics statistics;
+    private User instructor;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        instructor = userRepository.save(User.builder()
+                .firstName("Prof")
+                .lastName("Diop")
+                .email("prof@sencours.sn")
+                .password(passwordEncoder.encode("password123"))
+                .role(Role.INSTRUCTEUR)
+                .build());
+        Category cat = new Category();
+        cat.setName("Développement Web");
+        category = categoryRepository.save(cat);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Devrait charger un cours de 20 sections et 200 leçons en un nombre fixe de requêtes")
+    void shouldLoadLargeCurriculumWithFixedStatementCount() throws Exception {
+        Course small = createCourse(1, 1);
+        Course large = createCourse(20, 10);
+
+        long smallStatements = statementsFor(small, 1, 1);
+        long largeStatements = statementsFor(large, 20, 10);
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+        // Validateurs HTTP, cours avec ses sections, lecons de toutes les sections
+        assertThat(largeStatements).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Devrait charger une liste de cours sans une requête de statistiques par cours")
+    void shouldNotLoadStatsPerCourseWhenListingEntities() {
+        for (int i = 0; i < 5; i++) {
+            createCourse(1, 1);
+        }
+        statistics.clear();
+
+        assertThat(courseRepository.findByInstructorId(instructor.getId())).hasSize(5);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Devrait servir une page par curseur en une seule requête de projection")
+    void shouldServeCursorPageInSingleStatement() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            createCourse(1, 1);
+        }
+        statistics.clear();
+
+        mockMvc.perform(get(BASE_URL + "paginated").param("cursor", "").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].instructorName").value("Prof Diop"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Devrait recréer au démarrage les statistiques d'un cours qui n'en a pas")
+    void shouldBackfillMissingStatsAtStartup() throws Exception {
+        Course course = createCourse(2, 3);
+        jdbcTemplate.update("DELETE FROM course_stats WHERE course_id = ?", course.getId());
+
+        courseStatsBackfill.afterSingletonsInstantiated();
+
+        mockMvc.perform(get(BASE_URL + course.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalLessons").value(6))
+                .andExpect(jsonPath("$.totalDuration").value(30));
+    }
+
+    private long statementsFor(Course course, int sections, int lessonsPerSection) throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(get(BASE_URL + course.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sections", hasSize(sections)))
+                .andExpect(jsonPath("$.sections[0].lessons[0].orderIndex").value(1))
+                .andExpect(jsonPath("$.sections[" + (sections - 1) + "].lessons", hasSize(lessonsPerSection)));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Course createCourse(int sectionCount, int lessonsPerSection) {
+        Course course = new Course();
+        course.setTitle("Cours " + sectionCount + "x" + lessonsPerSection);
+        course.setDescription("Description du cours");
+        course.setPrice(new BigDecimal("25000"));
+        course.setStatus(Status.PUBLISHED);
+        course.setInstructor(instructor);
+        course.setCategory(category);
+
+        for (int s = 1; s <= sectionCount; s++) {
+            Section section = new Section();
+            section.setTitle("Section " + s);
+            section.setOrderIndex(s);
+            section.setCourse(course);
+            for (int l = 1; l <= lessonsPerSection; l++) {
+                Lesson lesson = new Lesson();
+                lesson.setTitle("Leçon " + s + "." + l);
+                lesson.setType(LessonType.TEXT);
+                lesson.setContent("Contenu de la leçon");
+                lesson.setDuration(5);
+                lesson.setOrderIndex(l);
+                lesson.setSection(section);
+                section.getLessons().add(lesson);
+            }
+            course.getSections().add(section);
+        }
+        return courseRepository.save(course);
+    }
+}
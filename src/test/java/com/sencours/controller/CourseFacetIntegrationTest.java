@@ -0,0 +1,104 @@
+package com.sencours.controller;
+
+import com.sencours.dto.request.CategoryRequest;
+import com.sencours.entity.Category;
+import com.sencours.entity.Course;
+import com.sencours.entity.User;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.CategoryRepository;
+import com.sencours.repository.CourseRepository;
+import com.sencours.repository.UserRepository;
+import com.sencours.service.CategoryService;
+import com.sencours.service.CourseFacetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Les facettes de recherche suivent les modifications du catalogue apres leur commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CourseFacetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CourseFacetService courseFacetService;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        User instructor = userRepository.save(User.builder()
+                .firstName("Prof")
+                .lastName("Diop")
+                .email("prof@sencours.sn")
+                .password(passwordEncoder.encode("password123"))
+                .role(Role.INSTRUCTEUR)
+                .build());
+        Category cat = new Category();
+        cat.setName("Développement Web");
+        category = categoryRepository.save(cat);
+
+        Course course = new Course();
+        course.setTitle("Java pour débutants");
+        course.setDescription("Apprenez Java");
+        course.setPrice(new BigDecimal("25000"));
+        course.setStatus(Status.PUBLISHED);
+        course.setInstructor(instructor);
+        course.setCategory(category);
+        courseRepository.save(course);
+
+        // Cours inseres sans passer par le service : index reconstruit comme au demarrage
+        courseFacetService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Devrait afficher le nouveau nom dans les facettes après le renommage d'une catégorie")
+    void shouldRenameCategoryFacet() throws Exception {
+        mockMvc.perform(get("/api/v1/courses/search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.facets.categories[0].label").value("Développement Web"));
+
+        categoryService.update(category.getId(), CategoryRequest.builder().name("Web").build());
+
+        mockMvc.perform(get("/api/v1/courses/search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.facets.categories[0].value").value(String.valueOf(category.getId())))
+                .andExpect(jsonPath("$.facets.categories[0].label").value("Web"))
+                .andExpect(jsonPath("$.facets.categories[0].count").value(1));
+    }
+}
@@ -0,0 +1,214 @@
+package com.sencours.controller;
+
+import com.sencours.entity.*;
+import com.sencours.enums.LessonType;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.*;
+import com.sencours.service.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Le tableau de bord "Mon apprentissage" doit couter un nombre fixe de requetes SQL, quel que soit le nombre d'inscriptions.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EnrollmentDashboardQueryCountIntegrationTest {
+
+    private static final String URL = "/api/v1/enrollments/my-enrollments";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User instructor;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        progressRepository.deleteAll();
+        enrollmentRepository.deleteAll();
+        lessonRepository.deleteAll();
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        instructor = createUser("prof@sencours.sn", Role.INSTRUCTEUR);
+        Category cat = new Category();
+        cat.setName("Développement Web");
+        category = categoryRepository.save(cat);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        // Les autres classes de test suppriment les lecons sans vider la progression
+        progressRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Devrait servir 30 inscriptions avec autant de requêtes qu'une seule")
+    void shouldServeDashboardWithFixedStatementCount() throws Exception {
+        User light = createUser("awa@sencours.sn", Role.ETUDIANT);
+        User heavy = createUser("mamadou@sencours.sn", Role.ETUDIANT);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            courses.add(createCourse(i));
+        }
+        enroll(light, courses.get(0), 1);
+        courses.forEach(course -> enroll(heavy, course, 2));
+
+        long lightStatements = statementsFor(light, 1);
+        long heavyStatements = statementsFor(heavy, 30);
+
+        assertThat(heavyStatements).isEqualTo(lightStatements);
+        // Utilisateur du jeton, utilisateur du service, tableau de bord
+        assertThat(heavyStatements).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Devrait renvoyer les compteurs et la dernière activité de chaque inscription")
+    void shouldReturnCountersAndLastActivity() throws Exception {
+        User student = createUser("mamadou@sencours.sn", Role.ETUDIANT);
+        Course course = createCourse(1);
+        enroll(student, course, 2);
+
+        mockMvc.perform(get(URL).header("Authorization", "Bearer " + jwtService.generateToken(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].courseTitle").value("Cours 1"))
+                .andExpect(jsonPath("$[0].instructorName").value("Prof Diop"))
+                .andExpect(jsonPath("$[0].totalLessons").value(4))
+                .andExpect(jsonPath("$[0].completedLessons").value(2))
+                .andExpect(jsonPath("$[0].progressPercentage").value(50))
+                .andExpect(jsonPath("$[0].lastActivityAt").isNotEmpty());
+    }
+
+    private long statementsFor(User student, int enrollments) throws Exception {
+        String token = jwtService.generateToken(student);
+        statistics.clear();
+
+        mockMvc.perform(get(URL).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(enrollments)))
+                .andExpect(jsonPath("$[0].totalLessons").value(4));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User createUser(String email, Role role) {
+        return userRepository.save(User.builder()
+                .firstName(role == Role.INSTRUCTEUR ? "Prof" : "Etudiant")
+                .lastName(role == Role.INSTRUCTEUR ? "Diop" : "Test")
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .role(role)
+                .build());
+    }
+
+    private Course createCourse(int index) {
+        Course course = new Course();
+        course.setTitle("Cours " + index);
+        course.setDescription("Description du cours");
+        course.setPrice(new BigDecimal("25000"));
+        course.setStatus(Status.PUBLISHED);
+        course.setInstructor(instructor);
+        course.setCategory(category);
+        course.setStats(CourseStats.builder().course(course).lessonCount(4).build());
+
+        for (int s = 1; s <= 2; s++) {
+            Section section = new Section();
+            section.setTitle("Section " + s);
+            section.setOrderIndex(s);
+            section.setCourse(course);
+            for (int l = 1; l <= 2; l++) {
+                Lesson lesson = new Lesson();
+                lesson.setTitle("Leçon " + s + "." + l);
+                lesson.setType(LessonType.TEXT);
+                lesson.setOrderIndex(l);
+                lesson.setSection(section);
+                section.getLessons().add(lesson);
+            }
+            course.getSections().add(section);
+        }
+        return courseRepository.save(course);
+    }
+
+    private void enroll(User student, Course course, int completedLessons) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setUser(student);
+        enrollment.setCourse(course);
+        enrollment.setCompletedLessons(completedLessons);
+        enrollmentRepository.save(enrollment);
+
+        List<Lesson> lessons = course.getSections().stream()
+                .flatMap(section -> section.getLessons().stream())
+                .limit(completedLessons)
+                .toList();
+        for (Lesson lesson : lessons) {
+            Progress progress = new Progress();
+            progress.setUser(student);
+            progress.setLesson(lesson);
+            progress.setCompleted(true);
+            progressRepository.save(progress);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.sencours.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sencours.config.IdempotencyFilter;
+import com.sencours.entity.*;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.*;
+import com.sencours.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Nouvelles tentatives avec le meme en-tete Idempotency-Key : reponse rejouee, service execute une fois.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private User instructor;
+    private Category category;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository.deleteAll();
+        reviewRepository.deleteAll();
+        progressRepository.deleteAll();
+        enrollmentRepository.deleteAll();
+        lessonRepository.deleteAll();
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        instructor = createUser("prof@sencours.sn", Role.INSTRUCTEUR);
+        Category cat = new Category();
+        cat.setName("Développement Web");
+        category = categoryRepository.save(cat);
+        token = jwtService.generateToken(createUser("mamadou@sencours.sn", Role.ETUDIANT));
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Devrait rejouer la même référence de paiement pour une nouvelle tentative")
+    void shouldReplaySamePaymentReference() throws Exception {
+        Course course = createCourse("25000");
+        String url = "/api/v1/enrollments/courses/" + course.getId() + "/pay";
+        String body = "{\"paymentMethod\":\"WAVE\",\"paymentPhone\":\"771234567\"}";
+
+        MvcResult first = mockMvc.perform(post(url).header("Authorization", "Bearer " + token)
+                        .header(IdempotencyFilter.HEADER, "paiement-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult retry = mockMvc.perform(post(url).header("Authorization", "Bearer " + token)
+                        .header(IdempotencyFilter.HEADER, "paiement-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertThat(reference(retry)).isEqualTo(reference(first));
+    }
+
+    @Test
+    @DisplayName("Devrait refuser une clé réutilisée pour une autre requête")
+    void shouldRejectKeyReusedForAnotherRequest() throws Exception {
+        Course first = createCourse("0");
+        Course second = createCourse("0");
+
+        mockMvc.perform(enrollFree(first, "inscription-1"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(enrollFree(second, "inscription-1"))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(enrollmentRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Devrait exécuter une seule inscription pour des doublons concurrents")
+    void shouldExecuteConcurrentDuplicatesOnce() throws Exception {
+        Course course = createCourse("0");
+        int attempts = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(enrollFree(course, "double-appui"))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : statuses) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo(201);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(enrollmentRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Devrait exécuter à nouveau une requête sans clé")
+    void shouldExecuteAgainWithoutKey() throws Exception {
+        Course course = createCourse("0");
+        String url = "/api/v1/enrollments/courses/" + course.getId() + "/free";
+
+        mockMvc.perform(post(url).header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(url).header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private RequestBuilder enrollFree(Course course, String key) {
+        return post("/api/v1/enrollments/courses/" + course.getId() + "/free")
+                .header("Authorization", "Bearer " + token)
+                .header(IdempotencyFilter.HEADER, key);
+    }
+
+    private String reference(MvcResult result) throws Exception {
+        JsonNode json = objectMapper.readTree(result.getResponse().getContentAsString());
+        return json.get("reference").asText();
+    }
+
+    private User createUser(String email, Role role) {
+        return userRepository.save(User.builder()
+                .firstName(role == Role.INSTRUCTEUR ? "Prof" : "Etudiant")
+                .lastName(role == Role.INSTRUCTEUR ? "Diop" : "Test")
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .role(role)
+                .build());
+    }
+
+    private Course createCourse(String price) {
+        Course course = new Course();
+        course.setTitle("Cours " + price);
+        course.setDescription("Description du cours");
+        course.setPrice(new BigDecimal(price));
+        course.setStatus(Status.PUBLISHED);
+        course.setInstructor(instructor);
+        course.setCategory(category);
+        course.setStats(CourseStats.builder().course(course).build());
+        return courseRepository.save(course);
+    }
+}
@@ -0,0 +1,192 @@
+package com.sencours.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sencours.dto.request.ProgressRequest;
+import com.sencours.entity.*;
+import com.sencours.enums.LessonType;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.*;
+import com.sencours.service.CourseStatsService;
+import com.sencours.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Requetes de progression paralleles sur une meme lecon : une seule ligne, fusion monotone, un seul comptage.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProgressConcurrencyIntegrationTest {
+
+    private static final String BASE_URL = "/api/v1/progress";
+    private static final int REQUESTS = 24;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    private User student;
+    private Course course;
+    private Lesson lesson;
+    private String studentToken;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        progressRepository.deleteAll();
+        enrollmentRepository.deleteAll();
+        lessonRepository.deleteAll();
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        User instructor = userRepository.save(User.builder()
+                .firstName("Prof").lastName("Diop").email("prof@sencours.sn")
+                .password(passwordEncoder.encode("password123")).role(Role.INSTRUCTEUR).build());
+        student = userRepository.save(User.builder()
+                .firstName("Mamadou").lastName("Diallo").email("mamadou@sencours.sn")
+                .password(passwordEncoder.encode("password123")).role(Role.ETUDIANT).build());
+
+        Category category = new Category();
+        category.setName("Développement Web");
+        category.setDescription("Cours de développement web");
+        category = categoryRepository.save(category);
+
+        course = new Course();
+        course.setTitle("Java pour débutants");
+        course.setDescription("Apprenez Java");
+        course.setPrice(new BigDecimal("25000"));
+        course.setStatus(Status.PUBLISHED);
+        course.setInstructor(instructor);
+        course.setCategory(category);
+        course = courseRepository.save(course);
+
+        Section section = new Section();
+        section.setTitle("Introduction");
+        section.setOrderIndex(1);
+        section.setCourse(course);
+        section = sectionRepository.save(section);
+
+        lesson = new Lesson();
+        lesson.setTitle("Introduction");
+        lesson.setType(LessonType.VIDEO);
+        lesson.setContent("https://video.url/introduction");
+        lesson.setDuration(10);
+        lesson.setOrderIndex(1);
+        lesson.setIsFree(false);
+        lesson.setSection(section);
+        lesson = lessonRepository.save(lesson);
+
+        Enrollment enrollment = new Enrollment();
+        enrollment.setUser(student);
+        enrollment.setCourse(course);
+        enrollmentRepository.save(enrollment);
+        // Lecon creee directement en base : statistiques et positions du cours a recalculer
+        courseStatsService.recompute(course.getId());
+
+        studentToken = jwtService.generateToken(student);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Les autres classes de test suppriment les lecons sans vider la progression
+        progressRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Des mises à jour parallèles devraient converger vers une seule ligne complétée une fois")
+    void shouldMergeParallelUpdatesIntoSingleRow() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 1; i <= REQUESTS; i++) {
+                ProgressRequest request = new ProgressRequest();
+                request.setWatchTimeSeconds(i * 10);
+                request.setLastPositionSeconds(i);
+                // Une requete sur trois termine la lecon
+                if (i % 3 == 0) {
+                    request.setCompleted(true);
+                }
+                String body = objectMapper.writeValueAsString(request);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(put(BASE_URL + "/lessons/" + lesson.getId())
+                                    .header("Authorization", "Bearer " + studentToken)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(60, TimeUnit.SECONDS)).isEqualTo(200);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(progressRepository.count()).isEqualTo(1);
+        Progress progress = progressRepository.findByUserIdAndLessonId(student.getId(), lesson.getId()).orElseThrow();
+        assertThat(progress.getCompleted()).isTrue();
+        assertThat(progress.getCompletedAt()).isNotNull();
+        assertThat(progress.getWatchTimeSeconds()).isEqualTo(REQUESTS * 10);
+
+        Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(student.getId(), course.getId())
+                .orElseThrow();
+        assertThat(enrollment.getCompletedLessons()).isEqualTo(1);
+    }
+}
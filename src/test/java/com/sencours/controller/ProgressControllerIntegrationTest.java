@@ -1,13 +1,20 @@
 package com.sencours.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sencours.dto.request.ProgressBatchItemRequest;
+import com.sencours.dto.request.ProgressBatchRequest;
 import com.sencours.dto.request.ProgressRequest;
+import com.sencours.dto.request.ReorderRequest;
 import com.sencours.entity.*;
 import com.sencours.enums.LessonType;
 import com.sencours.enums.Role;
 import com.sencours.enums.Status;
+import com.sencours.progress.CompletionBitmap;
 import com.sencours.repository.*;
+import com.sencours.service.CourseStatsService;
+import com.sencours.service.EnrollmentService;
 import com.sencours.service.JwtService;
+import com.sencours.service.LessonService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,7 +27,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -65,6 +75,15 @@ class ProgressControllerIntegrationTest {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private LessonService lessonService;
+
     private static final String BASE_URL = "/api/v1/progress";
 
     private User student;
@@ -154,6 +173,156 @@ class ProgressControllerIntegrationTest {
                             .header("Authorization", "Bearer " + studentToken))
                     .andExpect(status().isOk());
         }
+
+        @Test
+        @DisplayName("Devrait compter une seule fois une leçon complétée deux fois")
+        void shouldCountCompletedLessonOnce() throws Exception {
+            // Lecons creees directement en base : statistiques du cours a recalculer
+            courseStatsService.recompute(course.getId());
+
+            for (int i = 0; i < 2; i++) {
+                mockMvc.perform(post(BASE_URL + "/lessons/" + lesson1.getId() + "/complete")
+                                .header("Authorization", "Bearer " + studentToken))
+                        .andExpect(status().isOk());
+            }
+
+            Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(student.getId(), course.getId())
+                    .orElseThrow();
+            assertThat(enrollment.getCompletedLessons()).isEqualTo(1);
+            assertThat(enrollment.getProgressPercentage()).isEqualTo(50);
+            assertThat(CompletionBitmap.fromBytes(enrollment.getCompletionBitmap()).isCompleted(0)).isTrue();
+            assertThat(enrollmentService.findNextIncompleteLessonId(student.getId(), course.getId()))
+                    .contains(lesson2.getId());
+
+            mockMvc.perform(get("/api/v1/enrollments/courses/" + course.getId())
+                            .header("Authorization", "Bearer " + studentToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.completedLessons").value(1))
+                    .andExpect(jsonPath("$.totalLessons").value(2))
+                    .andExpect(jsonPath("$.progressPercentage").value(50));
+        }
+
+        @Test
+        @DisplayName("Devrait décompter une leçon complétée puis supprimée")
+        void shouldUncountDeletedCompletedLesson() throws Exception {
+            courseStatsService.recompute(course.getId());
+            mockMvc.perform(post(BASE_URL + "/lessons/" + lesson1.getId() + "/complete")
+                            .header("Authorization", "Bearer " + studentToken))
+                    .andExpect(status().isOk());
+
+            lessonService.delete(lesson1.getId());
+
+            Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(student.getId(), course.getId())
+                    .orElseThrow();
+            assertThat(enrollment.getCompletedLessons()).isZero();
+            assertThat(progressRepository.findByUserIdAndLessonId(student.getId(), lesson1.getId())).isEmpty();
+            mockMvc.perform(get("/api/v1/enrollments/courses/" + course.getId())
+                            .header("Authorization", "Bearer " + studentToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.completedLessons").value(0))
+                    .andExpect(jsonPath("$.totalLessons").value(1));
+        }
+
+        @Test
+        @DisplayName("Devrait suivre la réorganisation des leçons après une complétion")
+        void shouldFollowReorderedLessons() throws Exception {
+            courseStatsService.recompute(course.getId());
+            mockMvc.perform(post(BASE_URL + "/lessons/" + lesson1.getId() + "/complete")
+                            .header("Authorization", "Bearer " + studentToken))
+                    .andExpect(status().isOk());
+
+            lessonService.reorder(lesson1.getSection().getId(), ReorderRequest.builder()
+                    .orderedIds(List.of(lesson2.getId(), lesson1.getId())).build());
+
+            // Bit 0 du bitmap stocke : lecon 1 avant la reorganisation, lecon 2 apres
+            assertThat(enrollmentService.findNextIncompleteLessonId(student.getId(), course.getId()))
+                    .contains(lesson2.getId());
+            mockMvc.perform(post(BASE_URL + "/lessons/" + lesson2.getId() + "/complete")
+                            .header("Authorization", "Bearer " + studentToken))
+                    .andExpect(status().isOk());
+
+            Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(student.getId(), course.getId())
+                    .orElseThrow();
+            assertThat(enrollment.getCompletedLessons()).isEqualTo(2);
+            assertThat(enrollment.getProgressPercentage()).isEqualTo(100);
+            assertThat(enrollmentService.findNextIncompleteLessonId(student.getId(), course.getId())).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/progress/batch")
+    class SyncBatchTests {
+
+        @Test
+        @DisplayName("Devrait appliquer un lot hors ligne et recompter l'inscription - 200")
+        void shouldApplyOfflineBatch() throws Exception {
+            courseStatsService.recompute(course.getId());
+            OffsetDateTime at = OffsetDateTime.now().minusMinutes(10);
+
+            ProgressBatchRequest request = ProgressBatchRequest.builder().items(List.of(
+                    ProgressBatchItemRequest.builder().lessonId(lesson1.getId()).lastPositionSeconds(30)
+                            .clientUpdatedAt(at).build(),
+                    ProgressBatchItemRequest.builder().lessonId(lesson1.getId()).completed(true)
+                            .watchTimeSeconds(600).lastPositionSeconds(600).clientUpdatedAt(at.plusMinutes(5)).build(),
+                    ProgressBatchItemRequest.builder().lessonId(lesson2.getId()).completed(true)
+                            .clientUpdatedAt(at.plusMinutes(6)).build())).build();
+
+            mockMvc.perform(post(BASE_URL + "/batch")
+                            .header("Authorization", "Bearer " + studentToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.applied").value(2))
+                    .andExpect(jsonPath("$.skipped").value(0))
+                    .andExpect(jsonPath("$.rejectedLessonIds", hasSize(0)));
+
+            Progress progress = progressRepository.findByUserIdAndLessonId(student.getId(), lesson1.getId())
+                    .orElseThrow();
+            assertThat(progress.getCompleted()).isTrue();
+            assertThat(progress.getLastPositionSeconds()).isEqualTo(600);
+            Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(student.getId(), course.getId())
+                    .orElseThrow();
+            assertThat(enrollment.getCompletedLessons()).isEqualTo(2);
+            assertThat(enrollment.getProgressPercentage()).isEqualTo(100);
+            assertThat(enrollment.getCompletedAt()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Devrait ignorer une progression plus ancienne que celle du serveur - 200")
+        void shouldSkipOlderThanServer() throws Exception {
+            ProgressRequest live = new ProgressRequest();
+            live.setLastPositionSeconds(300);
+            mockMvc.perform(put(BASE_URL + "/lessons/" + lesson1.getId())
+                            .header("Authorization", "Bearer " + studentToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(live)))
+                    .andExpect(status().isOk());
+
+            ProgressBatchRequest request = ProgressBatchRequest.builder().items(List.of(
+                    ProgressBatchItemRequest.builder().lessonId(lesson1.getId()).lastPositionSeconds(20)
+                            .clientUpdatedAt(OffsetDateTime.now().minusHours(2)).build())).build();
+
+            mockMvc.perform(post(BASE_URL + "/batch")
+                            .header("Authorization", "Bearer " + studentToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.applied").value(0))
+                    .andExpect(jsonPath("$.skipped").value(1));
+
+            assertThat(progressRepository.findByUserIdAndLessonId(student.getId(), lesson1.getId())
+                    .orElseThrow().getLastPositionSeconds()).isEqualTo(300);
+        }
+
+        @Test
+        @DisplayName("Devrait retourner 400 pour un lot vide")
+        void shouldReturn400WhenEmpty() throws Exception {
+            mockMvc.perform(post(BASE_URL + "/batch")
+                            .header("Authorization", "Bearer " + studentToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ProgressBatchRequest(List.of()))))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -0,0 +1,292 @@
+package com.sencours.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sencours.dto.request.ProgressBatchItemRequest;
+import com.sencours.dto.request.ProgressBatchRequest;
+import com.sencours.dto.request.ProgressRequest;
+import com.sencours.entity.*;
+import com.sencours.enums.LessonType;
+import com.sencours.enums.Role;
+import com.sencours.enums.Status;
+import com.sencours.repository.*;
+import com.sencours.service.JwtService;
+import com.sencours.service.ProgressHeartbeatService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Ecriture differee des battements : l'intervalle de vidange est long pour que le test la declenche lui-meme.
+ */
+@SpringBootTest(properties = {
+        "app.progress.write-behind.enabled=true",
+        "app.progress.write-behind.flush-interval=3600000"
+})
+@AutoConfigureMockMvc
+class ProgressWriteBehindIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ProgressHeartbeatService progressHeartbeatService;
+
+    private static final String BASE_URL = "/api/v1/progress";
+
+    private User student;
+    private Lesson lesson1;
+    private Lesson lesson2;
+    private String studentToken;
+
+    @BeforeEach
+    void setUp() {
+        progressHeartbeatService.flush();
+        reviewRepository.deleteAll();
+        progressRepository.deleteAll();
+        enrollmentRepository.deleteAll();
+        lessonRepository.deleteAll();
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        User instructor = createInstructor();
+        student = createStudent();
+        Category category = createCategory();
+        Course course = createCourse(instructor, category);
+        Section section = createSection(course);
+        lesson1 = createLesson(section, "Introduction", 1);
+        lesson2 = createLesson(section, "Chapitre 1", 2);
+        createEnrollment(student, course);
+        studentToken = jwtService.generateToken(student);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Les autres classes de test suppriment les lecons sans vider la progression
+        progressHeartbeatService.flush();
+        progressRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Devrait fusionner les battements et les écrire en une ligne à la vidange")
+    void shouldCoalesceHeartbeatsUntilFlush() throws Exception {
+        heartbeat(lesson1, 10, 5).andExpect(status().isOk());
+        heartbeat(lesson1, 20, 15).andExpect(status().isOk());
+        heartbeat(lesson1, 30, 25)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastPositionSeconds").value(25));
+
+        assertThat(progressRepository.count()).isZero();
+
+        // Le lecteur reprend a la position en attente
+        mockMvc.perform(get(BASE_URL + "/lessons/" + lesson1.getId())
+                        .header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.watchTimeSeconds").value(30))
+                .andExpect(jsonPath("$.lastPositionSeconds").value(25));
+
+        assertThat(progressHeartbeatService.flush()).isEqualTo(1);
+
+        Progress progress = progressRepository.findByUserIdAndLessonId(student.getId(), lesson1.getId()).orElseThrow();
+        assertThat(progress.getCompleted()).isFalse();
+        assertThat(progress.getWatchTimeSeconds()).isEqualTo(30);
+        assertThat(progress.getLastPositionSeconds()).isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("Devrait mettre à jour une ligne existante sans toucher à la complétion")
+    void shouldUpdateExistingRowOnFlush() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/lessons/" + lesson2.getId() + "/complete")
+                        .header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk());
+
+        heartbeat(lesson2, 600, 590).andExpect(status().isOk());
+        heartbeat(lesson1, 40, 35).andExpect(status().isOk());
+
+        assertThat(progressHeartbeatService.flush()).isEqualTo(2);
+
+        Progress completed = progressRepository.findByUserIdAndLessonId(student.getId(), lesson2.getId()).orElseThrow();
+        assertThat(completed.getCompleted()).isTrue();
+        assertThat(completed.getCompletedAt()).isNotNull();
+        assertThat(completed.getLastPositionSeconds()).isEqualTo(590);
+        assertThat(progressRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Une complétion devrait emporter le battement en attente")
+    void shouldWriteCompletionThroughWithPendingHeartbeat() throws Exception {
+        heartbeat(lesson1, 300, 280).andExpect(status().isOk());
+
+        ProgressRequest request = new ProgressRequest();
+        request.setCompleted(true);
+        mockMvc.perform(put(BASE_URL + "/lessons/" + lesson1.getId())
+                        .header("Authorization", "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.lastPositionSeconds").value(280));
+
+        assertThat(progressHeartbeatService.isPending(student.getId(), lesson1.getId())).isFalse();
+        assertThat(progressHeartbeatService.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("Une synchronisation hors ligne devrait emporter le battement en attente")
+    void shouldDropPendingHeartbeatOfSyncedLesson() throws Exception {
+        heartbeat(lesson1, 300, 280).andExpect(status().isOk());
+
+        ProgressBatchRequest request = ProgressBatchRequest.builder().items(List.of(
+                ProgressBatchItemRequest.builder().lessonId(lesson1.getId()).completed(true)
+                        .watchTimeSeconds(600).lastPositionSeconds(600)
+                        .clientUpdatedAt(OffsetDateTime.now()).build())).build();
+        mockMvc.perform(post(BASE_URL + "/batch")
+                        .header("Authorization", "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1));
+
+        assertThat(progressHeartbeatService.isPending(student.getId(), lesson1.getId())).isFalse();
+        assertThat(progressHeartbeatService.flush()).isZero();
+        Progress progress = progressRepository.findByUserIdAndLessonId(student.getId(), lesson1.getId()).orElseThrow();
+        assertThat(progress.getLastPositionSeconds()).isEqualTo(600);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser le battement d'une leçon payante sans inscription - 400")
+    void shouldRejectHeartbeatWhenNotEnrolled() throws Exception {
+        enrollmentRepository.deleteAll();
+
+        heartbeat(lesson1, 10, 5).andExpect(status().isBadRequest());
+
+        assertThat(progressHeartbeatService.isPending(student.getId(), lesson1.getId())).isFalse();
+    }
+
+    private ResultActions heartbeat(Lesson lesson, int watchTime, int position) throws Exception {
+        ProgressRequest request = new ProgressRequest();
+        request.setWatchTimeSeconds(watchTime);
+        request.setLastPositionSeconds(position);
+        return mockMvc.perform(put(BASE_URL + "/lessons/" + lesson.getId())
+                .header("Authorization", "Bearer " + studentToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private User createInstructor() {
+        User user = User.builder()
+                .firstName("Prof")
+                .lastName("Diop")
+                .email("prof@sencours.sn")
+                .password(passwordEncoder.encode("password123"))
+                .role(Role.INSTRUCTEUR)
+                .build();
+        return userRepository.save(user);
+    }
+
+    private User createStudent() {
+        User user = User.builder()
+                .firstName("Mamadou")
+                .lastName("Diallo")
+                .email("mamadou@sencours.sn")
+                .password(passwordEncoder.encode("password123"))
+                .role(Role.ETUDIANT)
+                .build();
+        return userRepository.save(user);
+    }
+
+    private Category createCategory() {
+        Category cat = new Category();
+        cat.setName("Développement Web");
+        cat.setDescription("Cours de développement web");
+        return categoryRepository.save(cat);
+    }
+
+    private Course createCourse(User instructor, Category category) {
+        Course c = new Course();
+        c.setTitle("Java pour débutants");
+        c.setDescription("Apprenez Java");
+        c.setPrice(new BigDecimal("25000"));
+        c.setStatus(Status.PUBLISHED);
+        c.setInstructor(instructor);
+        c.setCategory(category);
+        return courseRepository.save(c);
+    }
+
+    private Section createSection(Course course) {
+        Section s = new Section();
+        s.setTitle("Introduction");
+        s.setOrderIndex(1);
+        s.setCourse(course);
+        return sectionRepository.save(s);
+    }
+
+    private Lesson createLesson(Section section, String title, int orderIndex) {
+        Lesson l = new Lesson();
+        l.setTitle(title);
+        l.setType(LessonType.VIDEO);
+        l.setContent("https://video.url/" + title.toLowerCase());
+        l.setDuration(10);
+        l.setOrderIndex(orderIndex);
+        l.setIsFree(false);
+        l.setSection(section);
+        return lessonRepository.save(l);
+    }
+
+    private Enrollment createEnrollment(User student, Course course) {
+        Enrollment e = new Enrollment();
+        e.setUser(student);
+        e.setCourse(course);
+        return enrollmentRepository.save(e);
+    }
+}
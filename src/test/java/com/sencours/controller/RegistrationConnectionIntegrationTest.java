@@ -0,0 +1,82 @@
+package com.sencours.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sencours.dto.request.RegisterRequest;
+import com.sencours.repository.UserRepository;
+import com.sencours.service.PasswordHashingService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Le hachage BCrypt de l'inscription ne doit retenir aucune connexion du pool pendant qu'il attend ou calcule.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RegistrationConnectionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoSpyBean
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Devrait hacher le mot de passe sans transaction ni connexion ouverte")
+    void shouldHashWithoutHoldingConnection() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        AtomicInteger activeConnections = new AtomicInteger(-1);
+        AtomicBoolean transactionActive = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            activeConnections.set(pool.getHikariPoolMXBean().getActiveConnections());
+            transactionActive.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(passwordHashingService).hash(anyString());
+
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterRequest.builder()
+                                .firstName("Fatou")
+                                .lastName("Sow")
+                                .email("fatou@sencours.sn")
+                                .password("password123")
+                                .build())))
+                .andExpect(status().isCreated());
+
+        assertThat(activeConnections).hasValue(0);
+        assertThat(transactionActive).isFalse();
+        assertThat(userRepository.existsByEmail("fatou@sencours.sn")).isTrue();
+    }
+}
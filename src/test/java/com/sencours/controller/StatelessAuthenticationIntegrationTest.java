@@ -0,0 +1,177 @@
+package com.sencours.controller;
+
+import com.sencours.entity.InstructorApplication;
+import com.sencours.entity.User;
+import com.sencours.enums.ApplicationStatus;
+import com.sencours.enums.Role;
+import com.sencours.repository.*;
+import com.sencours.service.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Principal construit a partir des claims du jeton, invalide par la version de jeton de l'utilisateur.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatelessAuthenticationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InstructorApplicationRepository applicationRepository;
+
+    @Autowired
+    private SuspensionAppealRepository appealRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User student;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        progressRepository.deleteAll();
+        enrollmentRepository.deleteAll();
+        reviewRepository.deleteAll();
+        applicationRepository.deleteAll();
+        appealRepository.deleteAll();
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+
+        student = createUser("moussa@test.sn", Role.ETUDIANT);
+        admin = createUser("admin@sencours.sn", Role.ADMIN);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Devrait authentifier sans lire l'utilisateur en base")
+    void shouldAuthenticateWithoutLoadingUser() throws Exception {
+        String token = jwtService.generateToken(student);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/instructor-applications/check")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Seule la requete du service : existence d'une candidature en attente
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser l'ancien jeton d'un utilisateur suspendu")
+    void shouldRejectTokenAfterSuspension() throws Exception {
+        String studentToken = jwtService.generateToken(student);
+
+        mockMvc.perform(patch("/api/v1/admin/users/" + student.getId() + "/toggle-status")
+                        .header("Authorization", "Bearer " + jwtService.generateToken(admin)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/auth/me").header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isUnauthorized());
+
+        // Nouveau jeton a la reconnexion : le compte suspendu reste authentifie (contestation)
+        User suspended = userRepository.findById(student.getId()).orElseThrow();
+        mockMvc.perform(get("/api/v1/auth/me").header("Authorization", "Bearer " + jwtService.generateToken(suspended)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isActive").value(false));
+    }
+
+    @Test
+    @DisplayName("Devrait refuser l'ancien jeton après promotion en instructeur")
+    void shouldRejectTokenAfterRoleChange() throws Exception {
+        String studentToken = jwtService.generateToken(student);
+        InstructorApplication application = applicationRepository.save(InstructorApplication.builder()
+                .user(student)
+                .motivation("Je veux partager mes connaissances en développement web avec la communauté")
+                .status(ApplicationStatus.PENDING)
+                .build());
+
+        mockMvc.perform(put("/api/v1/admin/instructor-applications/" + application.getId() + "/review")
+                        .header("Authorization", "Bearer " + jwtService.generateToken(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"approved\":true,\"comment\":\"Bienvenue\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/auth/me").header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isUnauthorized());
+
+        User instructor = userRepository.findById(student.getId()).orElseThrow();
+        mockMvc.perform(get("/api/v1/auth/me").header("Authorization", "Bearer " + jwtService.generateToken(instructor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.role").value("INSTRUCTEUR"));
+    }
+
+    @Test
+    @DisplayName("Devrait accepter un jeton émis sans claims d'identité")
+    void shouldAcceptLegacyToken() throws Exception {
+        String legacyToken = jwtService.generateToken(org.springframework.security.core.userdetails.User
+                .withUsername(student.getEmail()).password("x").roles("ETUDIANT").build());
+
+        mockMvc.perform(get("/api/v1/auth/me").header("Authorization", "Bearer " + legacyToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(student.getEmail()));
+    }
+
+    private User createUser(String email, Role role) {
+        return userRepository.save(User.builder()
+                .firstName("Moussa")
+                .lastName("Diallo")
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .role(role)
+                .isActive(true)
+                .build());
+    }
+}
@@ -2,15 +2,19 @@ package com.sencours.entity;
 
 import com.sencours.enums.LessonType;
 import com.sencours.enums.Role;
+import com.sencours.progress.CompletionBitmap;
 import com.sencours.repository.*;
+import com.sencours.repository.projection.LessonPositionView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -39,6 +43,9 @@ class EnrollmentProgressEntityTest {
     @Autowired
     private LessonRepository lessonRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private User student;
     private Course course;
     private Enrollment enrollment;
@@ -209,4 +216,40 @@ class EnrollmentProgressEntityTest {
 
         assertThat(completedCount).isEqualTo(1L);
     }
+
+    @Test
+    @DisplayName("Should persist completion bitmap as binary column")
+    void shouldPersistCompletionBitmap() {
+        byte[] bytes = CompletionBitmap.of(List.of(0, 149, 299)).toBytes();
+        enrollment.setCompletionBitmap(bytes);
+        enrollment.setCompletionCurriculumVersion(1L);
+        Enrollment saved = enrollmentRepository.saveAndFlush(enrollment);
+        entityManager.clear();
+
+        Enrollment found = enrollmentRepository.findById(saved.getId()).orElseThrow();
+
+        assertThat(found.getCompletionBitmap()).isEqualTo(bytes);
+        assertThat(CompletionBitmap.fromBytes(found.getCompletionBitmap()).cardinality()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should list lesson positions in curriculum order")
+    void shouldListLessonPositionsInCurriculumOrder() {
+        Section intro = new Section();
+        intro.setTitle("Section 0");
+        intro.setOrderIndex(0);
+        intro.setCourse(course);
+        intro = sectionRepository.save(intro);
+
+        Lesson first = new Lesson();
+        first.setTitle("Lesson 0");
+        first.setType(LessonType.VIDEO);
+        first.setOrderIndex(5);
+        first.setSection(intro);
+        first = lessonRepository.save(first);
+
+        assertThat(lessonRepository.findPositionsByCourseIdInCurriculumOrder(course.getId()))
+                .extracting(LessonPositionView::getId)
+                .containsExactly(first.getId(), lesson.getId());
+    }
 }
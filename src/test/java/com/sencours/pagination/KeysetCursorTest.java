@@ -0,0 +1,100 @@
+package com.sencours.pagination;
+
+import com.sencours.dto.request.CursorPageRequest;
+import com.sencours.entity.Course;
+import com.sencours.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "createdAt");
+    private static final Set<String> SORTABLE = Set.of("id", "createdAt", "title", "price");
+
+    @Test
+    @DisplayName("Devrait commencer au debut de la liste sans curseur")
+    void shouldStartWithoutCursor() {
+        ScrollPosition position = KeysetCursor.position(request(""), Course.class, SORTABLE);
+
+        assertThat(position.isInitial()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Devrait restituer les cles de tri avec leur type")
+    void shouldRoundTripTypedKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", LocalDateTime.of(2026, 3, 14, 9, 30, 15));
+        keys.put("price", new BigDecimal("25000.00"));
+        keys.put("id", 42L);
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(keys), SORT);
+
+        KeysetScrollPosition position = (KeysetScrollPosition) KeysetCursor.position(request(cursor), Course.class, SORTABLE);
+
+        assertThat(position.getKeys()).isEqualTo(keys);
+        assertThat(cursor).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    @DisplayName("Devrait refuser un curseur emis pour un autre tri")
+    void shouldRejectCursorForAnotherSort() {
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(Map.of("id", 42L)), Sort.by("id"));
+
+        assertThatThrownBy(() -> KeysetCursor.position(request(cursor), Course.class, SORTABLE))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser un tri sur une association")
+    void shouldRejectUnsupportedSort() {
+        CursorPageRequest request = CursorPageRequest.builder().size(10).sort(Sort.by("instructor")).build();
+
+        assertThatThrownBy(() -> KeysetCursor.position(request, Course.class, SORTABLE))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("instructor");
+    }
+
+    @Test
+    @DisplayName("Devrait refuser un champ simple absent des tris autorisés")
+    void shouldRejectFieldOutsideWhitelist() {
+        CursorPageRequest request = CursorPageRequest.builder().size(10).sort(Sort.by("description")).build();
+
+        assertThatThrownBy(() -> KeysetCursor.position(request, Course.class, SORTABLE))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("description");
+    }
+
+    @Test
+    @DisplayName("Devrait refuser une clé de curseur absente des tris autorisés")
+    void shouldRejectCursorKeyOutsideWhitelist() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("thumbnailUrl", "a.png");
+        keys.put("id", 42L);
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(keys), SORT);
+
+        assertThatThrownBy(() -> KeysetCursor.position(request(cursor), Course.class, SORTABLE))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser un curseur illisible")
+    void shouldRejectGarbage() {
+        assertThatThrownBy(() -> KeysetCursor.position(request("%%%"), Course.class, SORTABLE))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static CursorPageRequest request(String cursor) {
+        return CursorPageRequest.builder().cursor(cursor).size(10).sort(SORT).build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.sencours.progress;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionBitmapTest {
+
+    private static final int LESSON_COUNT = 4;
+
+    @Test
+    @DisplayName("Devrait placer chaque leçon terminée à sa position dans le curriculum")
+    void shouldMapLessonsToCurriculumPositions() {
+        CompletionBitmap bitmap = CompletionBitmap.of(List.of(3, 0));
+
+        assertThat(bitmap.isCompleted(0)).isTrue();
+        assertThat(bitmap.isCompleted(1)).isFalse();
+        assertThat(bitmap.isCompleted(3)).isTrue();
+        assertThat(bitmap.cardinality()).isEqualTo(2);
+        assertThat(bitmap.percentageOf(LESSON_COUNT)).isEqualTo(50);
+        assertThat(bitmap.nextIncomplete(LESSON_COUNT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Devrait survivre à l'aller-retour en octets")
+    void shouldRoundTripThroughBytes() {
+        CompletionBitmap bitmap = CompletionBitmap.of(List.of(0, 63, 64, 299));
+
+        byte[] bytes = bitmap.toBytes();
+        CompletionBitmap restored = CompletionBitmap.fromBytes(bytes);
+
+        assertThat(bytes).hasSize(38);
+        assertThat(restored.cardinality()).isEqualTo(4);
+        assertThat(restored.isCompleted(299)).isTrue();
+        assertThat(restored.isCompleted(298)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Devrait signaler un curriculum entièrement terminé")
+    void shouldReportNoNextLessonWhenAllCompleted() {
+        CompletionBitmap bitmap = CompletionBitmap.fromBytes(null);
+        for (int position = 0; position < LESSON_COUNT; position++) {
+            bitmap.set(position, true);
+        }
+
+        assertThat(bitmap.nextIncomplete(LESSON_COUNT)).isEqualTo(-1);
+        assertThat(bitmap.percentageOf(LESSON_COUNT)).isEqualTo(100);
+
+        bitmap.set(2, false);
+        assertThat(bitmap.nextIncomplete(LESSON_COUNT)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Devrait retourner 0% pour un cours sans leçon")
+    void shouldReturnZeroPercentWithoutLessons() {
+        assertThat(CompletionBitmap.fromBytes(null).percentageOf(0)).isZero();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sencours.progress;
+
+import com.sencours.progress.HeartbeatBuffer.Heartbeat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeartbeatBufferTest {
+
+    private HeartbeatBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new HeartbeatBuffer();
+    }
+
+    @Test
+    @DisplayName("Devrait fusionner les battements d'une même leçon")
+    void shouldCoalescePerUserAndLesson() {
+        buffer.offer(new Heartbeat(1L, 10L, 5, 5));
+        buffer.offer(new Heartbeat(1L, 10L, 10, 8));
+        buffer.offer(new Heartbeat(1L, 10L, null, 12));
+        buffer.offer(new Heartbeat(2L, 10L, 3, 3));
+
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(buffer.get(1L, 10L)).contains(new Heartbeat(1L, 10L, 10, 12));
+    }
+
+    @Test
+    @DisplayName("Devrait vider le tampon en une fois")
+    void shouldDrainEverything() {
+        buffer.offer(new Heartbeat(1L, 10L, 5, 5));
+        buffer.offer(new Heartbeat(1L, 11L, 7, 7));
+
+        List<Heartbeat> drained = buffer.drain();
+
+        assertThat(drained).hasSize(2);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.contains(1L, 10L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Devrait retirer le battement emporté par une complétion")
+    void shouldTakePendingHeartbeat() {
+        buffer.offer(new Heartbeat(1L, 10L, 5, 5));
+
+        assertThat(buffer.take(1L, 10L)).isPresent();
+        assertThat(buffer.take(1L, 10L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Une remise en attente ne devrait pas écraser un battement plus récent")
+    void shouldRestoreWithoutOverwritingNewer() {
+        buffer.offer(new Heartbeat(1L, 10L, 5, 5));
+        List<Heartbeat> failed = buffer.drain();
+        buffer.offer(new Heartbeat(1L, 10L, 20, 20));
+        failed.add(new Heartbeat(1L, 11L, 7, 7));
+
+        buffer.restore(failed);
+
+        assertThat(buffer.get(1L, 10L)).contains(new Heartbeat(1L, 10L, 20, 20));
+        assertThat(buffer.get(1L, 11L)).isPresent();
+    }
+}
@@ -0,0 +1,78 @@
+package com.sencours.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Les tests d'integration executent la variante H2 : la variante PostgreSQL doit lier les memes parametres
+ * dans le meme ordre et lire les memes colonnes.
+ */
+class ProgressUpsertStatementsTest {
+
+    private final ProgressUpsertStatements postgres = new PostgresProgressUpsertStatements();
+    private final ProgressUpsertStatements h2 = new H2ProgressUpsertStatements();
+
+    @Test
+    @DisplayName("Devrait lier autant de paramètres que la variante H2")
+    void shouldBindSameParameterCount() {
+        assertSameParameterCount(ProgressUpsertStatements::upsertPosition, 5);
+        assertSameParameterCount(ProgressUpsertStatements::upsertCompleted, 6);
+        assertSameParameterCount(ProgressUpsertStatements::upsertSynced, 7);
+    }
+
+    @Test
+    @DisplayName("Devrait résoudre les conflits sur la contrainte unique (user_id, lesson_id)")
+    void shouldUpsertOnUniqueConstraint() {
+        for (String sql : new String[]{postgres.upsertPosition(), postgres.upsertCompleted(), postgres.upsertSynced()}) {
+            assertThat(sql).contains("ON CONFLICT (user_id, lesson_id) DO UPDATE SET");
+        }
+        assertThat(postgres.retryOnConflict()).isFalse();
+    }
+
+    @Test
+    @DisplayName("La synchronisation ne devrait remplacer qu'une ligne plus ancienne")
+    void shouldGuardSyncedRowsOnUpdatedAt() {
+        assertThat(postgres.upsertSynced())
+                .contains("WHERE progress.updated_at IS NULL OR progress.updated_at < EXCLUDED.updated_at");
+    }
+
+    @Test
+    @DisplayName("Une complétion ne devrait pas remplacer la date d'une ligne déjà terminée")
+    void shouldKeepCompletedAtOfCompletedRow() {
+        assertThat(postgres.upsertCompleted())
+                .contains("CASE WHEN progress.completed THEN progress.completed_at ELSE EXCLUDED.completed_at END");
+    }
+
+    @Test
+    @DisplayName("Devrait lire la ligne écrite par RETURNING sans changer les paramètres")
+    void shouldReturnWrittenRow() {
+        String sql = postgres.returning(postgres.upsertCompleted());
+
+        assertThat(sql).startsWith(postgres.upsertCompleted().stripTrailing())
+                .endsWith("RETURNING id, completed, completed_at, watch_time_seconds, last_position_seconds");
+        assertThat(placeholders(sql)).isEqualTo(placeholders(postgres.upsertCompleted()));
+    }
+
+    @Test
+    @DisplayName("Devrait choisir la variante d'après le nom de la base JDBC")
+    void shouldSelectVariantFromDatabaseProduct() {
+        assertThat(ProgressUpsertStatements.forDatabase("PostgreSQL")).isInstanceOf(PostgresProgressUpsertStatements.class);
+        assertThat(ProgressUpsertStatements.forDatabase("H2")).isInstanceOf(H2ProgressUpsertStatements.class);
+        assertThatThrownBy(() -> ProgressUpsertStatements.forDatabase("MySQL"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void assertSameParameterCount(Function<ProgressUpsertStatements, String> statement, int expected) {
+        assertThat(placeholders(statement.apply(postgres))).isEqualTo(expected);
+        assertThat(placeholders(statement.apply(h2))).isEqualTo(expected);
+    }
+
+    private static long placeholders(String sql) {
+        return sql.chars().filter(c -> c == '?').count();
+    }
+}
@@ -0,0 +1,128 @@
+package com.sencours.search;
+
+import com.sencours.dto.request.CourseSearchRequest;
+import com.sencours.dto.response.FacetCountResponse;
+import com.sencours.dto.response.SearchFacetsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogFacetIndexTest {
+
+    private CatalogFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogFacetIndex();
+        index.replaceAll(List.of(
+                document(1L, 1L, "Développement Web", "0", 4.8),
+                document(2L, 2L, "Data Science", "15000", 3.2),
+                document(3L, 1L, "Développement Web", "25000", 4.1),
+                document(4L, 1L, "Développement Web", "60000", null)));
+    }
+
+    @Test
+    @DisplayName("Devrait compter tout le catalogue sans texte ni filtre")
+    void shouldCountWholeCatalog() {
+        SearchFacetsResponse facets = index.count(null, new CourseSearchRequest());
+
+        assertThat(counts(facets.getCategories())).containsEntry("1", 3L).containsEntry("2", 1L);
+        assertThat(facets.getCategories().get(0).getLabel()).isEqualTo("Développement Web");
+        assertThat(counts(facets.getPrices()))
+                .containsEntry("free", 1L)
+                .containsEntry("paid", 3L)
+                .containsEntry("10000-25000", 1L)
+                .containsEntry("25000-50000", 1L)
+                .containsEntry("50000+", 1L);
+        assertThat(counts(facets.getRatings()))
+                .containsEntry("4.5", 1L)
+                .containsEntry("4.0", 2L)
+                .containsEntry("3.0", 3L);
+    }
+
+    @Test
+    @DisplayName("Devrait limiter les comptes aux candidats de la recherche")
+    void shouldRestrictToCandidates() {
+        SearchFacetsResponse facets = index.count(List.of(2L, 3L), new CourseSearchRequest());
+
+        assertThat(counts(facets.getCategories())).containsEntry("1", 1L).containsEntry("2", 1L);
+        assertThat(counts(facets.getPrices())).containsEntry("free", 0L).containsEntry("paid", 2L);
+    }
+
+    @Test
+    @DisplayName("Chaque facette devrait ignorer son propre filtre")
+    void shouldIgnoreOwnFilter() {
+        CourseSearchRequest request = new CourseSearchRequest();
+        request.setCategoryId(1L);
+        request.setFree(false);
+
+        SearchFacetsResponse facets = index.count(null, request);
+
+        // Catégories : filtre prix seulement
+        assertThat(counts(facets.getCategories())).containsEntry("1", 2L).containsEntry("2", 1L);
+        // Prix : filtre catégorie seulement
+        assertThat(counts(facets.getPrices())).containsEntry("free", 1L).containsEntry("paid", 2L);
+        // Notes : les deux filtres
+        assertThat(counts(facets.getRatings())).containsEntry("4.0", 1L).containsEntry("3.0", 1L);
+    }
+
+    @Test
+    @DisplayName("Devrait appliquer les bornes de prix libres")
+    void shouldApplyPriceBounds() {
+        CourseSearchRequest request = new CourseSearchRequest();
+        request.setMinPrice(10000.0);
+        request.setMaxPrice(30000.0);
+
+        assertThat(counts(index.count(null, request).getCategories()))
+                .containsEntry("1", 1L).containsEntry("2", 1L);
+    }
+
+    @Test
+    @DisplayName("Devrait retirer un cours de toutes ses facettes")
+    void shouldRemoveCourse() {
+        index.remove(2L);
+        index.upsert(document(5L, 1L, "Développement Web", "0", 5.0));
+
+        SearchFacetsResponse facets = index.count(null, new CourseSearchRequest());
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(counts(facets.getCategories())).containsOnlyKeys("1").containsEntry("1", 4L);
+        assertThat(counts(facets.getPrices())).containsEntry("free", 2L);
+        assertThat(counts(facets.getRatings())).containsEntry("4.5", 2L);
+    }
+
+    @Test
+    @DisplayName("Devrait renommer une catégorie sans toucher aux comptes")
+    void shouldRenameCategory() {
+        index.renameCategory(1L, "Web");
+        index.renameCategory(99L, "Inconnue");
+
+        SearchFacetsResponse facets = index.count(null, new CourseSearchRequest());
+
+        assertThat(facets.getCategories()).extracting(FacetCountResponse::getLabel)
+                .containsExactly("Web", "Data Science");
+        assertThat(counts(facets.getCategories())).containsOnlyKeys("1", "2").containsEntry("1", 3L);
+    }
+
+    private static Map<String, Long> counts(List<FacetCountResponse> facets) {
+        return facets.stream().collect(Collectors.toMap(FacetCountResponse::getValue, FacetCountResponse::getCount));
+    }
+
+    private static CourseDocument document(Long id, Long categoryId, String category, String price, Double rating) {
+        return CourseDocument.builder()
+                .id(id)
+                .title("Cours " + id)
+                .categoryId(categoryId)
+                .categoryName(category)
+                .price(new BigDecimal(price))
+                .averageRating(rating)
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.sencours.search;
+
+import com.sencours.dto.request.CourseSearchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSearchIndexTest {
+
+    private CatalogSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogSearchIndex();
+        index.upsert(document(1L, "Java pour débutants", "Les bases du langage Java",
+                "Développement Web", 1L, "0", 1));
+        index.upsert(document(2L, "Python avancé", "Programmation Python et données",
+                "Data Science", 2L, "15000", 2));
+        index.upsert(document(3L, "Spring Boot", "Créer des API REST en Java avec Spring",
+                "Développement Web", 1L, "25000", 3));
+    }
+
+    @Nested
+    @DisplayName("Analyse du texte")
+    class AnalyzerTests {
+
+        @Test
+        @DisplayName("Devrait retirer les accents, les mots vides et les pluriels")
+        void shouldFoldAndStem() {
+            assertThat(FrenchTextAnalyzer.analyze("Les Débutants en Développement"))
+                    .containsExactly("debutant", "developpement");
+            assertThat(FrenchTextAnalyzer.analyze("avancée")).isEqualTo(FrenchTextAnalyzer.analyze("avancés"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Recherche")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Devrait trouver un cours sans tenir compte des accents ni du pluriel")
+        void shouldMatchWithoutAccents() {
+            Page<Long> result = index.search(query("debutant"), PageRequest.of(0, 10));
+
+            assertThat(result.getContent()).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Devrait classer le titre avant la description")
+        void shouldRankTitleMatchesFirst() {
+            Page<Long> result = index.search(query("java"), PageRequest.of(0, 10));
+
+            assertThat(result.getContent()).containsExactly(1L, 3L);
+        }
+
+        @Test
+        @DisplayName("Devrait exiger tous les termes et compléter le dernier comme préfixe")
+        void shouldRequireAllTermsWithPrefixOnLast() {
+            assertThat(index.search(query("java spri"), PageRequest.of(0, 10)).getContent())
+                    .containsExactly(3L);
+            assertThat(index.search(query("java ruby"), PageRequest.of(0, 10)).getContent())
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("Devrait chercher dans la catégorie et le nom de l'instructeur")
+        void shouldSearchCategoryAndInstructor() {
+            assertThat(index.search(query("data science"), PageRequest.of(0, 10)).getContent())
+                    .containsExactly(2L);
+            assertThat(index.search(query("Diop 2"), PageRequest.of(0, 10)).getContent())
+                    .containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Devrait appliquer les filtres de catégorie et de prix")
+        void shouldApplyFilters() {
+            CourseSearchRequest request = query(null);
+            request.setCategoryId(1L);
+            request.setFree(false);
+
+            assertThat(index.search(request, PageRequest.of(0, 10)).getContent()).containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Devrait trier par prix si demandé et paginer")
+        void shouldSortAndPaginate() {
+            Page<Long> result = index.search(query(""),
+                    PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "price")));
+
+            assertThat(result.getContent()).containsExactly(1L);
+            assertThat(result.getTotalElements()).isEqualTo(3);
+            assertThat(result.getTotalPages()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Mises à jour incrémentales")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Devrait remplacer les termes d'un cours modifié")
+        void shouldReplaceTermsOnUpsert() {
+            index.upsert(document(1L, "Kotlin pour débutants", "Les bases", "Développement Web", 1L, "0", 1));
+
+            assertThat(index.search(query("java"), PageRequest.of(0, 10)).getContent()).containsExactly(3L);
+            assertThat(index.search(query("kotlin"), PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Devrait retirer un cours archivé ou supprimé")
+        void shouldRemoveDocument() {
+            index.remove(3L);
+
+            assertThat(index.size()).isEqualTo(2);
+            assertThat(index.search(query("spring"), PageRequest.of(0, 10)).getContent()).isEmpty();
+        }
+    }
+
+    private static CourseSearchRequest query(String text) {
+        CourseSearchRequest request = new CourseSearchRequest();
+        request.setQuery(text);
+        return request;
+    }
+
+    private static CourseDocument document(Long id, String title, String description, String category,
+                                           Long categoryId, String price, int day) {
+        return CourseDocument.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .categoryName(category)
+                .categoryId(categoryId)
+                .instructorName("Prof Diop " + id)
+                .price(new BigDecimal(price))
+                .createdAt(LocalDateTime.of(2025, 1, day, 10, 0))
+                .build();
+    }
+}
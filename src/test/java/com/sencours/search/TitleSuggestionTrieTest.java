@@ -0,0 +1,93 @@
+package com.sencours.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitleSuggestionTrieTest {
+
+    private TitleSuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new TitleSuggestionTrie();
+        trie.replaceAll(List.of(
+                new TitleSuggestionTrie.Suggestion(1L, "Java pour débutants", 10),
+                new TitleSuggestionTrie.Suggestion(2L, "JavaScript moderne", 50),
+                new TitleSuggestionTrie.Suggestion(3L, "Spring Boot et Java", 30),
+                new TitleSuggestionTrie.Suggestion(4L, "Python avancé", 5)));
+    }
+
+    @Nested
+    @DisplayName("Suggestions")
+    class SuggestTests {
+
+        @Test
+        @DisplayName("Devrait classer par nombre d'inscrits")
+        void shouldRankByWeight() {
+            assertThat(trie.suggest("jav", 5))
+                    .containsExactly("JavaScript moderne", "Spring Boot et Java", "Java pour débutants");
+        }
+
+        @Test
+        @DisplayName("Devrait compléter un mot au milieu du titre, sans tenir compte des accents")
+        void shouldMatchInnerWordsWithoutAccents() {
+            assertThat(trie.suggest("DEBUT", 5)).containsExactly("Java pour débutants");
+            assertThat(trie.suggest("boot et", 5)).containsExactly("Spring Boot et Java");
+        }
+
+        @Test
+        @DisplayName("Devrait respecter la limite et ignorer un préfixe inconnu")
+        void shouldRespectLimit() {
+            assertThat(trie.suggest("java", 2)).containsExactly("JavaScript moderne", "Spring Boot et Java");
+            assertThat(trie.suggest("ruby", 5)).isEmpty();
+            assertThat(trie.suggest("  ", 5)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Devrait dédoublonner les titres identiques")
+        void shouldDeduplicateTitles() {
+            trie.put(5L, "Python avancé", 1);
+
+            assertThat(trie.suggest("python", 5)).containsExactly("Python avancé");
+        }
+    }
+
+    @Nested
+    @DisplayName("Mises à jour incrémentales")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Devrait remonter un cours dont le poids augmente")
+        void shouldReorderOnWeightChange() {
+            trie.adjustWeight(1L, 100);
+
+            assertThat(trie.suggest("jav", 1)).containsExactly("Java pour débutants");
+        }
+
+        @Test
+        @DisplayName("Devrait remplacer le titre d'un cours modifié")
+        void shouldReplaceTitleOnPut() {
+            trie.put(1L, "Kotlin pour débutants", 10);
+
+            assertThat(trie.suggest("kot", 5)).containsExactly("Kotlin pour débutants");
+            assertThat(trie.suggest("java", 5)).containsExactly("JavaScript moderne", "Spring Boot et Java");
+            assertThat(trie.size()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Devrait retirer un cours et conserver les autres branches")
+        void shouldRemoveCourse() {
+            trie.remove(2L);
+
+            assertThat(trie.suggest("javas", 5)).isEmpty();
+            assertThat(trie.suggest("java", 5)).containsExactly("Spring Boot et Java", "Java pour débutants");
+            assertThat(trie.size()).isEqualTo(3);
+        }
+    }
+}
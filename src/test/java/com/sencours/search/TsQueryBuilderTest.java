@@ -0,0 +1,30 @@
+package com.sencours.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TsQueryBuilderTest {
+
+    @Test
+    @DisplayName("Devrait exiger tous les mots et compléter le dernier comme préfixe")
+    void shouldJoinWordsWithPrefixOnLast() {
+        assertThat(TsQueryBuilder.build("Spring  Boo", true)).isEqualTo("spring & boo:*");
+    }
+
+    @Test
+    @DisplayName("Devrait retirer les accents seulement si la base les ignore")
+    void shouldFoldAccentsOnDemand() {
+        assertThat(TsQueryBuilder.build("Débutants", true)).isEqualTo("debutants:*");
+        assertThat(TsQueryBuilder.build("Débutants", false)).isEqualTo("débutants:*");
+    }
+
+    @Test
+    @DisplayName("Devrait neutraliser les opérateurs tsquery")
+    void shouldStripOperators() {
+        assertThat(TsQueryBuilder.build("java & !python | (sql):*", true)).isEqualTo("java & python & sql:*");
+        assertThat(TsQueryBuilder.build(" &|! ", true)).isEmpty();
+        assertThat(TsQueryBuilder.build(null, true)).isEmpty();
+    }
+}
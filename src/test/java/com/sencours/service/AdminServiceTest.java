@@ -37,6 +37,9 @@ class AdminServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
@@ -117,6 +120,7 @@ class AdminServiceTest {
             assertThat(result).isNotNull();
             assertThat(etudiant.getIsActive()).isFalse();
             verify(userRepository).save(etudiant);
+            verify(tokenVersionService).invalidate(etudiant);
         }
 
         @Test
@@ -261,6 +265,7 @@ class AdminServiceTest {
             assertThat(etudiant.getIsActive()).isFalse();
             verify(userRepository).save(etudiant);
             verify(userRepository, never()).delete(any());
+            verify(tokenVersionService).invalidate(etudiant);
         }
 
         @Test
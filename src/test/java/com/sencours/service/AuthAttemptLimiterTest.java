@@ -0,0 +1,54 @@
+package com.sencours.service;
+
+import com.sencours.exception.TooManyRequestsException;
+import com.sencours.service.impl.AuthAttemptLimiterImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthAttemptLimiterTest {
+
+    // 3 tentatives par email et 5 par IP sur une heure : aucun changement de fenetre pendant le test
+    private final AuthAttemptLimiter limiter = new AuthAttemptLimiterImpl(3, 3600, 5, 3600, 1000);
+
+    @Test
+    @DisplayName("Devrait bloquer un email après le nombre maximal de tentatives")
+    void shouldBlockEmailAfterMaxAttempts() {
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLogin("moussa@test.sn", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> limiter.checkLogin("Moussa@Test.sn", "10.0.0.9"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isPositive());
+        assertThatCode(() -> limiter.checkLogin("awa@test.sn", "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Devrait bloquer une adresse IP qui essaie plusieurs comptes")
+    void shouldBlockIpAcrossEmails() {
+        for (int i = 0; i < 5; i++) {
+            limiter.checkLogin("user" + i + "@test.sn", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> limiter.checkLogin("autre@test.sn", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatThrownBy(() -> limiter.checkRegistration("10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("Devrait remettre le compteur de l'email à zéro après une connexion réussie")
+    void shouldResetEmailAfterSuccess() {
+        limiter.checkLogin("moussa@test.sn", "10.0.0.1");
+        limiter.checkLogin("moussa@test.sn", "10.0.0.2");
+        limiter.onLoginSuccess("moussa@test.sn");
+
+        limiter.checkLogin("moussa@test.sn", "10.0.0.3");
+        limiter.checkLogin("moussa@test.sn", "10.0.0.4");
+        assertThatCode(() -> limiter.checkLogin("moussa@test.sn", "10.0.0.5")).doesNotThrowAnyException();
+    }
+}
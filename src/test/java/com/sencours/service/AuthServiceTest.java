@@ -8,6 +8,7 @@ import com.sencours.enums.Role;
 import com.sencours.exception.AccountDeletedException;
 import com.sencours.exception.EmailAlreadyExistsException;
 import com.sencours.exception.InvalidCredentialsException;
+import com.sencours.exception.TooManyRequestsException;
 import com.sencours.repository.UserRepository;
 import com.sencours.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,8 +19,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -35,8 +37,13 @@ class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    private static final String CLIENT_IP = "196.207.0.1";
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private AuthAttemptLimiter authAttemptLimiter;
 
     @Mock
     private JwtService jwtService;
@@ -44,6 +51,18 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private AccessTokenRevocationService accessTokenRevocationService;
+
+    @Mock
+    private JwtVerifier jwtVerifier;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -83,11 +102,11 @@ class AuthServiceTest {
         @DisplayName("Devrait enregistrer un utilisateur avec succès")
         void shouldRegisterUserSuccessfully() {
             when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
-            when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("encodedPassword");
+            when(passwordHashingService.hash(registerRequest.getPassword())).thenReturn("encodedPassword");
             when(userRepository.save(any(User.class))).thenReturn(user);
             when(jwtService.generateToken(any(User.class))).thenReturn("jwt.token.here");
 
-            AuthResponse result = authService.register(registerRequest);
+            AuthResponse result = authService.register(registerRequest, CLIENT_IP);
 
             assertThat(result).isNotNull();
             assertThat(result.getToken()).isEqualTo("jwt.token.here");
@@ -105,35 +124,49 @@ class AuthServiceTest {
         void shouldThrowExceptionWhenEmailExists() {
             when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(true);
 
-            assertThatThrownBy(() -> authService.register(registerRequest))
+            assertThatThrownBy(() -> authService.register(registerRequest, CLIENT_IP))
                     .isInstanceOf(EmailAlreadyExistsException.class)
                     .hasMessageContaining(registerRequest.getEmail());
 
             verify(userRepository, never()).save(any(User.class));
         }
 
+        @Test
+        @DisplayName("Devrait lever une exception si l'email est inséré entre la vérification et l'enregistrement")
+        void shouldThrowExceptionWhenEmailInsertedConcurrently() {
+            when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
+            when(passwordHashingService.hash(registerRequest.getPassword())).thenReturn("encodedPassword");
+            when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("uk_users_email"));
+
+            assertThatThrownBy(() -> authService.register(registerRequest, CLIENT_IP))
+                    .isInstanceOf(EmailAlreadyExistsException.class)
+                    .hasMessageContaining(registerRequest.getEmail());
+
+            verify(refreshTokenService, never()).issue(any());
+        }
+
         @Test
         @DisplayName("Devrait encoder le mot de passe lors de l'inscription")
         void shouldEncodePasswordOnRegister() {
             when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
-            when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+            when(passwordHashingService.hash("password123")).thenReturn("encodedPassword");
             when(userRepository.save(any(User.class))).thenReturn(user);
             when(jwtService.generateToken(any(User.class))).thenReturn("jwt.token.here");
 
-            authService.register(registerRequest);
+            authService.register(registerRequest, CLIENT_IP);
 
-            verify(passwordEncoder).encode("password123");
+            verify(passwordHashingService).hash("password123");
         }
 
         @Test
         @DisplayName("Devrait créer un utilisateur avec le rôle ETUDIANT par défaut")
         void shouldCreateUserWithStudentRoleByDefault() {
             when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
-            when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("encodedPassword");
+            when(passwordHashingService.hash(registerRequest.getPassword())).thenReturn("encodedPassword");
             when(userRepository.save(any(User.class))).thenReturn(user);
             when(jwtService.generateToken(any(User.class))).thenReturn("jwt.token.here");
 
-            AuthResponse result = authService.register(registerRequest);
+            AuthResponse result = authService.register(registerRequest, CLIENT_IP);
 
             assertThat(result.getRole()).isEqualTo(Role.ETUDIANT);
         }
@@ -147,33 +180,62 @@ class AuthServiceTest {
         @DisplayName("Devrait connecter un utilisateur avec succès")
         void shouldLoginUserSuccessfully() {
             when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
-            when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+            when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
             when(jwtService.generateToken(user)).thenReturn("jwt.token.here");
+            when(refreshTokenService.issue(1L)).thenReturn("refresh.token");
 
-            AuthResponse result = authService.login(loginRequest);
+            AuthResponse result = authService.login(loginRequest, CLIENT_IP);
 
             assertThat(result).isNotNull();
             assertThat(result.getToken()).isEqualTo("jwt.token.here");
+            assertThat(result.getRefreshToken()).isEqualTo("refresh.token");
             assertThat(result.getUserId()).isEqualTo(1L);
             assertThat(result.getEmail()).isEqualTo("mohamed@sencours.sn");
+            verify(authAttemptLimiter).onLoginSuccess("mohamed@sencours.sn");
         }
 
         @Test
         @DisplayName("Devrait lever une exception si le mot de passe est invalide")
         void shouldThrowExceptionWhenPasswordInvalid() {
             when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
-            when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(false);
+            when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(false);
 
-            assertThatThrownBy(() -> authService.login(loginRequest))
+            assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
                     .isInstanceOf(InvalidCredentialsException.class);
         }
 
+        @Test
+        @DisplayName("Devrait re-hacher le mot de passe au coût courant après une connexion réussie")
+        void shouldRehashPasswordOnLogin() {
+            when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
+            when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
+            when(passwordHashingService.rehashIfNeeded("password123", "encodedPassword"))
+                    .thenReturn(Optional.of("rehashedPassword"));
+            when(jwtService.generateToken(user)).thenReturn("jwt.token.here");
+
+            authService.login(loginRequest, CLIENT_IP);
+
+            verify(userRepository).updatePasswordHash(1L, "encodedPassword", "rehashedPassword");
+        }
+
+        @Test
+        @DisplayName("Devrait refuser la connexion au-delà de la limite sans vérifier le mot de passe")
+        void shouldRejectLoginWhenLimitReached() {
+            doThrow(new TooManyRequestsException("Trop de tentatives, veuillez réessayer plus tard", 60))
+                    .when(authAttemptLimiter).checkLogin("mohamed@sencours.sn", CLIENT_IP);
+
+            assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
+                    .isInstanceOf(TooManyRequestsException.class);
+
+            verifyNoInteractions(userRepository, passwordHashingService);
+        }
+
         @Test
         @DisplayName("Devrait lever une exception si l'email n'existe pas")
         void shouldThrowExceptionWhenEmailNotFound() {
             when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> authService.login(loginRequest))
+            assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
                     .isInstanceOf(InvalidCredentialsException.class);
         }
 
@@ -183,7 +245,7 @@ class AuthServiceTest {
             user.setDeletedAt(LocalDateTime.of(2025, 1, 15, 10, 0));
             when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
 
-            assertThatThrownBy(() -> authService.login(loginRequest))
+            assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
                     .isInstanceOf(AccountDeletedException.class)
                     .hasMessageContaining("15/01/2025");
         }
@@ -193,10 +255,10 @@ class AuthServiceTest {
         void shouldLoginSuspendedUserWithToken() {
             user.setIsActive(false);
             when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
-            when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+            when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
             when(jwtService.generateToken(user)).thenReturn("jwt.token.here");
 
-            AuthResponse result = authService.login(loginRequest);
+            AuthResponse result = authService.login(loginRequest, CLIENT_IP);
 
             assertThat(result).isNotNull();
             assertThat(result.getToken()).isEqualTo("jwt.token.here");
@@ -204,6 +266,60 @@ class AuthServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests pour refresh()")
+    class RefreshTests {
+
+        @Test
+        @DisplayName("Devrait émettre un nouveau jeton d'accès et remplacer le jeton de rafraîchissement")
+        void shouldRotateRefreshToken() {
+            when(refreshTokenService.rotate("old.refresh")).thenReturn(new RefreshTokenService.Rotation(1L, "new.refresh"));
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+            when(jwtService.generateToken(user)).thenReturn("jwt.token.here");
+
+            AuthResponse result = authService.refresh("old.refresh");
+
+            assertThat(result.getToken()).isEqualTo("jwt.token.here");
+            assertThat(result.getRefreshToken()).isEqualTo("new.refresh");
+        }
+
+        @Test
+        @DisplayName("Devrait fermer les sessions d'un compte supprimé")
+        void shouldRejectDeletedAccount() {
+            user.setDeletedAt(LocalDateTime.now());
+            when(refreshTokenService.rotate("old.refresh")).thenReturn(new RefreshTokenService.Rotation(1L, "new.refresh"));
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+            assertThatThrownBy(() -> authService.refresh("old.refresh"))
+                    .isInstanceOf(InvalidCredentialsException.class);
+
+            verify(refreshTokenService).revokeAll(1L);
+            verify(jwtService, never()).generateToken(any(User.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests pour logout()")
+    class LogoutTests {
+
+        @Test
+        @DisplayName("Devrait ignorer un en-tête Authorization sans préfixe Bearer")
+        void shouldIgnoreNonBearerAuthorization() {
+            authService.logout("Basic bW9oYW1lZDpzZWNyZXQ=", "old.refresh");
+
+            verifyNoInteractions(jwtVerifier, accessTokenRevocationService);
+            verify(refreshTokenService).revoke("old.refresh");
+        }
+
+        @Test
+        @DisplayName("Devrait ignorer un en-tête Authorization plus court que le préfixe")
+        void shouldIgnoreTruncatedAuthorization() {
+            authService.logout("Bear", null);
+
+            verifyNoInteractions(jwtVerifier, accessTokenRevocationService, refreshTokenService);
+        }
+    }
+
     @Nested
     @DisplayName("Tests pour getCurrentUser()")
     class GetCurrentUserTests {
@@ -220,5 +336,16 @@ class AuthServiceTest {
             assertThat(result.getRole()).isEqualTo(Role.ETUDIANT);
             assertThat(result.getToken()).isNull();
         }
+
+        @Test
+        @DisplayName("Devrait charger l'utilisateur du jeton par email")
+        void shouldLoadCurrentUserByEmail() {
+            when(userRepository.findByEmail("mohamed@sencours.sn")).thenReturn(Optional.of(user));
+
+            AuthResponse result = authService.getCurrentUser("mohamed@sencours.sn");
+
+            assertThat(result.getUserId()).isEqualTo(1L);
+            assertThat(result.getFullName()).isEqualTo("Mohamed Diallo");
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.sencours.service;
 import com.sencours.dto.request.CategoryRequest;
 import com.sencours.dto.response.CategoryResponse;
 import com.sencours.entity.Category;
+import com.sencours.event.CategoryChangedEvent;
 import com.sencours.exception.ResourceAlreadyExistsException;
 import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.mapper.CategoryMapper;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -39,6 +41,9 @@ class CategoryServiceTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -85,6 +90,7 @@ class CategoryServiceTest {
 
             verify(categoryRepository).existsByName(categoryRequest.getName());
             verify(categoryRepository).save(any(Category.class));
+            verify(eventPublisher).publishEvent(any(CategoryChangedEvent.class));
         }
 
         @Test
@@ -187,6 +193,7 @@ class CategoryServiceTest {
             assertThat(result).isNotNull();
             verify(categoryMapper).updateEntityFromRequest(updateRequest, category);
             verify(categoryRepository).save(category);
+            verify(eventPublisher).publishEvent(any(CategoryChangedEvent.class));
         }
 
         @Test
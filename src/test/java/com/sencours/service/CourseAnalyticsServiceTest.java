@@ -0,0 +1,99 @@
+package com.sencours.service;
+
+import com.sencours.entity.User;
+import com.sencours.enums.Role;
+import com.sencours.exception.BadRequestException;
+import com.sencours.exception.ForbiddenException;
+import com.sencours.repository.CourseDailyStatsRepository;
+import com.sencours.repository.RollupWatermarkRepository;
+import com.sencours.repository.UserRepository;
+import com.sencours.service.impl.CourseAnalyticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseAnalyticsServiceTest {
+
+    @Mock
+    private CourseDailyStatsRepository courseDailyStatsRepository;
+
+    @Mock
+    private RollupWatermarkRepository watermarkRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CourseAnalyticsServiceImpl courseAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        courseAnalyticsService = new CourseAnalyticsServiceImpl(courseDailyStatsRepository, watermarkRepository,
+                userRepository, jdbcTemplate, transactionManager, false, 60);
+    }
+
+    @Test
+    @DisplayName("Devrait lire les 30 derniers jours dans les agrégats par défaut")
+    void shouldDefaultToLastThirtyDays() {
+        when(userRepository.findByEmail("prof@sencours.sn")).thenReturn(Optional.of(user(1L, Role.INSTRUCTEUR)));
+        LocalDate today = LocalDate.now();
+        when(courseDailyStatsRepository.findByInstructor(1L, null, today.minusDays(29), today)).thenReturn(List.of());
+
+        assertThat(courseAnalyticsService.getInstructorDailyStats(1L, null, null, null, "prof@sencours.sn")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Devrait refuser les statistiques d'un autre instructeur")
+    void shouldRejectOtherInstructor() {
+        when(userRepository.findByEmail("prof@sencours.sn")).thenReturn(Optional.of(user(2L, Role.INSTRUCTEUR)));
+
+        assertThatThrownBy(() -> courseAnalyticsService.getInstructorDailyStats(1L, null, null, null, "prof@sencours.sn"))
+                .isInstanceOf(ForbiddenException.class);
+        verify(courseDailyStatsRepository, never()).findByInstructor(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Devrait refuser une période de plus d'un an")
+    void shouldRejectTooLongRange() {
+        when(userRepository.findByEmail("admin@sencours.sn")).thenReturn(Optional.of(user(9L, Role.ADMIN)));
+        LocalDate to = LocalDate.of(2026, 6, 30);
+
+        assertThatThrownBy(() -> courseAnalyticsService.getInstructorDailyStats(
+                1L, null, to.minusDays(400), to, "admin@sencours.sn"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Le rollup planifié ne fait rien s'il est désactivé")
+    void shouldSkipScheduledRollupWhenDisabled() {
+        assertThat(courseAnalyticsService.rollup()).isZero();
+        verifyNoInteractions(watermarkRepository, courseDailyStatsRepository, jdbcTemplate);
+    }
+
+    private User user(Long id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -1,18 +1,24 @@
 package com.sencours.service;
 
 import com.sencours.dto.request.CourseRequest;
+import com.sencours.dto.request.CourseSearchRequest;
 import com.sencours.dto.response.CourseResponse;
+import com.sencours.dto.response.CourseSummaryResponse;
+import com.sencours.dto.response.PageResponse;
+import com.sencours.dto.response.SearchFacetsResponse;
 import com.sencours.entity.Category;
 import com.sencours.entity.Course;
 import com.sencours.entity.User;
 import com.sencours.enums.Role;
 import com.sencours.enums.Status;
+import com.sencours.event.CourseChangedEvent;
 import com.sencours.exception.InstructorNotFoundException;
 import com.sencours.exception.InvalidInstructorRoleException;
 import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.mapper.CourseMapper;
 import com.sencours.repository.CategoryRepository;
 import com.sencours.repository.CourseRepository;
+import com.sencours.repository.SectionRepository;
 import com.sencours.repository.UserRepository;
 import com.sencours.service.impl.CourseServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +29,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -47,15 +57,31 @@ class CourseServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private SectionRepository sectionRepository;
+
     @Mock
     private CourseMapper courseMapper;
 
+    @Mock
+    private CourseSearchService courseSearchService;
+
+    @Mock
+    private CourseSuggestionService courseSuggestionService;
+
+    @Mock
+    private CourseFacetService courseFacetService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
     private CourseRequest courseRequest;
     private Course course;
     private CourseResponse courseResponse;
+    private CourseSummaryResponse courseSummary;
     private User instructor;
     private Category category;
 
@@ -106,6 +132,16 @@ class CourseServiceTest {
                 .totalStudents(0)
                 .averageRating(0.0)
                 .build();
+
+        courseSummary = CourseSummaryResponse.builder()
+                .id(1L)
+                .title("Java pour débutants")
+                .status(Status.DRAFT)
+                .instructorId(1L)
+                .instructorName("Prof Diop")
+                .categoryId(1L)
+                .categoryName("Développement Web")
+                .build();
     }
 
     @Nested
@@ -184,19 +220,20 @@ class CourseServiceTest {
         @Test
         @DisplayName("Devrait retourner un cours par ID")
         void shouldReturnCourseById() {
-            when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+            when(courseRepository.findDetailById(1L)).thenReturn(Optional.of(course));
             when(courseMapper.toResponse(course)).thenReturn(courseResponse);
 
             CourseResponse result = courseService.getById(1L);
 
             assertThat(result).isNotNull();
             assertThat(result.getId()).isEqualTo(1L);
+            verify(sectionRepository).findWithLessonsByCourseIdOrderByOrderIndexAsc(1L);
         }
 
         @Test
         @DisplayName("Devrait lever ResourceNotFoundException si cours non trouvé")
         void shouldThrowExceptionWhenCourseNotFound() {
-            when(courseRepository.findById(999L)).thenReturn(Optional.empty());
+            when(courseRepository.findDetailById(999L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> courseService.getById(999L))
                     .isInstanceOf(ResourceNotFoundException.class)
@@ -211,22 +248,17 @@ class CourseServiceTest {
         @Test
         @DisplayName("Devrait retourner tous les cours")
         void shouldReturnAllCourses() {
-            Course course2 = new Course();
-            course2.setId(2L);
-            course2.setTitle("Python avancé");
-
-            CourseResponse response2 = CourseResponse.builder()
+            CourseSummaryResponse summary2 = CourseSummaryResponse.builder()
                     .id(2L)
                     .title("Python avancé")
                     .build();
 
-            when(courseRepository.findAll()).thenReturn(Arrays.asList(course, course2));
-            when(courseMapper.toResponse(course)).thenReturn(courseResponse);
-            when(courseMapper.toResponse(course2)).thenReturn(response2);
+            when(courseRepository.findAllSummaries()).thenReturn(Arrays.asList(courseSummary, summary2));
 
-            List<CourseResponse> result = courseService.getAll();
+            List<CourseSummaryResponse> result = courseService.getAll();
 
             assertThat(result).hasSize(2);
+            verify(courseMapper, never()).toResponse(any());
         }
     }
 
@@ -238,10 +270,9 @@ class CourseServiceTest {
         @DisplayName("Devrait retourner les cours d'un instructeur")
         void shouldReturnCoursesByInstructor() {
             when(userRepository.existsById(1L)).thenReturn(true);
-            when(courseRepository.findByInstructorId(1L)).thenReturn(List.of(course));
-            when(courseMapper.toResponse(course)).thenReturn(courseResponse);
+            when(courseRepository.findSummariesByInstructorId(1L)).thenReturn(List.of(courseSummary));
 
-            List<CourseResponse> result = courseService.getByInstructorId(1L);
+            List<CourseSummaryResponse> result = courseService.getByInstructorId(1L);
 
             assertThat(result).hasSize(1);
             assertThat(result.get(0).getInstructorId()).isEqualTo(1L);
@@ -265,10 +296,9 @@ class CourseServiceTest {
         @DisplayName("Devrait retourner les cours d'une catégorie")
         void shouldReturnCoursesByCategory() {
             when(categoryRepository.existsById(1L)).thenReturn(true);
-            when(courseRepository.findByCategoryId(1L)).thenReturn(List.of(course));
-            when(courseMapper.toResponse(course)).thenReturn(courseResponse);
+            when(courseRepository.findSummariesByCategoryId(1L)).thenReturn(List.of(courseSummary));
 
-            List<CourseResponse> result = courseService.getByCategoryId(1L);
+            List<CourseSummaryResponse> result = courseService.getByCategoryId(1L);
 
             assertThat(result).hasSize(1);
         }
@@ -290,10 +320,9 @@ class CourseServiceTest {
         @Test
         @DisplayName("Devrait retourner les cours par status")
         void shouldReturnCoursesByStatus() {
-            when(courseRepository.findByStatus(Status.PUBLISHED)).thenReturn(List.of(course));
-            when(courseMapper.toResponse(course)).thenReturn(courseResponse);
+            when(courseRepository.findSummariesByStatus(Status.PUBLISHED)).thenReturn(List.of(courseSummary));
 
-            List<CourseResponse> result = courseService.getByStatus(Status.PUBLISHED);
+            List<CourseSummaryResponse> result = courseService.getByStatus(Status.PUBLISHED);
 
             assertThat(result).hasSize(1);
         }
@@ -381,4 +410,65 @@ class CourseServiceTest {
             verify(courseRepository).save(course);
         }
     }
+
+    @Nested
+    @DisplayName("Tests pour search()")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Devrait conserver l'ordre de pertinence de l'index")
+        void shouldKeepIndexOrder() {
+            CourseSummaryResponse other = CourseSummaryResponse.builder().id(2L).build();
+            CourseSearchRequest request = new CourseSearchRequest();
+            request.setQuery("java");
+            Pageable pageable = PageRequest.of(0, 10);
+
+            when(courseSearchService.search(request, pageable))
+                    .thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 2));
+            when(courseRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(courseSummary, other));
+
+            PageResponse<CourseSummaryResponse> result = courseService.search(request, pageable);
+
+            assertThat(result.getContent()).extracting(CourseSummaryResponse::getId).containsExactly(2L, 1L);
+            assertThat(result.getTotalElements()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Devrait calculer les facettes sur les cours correspondant au texte")
+        void shouldComputeFacetsFromTextMatches() {
+            CourseSearchRequest request = new CourseSearchRequest();
+            request.setQuery("java");
+            Pageable pageable = PageRequest.of(0, 10);
+            SearchFacetsResponse facets = SearchFacetsResponse.builder().build();
+
+            when(courseSearchService.search(request, pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 0));
+            when(courseSearchService.findMatchingIds("java")).thenReturn(List.of(1L, 2L));
+            when(courseFacetService.count(List.of(1L, 2L), request)).thenReturn(facets);
+
+            PageResponse<CourseSummaryResponse> result = courseService.search(request, pageable);
+
+            assertThat(result.getFacets()).isSameAs(facets);
+        }
+
+        @Test
+        @DisplayName("Devrait publier un événement à la publication pour mettre à jour l'index")
+        void shouldPublishChangeEventOnPublish() {
+            when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+            when(courseRepository.save(any(Course.class))).thenReturn(course);
+
+            courseService.publish(1L);
+
+            verify(eventPublisher).publishEvent(any(CourseChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Devrait déléguer les suggestions au trie et ignorer les saisies trop courtes")
+        void shouldDelegateSuggestions() {
+            when(courseSuggestionService.suggest("jav", 5)).thenReturn(List.of("Java pour débutants"));
+
+            assertThat(courseService.getSuggestions(" jav ")).containsExactly("Java pour débutants");
+            assertThat(courseService.getSuggestions("j")).isEmpty();
+            verify(courseSuggestionService, never()).suggest("j", 5);
+        }
+    }
 }
@@ -6,9 +6,15 @@ import com.sencours.dto.response.PaymentResponse;
 import com.sencours.entity.*;
 import com.sencours.enums.Role;
 import com.sencours.enums.Status;
+import com.sencours.event.CourseCompletedEvent;
+import com.sencours.event.EnrollmentCreatedEvent;
 import com.sencours.exception.BadRequestException;
 import com.sencours.exception.ResourceNotFoundException;
+import com.sencours.progress.CompletionBitmap;
 import com.sencours.repository.*;
+import com.sencours.repository.projection.CurriculumView;
+import com.sencours.repository.projection.EnrollmentDashboardView;
+import com.sencours.repository.projection.LessonPositionView;
 import com.sencours.service.impl.EnrollmentServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,15 +24,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +57,15 @@ class EnrollmentServiceTest {
     @Mock
     private ProgressRepository progressRepository;
 
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CourseStatsService courseStatsService;
+
     @InjectMocks
     private EnrollmentServiceImpl enrollmentService;
 
@@ -122,12 +144,14 @@ class EnrollmentServiceTest {
             when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
             when(enrollmentRepository.existsByUserIdAndCourseId(2L, 1L)).thenReturn(false);
             when(enrollmentRepository.save(any(Enrollment.class))).thenReturn(enrollment);
-            when(progressRepository.countCompletedLessonsByUserAndCourse(2L, 1L)).thenReturn(0L);
+            when(courseStatsService.getCurriculum(1L)).thenReturn(curriculum(4, 3L));
 
             EnrollmentResponse result = enrollmentService.enrollFree(1L, "mamadou@sencours.sn");
 
             assertThat(result).isNotNull();
-            verify(enrollmentRepository).save(any(Enrollment.class));
+            verify(enrollmentRepository).save(argThat(saved -> saved.getCompletionCurriculumVersion() == 3L));
+            verify(courseStatsService).addEnrollments(1L, 1);
+            verify(eventPublisher).publishEvent(any(EnrollmentCreatedEvent.class));
         }
 
         @Test
@@ -177,12 +201,30 @@ class EnrollmentServiceTest {
         @DisplayName("Devrait retourner les inscriptions de l'utilisateur")
         void shouldReturnUserEnrollments() {
             when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
-            when(enrollmentRepository.findByUserIdOrderByEnrolledAtDesc(2L)).thenReturn(List.of(enrollment));
-            when(progressRepository.countCompletedLessonsByUserAndCourse(2L, 1L)).thenReturn(0L);
+            when(enrollmentRepository.findDashboardByUserId(2L)).thenReturn(List.of(dashboardRow(8, 2)));
 
             List<EnrollmentResponse> result = enrollmentService.getMyEnrollments("mamadou@sencours.sn");
 
             assertThat(result).hasSize(1);
+            assertThat(result.get(0).getCourseTitle()).isEqualTo("Java pour débutants");
+            assertThat(result.get(0).getInstructorName()).isEqualTo("Prof Diop");
+            assertThat(result.get(0).getUserName()).isEqualTo("Mamadou Diallo");
+            assertThat(result.get(0).getTotalLessons()).isEqualTo(8);
+            assertThat(result.get(0).getCompletedLessons()).isEqualTo(2);
+            assertThat(result.get(0).getProgressPercentage()).isEqualTo(25);
+            assertThat(result.get(0).getLastActivityAt()).isNotNull();
+            verifyNoInteractions(progressRepository);
+        }
+
+        @Test
+        @DisplayName("Devrait retourner 0% pour un cours sans leçon")
+        void shouldReturnZeroPercentWithoutLessons() {
+            when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
+            when(enrollmentRepository.findDashboardByUserId(2L)).thenReturn(List.of(dashboardRow(0, 0)));
+
+            List<EnrollmentResponse> result = enrollmentService.getMyEnrollments("mamadou@sencours.sn");
+
+            assertThat(result.get(0).getProgressPercentage()).isZero();
         }
 
         @Test
@@ -194,4 +236,157 @@ class EnrollmentServiceTest {
                     .isInstanceOf(ResourceNotFoundException.class);
         }
     }
+
+    @Nested
+    @DisplayName("Tests pour les compteurs de leçons terminées")
+    class CompletedLessonsTests {
+
+        @Test
+        @DisplayName("Devrait calculer le pourcentage sur le bitmap sans charger les sections")
+        void shouldComputePercentageFromBitmap() {
+            course.setSections(null);
+            enrollment.setCompletionBitmap(CompletionBitmap.of(List.of(0, 5)).toBytes());
+            enrollment.setCompletionCurriculumVersion(3L);
+            when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
+            when(enrollmentRepository.findByUserIdAndCourseId(2L, 1L)).thenReturn(Optional.of(enrollment));
+            when(courseStatsService.getCurriculum(1L)).thenReturn(curriculum(8, 3L));
+
+            EnrollmentResponse result = enrollmentService.getEnrollment(1L, "mamadou@sencours.sn");
+
+            assertThat(result.getTotalLessons()).isEqualTo(8);
+            assertThat(result.getCompletedLessons()).isEqualTo(2);
+            assertThat(result.getProgressPercentage()).isEqualTo(25);
+            verifyNoInteractions(progressRepository);
+        }
+
+        @Test
+        @DisplayName("Devrait basculer le bit de la leçon et recalculer le compteur")
+        void shouldApplyCompletionToBitmap() {
+            enrollment.setCompletionBitmap(CompletionBitmap.of(List.of(0)).toBytes());
+            enrollment.setCompletionCurriculumVersion(3L);
+            when(enrollmentRepository.findForUpdate(2L, 1L)).thenReturn(Optional.of(enrollment));
+            when(courseStatsService.getCurriculum(1L)).thenReturn(curriculum(4, 3L));
+            when(lessonRepository.findPositionsByIdIn(Set.of(12L))).thenReturn(List.of(position(12L, 2)));
+
+            enrollmentService.applyCompletions(2L, 1L, Map.of(12L, true));
+
+            CompletionBitmap bitmap = CompletionBitmap.fromBytes(enrollment.getCompletionBitmap());
+            assertThat(bitmap.isCompleted(0)).isTrue();
+            assertThat(bitmap.isCompleted(2)).isTrue();
+            assertThat(enrollment.getCompletedLessons()).isEqualTo(2);
+            assertThat(enrollment.getProgressPercentage()).isEqualTo(50);
+            assertThat(enrollment.getCompletedAt()).isNull();
+            verifyNoInteractions(progressRepository, eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Devrait reconstruire le bitmap depuis les progressions si le curriculum a changé")
+        void shouldRebuildBitmapWhenCurriculumChanged() {
+            enrollment.setCompletionBitmap(new byte[]{0b1});
+            enrollment.setCompletionCurriculumVersion(2L);
+            when(enrollmentRepository.findForUpdate(2L, 1L)).thenReturn(Optional.of(enrollment));
+            when(courseStatsService.getCurriculum(1L)).thenReturn(curriculum(4, 3L));
+            when(progressRepository.findCompletedLessonPositions(2L, 1L)).thenReturn(List.of(0, 1, 3));
+            when(lessonRepository.findPositionsByIdIn(Set.of(12L))).thenReturn(List.of(position(12L, 2)));
+
+            enrollmentService.applyCompletions(2L, 1L, Map.of(12L, true));
+
+            assertThat(enrollment.getCompletedLessons()).isEqualTo(4);
+            assertThat(enrollment.getProgressPercentage()).isEqualTo(100);
+            assertThat(enrollment.getCompletedAt()).isNotNull();
+            assertThat(enrollment.getCompletionCurriculumVersion()).isEqualTo(3L);
+            verify(eventPublisher).publishEvent(any(CourseCompletedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Devrait ignorer une complétion sans inscription")
+        void shouldIgnoreCompletionWithoutEnrollment() {
+            when(enrollmentRepository.findForUpdate(2L, 1L)).thenReturn(Optional.empty());
+
+            enrollmentService.applyCompletions(2L, 1L, Map.of(12L, true));
+
+            verifyNoInteractions(lessonRepository, progressRepository);
+        }
+
+        @Test
+        @DisplayName("Devrait trouver la prochaine leçon non terminée dans l'ordre du curriculum")
+        void shouldFindNextIncompleteLesson() {
+            enrollment.setCompletionBitmap(CompletionBitmap.of(List.of(0, 1, 3)).toBytes());
+            enrollment.setCompletionCurriculumVersion(3L);
+            when(enrollmentRepository.findByUserIdAndCourseId(2L, 1L)).thenReturn(Optional.of(enrollment));
+            when(courseStatsService.getCurriculum(1L)).thenReturn(curriculum(4, 3L));
+            when(lessonRepository.findIdByCourseIdAndCurriculumPosition(1L, 2)).thenReturn(Optional.of(12L));
+
+            assertThat(enrollmentService.findNextIncompleteLessonId(2L, 1L)).contains(12L);
+            verifyNoInteractions(progressRepository);
+        }
+
+        @Test
+        @DisplayName("Ne devrait pas écrire un bitmap obsolète en cherchant la prochaine leçon")
+        void shouldNotStoreStaleBitmapWhenFindingNextLesson() {
+            enrollment.setCompletionBitmap(new byte[]{0b1});
+            enrollment.setCompletionCurriculumVersion(2L);
+            when(enrollmentRepository.findByUserIdAndCourseId(2L, 1L)).thenReturn(Optional.of(enrollment));
+            when(courseStatsService.getCurriculum(1L)).thenReturn(curriculum(4, 3L));
+            when(progressRepository.findCompletedLessonPositions(2L, 1L)).thenReturn(List.of(0, 1, 2, 3));
+
+            assertThat(enrollmentService.findNextIncompleteLessonId(2L, 1L)).isEmpty();
+            assertThat(enrollment.getCompletionBitmap()).containsExactly(0b1);
+            assertThat(enrollment.getCompletionCurriculumVersion()).isEqualTo(2L);
+            verify(enrollmentRepository, never()).findForUpdate(any(), any());
+        }
+
+        @Test
+        @DisplayName("Devrait lire l'éligibilité au certificat sur le bitmap")
+        void shouldComputeCertificateProgressFromBitmap() {
+            enrollment.setCompletionBitmap(CompletionBitmap.of(List.of(0, 1, 2, 3)).toBytes());
+            enrollment.setCompletionCurriculumVersion(3L);
+            enrollment.setCompletedLessons(0);
+            when(courseStatsService.getCurriculum(1L)).thenReturn(curriculum(4, 3L));
+
+            assertThat(enrollmentService.getProgressPercentage(enrollment)).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Devrait reconstruire le bitmap sous verrou et fixer la date de complétion")
+        void shouldResyncCounter() {
+            when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
+            when(enrollmentRepository.findForUpdate(2L, 1L)).thenReturn(Optional.of(enrollment));
+            when(courseStatsService.getCurriculum(1L)).thenReturn(curriculum(4, 3L));
+            when(progressRepository.findCompletedLessonPositions(2L, 1L)).thenReturn(List.of(0, 1, 2, 3));
+
+            enrollmentService.updateProgress(1L, "mamadou@sencours.sn");
+
+            assertThat(enrollment.getCompletedLessons()).isEqualTo(4);
+            assertThat(enrollment.getProgressPercentage()).isEqualTo(100);
+            assertThat(enrollment.getCompletedAt()).isNotNull();
+            assertThat(enrollment.getCompletionCurriculumVersion()).isEqualTo(3L);
+            verify(enrollmentRepository).save(enrollment);
+        }
+    }
+
+    private CurriculumView curriculum(int lessonCount, long version) {
+        return new SpelAwareProxyProjectionFactory().createProjection(CurriculumView.class,
+                Map.of("lessonCount", lessonCount, "curriculumVersion", version));
+    }
+
+    private LessonPositionView position(Long lessonId, int curriculumPosition) {
+        return new SpelAwareProxyProjectionFactory().createProjection(LessonPositionView.class,
+                Map.of("id", lessonId, "curriculumPosition", curriculumPosition));
+    }
+
+    private EnrollmentDashboardView dashboardRow(int totalLessons, int completedLessons) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1L);
+        row.put("courseId", 1L);
+        row.put("courseTitle", "Java pour débutants");
+        row.put("instructorFirstName", "Prof");
+        row.put("instructorLastName", "Diop");
+        row.put("enrolledAt", LocalDateTime.now().minusDays(3));
+        row.put("amountPaid", new BigDecimal("25000"));
+        row.put("totalLessons", totalLessons);
+        row.put("completedLessons", completedLessons);
+        row.put("lastActivityAt", LocalDateTime.now());
+        return new SpelAwareProxyProjectionFactory().createProjection(EnrollmentDashboardView.class, row);
+    }
 }
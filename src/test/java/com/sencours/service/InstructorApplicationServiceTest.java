@@ -43,6 +43,9 @@ class InstructorApplicationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
     @InjectMocks
     private InstructorApplicationServiceImpl applicationService;
 
@@ -176,6 +179,7 @@ class InstructorApplicationServiceTest {
 
             verify(userRepository).save(argThat(u -> u.getRole() == Role.INSTRUCTEUR));
             verify(applicationRepository).save(argThat(a -> a.getStatus() == ApplicationStatus.APPROVED));
+            verify(tokenVersionService).invalidate(etudiant);
         }
 
         @Test
@@ -191,6 +195,7 @@ class InstructorApplicationServiceTest {
 
             verify(userRepository, never()).save(argThat(u -> u.getRole() == Role.INSTRUCTEUR));
             verify(applicationRepository).save(argThat(a -> a.getStatus() == ApplicationStatus.REJECTED));
+            verify(tokenVersionService, never()).invalidate(any());
         }
 
         @Test
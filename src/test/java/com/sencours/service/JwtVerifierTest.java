@@ -0,0 +1,64 @@
+package com.sencours.service;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "VG9rZW5TZWNyZXRLZXlGb3JTZW5Db3Vyc0VsZWFybmluZ1BsYXRmb3JtMjAyNA==";
+
+    private JwtService jwtService;
+    private JwtVerifier jwtVerifier;
+    private final UserDetails userDetails = User.withUsername("moussa@test.sn").password("x").roles("ETUDIANT").build();
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService());
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        jwtService.init();
+        jwtVerifier = new JwtVerifier(jwtService, 100);
+    }
+
+    @Test
+    @DisplayName("Devrait parser un jeton une seule fois puis servir les claims depuis le cache")
+    void shouldParseTokenOnce() {
+        String token = jwtService.generateToken(userDetails);
+
+        JwtVerifier.VerifiedToken first = jwtVerifier.verify(token);
+        JwtVerifier.VerifiedToken second = jwtVerifier.verify(token);
+
+        assertThat(first.subject()).isEqualTo("moussa@test.sn");
+        assertThat(second).isSameAs(first);
+        verify(jwtService, times(1)).parseClaims(token);
+    }
+
+    @Test
+    @DisplayName("Devrait rejeter un jeton falsifié sans le mettre en cache")
+    void shouldRejectTamperedToken() {
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtVerifier.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtVerifier.verify(tampered)).isInstanceOf(JwtException.class);
+        verify(jwtService, times(2)).parseClaims(tampered);
+    }
+
+    @Test
+    @DisplayName("Devrait rejeter un jeton expiré")
+    void shouldRejectExpiredToken() {
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", -1_000L);
+        String expired = jwtService.generateToken(userDetails);
+
+        assertThatThrownBy(() -> jwtVerifier.verify(expired)).isInstanceOf(JwtException.class);
+    }
+}
@@ -3,9 +3,11 @@ package com.sencours.service;
 import com.sencours.dto.request.LessonRequest;
 import com.sencours.dto.request.ReorderRequest;
 import com.sencours.dto.response.LessonResponse;
+import com.sencours.entity.Course;
 import com.sencours.entity.Lesson;
 import com.sencours.entity.Section;
 import com.sencours.enums.LessonType;
+import com.sencours.event.CourseChangedEvent;
 import com.sencours.exception.LessonNotFoundException;
 import com.sencours.exception.SectionNotFoundException;
 import com.sencours.mapper.LessonMapper;
@@ -21,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -49,6 +52,15 @@ class LessonServiceTest {
     @Mock
     private LessonMapper lessonMapper;
 
+    @Mock
+    private CourseStatsService courseStatsService;
+
+    @Mock
+    private EnrollmentService enrollmentService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private LessonServiceImpl lessonService;
 
@@ -62,6 +74,9 @@ class LessonServiceTest {
         section = new Section();
         section.setId(1L);
         section.setTitle("Introduction");
+        Course course = new Course();
+        course.setId(1L);
+        section.setCourse(course);
 
         lessonRequest = LessonRequest.builder()
                 .title("Bienvenue")
@@ -111,6 +126,8 @@ class LessonServiceTest {
             assertThat(result).isNotNull();
             assertThat(lesson.getOrderIndex()).isEqualTo(3);
             verify(lessonRepository).save(any(Lesson.class));
+            verify(courseStatsService).addLessons(1L, 1, 10);
+            verify(eventPublisher).publishEvent(any(CourseChangedEvent.class));
         }
 
         @Test
@@ -236,7 +253,9 @@ class LessonServiceTest {
 
             lessonService.delete(1L);
 
+            verify(enrollmentService).removeLessons(1L, List.of(1L));
             verify(lessonRepository).delete(lesson);
+            verify(courseStatsService).addLessons(1L, -1, -10);
         }
     }
 
@@ -0,0 +1,129 @@
+package com.sencours.service;
+
+import com.sencours.config.PasswordCostCalibrator;
+import com.sencours.dto.response.PasswordHashingStatsResponse;
+import com.sencours.exception.ServiceOverloadedException;
+import com.sencours.service.impl.PasswordHashingServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTest {
+
+    // Cout impose : pas de calibration
+    private static final PasswordCostCalibrator FIXED_COST = new PasswordCostCalibrator(4, 250, 10, 14);
+
+    private PasswordHashingServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Devrait hacher et vérifier un mot de passe sur le pool dédié")
+    void shouldHashAndMatch() {
+        service = new PasswordHashingServiceImpl(new BCryptPasswordEncoder(4), FIXED_COST, 1, 4, 5000);
+
+        String hash = service.hash("password123");
+
+        assertThat(service.matches("password123", hash)).isTrue();
+        assertThat(service.matches("mauvais", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Devrait re-hacher un mot de passe dont le coût est inférieur au coût courant")
+    void shouldRehashWhenCostIsLower() {
+        service = new PasswordHashingServiceImpl(new BCryptPasswordEncoder(5),
+                new PasswordCostCalibrator(5, 250, 10, 14), 1, 4, 5000);
+        String oldHash = new BCryptPasswordEncoder(4).encode("password123");
+
+        Optional<String> rehashed = service.rehashIfNeeded("password123", oldHash);
+
+        assertThat(rehashed).hasValueSatisfying(hash -> assertThat(hash).startsWith("$2a$05$"));
+        assertThat(service.rehashIfNeeded("password123", rehashed.get())).isEmpty();
+        PasswordHashingStatsResponse stats = service.getStats();
+        assertThat(stats.getStrength()).isEqualTo(5);
+        assertThat(stats.getRehashCount()).isEqualTo(1);
+        assertThat(stats.getHashCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas dégrader un mot de passe haché à un coût supérieur")
+    void shouldKeepHigherCostHash() {
+        service = new PasswordHashingServiceImpl(new BCryptPasswordEncoder(4), FIXED_COST, 1, 4, 5000);
+        String strongerHash = new BCryptPasswordEncoder(5).encode("password123");
+
+        assertThat(service.rehashIfNeeded("password123", strongerHash)).isEmpty();
+        assertThat(service.getStats().getHashCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Devrait calibrer le coût entre le minimum et le maximum selon le budget")
+    void shouldCalibrateWithinBounds() {
+        PasswordCostCalibrator generous = new PasswordCostCalibrator(0, 60_000, 4, 6);
+        PasswordCostCalibrator tight = new PasswordCostCalibrator(0, 0, 4, 6);
+
+        assertThat(generous.getStrength()).isEqualTo(6);
+        assertThat(generous.isCalibrated()).isTrue();
+        // Meme hors budget, le cout ne descend jamais sous le minimum
+        assertThat(tight.getStrength()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser immédiatement quand le pool et sa file sont pleins")
+    void shouldRejectWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        service = new PasswordHashingServiceImpl(blockingEncoder(started, release), FIXED_COST, 1, 1, 5000);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.hash("a"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.hash("b"));
+        Thread.sleep(100);
+
+        // Un thread occupe, une place de file prise : la troisieme demande n'attend pas
+        assertThatThrownBy(() -> service.hash("c")).isInstanceOf(ServiceOverloadedException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).startsWith("$2a$");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("$2a$");
+    }
+
+    @Test
+    @DisplayName("Devrait échouer quand le hachage n'aboutit pas dans le délai")
+    void shouldFailAfterQueueTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        service = new PasswordHashingServiceImpl(blockingEncoder(new CountDownLatch(1), release), FIXED_COST, 1, 4, 100);
+
+        assertThatThrownBy(() -> service.hash("a")).isInstanceOf(ServiceOverloadedException.class);
+        release.countDown();
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+    }
+}
@@ -1,13 +1,17 @@
 package com.sencours.service;
 
 import com.sencours.dto.request.ProgressRequest;
+import com.sencours.dto.response.ContinueLearningResponse;
 import com.sencours.dto.response.ProgressResponse;
 import com.sencours.entity.*;
 import com.sencours.enums.LessonType;
 import com.sencours.enums.Role;
 import com.sencours.exception.BadRequestException;
 import com.sencours.exception.ResourceNotFoundException;
+import com.sencours.progress.HeartbeatBuffer.Heartbeat;
 import com.sencours.repository.*;
+import com.sencours.repository.ProgressUpsertOperations.UpsertedProgress;
+import com.sencours.repository.projection.ContinueLearningView;
 import com.sencours.service.impl.ProgressServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,8 +21,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +52,9 @@ class ProgressServiceTest {
     @Mock
     private EnrollmentService enrollmentService;
 
+    @Mock
+    private ProgressHeartbeatService progressHeartbeatService;
+
     @InjectMocks
     private ProgressServiceImpl progressService;
 
@@ -101,8 +112,8 @@ class ProgressServiceTest {
             when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
             when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
             when(enrollmentRepository.existsByUserIdAndCourseId(1L, 1L)).thenReturn(true);
-            when(progressRepository.findByUserIdAndLessonId(1L, 1L)).thenReturn(Optional.of(progress));
-            when(progressRepository.save(any(Progress.class))).thenReturn(progress);
+            when(progressRepository.upsertPosition(1L, 1L, 120, 100))
+                    .thenReturn(upserted(false, null, 120, 100, false));
 
             ProgressRequest request = new ProgressRequest();
             request.setWatchTimeSeconds(120);
@@ -112,7 +123,12 @@ class ProgressServiceTest {
 
             assertThat(result).isNotNull();
             assertThat(result.getLessonId()).isEqualTo(1L);
-            verify(progressRepository).save(any(Progress.class));
+            assertThat(result.getLessonTitle()).isEqualTo("Bienvenue");
+            assertThat(result.getLastPositionSeconds()).isEqualTo(100);
+            verify(progressRepository, never()).upsertCompleted(any(), any(), any(), any(), any());
+            verify(progressRepository, never()).findByUserIdAndLessonId(any(), any());
+            verify(progressRepository, never()).save(any());
+            verifyNoInteractions(enrollmentService);
         }
 
         @Test
@@ -121,16 +137,57 @@ class ProgressServiceTest {
             when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
             when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
             when(enrollmentRepository.existsByUserIdAndCourseId(1L, 1L)).thenReturn(true);
-            when(progressRepository.findByUserIdAndLessonId(1L, 1L)).thenReturn(Optional.empty());
-            when(progressRepository.save(any(Progress.class))).thenReturn(progress);
+            when(progressRepository.upsertCompleted(eq(1L), eq(1L), isNull(), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(upserted(true, LocalDateTime.now(), 0, 0, true));
 
             ProgressRequest request = new ProgressRequest();
             request.setCompleted(true);
 
             ProgressResponse result = progressService.updateProgress(1L, request, "mamadou@sencours.sn");
 
-            assertThat(result).isNotNull();
-            verify(progressRepository).save(any(Progress.class));
+            assertThat(result.getCompleted()).isTrue();
+            assertThat(result.getCompletedAt()).isNotNull();
+            verify(progressRepository, never()).upsertPosition(any(), any(), any(), any());
+            verify(enrollmentService).applyCompletions(1L, 1L, Map.of(1L, true));
+        }
+
+        @Test
+        @DisplayName("Ne devrait pas recompter une leçon déjà complétée")
+        void shouldNotIncrementWhenAlreadyCompleted() {
+            progress.setCompleted(true);
+            when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
+            when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
+            when(enrollmentRepository.existsByUserIdAndCourseId(1L, 1L)).thenReturn(true);
+            when(progressRepository.upsertCompleted(eq(1L), eq(1L), isNull(), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(upserted(true, LocalDateTime.now().minusDays(1), 0, 0, false));
+
+            ProgressRequest request = new ProgressRequest();
+            request.setCompleted(true);
+
+            progressService.updateProgress(1L, request, "mamadou@sencours.sn");
+
+            verifyNoInteractions(enrollmentService);
+        }
+
+        @Test
+        @DisplayName("Devrait décrémenter le compteur quand une leçon n'est plus complétée")
+        void shouldDecrementWhenUncompleted() {
+            progress.setCompleted(true);
+            progress.setCompletedAt(LocalDateTime.now());
+            when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
+            when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
+            when(enrollmentRepository.existsByUserIdAndCourseId(1L, 1L)).thenReturn(true);
+            when(progressRepository.findForUpdate(1L, 1L)).thenReturn(Optional.of(progress));
+            when(progressRepository.save(any(Progress.class))).thenAnswer(i -> i.getArgument(0));
+
+            ProgressRequest request = new ProgressRequest();
+            request.setCompleted(false);
+
+            ProgressResponse result = progressService.updateProgress(1L, request, "mamadou@sencours.sn");
+
+            assertThat(result.getCompleted()).isFalse();
+            assertThat(result.getCompletedAt()).isNull();
+            verify(enrollmentService).applyCompletions(1L, 1L, Map.of(1L, false));
         }
 
         @Test
@@ -153,9 +210,7 @@ class ProgressServiceTest {
             lesson.setIsFree(true);
             when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
             when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
-            when(progressRepository.findByUserIdAndLessonId(1L, 1L)).thenReturn(Optional.of(progress));
-            when(progressRepository.save(any(Progress.class))).thenReturn(progress);
-            when(enrollmentRepository.existsByUserIdAndCourseId(1L, 1L)).thenReturn(false);
+            when(progressRepository.upsertPosition(1L, 1L, 60, null)).thenReturn(upserted(false, null, 60, 0, false));
 
             ProgressRequest request = new ProgressRequest();
             request.setWatchTimeSeconds(60);
@@ -246,6 +301,51 @@ class ProgressServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests pour getContinueLearning()")
+    class GetContinueLearningTests {
+
+        @Test
+        @DisplayName("Devrait renvoyer la prochaine leçon de chaque inscription")
+        void shouldReturnNextLessonPerEnrollment() {
+            when(userRepository.findIdByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(1L));
+            when(enrollmentRepository.findNextLessonsByUserId(1L)).thenReturn(List.of(
+                    continueRow(1L, 11L, 120), continueRow(2L, 21L, 0)));
+            when(progressHeartbeatService.getPending(eq(1L), anyLong())).thenReturn(Optional.empty());
+
+            List<ContinueLearningResponse> result = progressService.getContinueLearning("mamadou@sencours.sn");
+
+            assertThat(result).extracting(ContinueLearningResponse::getLessonId).containsExactly(11L, 21L);
+            assertThat(result.get(0).getLastPositionSeconds()).isEqualTo(120);
+            assertThat(result.get(0).getSectionTitle()).isEqualTo("Introduction");
+        }
+
+        @Test
+        @DisplayName("Devrait reprendre à la position en attente d'écriture")
+        void shouldOverlayPendingPosition() {
+            when(userRepository.findIdByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(1L));
+            when(enrollmentRepository.findNextLessonsByUserId(1L)).thenReturn(List.of(continueRow(1L, 11L, 120)));
+            when(progressHeartbeatService.getPending(1L, 11L))
+                    .thenReturn(Optional.of(new Heartbeat(1L, 11L, 200, 180)));
+
+            List<ContinueLearningResponse> result = progressService.getContinueLearning("mamadou@sencours.sn");
+
+            assertThat(result.get(0).getLastPositionSeconds()).isEqualTo(180);
+        }
+
+        private ContinueLearningView continueRow(Long courseId, Long lessonId, int lastPosition) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("courseId", courseId);
+            row.put("courseTitle", "Cours " + courseId);
+            row.put("sectionId", courseId * 10);
+            row.put("sectionTitle", "Introduction");
+            row.put("lessonId", lessonId);
+            row.put("lessonTitle", "Leçon " + lessonId);
+            row.put("lastPositionSeconds", lastPosition);
+            return new SpelAwareProxyProjectionFactory().createProjection(ContinueLearningView.class, row);
+        }
+    }
+
     @Nested
     @DisplayName("Tests pour markAsCompleted()")
     class MarkAsCompletedTests {
@@ -256,12 +356,113 @@ class ProgressServiceTest {
             when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
             when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
             when(enrollmentRepository.existsByUserIdAndCourseId(1L, 1L)).thenReturn(true);
-            when(progressRepository.findByUserIdAndLessonId(1L, 1L)).thenReturn(Optional.of(progress));
-            when(progressRepository.save(any(Progress.class))).thenReturn(progress);
+            when(progressRepository.upsertCompleted(eq(1L), eq(1L), isNull(), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(upserted(true, LocalDateTime.now(), 0, 0, true));
 
             progressService.markAsCompleted(1L, "mamadou@sencours.sn");
 
-            verify(progressRepository).save(any(Progress.class));
+            verify(enrollmentService).applyCompletions(1L, 1L, Map.of(1L, true));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests pour l'écriture différée des battements")
+    class WriteBehindTests {
+
+        @BeforeEach
+        void enableWriteBehind() {
+            lenient().when(progressHeartbeatService.isEnabled()).thenReturn(true);
         }
+
+        @Test
+        @DisplayName("Devrait mettre un battement en attente sans écrire")
+        void shouldBufferHeartbeat() {
+            when(userRepository.findIdByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(1L));
+            when(progressHeartbeatService.isPending(1L, 1L)).thenReturn(false);
+            when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
+            when(enrollmentRepository.existsByUserIdAndCourseId(1L, 1L)).thenReturn(true);
+
+            ProgressRequest request = new ProgressRequest();
+            request.setWatchTimeSeconds(30);
+            request.setLastPositionSeconds(25);
+
+            ProgressResponse result = progressService.updateProgress(1L, request, "mamadou@sencours.sn");
+
+            assertThat(result.getLastPositionSeconds()).isEqualTo(25);
+            verify(progressHeartbeatService).record(new Heartbeat(1L, 1L, 30, 25));
+            verify(progressRepository, never()).save(any());
+            verifyNoInteractions(enrollmentService);
+        }
+
+        @Test
+        @DisplayName("Ne devrait pas revérifier l'accès pour une leçon déjà en attente")
+        void shouldSkipAccessCheckWhenPending() {
+            when(userRepository.findIdByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(1L));
+            when(progressHeartbeatService.isPending(1L, 1L)).thenReturn(true);
+
+            ProgressRequest request = new ProgressRequest();
+            request.setLastPositionSeconds(40);
+
+            progressService.updateProgress(1L, request, "mamadou@sencours.sn");
+
+            verify(progressHeartbeatService).record(new Heartbeat(1L, 1L, null, 40));
+            verifyNoInteractions(lessonRepository, enrollmentRepository);
+        }
+
+        @Test
+        @DisplayName("Devrait refuser le premier battement d'une leçon payante sans inscription")
+        void shouldRejectHeartbeatWhenNotEnrolled() {
+            when(userRepository.findIdByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(1L));
+            when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
+            when(enrollmentRepository.existsByUserIdAndCourseId(1L, 1L)).thenReturn(false);
+
+            ProgressRequest request = new ProgressRequest();
+            request.setLastPositionSeconds(40);
+
+            assertThatThrownBy(() -> progressService.updateProgress(1L, request, "mamadou@sencours.sn"))
+                    .isInstanceOf(BadRequestException.class);
+            verify(progressHeartbeatService, never()).record(any());
+        }
+
+        @Test
+        @DisplayName("Une complétion devrait être écrite immédiatement avec le battement en attente")
+        void shouldWriteCompletionThroughWithPendingHeartbeat() {
+            when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
+            when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
+            when(enrollmentRepository.existsByUserIdAndCourseId(1L, 1L)).thenReturn(true);
+            when(progressHeartbeatService.takePending(1L, 1L))
+                    .thenReturn(Optional.of(new Heartbeat(1L, 1L, 300, 280)));
+            when(progressRepository.upsertCompleted(eq(1L), eq(1L), eq(300), eq(280), any(LocalDateTime.class)))
+                    .thenReturn(upserted(true, LocalDateTime.now(), 300, 280, true));
+
+            ProgressRequest request = new ProgressRequest();
+            request.setCompleted(true);
+
+            ProgressResponse result = progressService.updateProgress(1L, request, "mamadou@sencours.sn");
+
+            assertThat(result.getCompleted()).isTrue();
+            assertThat(result.getWatchTimeSeconds()).isEqualTo(300);
+            verify(progressHeartbeatService, never()).record(any());
+            verify(enrollmentService).applyCompletions(1L, 1L, Map.of(1L, true));
+        }
+
+        @Test
+        @DisplayName("La lecture devrait refléter la position en attente")
+        void shouldOverlayPendingHeartbeatOnRead() {
+            when(userRepository.findByEmail("mamadou@sencours.sn")).thenReturn(Optional.of(student));
+            when(progressRepository.findByUserIdAndLessonId(1L, 1L)).thenReturn(Optional.of(progress));
+            when(progressHeartbeatService.getPending(1L, 1L))
+                    .thenReturn(Optional.of(new Heartbeat(1L, 1L, null, 90)));
+
+            ProgressResponse result = progressService.getProgress(1L, "mamadou@sencours.sn");
+
+            assertThat(result.getLastPositionSeconds()).isEqualTo(90);
+            assertThat(result.getWatchTimeSeconds()).isEqualTo(0);
+        }
+    }
+
+    private static UpsertedProgress upserted(boolean completed, LocalDateTime completedAt,
+                                             int watchTimeSeconds, int lastPositionSeconds, boolean newlyCompleted) {
+        return new UpsertedProgress(1L, completed, completedAt, watchTimeSeconds, lastPositionSeconds, newlyCompleted);
     }
 }
@@ -0,0 +1,205 @@
+package com.sencours.service;
+
+import com.sencours.dto.request.ProgressBatchItemRequest;
+import com.sencours.dto.request.ProgressBatchRequest;
+import com.sencours.dto.response.ProgressBatchResponse;
+import com.sencours.entity.Lesson;
+import com.sencours.entity.Progress;
+import com.sencours.entity.User;
+import com.sencours.enums.Role;
+import com.sencours.repository.EnrollmentRepository;
+import com.sencours.repository.LessonRepository;
+import com.sencours.repository.ProgressRepository;
+import com.sencours.repository.UserRepository;
+import com.sencours.repository.projection.LessonAccessView;
+import com.sencours.service.impl.ProgressSyncServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressSyncServiceTest {
+
+    private static final String EMAIL = "mamadou@sencours.sn";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @Mock
+    private EnrollmentService enrollmentService;
+
+    @Mock
+    private ProgressHeartbeatService progressHeartbeatService;
+
+    @InjectMocks
+    private ProgressSyncServiceImpl progressSyncService;
+
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    private final OffsetDateTime now = OffsetDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        User student = User.builder()
+                .id(1L).firstName("Mamadou").lastName("Diallo")
+                .email(EMAIL).role(Role.ETUDIANT).build();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(student));
+    }
+
+    @Test
+    @DisplayName("Devrait garder l'entrée la plus récente d'une même leçon et compter une complétion par cours")
+    void shouldKeepLatestEntryPerLesson() {
+        when(lessonRepository.findAccessByIdIn(anyCollection()))
+                .thenReturn(List.of(lesson(10L, 100L, false), lesson(11L, 100L, false)));
+        when(enrollmentRepository.findEnrolledCourseIds(eq(1L), anyCollection())).thenReturn(List.of(100L));
+        when(progressRepository.findAllForUpdate(eq(1L), anyCollection())).thenReturn(List.of());
+        writesAll();
+
+        ProgressBatchResponse result = progressSyncService.sync(batch(
+                item(10L, null, 30, now.minusMinutes(5)),
+                item(10L, true, 60, now.minusMinutes(1)),
+                item(11L, true, 90, now.minusMinutes(2))), EMAIL);
+
+        assertThat(result.getApplied()).isEqualTo(2);
+        assertThat(result.getSkipped()).isZero();
+        assertThat(result.getRejectedLessonIds()).isEmpty();
+        verify(enrollmentService, times(1)).applyCompletions(1L, 100L, Map.of(10L, true, 11L, true));
+        verify(progressHeartbeatService).takePending(1L, 10L);
+        verify(progressHeartbeatService).takePending(1L, 11L);
+    }
+
+    @Test
+    @DisplayName("Devrait ignorer une progression plus ancienne que celle du serveur")
+    void shouldSkipStaleEntries() {
+        when(lessonRepository.findAccessByIdIn(anyCollection())).thenReturn(List.of(lesson(10L, 100L, false)));
+        when(enrollmentRepository.findEnrolledCourseIds(eq(1L), anyCollection())).thenReturn(List.of(100L));
+        when(progressRepository.findAllForUpdate(eq(1L), anyCollection()))
+                .thenReturn(List.of(progress(10L, false, LocalDateTime.now())));
+
+        ProgressBatchResponse result = progressSyncService.sync(batch(
+                item(10L, true, 60, now.minusHours(1))), EMAIL);
+
+        assertThat(result.getApplied()).isZero();
+        assertThat(result.getSkipped()).isEqualTo(1);
+        verify(progressRepository, never()).upsertSynced(anyLong(), anyList());
+        verifyNoInteractions(enrollmentService, progressHeartbeatService);
+    }
+
+    @Test
+    @DisplayName("Devrait décompter une leçon dé-complétée plus récemment sur l'appareil")
+    void shouldApplyNewerUncompletion() {
+        when(lessonRepository.findAccessByIdIn(anyCollection())).thenReturn(List.of(lesson(10L, 100L, false)));
+        when(enrollmentRepository.findEnrolledCourseIds(eq(1L), anyCollection())).thenReturn(List.of(100L));
+        when(progressRepository.findAllForUpdate(eq(1L), anyCollection()))
+                .thenReturn(List.of(progress(10L, true, LocalDateTime.now(ZoneId.systemDefault()).minusDays(1))));
+        writesAll();
+
+        ProgressBatchResponse result = progressSyncService.sync(batch(
+                item(10L, false, 0, now.minusMinutes(1))), EMAIL);
+
+        assertThat(result.getApplied()).isEqualTo(1);
+        verify(enrollmentService).applyCompletions(1L, 100L, Map.of(10L, false));
+        verify(progressRepository).upsertSynced(eq(1L), argThat(rows ->
+                rows.size() == 1 && !rows.get(0).completed() && rows.get(0).completedAt() == null));
+    }
+
+    @Test
+    @DisplayName("Devrait laisser gagner une ligne écrite plus récemment par une requête concurrente")
+    void shouldNotCountEntryOvertakenByConcurrentWrite() {
+        when(lessonRepository.findAccessByIdIn(anyCollection())).thenReturn(List.of(lesson(10L, 100L, false)));
+        when(enrollmentRepository.findEnrolledCourseIds(eq(1L), anyCollection())).thenReturn(List.of(100L));
+        when(progressRepository.findAllForUpdate(eq(1L), anyCollection())).thenReturn(List.of());
+        when(progressRepository.upsertSynced(eq(1L), anyList())).thenReturn(new int[]{0});
+
+        ProgressBatchResponse result = progressSyncService.sync(batch(
+                item(10L, true, 60, now.minusMinutes(1))), EMAIL);
+
+        assertThat(result.getApplied()).isZero();
+        assertThat(result.getSkipped()).isEqualTo(1);
+        verifyNoInteractions(enrollmentService, progressHeartbeatService);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser les leçons inconnues ou d'un cours non suivi")
+    void shouldRejectInaccessibleLessons() {
+        when(lessonRepository.findAccessByIdIn(anyCollection()))
+                .thenReturn(List.of(lesson(10L, 100L, false), lesson(20L, 200L, true)));
+        when(enrollmentRepository.findEnrolledCourseIds(eq(1L), anyCollection())).thenReturn(List.of());
+        when(progressRepository.findAllForUpdate(eq(1L), anyCollection())).thenReturn(List.of());
+        writesAll();
+
+        ProgressBatchResponse result = progressSyncService.sync(batch(
+                item(10L, true, 60, now),
+                item(20L, null, 60, now),
+                item(999L, true, 60, now)), EMAIL);
+
+        assertThat(result.getApplied()).isEqualTo(1);
+        assertThat(result.getRejectedLessonIds()).containsExactlyInAnyOrder(10L, 999L);
+        verifyNoInteractions(enrollmentService);
+    }
+
+    private void writesAll() {
+        when(progressRepository.upsertSynced(eq(1L), anyList()))
+                .thenAnswer(invocation -> {
+                    int[] counts = new int[invocation.<List<?>>getArgument(1).size()];
+                    Arrays.fill(counts, 1);
+                    return counts;
+                });
+    }
+
+    private LessonAccessView lesson(Long id, Long courseId, boolean free) {
+        return projectionFactory.createProjection(LessonAccessView.class,
+                Map.of("id", id, "courseId", courseId, "isFree", free));
+    }
+
+    private static Progress progress(Long lessonId, boolean completed, LocalDateTime updatedAt) {
+        Lesson lesson = new Lesson();
+        lesson.setId(lessonId);
+        return Progress.builder()
+                .id(lessonId * 10)
+                .lesson(lesson)
+                .completed(completed)
+                .watchTimeSeconds(0)
+                .lastPositionSeconds(0)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private static ProgressBatchItemRequest item(Long lessonId, Boolean completed, int position, OffsetDateTime at) {
+        return ProgressBatchItemRequest.builder()
+                .lessonId(lessonId)
+                .completed(completed)
+                .lastPositionSeconds(position)
+                .clientUpdatedAt(at)
+                .build();
+    }
+
+    private static ProgressBatchRequest batch(ProgressBatchItemRequest... items) {
+        return ProgressBatchRequest.builder().items(List.of(items)).build();
+    }
+}
@@ -7,6 +7,7 @@ import com.sencours.entity.Review;
 import com.sencours.entity.User;
 import com.sencours.enums.Role;
 import com.sencours.enums.Status;
+import com.sencours.event.CourseChangedEvent;
 import com.sencours.exception.BadRequestException;
 import com.sencours.exception.ForbiddenException;
 import com.sencours.exception.ResourceNotFoundException;
@@ -23,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -49,6 +51,12 @@ class ReviewServiceTest {
     @Mock
     private EnrollmentRepository enrollmentRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CourseStatsService courseStatsService;
+
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
@@ -110,6 +118,7 @@ class ReviewServiceTest {
             assertThat(result.getUserName()).isEqualTo("Mamadou Diallo");
             assertThat(result.getUserInitials()).isEqualTo("MD");
             verify(reviewRepository).save(any(Review.class));
+            verify(courseStatsService).addReviews(1L, 1, 5);
         }
 
         @Test
@@ -126,6 +135,7 @@ class ReviewServiceTest {
 
             assertThat(result).isNotNull();
             verify(reviewRepository).save(any(Review.class));
+            verify(courseStatsService).addReviews(1L, 0, -1);
         }
 
         @Test
@@ -240,6 +250,7 @@ class ReviewServiceTest {
             reviewService.delete(1L, "mamadou@sencours.sn");
 
             verify(reviewRepository).delete(review);
+            verify(eventPublisher).publishEvent(any(CourseChangedEvent.class));
         }
 
         @Test
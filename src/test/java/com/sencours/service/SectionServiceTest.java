@@ -5,6 +5,7 @@ import com.sencours.dto.request.SectionRequest;
 import com.sencours.dto.response.SectionResponse;
 import com.sencours.entity.Course;
 import com.sencours.entity.Section;
+import com.sencours.event.CourseChangedEvent;
 import com.sencours.exception.ResourceNotFoundException;
 import com.sencours.exception.SectionNotFoundException;
 import com.sencours.mapper.SectionMapper;
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -45,6 +47,15 @@ class SectionServiceTest {
     @Mock
     private SectionMapper sectionMapper;
 
+    @Mock
+    private CourseStatsService courseStatsService;
+
+    @Mock
+    private EnrollmentService enrollmentService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SectionServiceImpl sectionService;
 
@@ -96,6 +107,7 @@ class SectionServiceTest {
             assertThat(result).isNotNull();
             assertThat(section.getOrderIndex()).isEqualTo(3);
             verify(sectionRepository).save(any(Section.class));
+            verify(eventPublisher).publishEvent(any(CourseChangedEvent.class));
         }
 
         @Test
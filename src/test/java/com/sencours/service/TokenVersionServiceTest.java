@@ -0,0 +1,103 @@
+package com.sencours.service;
+
+import com.sencours.entity.TokenVersionChange;
+import com.sencours.entity.User;
+import com.sencours.event.TokenVersionChangedEvent;
+import com.sencours.repository.TokenVersionChangeRepository;
+import com.sencours.service.impl.TokenVersionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceTest {
+
+    // Jeton d'acces : 15 minutes
+    private static final long ACCESS_TOKEN_EXPIRATION = 900_000L;
+
+    @Mock
+    private TokenVersionChangeRepository tokenVersionChangeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TokenVersionServiceImpl tokenVersionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenVersionService, "accessTokenExpiration", ACCESS_TOKEN_EXPIRATION);
+    }
+
+    @Test
+    @DisplayName("Devrait enregistrer l'invalidation pour les autres instances")
+    void shouldRecordInvalidation() {
+        User user = User.builder().id(7L).tokenVersion(2).build();
+
+        tokenVersionService.invalidate(user);
+
+        ArgumentCaptor<TokenVersionChange> change = ArgumentCaptor.forClass(TokenVersionChange.class);
+        verify(tokenVersionChangeRepository).save(change.capture());
+        assertThat(user.getTokenVersion()).isEqualTo(3);
+        assertThat(change.getValue().getUserId()).isEqualTo(7L);
+        assertThat(change.getValue().getVersion()).isEqualTo(3);
+        verify(eventPublisher).publishEvent(any(TokenVersionChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Devrait rejeter les jetons d'un compte supprimé sur une autre instance")
+    void shouldRejectTokensOfUserDeletedElsewhere() {
+        when(tokenVersionChangeRepository.findChangedSince(any())).thenReturn(List.of(
+                change(7L, 1, LocalDateTime.now().minusMinutes(2))));
+
+        tokenVersionService.refresh();
+
+        assertThat(tokenVersionService.isCurrent(7L, 0)).isFalse();
+        assertThat(tokenVersionService.isCurrent(7L, 1)).isTrue();
+        assertThat(tokenVersionService.isCurrent(8L, 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Devrait oublier une invalidation dont tous les jetons ont expiré")
+    void shouldEvictExpiredInvalidations() {
+        tokenVersionService.onTokenVersionChanged(new TokenVersionChangedEvent(7L, 1));
+        ReflectionTestUtils.setField(tokenVersionService, "accessTokenExpiration", -ACCESS_TOKEN_EXPIRATION);
+        when(tokenVersionChangeRepository.findChangedSince(any())).thenReturn(List.of());
+
+        tokenVersionService.refresh();
+
+        assertThat(tokenVersionService.isCurrent(7L, 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Devrait garder la version la plus élevée, quel que soit l'ordre des changements")
+    void shouldKeepHighestVersion() {
+        tokenVersionService.onTokenVersionChanged(new TokenVersionChangedEvent(7L, 3));
+        when(tokenVersionChangeRepository.findChangedSince(any())).thenReturn(List.of(
+                change(7L, 2, LocalDateTime.now().minusMinutes(1))));
+
+        tokenVersionService.refresh();
+
+        assertThat(tokenVersionService.isCurrent(7L, 2)).isFalse();
+        assertThat(tokenVersionService.isCurrent(7L, 3)).isTrue();
+    }
+
+    private static TokenVersionChange change(Long userId, int version, LocalDateTime changedAt) {
+        return TokenVersionChange.builder().userId(userId).version(version).changedAt(changedAt).build();
+    }
+}
@@ -5,6 +5,7 @@ import com.sencours.dto.request.UserRequest;
 import com.sencours.dto.response.UserResponse;
 import com.sencours.entity.User;
 import com.sencours.enums.Role;
+import com.sencours.event.UserRenamedEvent;
 import com.sencours.exception.InvalidPasswordException;
 import com.sencours.exception.ResourceAlreadyExistsException;
 import com.sencours.exception.ResourceNotFoundException;
@@ -21,6 +22,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -49,6 +51,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -228,6 +239,22 @@ class UserServiceTest {
             assertThat(result).isNotNull();
             verify(passwordEncoder, never()).encode(anyString());
             assertThat(user.getPassword()).isEqualTo(originalPassword);
+            verify(eventPublisher, never()).publishEvent(any(UserRenamedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Devrait signaler le renommage pour réindexer les cours de l'instructeur")
+        void shouldPublishRenamedEventWhenNameChanges() {
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+            doAnswer(invocation -> {
+                user.setLastName("Ndiaye");
+                return null;
+            }).when(userMapper).updateEntityFromRequest(userRequest, user);
+            when(userRepository.save(any(User.class))).thenReturn(user);
+
+            userService.update(1L, userRequest);
+
+            verify(eventPublisher).publishEvent(any(UserRenamedEvent.class));
         }
 
         @Test
@@ -290,6 +317,8 @@ class UserServiceTest {
 
             verify(passwordEncoder).encode("newPassword123");
             verify(userRepository).save(user);
+            verify(tokenVersionService).invalidate(user);
+            verify(refreshTokenService).revokeAll(1L);
         }
 
         @Test
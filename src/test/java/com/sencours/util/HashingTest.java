@@ -0,0 +1,17 @@
+package com.sencours.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashingTest {
+
+    @Test
+    @DisplayName("Devrait produire l'empreinte SHA-256 hexadécimale du texte UTF-8")
+    void shouldHashUtf8TextToHex() {
+        assertThat(Hashing.sha256("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(Hashing.sha256("é")).hasSize(64).isNotEqualTo(Hashing.sha256("e"));
+    }
+}